@@ -1,9 +1,9 @@
 package de.syquel.maven.reactorstate.common;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.maven.project.MavenProject;
 
@@ -17,14 +17,23 @@ public abstract class AbstractReactorStateManager {
 	/**
 	 * The states of Maven modules within a Maven project.
 	 */
-	private final Map<MavenProject, MavenProjectState> projectStates = new HashMap<>();
+	private final Map<MavenProject, MavenProjectState> projectStates = new ConcurrentHashMap<>();
 
 	protected AbstractReactorStateManager(final Set<MavenProjectState> projectStates) {
 		for (final MavenProjectState projectState : projectStates) {
-			this.projectStates.put(projectState.getProject(), projectState);
+			addProjectState(projectState);
 		}
 	}
 
+	/**
+	 * Adds the state of a Maven module, which has been loaded after the instantiation of this manager.
+	 *
+	 * @param projectState The state of the Maven module to add.
+	 */
+	protected final void addProjectState(final MavenProjectState projectState) {
+		projectStates.put(projectState.getProject(), projectState);
+	}
+
 	/**
 	 * @return the states of Maven modules within a Maven project.
 	 */
@@ -0,0 +1,334 @@
+package de.syquel.maven.reactorstate.common;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Resource;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.hash.FileHashCache;
+import de.syquel.maven.reactorstate.common.hash.FileHashingService;
+import de.syquel.maven.reactorstate.common.hash.HashAlgorithm;
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceModule;
+
+/**
+ * A calculator of the fingerprints of the inputs of Maven modules, which determine whether the Maven artifacts of a Maven module are up-to-date.
+ *
+ * The fingerprint of a Maven module covers its effective POM, the files within the source and resource directories of its main and test build and the
+ * fingerprints of its upstream Maven modules within the workspace, i.e. its dependencies, build plugins and build extensions as well as its parent
+ * Maven module. The fingerprint of an upstream Maven module, which is part of the current Maven
+ * execution, is its input fingerprint, so changes are propagated downstream before anything has been built. An upstream Maven module outside of the
+ * current Maven execution is represented by the input fingerprint of its saved state or the fingerprint of its saved main artifact.
+ *
+ * The fingerprint is attached to the Maven module for the remainder of the Maven execution, so it is saved together with the state of the Maven module
+ * without being recalculated from inputs, which may have been modified by the build itself.
+ */
+public final class ProjectInputFingerprinter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProjectInputFingerprinter.class);
+
+	/**
+	 * The key of the input fingerprint within the context of a Maven module.
+	 */
+	private static final String CONTEXT_KEY = ProjectInputFingerprinter.class.getName() + ".inputFingerprint";
+
+	/**
+	 * The fingerprint of an upstream Maven module, whose state is unknown.
+	 */
+	private static final String UNKNOWN_FINGERPRINT = "unknown";
+
+	/**
+	 * The manager of the saved state of the Maven modules within the Maven workspace.
+	 */
+	private final SavedReactorStateManager projectStateManager;
+
+	/**
+	 * The service, which hashes the input files of the Maven modules.
+	 */
+	private final FileHashingService hashingService;
+
+	/**
+	 * The saved states of the Maven modules within the Maven workspace by their version-agnostic keys.
+	 */
+	private final Map<String, MavenProjectState> savedProjectStates = new HashMap<>();
+
+	/**
+	 * The input fingerprints of the Maven modules of the current Maven execution by their version-agnostic keys.
+	 */
+	private final Map<String, String> inputFingerprints = new HashMap<>();
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param projectStateManager The manager of the saved state of the Maven modules within the Maven workspace.
+	 * @param hashParallelism The maximum number of input files, which are hashed concurrently.
+	 * @param hashCache The cache of the digests of unchanged input files or null if all input files are hashed.
+	 */
+	public ProjectInputFingerprinter(
+		final SavedReactorStateManager projectStateManager, final int hashParallelism, final FileHashCache hashCache
+	) {
+		this.projectStateManager = projectStateManager;
+		this.hashingService = new FileHashingService(HashAlgorithm.SHA256, hashParallelism, hashCache);
+
+		for (final MavenProjectState projectState : projectStateManager.getProjectStates()) {
+			final MavenProject project = projectState.getProject();
+			savedProjectStates.put(WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId()), projectState);
+		}
+	}
+
+	/**
+	 * Returns the input fingerprint, which has been attached to a Maven module.
+	 *
+	 * @param project The Maven module.
+	 * @return The input fingerprint or null if the Maven module has not been fingerprinted.
+	 */
+	public static String getInputFingerprint(final MavenProject project) {
+		final Object inputFingerprint = project.getContextValue(CONTEXT_KEY);
+		return (inputFingerprint instanceof String) ? (String) inputFingerprint : null;
+	}
+
+	/**
+	 * Calculates the input fingerprints of Maven modules and attaches them to the Maven modules.
+	 *
+	 * @param projects The Maven modules of the current Maven execution in their build order, so upstream Maven modules precede their downstream ones.
+	 * @throws IOException if an error occurred while reading the inputs.
+	 */
+	public void fingerprint(final List<MavenProject> projects) throws IOException {
+		final List<SortedMap<String, Path>> projectInputFiles = new ArrayList<>(projects.size());
+		final List<Path> inputFiles = new ArrayList<>();
+		for (final MavenProject project : projects) {
+			final SortedMap<String, Path> files = collectInputFiles(project);
+			projectInputFiles.add(files);
+			inputFiles.addAll(files.values());
+		}
+
+		// The input files of all Maven modules are hashed at once, so the hashing threads are not idle at the end of each Maven module
+		final Map<Path, byte[]> fileHashes = hashingService.hashAll(inputFiles);
+
+		for (int i = 0; i < projects.size(); i++) {
+			final MavenProject project = projects.get(i);
+			final String inputFingerprint = calculateInputFingerprint(project, projectInputFiles.get(i), fileHashes);
+
+			inputFingerprints.put(WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId()), inputFingerprint);
+			project.setContextValue(CONTEXT_KEY, inputFingerprint);
+			LOGGER.debug("Input fingerprint of Maven project {} is {}", project.getId(), inputFingerprint);
+		}
+	}
+
+	/**
+	 * Calculates the input fingerprint of a Maven module.
+	 *
+	 * @param project The Maven module, whose upstream Maven modules of the current Maven execution have already been fingerprinted.
+	 * @param files The input files of the Maven module by their paths relative to the Maven module.
+	 * @param fileHashes The SHA-256 digests of the input files of all Maven modules by their paths.
+	 * @return The input fingerprint.
+	 * @throws IOException if an error occurred while reading the inputs.
+	 */
+	private String calculateInputFingerprint(
+		final MavenProject project, final SortedMap<String, Path> files, final Map<Path, byte[]> fileHashes
+	) throws IOException {
+		final StringBuilder inputs = new StringBuilder();
+
+		final StringWriter effectivePom = new StringWriter();
+		new MavenXpp3Writer().write(effectivePom, project.getModel());
+		appendInput(inputs, "pom", DigestUtils.sha256Hex(effectivePom.toString().getBytes(StandardCharsets.UTF_8)));
+
+		for (final Map.Entry<String, Path> file : files.entrySet()) {
+			appendInput(inputs, "file " + file.getKey(), DigestUtils.toHex(fileHashes.get(file.getValue())));
+		}
+
+		final SortedMap<String, String> upstreamFingerprints = new TreeMap<>();
+		for (final Dependency dependency : project.getDependencies()) {
+			addUpstreamFingerprint(upstreamFingerprints, "upstream", dependency.getGroupId(), dependency.getArtifactId());
+		}
+		for (final Plugin plugin : project.getBuildPlugins()) {
+			addUpstreamFingerprint(upstreamFingerprints, "plugin", plugin.getGroupId(), plugin.getArtifactId());
+		}
+		for (final Extension extension : project.getBuildExtensions()) {
+			addUpstreamFingerprint(upstreamFingerprints, "extension", extension.getGroupId(), extension.getArtifactId());
+		}
+
+		final MavenProject parentProject = project.getParent();
+		if (parentProject != null && MavenProjectUtils.isWorkspaceProject(parentProject)) {
+			addUpstreamFingerprint(upstreamFingerprints, "parent", parentProject.getGroupId(), parentProject.getArtifactId());
+		}
+
+		for (final Map.Entry<String, String> upstreamFingerprint : upstreamFingerprints.entrySet()) {
+			appendInput(inputs, upstreamFingerprint.getKey(), upstreamFingerprint.getValue());
+		}
+
+		return DigestUtils.sha256Hex(inputs.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Adds the fingerprint of an upstream Maven module if it is part of the Maven workspace.
+	 *
+	 * @param upstreamFingerprints The fingerprints of the upstream Maven modules by their kind of reference and their version-agnostic keys.
+	 * @param kind The kind of reference to the upstream Maven module, e.g. a dependency or a build plugin.
+	 * @param groupId The group ID of the upstream Maven module.
+	 * @param artifactId The artifact ID of the upstream Maven module.
+	 * @throws IOException if an error occurred while reading the saved state of the upstream Maven module.
+	 */
+	private void addUpstreamFingerprint(
+		final Map<String, String> upstreamFingerprints, final String kind, final String groupId, final String artifactId
+	) throws IOException {
+		final String upstreamFingerprint = resolveUpstreamFingerprint(groupId, artifactId);
+		if (upstreamFingerprint != null) {
+			upstreamFingerprints.put(kind + " " + WorkspaceModule.toKey(groupId, artifactId), upstreamFingerprint);
+		}
+	}
+
+	/**
+	 * Resolves the fingerprint of an upstream Maven module.
+	 *
+	 * @param groupId The group ID of the upstream Maven module.
+	 * @param artifactId The artifact ID of the upstream Maven module.
+	 * @return The fingerprint of the upstream Maven module or null if it is not part of the Maven workspace.
+	 * @throws IOException if an error occurred while reading the saved state of the upstream Maven module.
+	 */
+	private String resolveUpstreamFingerprint(final String groupId, final String artifactId) throws IOException {
+		final String upstreamKey = WorkspaceModule.toKey(groupId, artifactId);
+
+		final String inputFingerprint = inputFingerprints.get(upstreamKey);
+		if (inputFingerprint != null) {
+			return inputFingerprint;
+		}
+
+		MavenProjectState upstreamProjectState = savedProjectStates.get(upstreamKey);
+		if (upstreamProjectState == null) {
+			upstreamProjectState = projectStateManager.loadDeferredProjectState(groupId, artifactId);
+			if (upstreamProjectState == null) {
+				return null;
+			}
+
+			savedProjectStates.put(upstreamKey, upstreamProjectState);
+		}
+
+		if (upstreamProjectState.getInputFingerprint() != null) {
+			return upstreamProjectState.getInputFingerprint();
+		}
+
+		final ArtifactFingerprint mainArtifactFingerprint = upstreamProjectState.getMainArtifactState().getFingerprint();
+		if (mainArtifactFingerprint == null) {
+			return UNKNOWN_FINGERPRINT;
+		}
+
+		return mainArtifactFingerprint.getSize() + ":" + mainArtifactFingerprint.getChecksum();
+	}
+
+	/**
+	 * Resolves the directories of a Maven module, which contain the source and resource files of its main and test build.
+	 *
+	 * @param project The Maven module.
+	 * @return The input directories.
+	 */
+	private static List<Path> resolveInputDirectories(final MavenProject project) {
+		final Build build = project.getBuild();
+		if (build == null) {
+			return Collections.emptyList();
+		}
+
+		final List<String> directories = new ArrayList<>();
+		directories.add(build.getSourceDirectory());
+		directories.add(build.getTestSourceDirectory());
+		for (final Resource resource : build.getResources()) {
+			directories.add(resource.getDirectory());
+		}
+		for (final Resource resource : build.getTestResources()) {
+			directories.add(resource.getDirectory());
+		}
+
+		final Path projectBasePath = project.getBasedir().toPath();
+		final List<Path> inputDirectories = new ArrayList<>();
+		for (final String directory : directories) {
+			if (directory != null) {
+				inputDirectories.add(projectBasePath.resolve(Paths.get(directory)));
+			}
+		}
+
+		return inputDirectories;
+	}
+
+	/**
+	 * Collects the files within the input directories of a Maven module.
+	 *
+	 * @param project The Maven module.
+	 * @return The input files by their paths relative to the Maven module.
+	 * @throws IOException if an error occurred while listing the input directories.
+	 */
+	private static SortedMap<String, Path> collectInputFiles(final MavenProject project) throws IOException {
+		final Path projectBasePath = project.getBasedir().toPath();
+
+		final SortedMap<String, Path> files = new TreeMap<>();
+		for (final Path inputDirectory : resolveInputDirectories(project)) {
+			collectFiles(projectBasePath, inputDirectory, files);
+		}
+
+		return files;
+	}
+
+	/**
+	 * Collects all files within an input directory.
+	 *
+	 * @param projectBasePath The base path of the Maven module, which the collected paths are relative to.
+	 * @param inputDirectory The input directory, which may not exist.
+	 * @param files The collected files by their relative paths.
+	 * @throws IOException if an error occurred while listing the input directory.
+	 */
+	private static void collectFiles(final Path projectBasePath, final Path inputDirectory, final Map<String, Path> files) throws IOException {
+		if (!Files.isDirectory(inputDirectory)) {
+			return;
+		}
+
+		Files.walkFileTree(inputDirectory, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) throws IOException {
+				if (attributes.isRegularFile()) {
+					// Separators are normalized, so the fingerprint does not depend on the operating system
+					files.put(projectBasePath.relativize(file).toString().replace('\\', '/'), file);
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+	}
+
+	/**
+	 * Appends a single input to the canonical representation of the inputs.
+	 *
+	 * @param inputs The canonical representation of the inputs.
+	 * @param name The name of the input.
+	 * @param digest The digest of the input.
+	 */
+	private static void appendInput(final StringBuilder inputs, final String name, final String digest) {
+		inputs.append(name).append(' ').append(digest).append('\n');
+	}
+
+}
@@ -0,0 +1,222 @@
+package de.syquel.maven.reactorstate.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.hash.FileHashCache;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.ReactorStateRepositoryFactory;
+import de.syquel.maven.reactorstate.common.persistence.index.ArtifactIndex;
+import de.syquel.maven.reactorstate.common.workspace.ReverseDependencyGraphIndex;
+
+/**
+ * A saver of the states of single Maven modules as soon as they have been built successfully.
+ *
+ * The Maven module is only queued on the calling thread, while its state is captured and persisted by a single background writer, so the builder
+ * threads of a multithreaded Maven execution are not blocked by I/O, e.g. hashing the artifact files, and the persistence repository is never
+ * accessed concurrently. Maven modules, which are queued while the writer is busy, are saved together and their artifact files are hashed
+ * concurrently. {@link #close()} is the barrier at the end of the Maven execution, which awaits all queued Maven modules, forces their states to
+ * durable storage and updates the artifact index, the reverse dependency graph and the hash cache.
+ *
+ * This saver is thread-safe.
+ */
+public final class ProjectStateSaver implements Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProjectStateSaver.class);
+
+	/**
+	 * The persistence repository for Maven module states.
+	 */
+	private final IReactorStateRepository reactorStateRepository;
+
+	/**
+	 * The index of all saved Maven artifacts within the Maven workspace.
+	 */
+	private final ArtifactIndex artifactIndex;
+
+	/**
+	 * The reverse dependency graph of all Maven modules within the Maven workspace.
+	 */
+	private final ReverseDependencyGraphIndex dependencyGraphIndex;
+
+	/**
+	 * The maximum number of artifact files, which are hashed concurrently.
+	 */
+	private final int hashParallelism;
+
+	/**
+	 * The cache of the checksums of unchanged artifact files or null if all artifact files are hashed.
+	 */
+	private final FileHashCache hashCache;
+
+	/**
+	 * The single background writer.
+	 */
+	private final ExecutorService writerExecutor;
+
+	/**
+	 * The Maven modules, which have been built successfully but whose state has not been saved yet.
+	 */
+	private final BlockingQueue<MavenProject> queuedProjects = new LinkedBlockingQueue<>();
+
+	/**
+	 * The states of the Maven modules, which have been saved by the background writer.
+	 */
+	private final List<MavenProjectState> savedProjectStates = new ArrayList<>();
+
+	/**
+	 * The failures of the background writer.
+	 */
+	private final List<Exception> failures = new ArrayList<>();
+
+	/**
+	 * The number of Maven modules, whose state could not be saved.
+	 */
+	private int failedCount;
+
+	/**
+	 * The number of Maven modules, whose persisted state has been written.
+	 */
+	private int writtenCount;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param reactorStateRepository The persistence repository for Maven module states.
+	 * @param artifactIndex The index of all saved Maven artifacts within the Maven workspace.
+	 * @param dependencyGraphIndex The reverse dependency graph of all Maven modules within the Maven workspace.
+	 * @param hashParallelism The maximum number of artifact files, which are hashed concurrently.
+	 * @param hashCache The cache of the checksums of unchanged artifact files or null if all artifact files are hashed.
+	 */
+	public ProjectStateSaver(
+		final IReactorStateRepository reactorStateRepository, final ArtifactIndex artifactIndex, final ReverseDependencyGraphIndex dependencyGraphIndex,
+		final int hashParallelism, final FileHashCache hashCache
+	) {
+		this.reactorStateRepository = reactorStateRepository;
+		this.artifactIndex = artifactIndex;
+		this.dependencyGraphIndex = dependencyGraphIndex;
+		this.hashParallelism = hashParallelism;
+		this.hashCache = hashCache;
+
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		this.writerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "reactorstate-writer");
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+
+			return thread;
+		});
+	}
+
+	/**
+	 * Instantiates a saver for the Maven modules of a Maven execution.
+	 *
+	 * @param mavenSession The state of a Maven execution.
+	 * @param hashCache The cache of the checksums of unchanged artifact files, which is shared within the Maven execution, or null if all artifact
+	 * files are hashed.
+	 * @return The saver for the Maven modules.
+	 */
+	public static ProjectStateSaver create(final MavenSession mavenSession, final FileHashCache hashCache) {
+		final ReactorStateConfiguration configuration = ReactorStateConfiguration.create(mavenSession);
+		return new ProjectStateSaver(
+			ReactorStateRepositoryFactory.create(mavenSession, configuration), ArtifactIndex.create(mavenSession.getTopLevelProject()),
+			ReverseDependencyGraphIndex.create(mavenSession.getTopLevelProject()), configuration.getHashParallelism(), hashCache
+		);
+	}
+
+	/**
+	 * Queues a Maven module for the background writer, which captures and saves its current state.
+	 *
+	 * @param project The Maven module, which has been built successfully.
+	 * @throws java.util.concurrent.RejectedExecutionException if this saver has already been closed.
+	 */
+	public void save(final MavenProject project) {
+		queuedProjects.add(project);
+		writerExecutor.execute(this::saveQueuedProjects);
+	}
+
+	/**
+	 * Awaits all queued Maven modules, forces their states to durable storage and updates the artifact index and the reverse dependency graph with the
+	 * saved Maven modules as well as the hash cache.
+	 *
+	 * @throws IOException if the state of any Maven module could not be saved or an error occurred while updating the artifact index.
+	 */
+	@Override
+	public void close() throws IOException {
+		writerExecutor.shutdown();
+		try {
+			writerExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while awaiting the saving of the reactor state");
+		}
+
+		// The terminated writer has published all of its results
+		reactorStateRepository.flush();
+		artifactIndex.update(savedProjectStates);
+		dependencyGraphIndex.update(savedProjectStates.stream().map(MavenProjectState::getProject).collect(Collectors.toList()));
+		if (hashCache != null) {
+			hashCache.save();
+		}
+
+		final int savedCount = savedProjectStates.size();
+		LOGGER.info("Saved state of {} Maven projects, skipped {} unchanged", writtenCount, savedCount - writtenCount);
+
+		if (!failures.isEmpty()) {
+			final IOException exception =
+				new IOException("Cannot save state of " + failedCount + " out of " + (savedCount + failedCount) + " Maven projects");
+			for (final Exception failure : failures) {
+				exception.addSuppressed(failure);
+			}
+
+			throw exception;
+		}
+	}
+
+	/**
+	 * Captures and saves the states of all queued Maven modules at once on the background writer.
+	 */
+	private void saveQueuedProjects() {
+		final List<MavenProject> projects = new ArrayList<>();
+		queuedProjects.drainTo(projects);
+		if (projects.isEmpty()) {
+			// The Maven modules have already been saved together with the Maven modules of a previous task
+			return;
+		}
+
+		final List<MavenProjectState> projectStates = new ArrayList<>(projects.size());
+		try {
+			final Map<Path, ArtifactFingerprint> fingerprints = RuntimeReactorStateManager.fingerprintArtifacts(projects, hashParallelism, hashCache);
+			for (final MavenProject project : projects) {
+				projectStates.add(RuntimeReactorStateManager.buildProjectState(project, fingerprints));
+			}
+
+			writtenCount += reactorStateRepository.saveAll(projectStates);
+			savedProjectStates.addAll(projectStates);
+			LOGGER.debug("Saved state of {} Maven projects in the background", projectStates.size());
+		} catch (final Exception e) {
+			failedCount += projects.size();
+			failures.add(e);
+		}
+	}
+
+}
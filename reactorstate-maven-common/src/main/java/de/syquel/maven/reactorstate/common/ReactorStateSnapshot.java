@@ -0,0 +1,214 @@
+package de.syquel.maven.reactorstate.common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.artifact.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.index.ArtifactLookupTable;
+import de.syquel.maven.reactorstate.common.persistence.index.HashBloomFilter;
+import de.syquel.maven.reactorstate.common.persistence.index.TieredArtifactLookupTable;
+import de.syquel.maven.reactorstate.common.util.ArtifactKeyUtils;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceModule;
+
+/**
+ * An immutable snapshot of the saved state of a Maven workspace, which is acquired once per Maven execution and shared by all components.
+ *
+ * The snapshot indexes the saved Maven artifacts by their version-agnostic IDs. The saved state of Maven modules, which has been deferred by the
+ * discovery scope, is loaded on demand and memoized separately. Maven artifacts, which do not belong to any Maven module of the workspace, are ruled
+ * out by a Bloom filter without building their version-agnostic IDs.
+ */
+public final class ReactorStateSnapshot {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReactorStateSnapshot.class);
+
+	/**
+	 * The key of the snapshot within the data of the repository session.
+	 *
+	 * The class itself is used as key, since it is unique per class realm and thereby prevents sharing snapshots between incompatible class realms.
+	 */
+	private static final Object SESSION_DATA_KEY = ReactorStateSnapshot.class;
+
+	/**
+	 * The manager of the saved state of the Maven modules within the Maven workspace.
+	 */
+	private final SavedReactorStateManager projectStateManager;
+
+	/**
+	 * The eagerly loaded saved Maven artifacts by their version-agnostic IDs.
+	 */
+	private final ArtifactLookupTable artifacts;
+
+	/**
+	 * The saved Maven artifacts of Maven modules, which have been loaded on demand, by their version-agnostic IDs.
+	 *
+	 * The table is replaced whenever the saved state of a Maven module has been loaded, so lookups never block. Only its newest tiers are rebuilt,
+	 * which keeps loading the saved state of many Maven modules one by one from taking quadratic time.
+	 */
+	private volatile TieredArtifactLookupTable deferredArtifacts = TieredArtifactLookupTable.empty();
+
+	/**
+	 * The version-agnostic keys of the Maven modules, which have been loaded on demand and whose saved Maven artifacts have been added to the table.
+	 */
+	private final Set<String> deferredModuleKeys = new HashSet<>();
+
+	/**
+	 * The filter of the hashes of the version-agnostic keys of all Maven modules within the workspace, which rules out Maven artifacts of third
+	 * parties before the saved state of their Maven module is looked up.
+	 */
+	private final HashBloomFilter moduleFilter;
+
+	private ReactorStateSnapshot(final SavedReactorStateManager projectStateManager) {
+		this.projectStateManager = projectStateManager;
+
+		final List<Artifact> artifacts = new ArrayList<>();
+		for (final MavenProjectState projectState : projectStateManager.getProjectStates()) {
+			collectArtifacts(artifacts, projectState);
+		}
+		this.artifacts = ArtifactLookupTable.of(artifacts);
+
+		final Set<WorkspaceModule> modules = projectStateManager.getWorkspaceModules();
+		this.moduleFilter = new HashBloomFilter(modules.size());
+		for (final WorkspaceModule module : modules) {
+			moduleFilter.add(ArtifactKeyUtils.hash(module.getGroupId(), module.getArtifactId()));
+		}
+	}
+
+	/**
+	 * Acquires the snapshot of the saved state for the current Maven execution, which is created on first access.
+	 *
+	 * @param session The current Maven execution for the Maven project build.
+	 * @param projectBuilder The builder for Maven projects from POMs.
+	 * @return The snapshot of the saved state.
+	 * @throws ProjectBuildingException if an invalid POM is encountered.
+	 * @throws IOException if an error occurred while reading the persisted state.
+	 */
+	public static ReactorStateSnapshot acquire(final MavenSession session, final ProjectBuilder projectBuilder)
+		throws ProjectBuildingException, IOException
+	{
+		final RepositorySystemSession repositorySession = session.getRepositorySession();
+		if (repositorySession == null) {
+			return new ReactorStateSnapshot(SavedReactorStateManager.create(session, projectBuilder));
+		}
+
+		final SessionData sessionData = repositorySession.getData();
+		synchronized (sessionData) {
+			final Object existingSnapshot = sessionData.get(SESSION_DATA_KEY);
+			if (existingSnapshot instanceof ReactorStateSnapshot) {
+				LOGGER.debug("Reusing saved reactor state of the current Maven execution");
+				return (ReactorStateSnapshot) existingSnapshot;
+			}
+
+			final ReactorStateSnapshot snapshot = new ReactorStateSnapshot(SavedReactorStateManager.create(session, projectBuilder));
+			sessionData.set(SESSION_DATA_KEY, snapshot);
+
+			return snapshot;
+		}
+	}
+
+	/**
+	 * @return The manager of the saved state of the Maven modules within the Maven workspace.
+	 */
+	public SavedReactorStateManager getProjectStateManager() {
+		return projectStateManager;
+	}
+
+	/**
+	 * Looks up a saved Maven artifact by its version-agnostic ID and loads the saved state of its Maven module on demand.
+	 *
+	 * @param artifact The Maven artifact to look up.
+	 * @return The saved Maven artifact or null if there is none.
+	 */
+	public Artifact findArtifact(final Artifact artifact) {
+		final long hash = ArtifactKeyUtils.hash(artifact);
+
+		final Artifact eagerArtifact = artifacts.find(artifact, hash);
+		if (eagerArtifact != null) {
+			return eagerArtifact;
+		}
+
+		final Artifact deferredArtifact = deferredArtifacts.find(artifact, hash);
+		if (deferredArtifact != null) {
+			return deferredArtifact;
+		}
+
+		if (!moduleFilter.mightContain(ArtifactKeyUtils.hash(artifact.getGroupId(), artifact.getArtifactId()))) {
+			// Most lookups are Maven artifacts of third parties, which must not contend for the saved state of deferred Maven modules
+			return null;
+		}
+
+		final MavenProjectState projectState;
+		try {
+			projectState = projectStateManager.loadDeferredProjectState(artifact.getGroupId(), artifact.getArtifactId());
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot load saved state for Maven artifact {}. Ignoring.", artifact, e);
+			return null;
+		}
+
+		if (projectState == null) {
+			return null;
+		}
+
+		return addDeferredArtifacts(projectState).find(artifact, hash);
+	}
+
+	/**
+	 * Adds the saved Maven artifacts of a Maven module, which has been loaded on demand, unless they have already been added.
+	 *
+	 * Looking up further absent Maven artifacts of an already loaded Maven module, e.g. its sources, yields its saved state again, whose Maven artifacts
+	 * must not be added again.
+	 *
+	 * @param projectState The saved state of the Maven module.
+	 * @return The saved Maven artifacts of all Maven modules, which have been loaded on demand.
+	 */
+	private synchronized TieredArtifactLookupTable addDeferredArtifacts(final MavenProjectState projectState) {
+		final MavenProject project = projectState.getProject();
+		if (!deferredModuleKeys.add(WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId()))) {
+			return deferredArtifacts;
+		}
+
+		final List<Artifact> projectArtifacts = new ArrayList<>();
+		collectArtifacts(projectArtifacts, projectState);
+
+		final TieredArtifactLookupTable extendedArtifacts = deferredArtifacts.with(projectArtifacts);
+		deferredArtifacts = extendedArtifacts;
+
+		return extendedArtifacts;
+	}
+
+	/**
+	 * @return The number of saved Maven artifacts of the Maven modules, which have been loaded on demand, including replaced ones.
+	 */
+	int getDeferredArtifactCount() {
+		return deferredArtifacts.size();
+	}
+
+	/**
+	 * Collects the saved Maven artifacts of a Maven module.
+	 *
+	 * @param artifacts The saved Maven artifacts to add the Maven artifacts of the Maven module to.
+	 * @param projectState The saved state of the Maven module.
+	 */
+	private static void collectArtifacts(final List<Artifact> artifacts, final MavenProjectState projectState) {
+		artifacts.add(projectState.getPom());
+		artifacts.add(projectState.getMainArtifactState().getArtifact());
+
+		for (final MavenArtifactState attachedArtifactState : projectState.getAttachedArtifactStates()) {
+			artifacts.add(attachedArtifactState.getArtifact());
+		}
+	}
+
+}
@@ -1,7 +1,13 @@
 package de.syquel.maven.reactorstate.common;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -19,10 +25,15 @@ import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
 import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
 import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.hash.FileHashCache;
 import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
-import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.ReactorStateRepositoryFactory;
+import de.syquel.maven.reactorstate.common.persistence.index.ArtifactIndex;
+import de.syquel.maven.reactorstate.common.workspace.ReverseDependencyGraphIndex;
 
 /**
  * The implementation of a Maven Reactor state manager which operates on the current state of Maven modules within a Maven project.
@@ -36,9 +47,24 @@ public class RuntimeReactorStateManager extends AbstractReactorStateManager {
 	 */
 	private final IReactorStateRepository reactorStateRepository;
 
-	private RuntimeReactorStateManager(final Set<MavenProjectState> projectStates, final IReactorStateRepository reactorStateRepository) {
+	/**
+	 * The index of all saved Maven artifacts within the Maven workspace.
+	 */
+	private final ArtifactIndex artifactIndex;
+
+	/**
+	 * The reverse dependency graph of all Maven modules within the Maven workspace.
+	 */
+	private final ReverseDependencyGraphIndex dependencyGraphIndex;
+
+	private RuntimeReactorStateManager(
+		final Set<MavenProjectState> projectStates, final IReactorStateRepository reactorStateRepository, final ArtifactIndex artifactIndex,
+		final ReverseDependencyGraphIndex dependencyGraphIndex
+	) {
 		super(projectStates);
 		this.reactorStateRepository = reactorStateRepository;
+		this.artifactIndex = artifactIndex;
+		this.dependencyGraphIndex = dependencyGraphIndex;
 	}
 
 	/**
@@ -48,34 +74,61 @@ public class RuntimeReactorStateManager extends AbstractReactorStateManager {
 	 * @return A Reactor state manager with the current state of the Maven execution.
 	 */
 	public static RuntimeReactorStateManager create(final MavenSession mavenSession) {
+		final ReactorStateConfiguration configuration = ReactorStateConfiguration.create(mavenSession);
+		final FileHashCache hashCache = configuration.isHashCacheEnabled() ? FileHashCache.create(mavenSession.getTopLevelProject()) : null;
+		final Map<Path, ArtifactFingerprint> fingerprints = fingerprintArtifacts(mavenSession.getProjects(), configuration.getHashParallelism(), hashCache);
+		if (hashCache != null) {
+			hashCache.save();
+		}
+
 		final Set<MavenProjectState> projectStates = new HashSet<>();
 		for (final MavenProject project : mavenSession.getProjects()) {
-			final MavenProjectState projectState = buildProjectState(project);
+			final MavenProjectState projectState = buildProjectState(project, fingerprints);
 			projectStates.add(projectState);
 		}
 
-		return new RuntimeReactorStateManager(projectStates, new JsonReactorStateRepository());
+		return new RuntimeReactorStateManager(
+			projectStates, ReactorStateRepositoryFactory.create(mavenSession, configuration), ArtifactIndex.create(mavenSession.getTopLevelProject()),
+			ReverseDependencyGraphIndex.create(mavenSession.getTopLevelProject())
+		);
 	}
 
 	/**
-	 * Saves the current state of all Maven modules within the Maven execution.
+	 * Saves the current state of all Maven modules within the Maven execution together with the artifact index and the reverse dependency graph.
 	 *
 	 * @throws IOException if an error occurred while saving the state.
 	 */
 	public void saveProjectStates() throws IOException {
-		for (final MavenProjectState projectState : getProjectStates()) {
-			reactorStateRepository.save(projectState);
-		}
+		final Set<MavenProjectState> projectStates = getProjectStates();
+		final int writtenCount = reactorStateRepository.saveAll(projectStates);
+		reactorStateRepository.flush();
+		LOGGER.info("Saved state of {} Maven projects, skipped {} unchanged", writtenCount, projectStates.size() - writtenCount);
+
+		artifactIndex.update(projectStates);
+		dependencyGraphIndex.update(projectStates.stream().map(MavenProjectState::getProject).collect(Collectors.toList()));
 	}
 
 	/**
 	 * Builds the state of a Maven module based on its current state.
 	 *
+	 * The input fingerprint, which has been attached to the Maven module before it was built, is recorded as well.
+	 *
 	 * @param project The Maven module to save the state for.
 	 * @return The current state of the Maven module.
 	 */
-	private static MavenProjectState buildProjectState(final MavenProject project) {
-		final MavenArtifactState mainArtifactState = buildArtifactState(project.getArtifact());
+	static MavenProjectState buildProjectState(final MavenProject project) {
+		return buildProjectState(project, Collections.emptyMap());
+	}
+
+	/**
+	 * Builds the state of a Maven module based on its current state and the precomputed fingerprints of its artifact files.
+	 *
+	 * @param project The Maven module to save the state for.
+	 * @param fingerprints The precomputed fingerprints of artifact files by their paths. Missing fingerprints are computed on demand.
+	 * @return The current state of the Maven module.
+	 */
+	static MavenProjectState buildProjectState(final MavenProject project, final Map<Path, ArtifactFingerprint> fingerprints) {
+		final MavenArtifactState mainArtifactState = buildArtifactState(project.getArtifact(), fingerprints);
 
 		final Artifact pom =
 			ArtifactDescriptorUtils
@@ -84,7 +137,7 @@ public class RuntimeReactorStateManager extends AbstractReactorStateManager {
 
 		final Set<MavenArtifactState> attachedArtifactStates =
 			project.getAttachedArtifacts().stream()
-				.map(RuntimeReactorStateManager::buildArtifactState)
+				.map(attachedArtifact -> buildArtifactState(attachedArtifact, fingerprints))
 				.collect(Collectors.toSet());
 
 		final MavenProjectState projectState;
@@ -93,6 +146,7 @@ public class RuntimeReactorStateManager extends AbstractReactorStateManager {
 		} else {
 			projectState = new MavenProjectState(project, pom, mainArtifactState, attachedArtifactStates);
 		}
+		projectState.setInputFingerprint(ProjectInputFingerprinter.getInputFingerprint(project));
 
 		return projectState;
 	}
@@ -101,10 +155,14 @@ public class RuntimeReactorStateManager extends AbstractReactorStateManager {
 	 * Builds the state of a Maven artifact based on its current state.
 	 *
 	 * @param repositoryArtifact The Maven artifact to save the state for.
+	 * @param fingerprints The precomputed fingerprints of artifact files by their paths.
 	 * @return The current state of the Maven artifact.
 	 */
-	private static MavenArtifactState buildArtifactState(final org.apache.maven.artifact.Artifact repositoryArtifact) {
+	private static MavenArtifactState buildArtifactState(
+		final org.apache.maven.artifact.Artifact repositoryArtifact, final Map<Path, ArtifactFingerprint> fingerprints
+	) {
 		final MavenArtifactState artifactState = new MavenArtifactState(RepositoryUtils.toArtifact(repositoryArtifact));
+		artifactState.setFingerprint(buildFingerprint(repositoryArtifact.getFile(), fingerprints));
 
 		for (@SuppressWarnings("deprecation") final ArtifactMetadata artifactMetadata : repositoryArtifact.getMetadataList()) {
 			final Class<?> artifactMetadataClass = artifactMetadata.getClass();
@@ -127,4 +185,68 @@ public class RuntimeReactorStateManager extends AbstractReactorStateManager {
 		return artifactState;
 	}
 
+	/**
+	 * Builds the fingerprint of the file of a Maven artifact.
+	 *
+	 * @param artifactFile The file of the Maven artifact or null if it has not been resolved.
+	 * @param fingerprints The precomputed fingerprints of artifact files by their paths.
+	 * @return The fingerprint or null if the Maven artifact is not a regular file, e.g. the output directory of an unpackaged Maven module.
+	 */
+	private static ArtifactFingerprint buildFingerprint(final File artifactFile, final Map<Path, ArtifactFingerprint> fingerprints) {
+		if (artifactFile == null || !artifactFile.isFile()) {
+			return null;
+		}
+
+		final ArtifactFingerprint precomputedFingerprint = fingerprints.get(artifactFile.toPath());
+		if (precomputedFingerprint != null) {
+			return precomputedFingerprint;
+		}
+
+		try {
+			return ArtifactFingerprint.create(artifactFile.toPath());
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot fingerprint artifact file {}. Ignoring.", artifactFile, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Computes the fingerprints of the files of the main and attached artifacts of Maven modules at once, so large artifacts are hashed concurrently.
+	 *
+	 * @param projects The Maven modules, whose artifacts are fingerprinted.
+	 * @param parallelism The maximum number of artifact files, which are hashed concurrently.
+	 * @param hashCache The cache of the checksums of unchanged artifact files or null if all artifact files are hashed.
+	 * @return The fingerprints of the artifact files by their paths or an empty map if any artifact file could not be fingerprinted.
+	 */
+	static Map<Path, ArtifactFingerprint> fingerprintArtifacts(
+		final List<MavenProject> projects, final int parallelism, final FileHashCache hashCache
+	) {
+		final List<Path> artifactFiles = new ArrayList<>();
+		for (final MavenProject project : projects) {
+			addArtifactFile(artifactFiles, project.getArtifact().getFile());
+			for (final org.apache.maven.artifact.Artifact attachedArtifact : project.getAttachedArtifacts()) {
+				addArtifactFile(artifactFiles, attachedArtifact.getFile());
+			}
+		}
+
+		try {
+			return ArtifactFingerprint.createAll(artifactFiles, parallelism, hashCache);
+		} catch (final IOException e) {
+			LOGGER.debug("Cannot fingerprint artifact files at once. Fingerprinting them one by one.", e);
+			return Collections.emptyMap();
+		}
+	}
+
+	/**
+	 * Adds the file of a Maven artifact to the files to fingerprint if it is a regular file.
+	 *
+	 * @param artifactFiles The files to fingerprint.
+	 * @param artifactFile The file of the Maven artifact or null if it has not been resolved.
+	 */
+	private static void addArtifactFile(final List<Path> artifactFiles, final File artifactFile) {
+		if (artifactFile != null && artifactFile.isFile()) {
+			artifactFiles.add(artifactFile.toPath());
+		}
+	}
+
 }
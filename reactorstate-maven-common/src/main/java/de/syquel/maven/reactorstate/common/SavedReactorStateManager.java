@@ -1,10 +1,14 @@
 package de.syquel.maven.reactorstate.common;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.maven.RepositoryUtils;
@@ -16,14 +20,21 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
-import org.apache.maven.project.ProjectBuildingRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
 import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
 import de.syquel.maven.reactorstate.common.data.MavenProjectState;
 import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
-import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.ReactorStateRepositoryFactory;
+import de.syquel.maven.reactorstate.common.workspace.IWorkspaceDiscovery;
+import de.syquel.maven.reactorstate.common.workspace.IndexedWorkspaceDiscovery;
+import de.syquel.maven.reactorstate.common.workspace.ParallelWorkspaceDiscovery;
+import de.syquel.maven.reactorstate.common.workspace.RawPomWorkspaceDiscovery;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceDependencyClosure;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceModule;
 
 /**
  * The implementation of a Maven Reactor state manager which operates on the saved state of Maven modules within a Maven project.
@@ -32,8 +43,34 @@ public class SavedReactorStateManager extends AbstractReactorStateManager {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(SavedReactorStateManager.class);
 
-	private SavedReactorStateManager(final Set<MavenProjectState> projectStates) {
+	/**
+	 * All Maven modules of the workspace.
+	 */
+	private final Set<WorkspaceModule> workspaceModules;
+
+	/**
+	 * The Maven modules of the workspace, whose saved state is loaded on demand, by their version-agnostic keys.
+	 */
+	private final Map<String, WorkspaceModule> deferredModules;
+
+	/**
+	 * The repository to load the saved state of deferred Maven modules from.
+	 */
+	private final IReactorStateRepository reactorStateRepository;
+
+	/**
+	 * The version-agnostic keys of the Maven modules, whose saved state has not been restored, because their artifact files have changed since.
+	 */
+	private final Set<String> staleProjectKeys = ConcurrentHashMap.newKeySet();
+
+	private SavedReactorStateManager(
+		final Set<MavenProjectState> projectStates, final Set<WorkspaceModule> workspaceModules, final Map<String, WorkspaceModule> deferredModules,
+		final IReactorStateRepository reactorStateRepository
+	) {
 		super(projectStates);
+		this.workspaceModules = Collections.unmodifiableSet(workspaceModules);
+		this.deferredModules = deferredModules;
+		this.reactorStateRepository = reactorStateRepository;
 	}
 
 	/**
@@ -48,44 +85,181 @@ public class SavedReactorStateManager extends AbstractReactorStateManager {
 	public static SavedReactorStateManager create(final MavenSession session, final ProjectBuilder projectBuilder)
 		throws ProjectBuildingException, IOException
 	{
-		final Set<MavenProject> projects = new HashSet<>(session.getProjects());
+		final ReactorStateConfiguration configuration = ReactorStateConfiguration.create(session);
 
 		LOGGER.info("Resolving Maven project tree");
-		contributeWorkspaceProjects(session.getCurrentProject(), projects, session.getProjectBuildingRequest(), projectBuilder);
-
-		final IReactorStateRepository reactorStateRepository = new JsonReactorStateRepository();
+		final IWorkspaceDiscovery workspaceDiscovery = createWorkspaceDiscovery(session, projectBuilder, configuration);
+		final Set<WorkspaceModule> modules = workspaceDiscovery.discover(session.getCurrentProject(), session.getProjects());
+
+		final IReactorStateRepository reactorStateRepository = ReactorStateRepositoryFactory.create(session, configuration);
+
+		final Set<WorkspaceModule> eagerModules;
+		final Map<String, WorkspaceModule> deferredModules = new HashMap<>();
+		if (configuration.getDiscoveryScope() == ReactorStateConfiguration.DiscoveryScope.DEPENDENCIES) {
+			eagerModules = new WorkspaceDependencyClosure(modules).resolve(session.getProjects());
+			for (final WorkspaceModule module : modules) {
+				if (!eagerModules.contains(module)) {
+					deferredModules.put(module.getKey(), module);
+				}
+			}
 
-		final Set<MavenProjectState> projectStates = new HashSet<>();
-		for (final MavenProject project : projects) {
-			final MavenProjectState projectState = reactorStateRepository.read(project);
-			if (projectState != null) {
-				projectStates.add(projectState);
+			// Maven modules without saved state are never loaded, so they are not even looked up on demand
+			final Set<String> savedModuleKeys = reactorStateRepository.scanProjectKeys("");
+			if (savedModuleKeys != null) {
+				deferredModules.keySet().retainAll(savedModuleKeys);
 			}
+
+			LOGGER.info("Deferred loading of {} out of {} Maven projects, which are not referenced", deferredModules.size(), modules.size());
+		} else {
+			eagerModules = modules;
+		}
+
+		final Set<MavenProject> projects = WorkspaceModule.toProjects(eagerModules, session.getProjects());
+		final Set<MavenProjectState> projectStates = new HashSet<>(reactorStateRepository.readAll(projects));
+
+		return new SavedReactorStateManager(projectStates, modules, deferredModules, reactorStateRepository);
+	}
+
+	/**
+	 * Instantiates a Reactor state manager based on the saved state of the Maven modules of the current Maven execution only.
+	 *
+	 * The workspace is not discovered, so the saved state of the other Maven modules of the workspace is neither read nor loaded on demand.
+	 *
+	 * @param session The current Maven execution for the Maven project build.
+	 * @return A Reactor state manager with the saved state of the Maven modules of the Maven execution.
+	 * @throws IOException if an error occurred while reading the persisted state.
+	 */
+	public static SavedReactorStateManager createForProjects(final MavenSession session) throws IOException {
+		final ReactorStateConfiguration configuration = ReactorStateConfiguration.create(session);
+		final IReactorStateRepository reactorStateRepository = ReactorStateRepositoryFactory.create(session, configuration);
+
+		final Set<WorkspaceModule> modules = new HashSet<>();
+		for (final MavenProject project : session.getProjects()) {
+			modules.add(WorkspaceModule.of(project));
+		}
+
+		final Set<MavenProjectState> projectStates = new HashSet<>(reactorStateRepository.readAll(session.getProjects()));
+
+		return new SavedReactorStateManager(projectStates, modules, new HashMap<>(), reactorStateRepository);
+	}
+
+	/**
+	 * @return All Maven modules of the workspace including those, whose saved state has been deferred.
+	 */
+	public Set<WorkspaceModule> getWorkspaceModules() {
+		return workspaceModules;
+	}
+
+	/**
+	 * Loads the saved state of a Maven module within the workspace, which has been deferred due to the discovery scope.
+	 *
+	 * @param groupId The group ID of the Maven module.
+	 * @param artifactId The artifact ID of the Maven module.
+	 * @return The saved state of the Maven module or null if there is no deferred Maven module or no saved state.
+	 * @throws IOException if an error occurred while reading the persisted state.
+	 */
+	public synchronized MavenProjectState loadDeferredProjectState(final String groupId, final String artifactId) throws IOException {
+		final WorkspaceModule module = deferredModules.get(WorkspaceModule.toKey(groupId, artifactId));
+		if (module == null) {
+			return null;
+		}
+
+		final MavenProject project = module.toProject();
+		final MavenProjectState loadedProjectState = getProjectState(project);
+		if (loadedProjectState != null) {
+			return loadedProjectState;
+		}
+
+		final MavenProjectState projectState = reactorStateRepository.read(project);
+		if (projectState == null) {
+			deferredModules.remove(module.getKey());
+			return null;
+		}
+
+		LOGGER.info("Loaded deferred state of Maven project {}", project.getId());
+		addProjectState(projectState);
+
+		return projectState;
+	}
+
+	/**
+	 * Determines whether the saved state of a Maven module is up-to-date, so the Maven module does not need to be rebuilt.
+	 *
+	 * The saved state is up-to-date if its input fingerprint equals the one, which has been attached to the Maven module by
+	 * {@link ProjectInputFingerprinter}, and the files of all saved Maven artifacts are unchanged.
+	 *
+	 * @param project The Maven module.
+	 * @return Whether the saved state of the Maven module is up-to-date.
+	 */
+	public boolean isUpToDate(final MavenProject project) {
+		final MavenProjectState projectState = getProjectState(project);
+		if (projectState == null) {
+			return false;
+		}
+
+		final String inputFingerprint = ProjectInputFingerprinter.getInputFingerprint(project);
+		if (inputFingerprint == null || !inputFingerprint.equals(projectState.getInputFingerprint())) {
+			return false;
+		}
+
+		return isRestorable(project);
+	}
+
+	/**
+	 * Determines whether the saved state of a Maven module can be restored instead of building the Maven module, because the files of all saved
+	 * Maven artifacts are unchanged.
+	 *
+	 * @param project The Maven module.
+	 * @return Whether the saved state of the Maven module is restorable.
+	 */
+	public boolean isRestorable(final MavenProject project) {
+		final MavenProjectState projectState = getProjectState(project);
+		if (projectState == null || staleProjectKeys.contains(WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId()))) {
+			return false;
 		}
 
-		return new SavedReactorStateManager(projectStates);
+		return findChangedArtifactFile(projectState) == null;
 	}
 
 	/**
 	 * Restores the saved state of the Maven projects and its Maven modules within the current Maven execution.
 	 *
+	 * This loads the deferred repository metadata of the restored Maven artifacts, which is not required to resolve them from the workspace. The files
+	 * of the restored Maven artifacts are verified against their fingerprints, so a Maven artifact, which has been rebuilt or overwritten since its
+	 * state was saved, is not used: The saved state of its Maven module is not restored at all and the Maven module is neither restorable nor
+	 * up-to-date afterwards, so it is rebuilt. Likewise, a Maven module without saved state is not restored.
+	 *
 	 * @param session The current Maven execution.
 	 * @param projectHelper The helper for Maven-related operations on the current state.
+	 * @return The Maven modules, whose saved state has not been restored, because there is none or their artifact files have changed since their state
+	 * was saved.
 	 */
-	public void restoreProjectStates(final MavenSession session, final MavenProjectHelper projectHelper) {
+	public Set<MavenProject> restoreProjectStates(final MavenSession session, final MavenProjectHelper projectHelper) {
 		final Set<MavenProject> projects = new HashSet<>(session.getProjects());
+		final Set<MavenProject> staleProjects = new HashSet<>();
 
 		for (final MavenProject project : projects) {
 			final MavenProjectState projectState = getProjectState(project);
 			if (projectState == null) {
-				throw new IllegalStateException("No saved state found for Maven project " + project.getId() + ": Rebuild required.");
+				LOGGER.warn("No saved state found for Maven project {}. Skipping restoration of Maven project.", project.getId());
+				staleProjects.add(project);
+				continue;
 			}
 
-			project.setPomFile(projectState.getPom().getFile());
+			final File changedArtifactFile = findChangedArtifactFile(projectState);
+			if (changedArtifactFile != null) {
+				LOGGER.warn(
+					"Artifact file {} of Maven project {} has changed since its state was saved. Skipping restoration of Maven project.",
+					changedArtifactFile, project.getId()
+				);
+				staleProjectKeys.add(WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId()));
+				staleProjects.add(project);
+				continue;
+			}
 
-			final MavenArtifactState mainArtifactState = projectState.getMainArtifactState();
+			project.setPomFile(projectState.getPom().getFile());
 
-			final org.apache.maven.artifact.Artifact mainArtifact = buildArtifact(mainArtifactState);
+			final org.apache.maven.artifact.Artifact mainArtifact = buildArtifact(projectState.getMainArtifactState());
 			project.getArtifact().setFile(mainArtifact.getFile());
 			LOGGER.info("Restored main artifact {}", mainArtifact.getId());
 
@@ -97,65 +271,94 @@ public class SavedReactorStateManager extends AbstractReactorStateManager {
 				LOGGER.info("Restored attached artifact {}", attachedArtifact.getId());
 			}
 		}
+
+		return staleProjects;
 	}
 
 	/**
-	 * Discovers Maven modules within the workspace of a Maven project recursively.
+	 * Instantiates the configured discovery strategy for Maven modules within the workspace of a Maven project.
 	 *
-	 * The main use-case for this functionality is to be able to restore the state of other Maven modules, which are not being built in the current
-	 * Maven execution, but belong to the same Maven workspace, to enable standalone builds of submodules.
-	 *
-	 * @param project The Maven module to search for parent and child modules.
-	 * @param discoveredProjects The already discovered Maven modules within the Maven workspace.
-	 * @param buildingRequest The Maven building request of the current Maven execution.
+	 * @param session The current Maven execution for the Maven project build.
 	 * @param projectBuilder The builder for Maven projects from POMs.
-	 * @throws ProjectBuildingException if an invalid POM is encountered.
+	 * @param configuration The configuration of the Maven execution.
+	 * @return The discovery strategy for Maven modules.
 	 */
-	private static void contributeWorkspaceProjects(
-		final MavenProject project, final Set<MavenProject> discoveredProjects,
-		final ProjectBuildingRequest buildingRequest, final ProjectBuilder projectBuilder
-	) throws ProjectBuildingException
-	{
-		final Path projectBasePath = project.getBasedir().toPath();
-
-		// Discover downstream Maven projects within workspace
-		for (final String module : project.getModules()) {
-			final Path modulePomPath = projectBasePath.resolve(module).resolve("pom.xml");
+	private static IWorkspaceDiscovery createWorkspaceDiscovery(
+		final MavenSession session, final ProjectBuilder projectBuilder, final ReactorStateConfiguration configuration
+	) {
+		final IWorkspaceDiscovery workspaceDiscovery;
+		switch (configuration.getDiscoveryMode()) {
+			case SCAN:
+				workspaceDiscovery = new RawPomWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest());
+				break;
+			case BUILD:
+			default:
+				workspaceDiscovery =
+					new ParallelWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest(), configuration.getDiscoveryParallelism());
+				break;
+		}
 
-			final MavenProject moduleProject = projectBuilder.build(modulePomPath.toFile(), buildingRequest).getProject();
-			if (discoveredProjects.contains(moduleProject)) {
-				continue;
-			}
+		if (!configuration.isDiscoveryIndexEnabled()) {
+			return workspaceDiscovery;
+		}
 
-			LOGGER.info("Discovered upstream Maven project {}", moduleProject.getId());
-			discoveredProjects.add(moduleProject);
+		return new IndexedWorkspaceDiscovery(workspaceDiscovery, session.getProjectBuildingRequest());
+	}
 
-			contributeWorkspaceProjects(moduleProject, discoveredProjects, buildingRequest, projectBuilder);
+	/**
+	 * Finds the file of a main or attached artifact of a Maven module, which has changed since its state was saved.
+	 *
+	 * @param projectState The saved state of the Maven module.
+	 * @return The first changed artifact file or null if all artifact files are unchanged.
+	 */
+	private static File findChangedArtifactFile(final MavenProjectState projectState) {
+		if (!isArtifactUnchanged(projectState.getMainArtifactState())) {
+			return projectState.getMainArtifactState().getArtifact().getFile();
 		}
 
-		// Discover upstream Maven projects within workspace
-		final MavenProject parentProject = project.getParent();
-		if (parentProject != null && !discoveredProjects.contains(parentProject) && isWorkspaceProject(parentProject)) {
-			LOGGER.info("Discovered Maven parent project {}", parentProject.getId());
-			discoveredProjects.add(parentProject);
-
-			contributeWorkspaceProjects(parentProject, discoveredProjects, buildingRequest, projectBuilder);
+		for (final MavenArtifactState attachedArtifactState : projectState.getAttachedArtifactStates()) {
+			if (!isArtifactUnchanged(attachedArtifactState)) {
+				return attachedArtifactState.getArtifact().getFile();
+			}
 		}
+
+		return null;
 	}
 
 	/**
-	 * Determines if a Maven module belongs to the current Maven workspace.
+	 * Determines whether the file of a Maven artifact is unchanged since its state was saved.
+	 *
+	 * A Maven artifact without file is always unchanged. A file is unchanged if it matches the fingerprint of the saved state. A Maven artifact without
+	 * fingerprint, e.g. saved by a previous version, cannot be verified, so its file is considered unchanged as long as it still exists.
 	 *
-	 * @param project The Maven module to check.
-	 * @return Whether the Maven module belongs to the current Maven workspace.
+	 * @param artifactState The saved state of the Maven artifact.
+	 * @return Whether the file of the Maven artifact is unchanged.
 	 */
-	private static boolean isWorkspaceProject(final MavenProject project) {
-		return project.getBasedir() != null;
+	private static boolean isArtifactUnchanged(final MavenArtifactState artifactState) {
+		final File artifactFile = artifactState.getArtifact().getFile();
+		if (artifactFile == null) {
+			return true;
+		}
+
+		final ArtifactFingerprint fingerprint = artifactState.getFingerprint();
+		if (fingerprint == null) {
+			return artifactFile.isFile();
+		}
+
+		try {
+			return fingerprint.matches(artifactFile.toPath());
+		} catch (final IOException e) {
+			LOGGER.debug("Cannot verify artifact file {}", artifactFile, e);
+			return false;
+		}
 	}
 
 	/**
 	 * Builds a Maven artifact based on its saved state.
 	 *
+	 * The repository metadata is wrapped instead of copied, so Maven artifacts with identical saved repository metadata, e.g. the group-level
+	 * repository metadata of all Maven modules of a group, share a single instance.
+	 *
 	 * @param artifactState The Maven artifact state to build the Maven Artifact for.
 	 * @return The Maven artifact based on its saved state.
 	 */
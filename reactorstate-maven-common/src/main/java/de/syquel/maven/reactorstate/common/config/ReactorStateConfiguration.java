@@ -0,0 +1,452 @@
+package de.syquel.maven.reactorstate.common.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * An accessor for the user-provided configuration of the Maven state management.
+ *
+ * Configuration properties are looked up in the user properties of the Maven execution first, e.g. {@code -Dreactorstate.discovery.parallelism=4},
+ * and fall back to the system properties.
+ */
+public class ReactorStateConfiguration {
+
+	/**
+	 * The property key for the maximum number of Maven modules, which are built concurrently while discovering the Maven workspace.
+	 */
+	public static final String PROPERTY_DISCOVERY_PARALLELISM = "reactorstate.discovery.parallelism";
+
+	/**
+	 * The property key for the switch, whether the topology of the Maven workspace is persisted and reused as long as no POM has changed.
+	 */
+	public static final String PROPERTY_DISCOVERY_INDEX = "reactorstate.discovery.index";
+
+	/**
+	 * The property key for the strategy, which is used to discover the Maven modules of the workspace.
+	 */
+	public static final String PROPERTY_DISCOVERY_MODE = "reactorstate.discovery.mode";
+
+	/**
+	 * The property key for the scope of Maven modules within the workspace, whose saved state is loaded eagerly.
+	 */
+	public static final String PROPERTY_DISCOVERY_SCOPE = "reactorstate.discovery.scope";
+
+	/**
+	 * The property key for the layout of the persisted state of the Maven modules.
+	 */
+	public static final String PROPERTY_REPOSITORY = "reactorstate.repository";
+
+	/**
+	 * The property key for the format of the persisted state of the Maven modules.
+	 */
+	public static final String PROPERTY_REPOSITORY_FORMAT = "reactorstate.repository.format";
+
+	/**
+	 * The property key for pretty-printing the persisted state of the Maven modules in the JSON format.
+	 */
+	public static final String PROPERTY_REPOSITORY_PRETTY = "reactorstate.repository.pretty";
+
+	/**
+	 * The property key for the maximum number of Maven modules, whose persisted state is read or saved concurrently.
+	 */
+	public static final String PROPERTY_REPOSITORY_PARALLELISM = "reactorstate.repository.parallelism";
+
+	/**
+	 * The property key for the guarantees for the persisted state of the Maven modules to survive a crash of the operating system.
+	 */
+	public static final String PROPERTY_REPOSITORY_DURABILITY = "reactorstate.repository.durability";
+
+	/**
+	 * The property key for the compression of the persisted state of the Maven modules.
+	 */
+	public static final String PROPERTY_REPOSITORY_COMPRESSION = "reactorstate.repository.compression";
+
+	/**
+	 * The property key for the size of obsolete records in KiB, which triggers a compaction of the journal.
+	 */
+	public static final String PROPERTY_REPOSITORY_COMPACTION_THRESHOLD = "reactorstate.repository.compaction.threshold";
+
+	/**
+	 * The property key for the point in time, when the state of the Maven modules is saved.
+	 */
+	public static final String PROPERTY_SAVE_MODE = "reactorstate.save.mode";
+
+	/**
+	 * The property key for the switch, whether Maven modules with up-to-date saved state are restored instead of being built.
+	 */
+	public static final String PROPERTY_SKIP_UP_TO_DATE = "reactorstate.skip.uptodate";
+
+	/**
+	 * The property key for the Git revision, whose changes determine the Maven modules to build.
+	 */
+	public static final String PROPERTY_CHANGED_SINCE = "reactorstate.changed.since";
+
+	/**
+	 * The property key for the maximum number of files, whose content is hashed concurrently.
+	 */
+	public static final String PROPERTY_HASH_PARALLELISM = "reactorstate.hash.parallelism";
+
+	/**
+	 * The property key for the switch, whether the hashes of unchanged files are persisted and reused.
+	 */
+	public static final String PROPERTY_HASH_CACHE = "reactorstate.hash.cache";
+
+	/**
+	 * The merged configuration properties of the Maven execution.
+	 */
+	private final Properties properties;
+
+	/**
+	 * Constructs a new instance with its properties.
+	 *
+	 * @param properties The merged configuration properties of the Maven execution.
+	 */
+	private ReactorStateConfiguration(final Properties properties) {
+		this.properties = properties;
+	}
+
+	/**
+	 * Instantiates this accessor based on the properties of the current Maven execution.
+	 *
+	 * @param session The current Maven execution.
+	 * @return A configuration accessor.
+	 */
+	public static ReactorStateConfiguration create(final MavenSession session) {
+		final Properties properties = new Properties();
+		properties.putAll(session.getSystemProperties());
+		properties.putAll(session.getUserProperties());
+
+		return new ReactorStateConfiguration(properties);
+	}
+
+	/**
+	 * @return The maximum number of Maven modules, which are built concurrently while discovering the Maven workspace.
+	 */
+	public int getDiscoveryParallelism() {
+		return getPositiveIntProperty(PROPERTY_DISCOVERY_PARALLELISM, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @return Whether the topology of the Maven workspace is persisted and reused as long as no POM has changed.
+	 */
+	public boolean isDiscoveryIndexEnabled() {
+		return getBooleanProperty(PROPERTY_DISCOVERY_INDEX, false);
+	}
+
+	/**
+	 * @return The strategy, which is used to discover the Maven modules of the workspace.
+	 */
+	public DiscoveryMode getDiscoveryMode() {
+		return getEnumProperty(PROPERTY_DISCOVERY_MODE, DiscoveryMode.class, DiscoveryMode.BUILD);
+	}
+
+	/**
+	 * @return The scope of Maven modules within the workspace, whose saved state is loaded eagerly.
+	 */
+	public DiscoveryScope getDiscoveryScope() {
+		return getEnumProperty(PROPERTY_DISCOVERY_SCOPE, DiscoveryScope.class, DiscoveryScope.WORKSPACE);
+	}
+
+	/**
+	 * @return The layout of the persisted state of the Maven modules.
+	 */
+	public RepositoryLayout getRepositoryLayout() {
+		return getEnumProperty(PROPERTY_REPOSITORY, RepositoryLayout.class, RepositoryLayout.MODULE);
+	}
+
+	/**
+	 * @return The format of the persisted state of the Maven modules.
+	 */
+	public RepositoryFormat getRepositoryFormat() {
+		return getEnumProperty(PROPERTY_REPOSITORY_FORMAT, RepositoryFormat.class, RepositoryFormat.JSON);
+	}
+
+	/**
+	 * @return Whether the persisted state of the Maven modules is pretty-printed in the JSON format instead of being compact.
+	 */
+	public boolean isRepositoryPrettyPrint() {
+		return getBooleanProperty(PROPERTY_REPOSITORY_PRETTY, true);
+	}
+
+	/**
+	 * @return The maximum number of Maven modules, whose persisted state is read or saved concurrently.
+	 */
+	public int getRepositoryParallelism() {
+		// Reading and saving the state is bound by filesystem latency rather than by CPU
+		return getPositiveIntProperty(PROPERTY_REPOSITORY_PARALLELISM, 2 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @return The guarantees for the persisted state of the Maven modules to survive a crash of the operating system.
+	 */
+	public RepositoryDurability getRepositoryDurability() {
+		return getEnumProperty(PROPERTY_REPOSITORY_DURABILITY, RepositoryDurability.class, RepositoryDurability.FAST);
+	}
+
+	/**
+	 * @return The compression of the persisted state of the Maven modules.
+	 */
+	public RepositoryCompression getRepositoryCompression() {
+		return getEnumProperty(PROPERTY_REPOSITORY_COMPRESSION, RepositoryCompression.class, RepositoryCompression.NONE);
+	}
+
+	/**
+	 * @return The size of obsolete records in bytes, which triggers a compaction of the journal.
+	 */
+	public long getRepositoryCompactionThreshold() {
+		return getPositiveIntProperty(PROPERTY_REPOSITORY_COMPACTION_THRESHOLD, 1024) * 1024L;
+	}
+
+	/**
+	 * @return The point in time, when the state of the Maven modules is saved.
+	 */
+	public SaveMode getSaveMode() {
+		return getEnumProperty(PROPERTY_SAVE_MODE, SaveMode.class, SaveMode.SESSION);
+	}
+
+	/**
+	 * @return Whether Maven modules with up-to-date saved state are restored instead of being built.
+	 */
+	public boolean isSkipUpToDate() {
+		return getBooleanProperty(PROPERTY_SKIP_UP_TO_DATE, false);
+	}
+
+	/**
+	 * @return The Git revision, whose changes determine the Maven modules to build, or null if all Maven modules are built.
+	 */
+	public String getChangedSince() {
+		final String value = properties.getProperty(PROPERTY_CHANGED_SINCE);
+		return (value == null || value.trim().isEmpty()) ? null : value.trim();
+	}
+
+	/**
+	 * @return The maximum number of files, whose content is hashed concurrently.
+	 */
+	public int getHashParallelism() {
+		return getPositiveIntProperty(PROPERTY_HASH_PARALLELISM, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @return Whether the hashes of unchanged files are persisted and reused.
+	 */
+	public boolean isHashCacheEnabled() {
+		return getBooleanProperty(PROPERTY_HASH_CACHE, true);
+	}
+
+	/**
+	 * Returns a configuration property, which must be a boolean.
+	 *
+	 * @param key The key of the configuration property.
+	 * @param defaultValue The value to return if the configuration property is not set.
+	 * @return The value of the configuration property.
+	 * @throws IllegalArgumentException if the configuration property is not a boolean.
+	 */
+	private boolean getBooleanProperty(final String key, final boolean defaultValue) {
+		final String value = properties.getProperty(key);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+
+		switch (value.trim().toLowerCase(Locale.ROOT)) {
+			case "true":
+				return true;
+			case "false":
+				return false;
+			default:
+				throw new IllegalArgumentException("Configuration property " + key + " must be either 'true' or 'false', but is '" + value + "'");
+		}
+	}
+
+	/**
+	 * Returns a configuration property, which must be a positive integer.
+	 *
+	 * @param key The key of the configuration property.
+	 * @param defaultValue The value to return if the configuration property is not set.
+	 * @return The value of the configuration property.
+	 * @throws IllegalArgumentException if the configuration property is not a positive integer.
+	 */
+	private int getPositiveIntProperty(final String key, final int defaultValue) {
+		final String value = properties.getProperty(key);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+
+		final int intValue;
+		try {
+			intValue = Integer.parseInt(value.trim());
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException("Configuration property " + key + " must be an integer, but is '" + value + "'", e);
+		}
+
+		if (intValue <= 0) {
+			throw new IllegalArgumentException("Configuration property " + key + " must be positive, but is " + intValue);
+		}
+
+		return intValue;
+	}
+
+	/**
+	 * Returns a configuration property, which must be the case-insensitive name of an enum constant.
+	 *
+	 * @param key The key of the configuration property.
+	 * @param enumType The type of the enum.
+	 * @param defaultValue The value to return if the configuration property is not set.
+	 * @param <E> The type of the enum.
+	 * @return The value of the configuration property.
+	 * @throws IllegalArgumentException if the configuration property is not the name of an enum constant.
+	 */
+	private <E extends Enum<E>> E getEnumProperty(final String key, final Class<E> enumType, final E defaultValue) {
+		final String value = properties.getProperty(key);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+
+		try {
+			return Enum.valueOf(enumType, value.trim().toUpperCase(Locale.ROOT));
+		} catch (final IllegalArgumentException e) {
+			throw new IllegalArgumentException(
+				"Configuration property " + key + " must be one of " + Arrays.toString(enumType.getEnumConstants()) + ", but is '" + value + "'", e
+			);
+		}
+	}
+
+	/**
+	 * The strategies to discover the Maven modules of the workspace.
+	 */
+	public enum DiscoveryMode {
+
+		/**
+		 * Build the effective model of every Maven module.
+		 */
+		BUILD,
+
+		/**
+		 * Scan the raw POMs of the Maven modules and only build effective models if a raw POM is not sufficient.
+		 */
+		SCAN
+
+	}
+
+	/**
+	 * The scopes of Maven modules within the workspace, whose saved state is loaded eagerly.
+	 */
+	public enum DiscoveryScope {
+
+		/**
+		 * Load the saved state of all Maven modules within the workspace.
+		 */
+		WORKSPACE,
+
+		/**
+		 * Load the saved state of the Maven modules, which are transitively referenced by the Maven modules of the current Maven execution.
+		 * The saved state of other Maven modules is loaded on demand.
+		 */
+		DEPENDENCIES
+
+	}
+
+	/**
+	 * The layouts of the persisted state of the Maven modules.
+	 */
+	public enum RepositoryLayout {
+
+		/**
+		 * Persist the state of every Maven module within its own build directory.
+		 */
+		MODULE,
+
+		/**
+		 * Persist the states of all Maven modules within a single file in the build directory of the top-most Maven module of the workspace.
+		 */
+		AGGREGATED,
+
+		/**
+		 * Append the states of all Maven modules to a journal in the build directory of the top-most Maven module of the workspace, which is compacted
+		 * in the background.
+		 */
+		JOURNAL
+
+	}
+
+	/**
+	 * The formats of the persisted state of the Maven modules.
+	 */
+	public enum RepositoryFormat {
+
+		/**
+		 * Human-readable JSON.
+		 */
+		JSON,
+
+		/**
+		 * Compact binary representation with shared string and property tables.
+		 */
+		BINARY
+
+	}
+
+	/**
+	 * The guarantees for the persisted state of the Maven modules to survive a crash of the operating system.
+	 *
+	 * Files of the persisted state are always replaced atomically, so that an interrupted Maven execution does not leave truncated files behind.
+	 */
+	public enum RepositoryDurability {
+
+		/**
+		 * Do not force files to durable storage.
+		 */
+		FAST,
+
+		/**
+		 * Force every file and its directory to durable storage before and after replacing it.
+		 */
+		SAFE,
+
+		/**
+		 * Force all files and their directories to durable storage at once after the state of all Maven modules has been saved.
+		 */
+		BATCH
+
+	}
+
+	/**
+	 * The compressions of the persisted state of the Maven modules.
+	 *
+	 * Compressed state is detected on read, so the persisted state remains readable after changing the compression.
+	 */
+	public enum RepositoryCompression {
+
+		/**
+		 * Do not compress the persisted state.
+		 */
+		NONE,
+
+		/**
+		 * Deflate the persisted state with a preset dictionary of common tokens of the persisted state.
+		 */
+		DEFLATE
+
+	}
+
+	/**
+	 * The points in time, when the state of the Maven modules is saved.
+	 */
+	public enum SaveMode {
+
+		/**
+		 * Save the state of all Maven modules at once after the Maven execution has ended.
+		 */
+		SESSION,
+
+		/**
+		 * Save the state of every Maven module in the background as soon as it has been built successfully, so the state of successfully built Maven
+		 * modules survives a failure later in the Maven execution.
+		 */
+		PROJECT
+
+	}
+
+}
@@ -0,0 +1,143 @@
+package de.syquel.maven.reactorstate.common.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.syquel.maven.reactorstate.common.hash.FileHashCache;
+import de.syquel.maven.reactorstate.common.hash.FileHashingService;
+import de.syquel.maven.reactorstate.common.hash.HashAlgorithm;
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+
+/**
+ * The fingerprint of the file of a Maven artifact, which consists of its size, its modification time and the checksum of its content.
+ *
+ * A file is verified by comparing its attributes first, so its content is only hashed if it has been touched without changing its size.
+ */
+public final class ArtifactFingerprint {
+
+	/**
+	 * The algorithm of the checksum of the content of files.
+	 */
+	public static final HashAlgorithm CHECKSUM_ALGORITHM = HashAlgorithm.CRC32;
+
+	/**
+	 * The size of the file in bytes.
+	 */
+	private final long size;
+
+	/**
+	 * The modification time of the file in milliseconds since the epoch.
+	 */
+	private final long lastModified;
+
+	/**
+	 * The CRC-32 checksum of the content of the file.
+	 */
+	private final long checksum;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param size The size of the file in bytes.
+	 * @param lastModified The modification time of the file in milliseconds since the epoch.
+	 * @param checksum The CRC-32 checksum of the content of the file.
+	 */
+	public ArtifactFingerprint(final long size, final long lastModified, final long checksum) {
+		this.size = size;
+		this.lastModified = lastModified;
+		this.checksum = checksum;
+	}
+
+	/**
+	 * Computes the fingerprint of a file.
+	 *
+	 * @param file The file of the Maven artifact.
+	 * @return The fingerprint of the file.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	public static ArtifactFingerprint create(final Path file) throws IOException {
+		final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		return new ArtifactFingerprint(attributes.size(), attributes.lastModifiedTime().toMillis(), DigestUtils.crc32(file));
+	}
+
+	/**
+	 * Computes the fingerprints of multiple files, whose content is hashed concurrently.
+	 *
+	 * The attributes of all files are read before their content is hashed, so a file, which is modified meanwhile, does not match its fingerprint.
+	 *
+	 * @param files The files of the Maven artifacts.
+	 * @param parallelism The maximum number of files, which are hashed concurrently.
+	 * @param hashCache The cache of the checksums of unchanged files or null if all files are hashed.
+	 * @return The fingerprints of the files by their paths.
+	 * @throws IOException if an error occurred while reading any file.
+	 */
+	public static Map<Path, ArtifactFingerprint> createAll(
+		final Collection<Path> files, final int parallelism, final FileHashCache hashCache
+	) throws IOException {
+		final Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+		for (final Path file : files) {
+			attributes.put(file, Files.readAttributes(file, BasicFileAttributes.class));
+		}
+
+		final Map<Path, byte[]> checksums = new FileHashingService(CHECKSUM_ALGORITHM, parallelism, hashCache).hashAll(files);
+
+		final Map<Path, ArtifactFingerprint> fingerprints = new HashMap<>();
+		for (final Map.Entry<Path, BasicFileAttributes> fileAttributes : attributes.entrySet()) {
+			final BasicFileAttributes attribute = fileAttributes.getValue();
+			final long checksum = DigestUtils.toLong(checksums.get(fileAttributes.getKey()));
+			fingerprints.put(fileAttributes.getKey(), new ArtifactFingerprint(attribute.size(), attribute.lastModifiedTime().toMillis(), checksum));
+		}
+
+		return fingerprints;
+	}
+
+	/**
+	 * Verifies whether a file still matches this fingerprint.
+	 *
+	 * @param file The file of the Maven artifact.
+	 * @return Whether the file exists and its content has not changed.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	public boolean matches(final Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return false;
+		}
+
+		final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		if (attributes.size() != size) {
+			return false;
+		}
+		if (attributes.lastModifiedTime().toMillis() == lastModified) {
+			return true;
+		}
+
+		return DigestUtils.crc32(file) == checksum;
+	}
+
+	/**
+	 * @return The size of the file in bytes.
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return The modification time of the file in milliseconds since the epoch.
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * @return The CRC-32 checksum of the content of the file.
+	 */
+	public long getChecksum() {
+		return checksum;
+	}
+
+}
@@ -0,0 +1,19 @@
+package de.syquel.maven.reactorstate.common.data;
+
+import java.io.IOException;
+
+/**
+ * A loader of the repository metadata of a Maven artifact state, which defers reading the persisted repository metadata until it is accessed.
+ */
+@FunctionalInterface
+public interface IRepositoryMetadataLoader {
+
+	/**
+	 * Loads the repository metadata into the state of a Maven artifact.
+	 *
+	 * @param artifactState The state of the Maven artifact to load the repository metadata into.
+	 * @throws IOException if an error occurred while reading the persisted repository metadata.
+	 */
+	void load(MavenArtifactState artifactState) throws IOException;
+
+}
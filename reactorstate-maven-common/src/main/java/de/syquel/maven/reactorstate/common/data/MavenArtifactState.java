@@ -1,15 +1,29 @@
 package de.syquel.maven.reactorstate.common.data;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
 import java.util.Objects;
 
 import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 
 /**
  * Representation of the state of a Maven artifact.
+ *
+ * The state consists of two tiers: The Maven artifact with its coordinates and file, which is required to resolve the Maven artifact from the
+ * workspace, and its repository metadata, which is only required to install or deploy the Maven artifact. The repository metadata of a persisted state
+ * may be loaded on first access via an {@link IRepositoryMetadataLoader}. The {@link ArtifactFingerprint} of the file verifies that the file has not
+ * changed since the state was captured.
  */
 public class MavenArtifactState {
 
+	/**
+	 * The canonical order of Maven artifact states by the coordinates of their Maven artifacts, which makes the persisted state deterministic.
+	 */
+	public static final Comparator<MavenArtifactState> COORDINATES_ORDER = Comparator.comparing(state -> ArtifactIdUtils.toId(state.getArtifact()));
+
 	/**
 	 * The represented Maven artifact.
 	 */
@@ -30,6 +44,16 @@ public class MavenArtifactState {
 	 */
 	private Metadata snapshotRepositoryMetadata = null;
 
+	/**
+	 * The loader of the repository metadata, which has not been loaded yet, or null if it is loaded.
+	 */
+	private IRepositoryMetadataLoader repositoryMetadataLoader = null;
+
+	/**
+	 * The fingerprint of the file of the Maven artifact at the time its state was captured or null if it is unknown.
+	 */
+	private ArtifactFingerprint fingerprint = null;
+
 	public MavenArtifactState(final Artifact artifact) {
 		this.artifact = artifact;
 	}
@@ -38,30 +62,60 @@ public class MavenArtifactState {
 		return artifact;
 	}
 
-	public Metadata getArtifactRepositoryMetadata() {
+	public ArtifactFingerprint getFingerprint() {
+		return fingerprint;
+	}
+
+	public void setFingerprint(final ArtifactFingerprint fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	public synchronized Metadata getArtifactRepositoryMetadata() {
+		loadRepositoryMetadata();
 		return artifactRepositoryMetadata;
 	}
 
-	public void setArtifactRepositoryMetadata(final Metadata artifactRepositoryMetadata) {
+	public synchronized void setArtifactRepositoryMetadata(final Metadata artifactRepositoryMetadata) {
+		loadRepositoryMetadata();
 		this.artifactRepositoryMetadata = artifactRepositoryMetadata;
 	}
 
-	public Metadata getGroupRepositoryMetadata() {
+	public synchronized Metadata getGroupRepositoryMetadata() {
+		loadRepositoryMetadata();
 		return groupRepositoryMetadata;
 	}
 
-	public void setGroupRepositoryMetadata(final Metadata groupRepositoryMetadata) {
+	public synchronized void setGroupRepositoryMetadata(final Metadata groupRepositoryMetadata) {
+		loadRepositoryMetadata();
 		this.groupRepositoryMetadata = groupRepositoryMetadata;
 	}
 
-	public Metadata getSnapshotRepositoryMetadata() {
+	public synchronized Metadata getSnapshotRepositoryMetadata() {
+		loadRepositoryMetadata();
 		return snapshotRepositoryMetadata;
 	}
 
-	public void setSnapshotRepositoryMetadata(final Metadata snapshotRepositoryMetadata) {
+	public synchronized void setSnapshotRepositoryMetadata(final Metadata snapshotRepositoryMetadata) {
+		loadRepositoryMetadata();
 		this.snapshotRepositoryMetadata = snapshotRepositoryMetadata;
 	}
 
+	/**
+	 * Defers loading the repository metadata until it is accessed.
+	 *
+	 * @param repositoryMetadataLoader The loader of the repository metadata.
+	 */
+	public synchronized void setRepositoryMetadataLoader(final IRepositoryMetadataLoader repositoryMetadataLoader) {
+		this.repositoryMetadataLoader = repositoryMetadataLoader;
+	}
+
+	/**
+	 * @return Whether the repository metadata has been loaded.
+	 */
+	public synchronized boolean isRepositoryMetadataLoaded() {
+		return repositoryMetadataLoader == null;
+	}
+
 	@Override
 	public boolean equals(final Object o) {
 		if (this == o)
@@ -77,4 +131,25 @@ public class MavenArtifactState {
 		return Objects.hash(artifact);
 	}
 
+	/**
+	 * Loads the repository metadata unless it has already been loaded.
+	 *
+	 * @throws UncheckedIOException if an error occurred while reading the persisted repository metadata.
+	 */
+	private void loadRepositoryMetadata() {
+		if (repositoryMetadataLoader == null) {
+			return;
+		}
+
+		// The loader populates the repository metadata via the setters, which must not trigger loading again
+		final IRepositoryMetadataLoader pendingLoader = repositoryMetadataLoader;
+		repositoryMetadataLoader = null;
+		try {
+			pendingLoader.load(this);
+		} catch (final IOException e) {
+			repositoryMetadataLoader = pendingLoader;
+			throw new UncheckedIOException("Cannot load repository metadata of Maven artifact " + ArtifactIdUtils.toId(artifact), e);
+		}
+	}
+
 }
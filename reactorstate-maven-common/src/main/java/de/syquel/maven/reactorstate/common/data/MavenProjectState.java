@@ -2,7 +2,7 @@ package de.syquel.maven.reactorstate.common.data;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.apache.maven.project.MavenProject;
@@ -10,6 +10,8 @@ import org.eclipse.aether.artifact.Artifact;
 
 /**
  * Representation of the state of a Maven module.
+ *
+ * The state optionally records the fingerprint of the inputs of the Maven module, which the Maven artifacts have been built from.
  */
 public class MavenProjectState {
 
@@ -33,17 +35,22 @@ public class MavenProjectState {
 	/**
 	 * Additional states of attached artifacts on the Maven module.
 	 *
-	 * These are generated supporting artifacts, e.g. JavaDoc and sources JARs.
+	 * These are generated supporting artifacts, e.g. JavaDoc and sources JARs, in the canonical order of {@link MavenArtifactState#COORDINATES_ORDER}.
 	 */
 	private final Set<MavenArtifactState> attachedArtifactStates;
 
+	/**
+	 * The fingerprint of the inputs of the Maven module, which the Maven artifacts have been built from, or null if it is unknown.
+	 */
+	private String inputFingerprint;
+
 	public MavenProjectState(
 		final MavenProject project, final Artifact pom, final MavenArtifactState mainArtifactState, final Set<MavenArtifactState> attachedArtifactStates
 	) {
 		this.project = project;
 		this.pom = pom;
 		this.mainArtifactState = mainArtifactState;
-		this.attachedArtifactStates = Collections.unmodifiableSet(new HashSet<>(attachedArtifactStates));
+		this.attachedArtifactStates = Collections.unmodifiableSet(sortByCoordinates(attachedArtifactStates));
 	}
 
 	public MavenProject getProject() {
@@ -62,4 +69,25 @@ public class MavenProjectState {
 		return attachedArtifactStates;
 	}
 
+	public String getInputFingerprint() {
+		return inputFingerprint;
+	}
+
+	public void setInputFingerprint(final String inputFingerprint) {
+		this.inputFingerprint = inputFingerprint;
+	}
+
+	/**
+	 * Sorts Maven artifact states by the coordinates of their Maven artifacts.
+	 *
+	 * @param artifactStates The Maven artifact states to sort.
+	 * @return The Maven artifact states in the canonical order.
+	 */
+	public static Set<MavenArtifactState> sortByCoordinates(final Collection<MavenArtifactState> artifactStates) {
+		final Set<MavenArtifactState> sortedArtifactStates = new LinkedHashSet<>();
+		artifactStates.stream().sorted(MavenArtifactState.COORDINATES_ORDER).forEachOrdered(sortedArtifactStates::add);
+
+		return sortedArtifactStates;
+	}
+
 }
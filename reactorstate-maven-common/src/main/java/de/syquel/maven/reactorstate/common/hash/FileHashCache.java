@@ -0,0 +1,426 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * A persistent cache of the hashes of files, which is stored next to the saved state of the Maven workspace.
+ *
+ * A cached hash is only reused as long as the absolute path, the size, the modification time and the file key, e.g. the inode, of its file are
+ * unchanged. Files, which have been modified within the granularity of file system timestamps before they were hashed, are not cached, since a
+ * subsequent modification within the same timestamp would go unnoticed. Entries of files, which no longer exist, are evicted when the cache is saved.
+ *
+ * This cache is thread-safe.
+ */
+public final class FileHashCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FileHashCache.class);
+
+	/**
+	 * The location of the hash cache within the build directory of the top-most Maven module.
+	 */
+	private static final String CACHE_FILENAME = "reactorstate-hashes.bin";
+
+	/**
+	 * The magic bytes at the start of the persisted hash cache.
+	 */
+	private static final byte[] MAGIC = { 'R', 'S', 'H', 'C' };
+
+	/**
+	 * The version of the format of the persisted hash cache.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * The coarsest granularity of file system timestamps, which is the granularity of FAT file systems.
+	 */
+	private static final long TIMESTAMP_GRANULARITY_MILLIS = 2000;
+
+	/**
+	 * The location of the persisted hash cache.
+	 */
+	private final Path cachePath;
+
+	/**
+	 * The cached hashes by their algorithms and the absolute and normalized paths of their files.
+	 */
+	private final Map<EntryKey, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether the cache has been modified since it was loaded.
+	 */
+	private volatile boolean modified;
+
+	/**
+	 * Constructs a new, empty instance.
+	 *
+	 * @param cachePath The location of the persisted hash cache.
+	 */
+	public FileHashCache(final Path cachePath) {
+		this.cachePath = cachePath;
+	}
+
+	/**
+	 * Loads the persisted hash cache for the Maven workspace of a Maven module.
+	 *
+	 * @param project A Maven module of the workspace.
+	 * @return The loaded hash cache, which is empty if there is no valid persisted hash cache.
+	 */
+	public static FileHashCache create(final MavenProject project) {
+		final MavenProject rootProject = MavenProjectUtils.resolveWorkspaceRootProject(project);
+		final FileHashCache hashCache = new FileHashCache(MavenProjectUtils.resolveProjectBuildPath(rootProject).resolve(CACHE_FILENAME));
+		hashCache.load();
+
+		return hashCache;
+	}
+
+	/**
+	 * Looks up the cached hash of a file.
+	 *
+	 * @param algorithm The algorithm of the hash.
+	 * @param file The file.
+	 * @param attributes The current attributes of the file.
+	 * @return The cached hash or null if the file has not been cached or has changed since.
+	 */
+	public byte[] get(final HashAlgorithm algorithm, final Path file, final BasicFileAttributes attributes) {
+		final Entry entry = entries.get(new EntryKey(algorithm, normalize(file)));
+		if (entry == null || !entry.matches(attributes)) {
+			return null;
+		}
+
+		return entry.getHash().clone();
+	}
+
+	/**
+	 * Caches the hash of a file.
+	 *
+	 * @param algorithm The algorithm of the hash.
+	 * @param file The file.
+	 * @param attributes The attributes of the file, which have been read before its content was hashed.
+	 * @param hash The hash of the content of the file.
+	 */
+	public void put(final HashAlgorithm algorithm, final Path file, final BasicFileAttributes attributes, final byte[] hash) {
+		final long modificationAgeMillis = System.currentTimeMillis() - attributes.lastModifiedTime().toMillis();
+		if (modificationAgeMillis < TIMESTAMP_GRANULARITY_MILLIS) {
+			return;
+		}
+
+		entries.put(new EntryKey(algorithm, normalize(file)), new Entry(attributes, hash.clone()));
+		modified = true;
+	}
+
+	/**
+	 * Evicts the entries of files, which no longer exist.
+	 *
+	 * @return The number of evicted entries.
+	 */
+	public int evictMissingFiles() {
+		int evictedCount = 0;
+		for (final EntryKey entryKey : new ArrayList<>(entries.keySet())) {
+			if (!Files.exists(Paths.get(entryKey.getPath())) && entries.remove(entryKey) != null) {
+				evictedCount++;
+			}
+		}
+
+		if (evictedCount > 0) {
+			modified = true;
+		}
+
+		return evictedCount;
+	}
+
+	/**
+	 * Evicts the entries of missing files and persists the hash cache if it has been modified.
+	 *
+	 * Failures are only logged, since the hash cache is an optimization, which is rebuilt on demand.
+	 */
+	public synchronized void save() {
+		evictMissingFiles();
+		if (!modified) {
+			return;
+		}
+
+		try {
+			write();
+			modified = false;
+			LOGGER.debug("Saved {} cached hashes to {}", entries.size(), cachePath);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot save hash cache {}. Ignoring.", cachePath, e);
+		}
+	}
+
+	/**
+	 * @return The number of cached hashes.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Loads the persisted hash cache, whereby an invalid persisted hash cache is ignored.
+	 */
+	void load() {
+		if (!Files.isReadable(cachePath)) {
+			return;
+		}
+
+		try {
+			read();
+		} catch (final NoSuchFileException e) {
+			// The hash cache has been deleted concurrently
+			entries.clear();
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot read hash cache {}. Ignoring.", cachePath, e);
+			entries.clear();
+		} catch (final IllegalArgumentException e) {
+			LOGGER.warn("Invalid hash cache {}. Ignoring.", cachePath, e);
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Reads the persisted hash cache.
+	 *
+	 * @throws IOException if an error occurred while reading the hash cache.
+	 * @throws IllegalArgumentException if the hash cache is invalid.
+	 */
+	private void read() throws IOException {
+		try (final DataInputStream cacheStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(cachePath)))) {
+			readEntries(cacheStream);
+		}
+	}
+
+	/**
+	 * Reads the header and the entries of the hash cache.
+	 *
+	 * @param cacheStream The stream to read the hash cache from.
+	 * @throws IOException if an error occurred while reading the hash cache.
+	 * @throws IllegalArgumentException if the hash cache is invalid.
+	 */
+	private void readEntries(final DataInputStream cacheStream) throws IOException {
+		final byte[] magic = new byte[MAGIC.length];
+		cacheStream.readFully(magic);
+		final int formatVersion = cacheStream.readInt();
+		if (!Arrays.equals(magic, MAGIC) || formatVersion != FORMAT_VERSION) {
+			throw new IllegalArgumentException("Unsupported hash cache format");
+		}
+
+		final int entryCount = cacheStream.readInt();
+		for (int i = 0; i < entryCount; i++) {
+			final HashAlgorithm algorithm = HashAlgorithm.valueOf(cacheStream.readUTF());
+			final String path = cacheStream.readUTF();
+			final Entry entry = Entry.read(cacheStream);
+
+			entries.put(new EntryKey(algorithm, path), entry);
+		}
+	}
+
+	/**
+	 * Replaces the persisted hash cache atomically, so that concurrent readers never observe a partial hash cache.
+	 *
+	 * @throws IOException if an error occurred while persisting the hash cache.
+	 */
+	private void write() throws IOException {
+		final ByteArrayOutputStream cacheBuffer = new ByteArrayOutputStream();
+		try (final DataOutputStream cacheStream = new DataOutputStream(cacheBuffer)) {
+			writeEntries(cacheStream, new ArrayList<>(entries.entrySet()));
+		}
+
+		StateFileWriter.replaceAtomically(cachePath, cacheBuffer.toByteArray(), false);
+	}
+
+	/**
+	 * Writes the header and the entries of the hash cache.
+	 *
+	 * @param cacheStream The stream to write the hash cache to.
+	 * @param snapshot The entries of the hash cache.
+	 * @throws IOException if an error occurred while writing the hash cache.
+	 */
+	private static void writeEntries(final DataOutputStream cacheStream, final List<Map.Entry<EntryKey, Entry>> snapshot) throws IOException {
+		cacheStream.write(MAGIC);
+		cacheStream.writeInt(FORMAT_VERSION);
+		cacheStream.writeInt(snapshot.size());
+
+		for (final Map.Entry<EntryKey, Entry> entry : snapshot) {
+			cacheStream.writeUTF(entry.getKey().getAlgorithm().name());
+			cacheStream.writeUTF(entry.getKey().getPath());
+			entry.getValue().write(cacheStream);
+		}
+	}
+
+	/**
+	 * Converts a file into its absolute and normalized path.
+	 *
+	 * @param file The file.
+	 * @return The absolute and normalized path of the file.
+	 */
+	private static String normalize(final Path file) {
+		return file.toAbsolutePath().normalize().toString();
+	}
+
+	/**
+	 * Converts the file key of a file into its persistable representation.
+	 *
+	 * @param attributes The attributes of the file.
+	 * @return The file key or an empty string if the file system does not provide file keys.
+	 */
+	private static String toFileKey(final BasicFileAttributes attributes) {
+		final Object fileKey = attributes.fileKey();
+		return (fileKey != null) ? fileKey.toString() : "";
+	}
+
+	/**
+	 * The key of a cached hash.
+	 */
+	private static final class EntryKey {
+
+		/**
+		 * The algorithm of the hash.
+		 */
+		private final HashAlgorithm algorithm;
+
+		/**
+		 * The absolute and normalized path of the file.
+		 */
+		private final String path;
+
+		private EntryKey(final HashAlgorithm algorithm, final String path) {
+			this.algorithm = algorithm;
+			this.path = path;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+
+			final EntryKey entryKey = (EntryKey) o;
+			return algorithm == entryKey.algorithm && path.equals(entryKey.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * algorithm.hashCode() + path.hashCode();
+		}
+
+		public HashAlgorithm getAlgorithm() {
+			return algorithm;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+	}
+
+	/**
+	 * A cached hash together with the attributes of its file at the time it was hashed.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The size of the file in bytes.
+		 */
+		private final long size;
+
+		/**
+		 * The modification time of the file in nanoseconds since the epoch.
+		 */
+		private final long lastModified;
+
+		/**
+		 * The file key of the file or an empty string if the file system does not provide file keys.
+		 */
+		private final String fileKey;
+
+		/**
+		 * The hash of the content of the file.
+		 */
+		private final byte[] hash;
+
+		private Entry(final long size, final long lastModified, final String fileKey, final byte[] hash) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.fileKey = fileKey;
+			this.hash = hash;
+		}
+
+		private Entry(final BasicFileAttributes attributes, final byte[] hash) {
+			this(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), toFileKey(attributes), hash);
+		}
+
+		/**
+		 * Reads a cached hash.
+		 *
+		 * @param cacheStream The stream to read the cached hash from.
+		 * @return The cached hash.
+		 * @throws IOException if an error occurred while reading the cached hash.
+		 */
+		private static Entry read(final DataInputStream cacheStream) throws IOException {
+			final long size = cacheStream.readLong();
+			final long lastModified = cacheStream.readLong();
+			final String fileKey = cacheStream.readUTF();
+			final byte[] hash = new byte[cacheStream.readUnsignedByte()];
+			cacheStream.readFully(hash);
+
+			return new Entry(size, lastModified, fileKey, hash);
+		}
+
+		/**
+		 * Writes this cached hash.
+		 *
+		 * @param cacheStream The stream to write the cached hash to.
+		 * @throws IOException if an error occurred while writing the cached hash.
+		 */
+		private void write(final DataOutputStream cacheStream) throws IOException {
+			cacheStream.writeLong(size);
+			cacheStream.writeLong(lastModified);
+			cacheStream.writeUTF(fileKey);
+			cacheStream.writeByte(hash.length);
+			cacheStream.write(hash);
+		}
+
+		/**
+		 * Verifies whether the file is unchanged since it was hashed.
+		 *
+		 * @param attributes The current attributes of the file.
+		 * @return Whether the size, the modification time and the file key of the file are unchanged.
+		 */
+		private boolean matches(final BasicFileAttributes attributes) {
+			return size == attributes.size()
+				&& lastModified == attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+				&& fileKey.equals(toFileKey(attributes));
+		}
+
+		public byte[] getHash() {
+			return hash;
+		}
+
+	}
+
+}
@@ -0,0 +1,332 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A service, which hashes the content of files with a configurable algorithm.
+ *
+ * Large files are memory-mapped in regions, so their content is hashed straight from the page cache without being copied onto the heap. Small files
+ * are read into a direct buffer of the hashing thread, since mapping them costs more than reading them. On Windows, all files are read, since a
+ * mapped file cannot be deleted or replaced by a subsequent build until its mapping has been garbage collected.
+ *
+ * Multiple files are hashed concurrently on a bounded pool of platform threads, because hashing is bound by CPU once the files are cached. Larger
+ * files are hashed first, so a single large distribution archive does not delay the completion of all other files.
+ *
+ * If a {@link FileHashCache} is provided, the hashes of unchanged files are taken from the cache instead of reading the files.
+ *
+ * This service is thread-safe.
+ */
+public final class FileHashingService {
+
+	/**
+	 * The minimum size of files, which are memory-mapped instead of being read.
+	 */
+	static final long MAPPED_READ_THRESHOLD = 1024 * 1024;
+
+	/**
+	 * Whether the current operating system is Windows.
+	 */
+	private static final boolean IS_WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+	/**
+	 * The maximum size of a single memory-mapped region of a file.
+	 */
+	private static final long MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * The size of the direct buffer of each hashing thread.
+	 */
+	private static final int DIRECT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The direct buffers for reading small files, which are reused by each hashing thread.
+	 */
+	private static final ThreadLocal<ByteBuffer> DIRECT_BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(DIRECT_BUFFER_SIZE));
+
+	/**
+	 * The algorithm to hash the content of files.
+	 */
+	private final HashAlgorithm algorithm;
+
+	/**
+	 * The maximum number of files, which are hashed concurrently.
+	 */
+	private final int parallelism;
+
+	/**
+	 * The cache of the hashes of unchanged files or null if files are always hashed.
+	 */
+	private final FileHashCache hashCache;
+
+	/**
+	 * Constructs a new instance, which always hashes files.
+	 *
+	 * @param algorithm The algorithm to hash the content of files.
+	 * @param parallelism The maximum number of files, which are hashed concurrently.
+	 * @throws UnsupportedOperationException if the Java runtime does not support the algorithm.
+	 */
+	public FileHashingService(final HashAlgorithm algorithm, final int parallelism) {
+		this(algorithm, parallelism, null);
+	}
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param algorithm The algorithm to hash the content of files.
+	 * @param parallelism The maximum number of files, which are hashed concurrently.
+	 * @param hashCache The cache of the hashes of unchanged files or null if files are always hashed.
+	 * @throws UnsupportedOperationException if the Java runtime does not support the algorithm.
+	 */
+	public FileHashingService(final HashAlgorithm algorithm, final int parallelism, final FileHashCache hashCache) {
+		if (!algorithm.isSupported()) {
+			throw new UnsupportedOperationException("Hash algorithm " + algorithm + " is not supported by the Java runtime");
+		}
+
+		this.algorithm = algorithm;
+		this.parallelism = parallelism;
+		this.hashCache = hashCache;
+	}
+
+	/**
+	 * Hashes the content of a single file on the calling thread.
+	 *
+	 * @param file The file to hash.
+	 * @return The hash of the content of the file.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	public byte[] hash(final Path file) throws IOException {
+		if (hashCache == null) {
+			return computeHash(file);
+		}
+
+		// The attributes are read before the content, so a concurrent modification invalidates the cached hash
+		final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		final byte[] cachedHash = hashCache.get(algorithm, file, attributes);
+		if (cachedHash != null) {
+			return cachedHash;
+		}
+
+		final byte[] hash = computeHash(file);
+		hashCache.put(algorithm, file, attributes, hash);
+
+		return hash;
+	}
+
+	/**
+	 * Hashes the content of multiple files concurrently.
+	 *
+	 * Failures of single files do not abort the hashing of the other files, but are collected and reported together.
+	 *
+	 * @param files The files to hash.
+	 * @return The hashes of the content of the files by their paths.
+	 * @throws IOException if at least one file could not be hashed. The failures of all files are attached as suppressed exceptions.
+	 */
+	public Map<Path, byte[]> hashAll(final Collection<Path> files) throws IOException {
+		final List<Path> sortedFiles = sortBySizeDescending(files);
+		final Map<Path, byte[]> hashes = new HashMap<>();
+		if (parallelism <= 1 || sortedFiles.size() <= 1) {
+			for (final Path file : sortedFiles) {
+				hashes.put(file, hash(file));
+			}
+
+			return hashes;
+		}
+
+		final List<Future<byte[]>> futures = new ArrayList<>(sortedFiles.size());
+		final List<Throwable> failures = new ArrayList<>();
+
+		final ExecutorService executor =
+			Executors.newFixedThreadPool(Math.min(parallelism, sortedFiles.size()), new HashingThreadFactory(Thread.currentThread().getContextClassLoader()));
+		try {
+			for (final Path file : sortedFiles) {
+				futures.add(executor.submit(() -> hash(file)));
+			}
+
+			for (int i = 0; i < sortedFiles.size(); i++) {
+				final byte[] hash = await(futures.get(i), failures);
+				if (hash != null) {
+					hashes.put(sortedFiles.get(i), hash);
+				}
+			}
+		} finally {
+			shutdown(executor);
+		}
+
+		if (!failures.isEmpty()) {
+			final IOException failure = new IOException("Cannot hash " + failures.size() + " out of " + sortedFiles.size() + " files");
+			for (final Throwable fileFailure : failures) {
+				failure.addSuppressed(fileFailure);
+			}
+
+			throw failure;
+		}
+
+		return hashes;
+	}
+
+	/**
+	 * @return The algorithm to hash the content of files.
+	 */
+	public HashAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * Hashes the content of a single file by reading it.
+	 *
+	 * @param file The file to hash.
+	 * @return The hash of the content of the file.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	private byte[] computeHash(final Path file) throws IOException {
+		final IHasher hasher = algorithm.createHasher();
+
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size >= MAPPED_READ_THRESHOLD && !IS_WINDOWS) {
+				hashMapped(channel, size, hasher);
+			} else {
+				hashBuffered(channel, hasher);
+			}
+		}
+
+		return hasher.digest();
+	}
+
+	/**
+	 * Hashes the content of a file by memory-mapping it region by region.
+	 *
+	 * @param channel The channel of the file.
+	 * @param size The size of the file.
+	 * @param hasher The hasher to update with the content of the file.
+	 * @throws IOException if an error occurred while mapping the file.
+	 */
+	private static void hashMapped(final FileChannel channel, final long size, final IHasher hasher) throws IOException {
+		for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+			hasher.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position)));
+		}
+	}
+
+	/**
+	 * Hashes the content of a file by reading it into the direct buffer of the current thread.
+	 *
+	 * @param channel The channel of the file.
+	 * @param hasher The hasher to update with the content of the file.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	private static void hashBuffered(final FileChannel channel, final IHasher hasher) throws IOException {
+		final ByteBuffer buffer = DIRECT_BUFFERS.get();
+
+		buffer.clear();
+		while (channel.read(buffer) != -1) {
+			buffer.flip();
+			hasher.update(buffer);
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Removes duplicates from files and sorts them by their size in descending order.
+	 *
+	 * @param files The files to sort.
+	 * @return The distinct files with the largest file first.
+	 */
+	private static List<Path> sortBySizeDescending(final Collection<Path> files) {
+		final Map<Path, Long> sizes = new HashMap<>();
+		for (final Path file : files) {
+			// Missing files are reported when they are hashed
+			sizes.put(file, file.toFile().length());
+		}
+
+		final List<Path> sortedFiles = new ArrayList<>(new LinkedHashSet<>(files));
+		sortedFiles.sort(Comparator.comparing(sizes::get, Comparator.reverseOrder()));
+
+		return sortedFiles;
+	}
+
+	/**
+	 * Shuts down an executor for hashing tasks and waits for its threads to terminate, so they do not outlive the current operation.
+	 *
+	 * @param executor The executor to shut down.
+	 */
+	private static void shutdown(final ExecutorService executor) {
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Waits for the hash of a file.
+	 *
+	 * @param future The pending hash of the file.
+	 * @param failures The failures of files to add the failure of this file to.
+	 * @return The hash of the file or null if it has failed.
+	 * @throws InterruptedIOException if the current thread has been interrupted while waiting.
+	 */
+	private static byte[] await(final Future<byte[]> future, final List<Throwable> failures) throws InterruptedIOException {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			failures.add(e.getCause());
+			return null;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the hashes of files");
+		}
+	}
+
+	/**
+	 * A factory for daemon platform threads, which hash files with the context class loader of the Maven execution.
+	 */
+	private static final class HashingThreadFactory implements ThreadFactory {
+
+		/**
+		 * The sequence number of the next thread.
+		 */
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		/**
+		 * The context class loader of the Maven execution.
+		 */
+		private final ClassLoader contextClassLoader;
+
+		private HashingThreadFactory(final ClassLoader contextClassLoader) {
+			this.contextClassLoader = contextClassLoader;
+		}
+
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final Thread thread = new Thread(runnable, "reactorstate-hash-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+
+			return thread;
+		}
+
+	}
+
+}
@@ -0,0 +1,192 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * The algorithms to hash the content of files.
+ *
+ * The checksums CRC-32, CRC-32C and xxHash64 detect accidental modifications at a fraction of the cost of the cryptographic digest SHA-256.
+ */
+public enum HashAlgorithm {
+
+	/**
+	 * The CRC-32 checksum of ZIP files.
+	 */
+	CRC32 {
+		@Override
+		public IHasher createHasher() {
+			final CRC32 checksum = new CRC32();
+			return new IHasher() {
+
+				@Override
+				public void update(final ByteBuffer buffer) {
+					checksum.update(buffer);
+				}
+
+				@Override
+				public byte[] digest() {
+					return toBytes(checksum.getValue(), Integer.BYTES);
+				}
+
+			};
+		}
+	},
+
+	/**
+	 * The CRC-32C checksum, which is calculated by a dedicated instruction of modern processors, but requires Java 9 or later.
+	 */
+	CRC32C {
+		@Override
+		public IHasher createHasher() {
+			if (CRC32C_CONSTRUCTOR == null) {
+				throw new UnsupportedOperationException("Hash algorithm " + this + " requires Java 9 or later");
+			}
+
+			final Checksum checksum;
+			try {
+				checksum = (Checksum) CRC32C_CONSTRUCTOR.invokeExact();
+			} catch (final Throwable e) {
+				throw new IllegalStateException("Cannot instantiate hash algorithm " + this, e);
+			}
+
+			return new IHasher() {
+
+				@Override
+				public void update(final ByteBuffer buffer) {
+					try {
+						CRC32C_UPDATE.invokeExact(checksum, buffer);
+					} catch (final Throwable e) {
+						throw new IllegalStateException("Cannot update hash algorithm " + CRC32C, e);
+					}
+				}
+
+				@Override
+				public byte[] digest() {
+					return toBytes(checksum.getValue(), Integer.BYTES);
+				}
+
+			};
+		}
+
+		@Override
+		public boolean isSupported() {
+			return CRC32C_CONSTRUCTOR != null;
+		}
+	},
+
+	/**
+	 * The 64-bit xxHash checksum with seed 0.
+	 */
+	XXHASH64 {
+		@Override
+		public IHasher createHasher() {
+			return new XxHash64Hasher(0);
+		}
+	},
+
+	/**
+	 * The SHA-256 digest, which is guaranteed to be available on every Java platform.
+	 */
+	SHA256 {
+		@Override
+		public IHasher createHasher() {
+			final MessageDigest messageDigest;
+			try {
+				messageDigest = MessageDigest.getInstance("SHA-256");
+			} catch (final NoSuchAlgorithmException e) {
+				throw new IllegalStateException("Hash algorithm " + this + " is not supported", e);
+			}
+
+			return new IHasher() {
+
+				@Override
+				public void update(final ByteBuffer buffer) {
+					messageDigest.update(buffer);
+				}
+
+				@Override
+				public byte[] digest() {
+					return messageDigest.digest();
+				}
+
+			};
+		}
+	};
+
+	/**
+	 * The constructor of {@code java.util.zip.CRC32C} of the exact type {@code ()Checksum} or null if the Java runtime does not provide it.
+	 */
+	private static final MethodHandle CRC32C_CONSTRUCTOR =
+		findCrc32cMethod("<init>", MethodType.methodType(void.class), MethodType.methodType(Checksum.class));
+
+	/**
+	 * The method {@code java.util.zip.CRC32C#update(ByteBuffer)} of the exact type {@code (Checksum, ByteBuffer)void} or null if the Java runtime
+	 * does not provide it.
+	 */
+	private static final MethodHandle CRC32C_UPDATE = findCrc32cMethod(
+		"update", MethodType.methodType(void.class, ByteBuffer.class), MethodType.methodType(void.class, Checksum.class, ByteBuffer.class)
+	);
+
+	/**
+	 * Creates a hasher, which calculates a single hash with this algorithm.
+	 *
+	 * @return A new hasher.
+	 * @throws UnsupportedOperationException if the Java runtime does not support this algorithm.
+	 */
+	public abstract IHasher createHasher();
+
+	/**
+	 * @return Whether the Java runtime supports this algorithm.
+	 */
+	public boolean isSupported() {
+		return true;
+	}
+
+	/**
+	 * Looks up a public constructor or method of {@code java.util.zip.CRC32C}, which is available since Java 9.
+	 *
+	 * The method is adapted to a type without {@code java.util.zip.CRC32C}, so it can be invoked exactly without any conversion of its arguments.
+	 *
+	 * @param methodName The name of the method or {@code <init>} for the constructor.
+	 * @param methodType The type of the method.
+	 * @param exactType The type of the adapted method.
+	 * @return The adapted method or null if the Java runtime does not provide it.
+	 */
+	private static MethodHandle findCrc32cMethod(final String methodName, final MethodType methodType, final MethodType exactType) {
+		try {
+			final Class<?> crc32cClass = Class.forName("java.util.zip.CRC32C");
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+			final MethodHandle method = "<init>".equals(methodName)
+				? lookup.findConstructor(crc32cClass, methodType)
+				: lookup.findVirtual(crc32cClass, methodName, methodType);
+			return method.asType(exactType);
+		} catch (final ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Converts the lower bytes of a value into big-endian byte order.
+	 *
+	 * @param value The value to convert.
+	 * @param length The number of lower bytes to convert.
+	 * @return The bytes of the value in big-endian byte order.
+	 */
+	static byte[] toBytes(final long value, final int length) {
+		final byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (value >>> (8 * (length - 1 - i)));
+		}
+
+		return bytes;
+	}
+
+}
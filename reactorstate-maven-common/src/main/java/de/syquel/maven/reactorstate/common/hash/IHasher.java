@@ -0,0 +1,26 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A stateful calculator of the hash of a stream of bytes.
+ *
+ * Hashers are not thread-safe and must not be reused after the hash has been calculated.
+ */
+public interface IHasher {
+
+	/**
+	 * Updates the hash with the remaining bytes of a buffer.
+	 *
+	 * @param buffer The bytes to hash, whose position is advanced to its limit.
+	 */
+	void update(ByteBuffer buffer);
+
+	/**
+	 * Completes the calculation of the hash.
+	 *
+	 * @return The hash in big-endian byte order.
+	 */
+	byte[] digest();
+
+}
@@ -0,0 +1,150 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A streaming implementation of the 64-bit xxHash algorithm.
+ *
+ * The input is consumed in stripes of 32 bytes, so bytes, which do not fill a complete stripe, are buffered until the next update or the
+ * completion of the hash.
+ */
+final class XxHash64Hasher implements IHasher {
+
+	private static final long PRIME1 = 0x9E3779B185EBCA87L;
+
+	private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+
+	private static final long PRIME3 = 0x165667B19E3779F9L;
+
+	private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+
+	private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+	/**
+	 * The number of bytes, which are consumed at once by the four accumulators.
+	 */
+	private static final int STRIPE_LENGTH = 32;
+
+	/**
+	 * The seed of the hash.
+	 */
+	private final long seed;
+
+	/**
+	 * The bytes, which do not fill a complete stripe yet.
+	 */
+	private final ByteBuffer pendingBytes = ByteBuffer.allocate(STRIPE_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+
+	private long accumulator1;
+
+	private long accumulator2;
+
+	private long accumulator3;
+
+	private long accumulator4;
+
+	/**
+	 * The total number of hashed bytes.
+	 */
+	private long totalLength;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param seed The seed of the hash.
+	 */
+	XxHash64Hasher(final long seed) {
+		this.seed = seed;
+		this.accumulator1 = seed + PRIME1 + PRIME2;
+		this.accumulator2 = seed + PRIME2;
+		this.accumulator3 = seed;
+		this.accumulator4 = seed - PRIME1;
+	}
+
+	@Override
+	public void update(final ByteBuffer buffer) {
+		final ByteBuffer input = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		buffer.position(buffer.limit());
+		totalLength += input.remaining();
+
+		if (pendingBytes.position() > 0) {
+			while (pendingBytes.hasRemaining() && input.hasRemaining()) {
+				pendingBytes.put(input.get());
+			}
+			if (pendingBytes.hasRemaining()) {
+				return;
+			}
+
+			pendingBytes.flip();
+			consumeStripe(pendingBytes);
+			pendingBytes.clear();
+		}
+
+		while (input.remaining() >= STRIPE_LENGTH) {
+			consumeStripe(input);
+		}
+
+		pendingBytes.put(input);
+	}
+
+	@Override
+	public byte[] digest() {
+		long hash;
+		if (totalLength >= STRIPE_LENGTH) {
+			hash = Long.rotateLeft(accumulator1, 1) + Long.rotateLeft(accumulator2, 7)
+				+ Long.rotateLeft(accumulator3, 12) + Long.rotateLeft(accumulator4, 18);
+			hash = mergeAccumulator(hash, accumulator1);
+			hash = mergeAccumulator(hash, accumulator2);
+			hash = mergeAccumulator(hash, accumulator3);
+			hash = mergeAccumulator(hash, accumulator4);
+		} else {
+			hash = seed + PRIME5;
+		}
+
+		hash += totalLength;
+
+		pendingBytes.flip();
+		while (pendingBytes.remaining() >= Long.BYTES) {
+			hash ^= round(0, pendingBytes.getLong());
+			hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+		}
+		if (pendingBytes.remaining() >= Integer.BYTES) {
+			hash ^= (pendingBytes.getInt() & 0xFFFFFFFFL) * PRIME1;
+			hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+		}
+		while (pendingBytes.hasRemaining()) {
+			hash ^= (pendingBytes.get() & 0xFFL) * PRIME5;
+			hash = Long.rotateLeft(hash, 11) * PRIME1;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= PRIME2;
+		hash ^= hash >>> 29;
+		hash *= PRIME3;
+		hash ^= hash >>> 32;
+
+		return HashAlgorithm.toBytes(hash, Long.BYTES);
+	}
+
+	/**
+	 * Consumes a complete stripe by the four accumulators.
+	 *
+	 * @param input The little-endian input, which has at least a complete stripe remaining.
+	 */
+	private void consumeStripe(final ByteBuffer input) {
+		accumulator1 = round(accumulator1, input.getLong());
+		accumulator2 = round(accumulator2, input.getLong());
+		accumulator3 = round(accumulator3, input.getLong());
+		accumulator4 = round(accumulator4, input.getLong());
+	}
+
+	private static long round(final long accumulator, final long input) {
+		return Long.rotateLeft(accumulator + input * PRIME2, 31) * PRIME1;
+	}
+
+	private static long mergeAccumulator(final long hash, final long accumulator) {
+		return (hash ^ round(0, accumulator)) * PRIME1 + PRIME4;
+	}
+
+}
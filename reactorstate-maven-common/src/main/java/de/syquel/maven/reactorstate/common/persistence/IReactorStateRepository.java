@@ -1,6 +1,9 @@
 package de.syquel.maven.reactorstate.common.persistence;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.SortedSet;
 
 import org.apache.maven.project.MavenProject;
 
@@ -20,13 +23,80 @@ public interface IReactorStateRepository {
 	 */
 	MavenProjectState read(MavenProject mavenProject) throws IOException;
 
+	/**
+	 * Reads the persisted state of multiple Maven modules at once.
+	 *
+	 * Implementations may override this method to read the states concurrently.
+	 *
+	 * @param mavenProjects The Maven modules to read the persisted state for.
+	 * @return The persisted Maven states of the Maven modules, which have a persisted state.
+	 * @throws IOException if an error occurred while reading the persisted states.
+	 */
+	default Collection<MavenProjectState> readAll(final Collection<MavenProject> mavenProjects) throws IOException {
+		final Collection<MavenProjectState> mavenProjectStates = new ArrayList<>(mavenProjects.size());
+		for (final MavenProject mavenProject : mavenProjects) {
+			final MavenProjectState mavenProjectState = read(mavenProject);
+			if (mavenProjectState != null) {
+				mavenProjectStates.add(mavenProjectState);
+			}
+		}
+
+		return mavenProjectStates;
+	}
+
+	/**
+	 * Scans the keys of all Maven modules with a persisted state, which start with a prefix.
+	 *
+	 * Implementations, which are keyed by the version-agnostic keys of the Maven modules, may override this method to enumerate their keys without
+	 * reading the persisted states.
+	 *
+	 * @param keyPrefix The prefix of the keys, e.g. the group ID followed by a colon to scan all Maven modules of a group.
+	 * @return The keys of the Maven modules in their natural order or null if this repository cannot enumerate its keys.
+	 * @throws IOException if an error occurred while reading the persisted states.
+	 * @see de.syquel.maven.reactorstate.common.workspace.WorkspaceModule#toKey(String, String)
+	 */
+	default SortedSet<String> scanProjectKeys(final String keyPrefix) throws IOException {
+		return null;
+	}
+
 	/**
 	 * Saves the current state of a specific Maven module.
 	 *
 	 * @param mavenProjectState The current state of a Maven module.
+	 * @return Whether the persisted state has been written, i.e. false if it has not changed.
 	 * @throws IOException if an error occurred while saving the state
 	 */
-	void save(MavenProjectState mavenProjectState) throws IOException;
+	boolean save(MavenProjectState mavenProjectState) throws IOException;
+
+	/**
+	 * Saves the current state of multiple Maven modules at once.
+	 *
+	 * Implementations may override this method to persist the states in a single operation. The saved states are not flushed, so that multiple
+	 * batches are forced to durable storage by a single {@link #flush()} at the end of the Maven execution.
+	 *
+	 * @param mavenProjectStates The current states of the Maven modules.
+	 * @return The number of persisted states, which have been written, i.e. excluding the ones which have not changed.
+	 * @throws IOException if an error occurred while saving the states.
+	 */
+	default int saveAll(final Collection<MavenProjectState> mavenProjectStates) throws IOException {
+		int writtenCount = 0;
+		for (final MavenProjectState mavenProjectState : mavenProjectStates) {
+			if (save(mavenProjectState)) {
+				writtenCount++;
+			}
+		}
+
+		return writtenCount;
+	}
+
+	/**
+	 * Forces the states, which have been saved since the last flush, to durable storage if they have been deferred by the configured durability.
+	 *
+	 * @throws IOException if an error occurred while forcing the states to durable storage.
+	 */
+	default void flush() throws IOException {
+		// Nothing is deferred by default
+	}
 
 	/**
 	 * Deletes the persisted state of a specific Maven module.
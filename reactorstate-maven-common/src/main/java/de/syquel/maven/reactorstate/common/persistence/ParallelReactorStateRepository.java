@@ -0,0 +1,289 @@
+package de.syquel.maven.reactorstate.common.persistence;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+
+/**
+ * A persistence repository, which reads and saves the state of multiple Maven modules concurrently via a delegate repository.
+ *
+ * The persisted state is accessed by a bounded number of concurrent tasks, which run on virtual threads if the Java runtime supports them and on a
+ * pool of platform threads otherwise. Failures of single Maven modules do not abort the other tasks, but are collected and reported together.
+ * The delegate repository must support concurrent access to the persisted state of distinct Maven modules.
+ */
+public class ParallelReactorStateRepository implements IReactorStateRepository {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParallelReactorStateRepository.class);
+
+	/**
+	 * The factory method for executors with a virtual thread per task or null if the Java runtime does not support virtual threads.
+	 */
+	private static final Method VIRTUAL_THREAD_EXECUTOR_FACTORY = findVirtualThreadExecutorFactory();
+
+	/**
+	 * The repository, which accesses the persisted state of single Maven modules.
+	 */
+	private final IReactorStateRepository delegate;
+
+	/**
+	 * The maximum number of Maven modules, whose persisted state is accessed concurrently.
+	 */
+	private final int parallelism;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param delegate The repository, which accesses the persisted state of single Maven modules.
+	 * @param parallelism The maximum number of Maven modules, whose persisted state is accessed concurrently.
+	 */
+	public ParallelReactorStateRepository(final IReactorStateRepository delegate, final int parallelism) {
+		this.delegate = delegate;
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public MavenProjectState read(final MavenProject mavenProject) throws IOException {
+		return delegate.read(mavenProject);
+	}
+
+	@Override
+	public Collection<MavenProjectState> readAll(final Collection<MavenProject> mavenProjects) throws IOException {
+		final List<Callable<MavenProjectState>> tasks = new ArrayList<>(mavenProjects.size());
+		for (final MavenProject mavenProject : mavenProjects) {
+			tasks.add(() -> {
+				try {
+					return delegate.read(mavenProject);
+				} catch (final IOException e) {
+					throw new IOException("Cannot read saved state of Maven project " + mavenProject.getId(), e);
+				}
+			});
+		}
+
+		final List<MavenProjectState> mavenProjectStates = invokeAll(tasks, "read");
+		mavenProjectStates.removeIf(mavenProjectState -> mavenProjectState == null);
+
+		return mavenProjectStates;
+	}
+
+	@Override
+	public SortedSet<String> scanProjectKeys(final String keyPrefix) throws IOException {
+		return delegate.scanProjectKeys(keyPrefix);
+	}
+
+	@Override
+	public boolean save(final MavenProjectState mavenProjectState) throws IOException {
+		return delegate.save(mavenProjectState);
+	}
+
+	@Override
+	public int saveAll(final Collection<MavenProjectState> mavenProjectStates) throws IOException {
+		final List<Callable<Boolean>> tasks = new ArrayList<>(mavenProjectStates.size());
+		for (final MavenProjectState mavenProjectState : mavenProjectStates) {
+			tasks.add(() -> {
+				try {
+					return delegate.save(mavenProjectState);
+				} catch (final IOException e) {
+					throw new IOException("Cannot save state of Maven project " + mavenProjectState.getProject().getId(), e);
+				}
+			});
+		}
+
+		final List<Boolean> writtenStates = invokeAll(tasks, "save");
+		return (int) writtenStates.stream().filter(Boolean.TRUE::equals).count();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		delegate.flush();
+	}
+
+	@Override
+	public void delete(final MavenProject mavenProject) throws IOException {
+		delegate.delete(mavenProject);
+	}
+
+	/**
+	 * Executes I/O tasks concurrently and waits for all of them to complete.
+	 *
+	 * @param tasks The I/O tasks to execute.
+	 * @param operation The name of the operation for reporting failures.
+	 * @param <T> The type of the results of the I/O tasks.
+	 * @return The results of the I/O tasks in the order of the tasks.
+	 * @throws IOException if at least one I/O task has failed. The failures of all I/O tasks are attached as suppressed exceptions.
+	 */
+	private <T> List<T> invokeAll(final List<Callable<T>> tasks, final String operation) throws IOException {
+		final List<T> results = new ArrayList<>(tasks.size());
+		final List<Throwable> failures = new ArrayList<>();
+
+		final ExecutorService executor = createExecutor(Math.min(parallelism, Math.max(tasks.size(), 1)));
+		try {
+			final List<Future<T>> futures = submitAll(executor, tasks);
+			for (final Future<T> future : futures) {
+				results.add(await(future, failures));
+			}
+		} finally {
+			shutdown(executor);
+		}
+
+		if (!failures.isEmpty()) {
+			final IOException failure =
+				new IOException("Cannot " + operation + " saved state of " + failures.size() + " out of " + tasks.size() + " Maven projects");
+			for (final Throwable taskFailure : failures) {
+				failure.addSuppressed(taskFailure);
+			}
+
+			throw failure;
+		}
+
+		return results;
+	}
+
+	/**
+	 * Submits I/O tasks to an executor, where each task waits for a permit before accessing the persisted state.
+	 *
+	 * @param executor The executor to submit the I/O tasks to.
+	 * @param tasks The I/O tasks to submit.
+	 * @param <T> The type of the results of the I/O tasks.
+	 * @return The pending results of the I/O tasks in the order of the tasks.
+	 */
+	private <T> List<Future<T>> submitAll(final ExecutorService executor, final List<Callable<T>> tasks) {
+		// Virtual threads are not bounded by the executor, so the concurrency limit is enforced by permits for both kinds of executors
+		final Semaphore permits = new Semaphore(parallelism);
+
+		final List<Future<T>> futures = new ArrayList<>(tasks.size());
+		for (final Callable<T> task : tasks) {
+			futures.add(executor.submit(() -> {
+				permits.acquire();
+				try {
+					return task.call();
+				} finally {
+					permits.release();
+				}
+			}));
+		}
+
+		return futures;
+	}
+
+	/**
+	 * Shuts down an executor for I/O tasks and waits for its threads to terminate, so they do not outlive the current operation.
+	 *
+	 * @param executor The executor to shut down.
+	 */
+	private static void shutdown(final ExecutorService executor) {
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Waits for the result of an I/O task.
+	 *
+	 * @param future The pending result of the I/O task.
+	 * @param failures The failures of I/O tasks to add the failure of this I/O task to.
+	 * @param <T> The type of the result of the I/O task.
+	 * @return The result of the I/O task or null if it has failed.
+	 * @throws InterruptedIOException if the current thread has been interrupted while waiting.
+	 */
+	private static <T> T await(final Future<T> future, final List<Throwable> failures) throws InterruptedIOException {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			failures.add(e.getCause());
+			return null;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the saved state of Maven projects");
+		}
+	}
+
+	/**
+	 * Creates an executor for I/O tasks, which uses virtual threads if the Java runtime supports them.
+	 *
+	 * @param poolSize The number of platform threads if the Java runtime does not support virtual threads.
+	 * @return The executor for I/O tasks.
+	 */
+	private static ExecutorService createExecutor(final int poolSize) {
+		if (VIRTUAL_THREAD_EXECUTOR_FACTORY != null) {
+			try {
+				return (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke(null);
+			} catch (final ReflectiveOperationException e) {
+				LOGGER.debug("Cannot create executor with virtual threads. Falling back to platform threads.", e);
+			}
+		}
+
+		return Executors.newFixedThreadPool(poolSize, new IoThreadFactory(Thread.currentThread().getContextClassLoader()));
+	}
+
+	/**
+	 * Looks up the factory method for executors with a virtual thread per task, which is available since Java 21.
+	 *
+	 * @return The factory method or null if the Java runtime does not support virtual threads.
+	 */
+	private static Method findVirtualThreadExecutorFactory() {
+		final String specificationVersion = System.getProperty("java.specification.version", "");
+		// Virtual threads are a preview feature before Java 21
+		if (!specificationVersion.matches("\\d+") || Integer.parseInt(specificationVersion) < 21) {
+			return null;
+		}
+
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (final NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * A factory for daemon platform threads, which run I/O tasks with the context class loader of the Maven execution.
+	 */
+	private static final class IoThreadFactory implements ThreadFactory {
+
+		/**
+		 * The sequence number of the next thread.
+		 */
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		/**
+		 * The context class loader of the Maven execution.
+		 */
+		private final ClassLoader contextClassLoader;
+
+		private IoThreadFactory(final ClassLoader contextClassLoader) {
+			this.contextClassLoader = contextClassLoader;
+		}
+
+		@Override
+		public Thread newThread(final Runnable runnable) {
+			final Thread thread = new Thread(runnable, "reactorstate-io-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+
+			return thread;
+		}
+
+	}
+
+}
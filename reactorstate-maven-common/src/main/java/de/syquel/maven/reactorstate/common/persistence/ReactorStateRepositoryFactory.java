@@ -0,0 +1,87 @@
+package de.syquel.maven.reactorstate.common.persistence;
+
+import org.apache.maven.execution.MavenSession;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.persistence.binary.BinaryReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.binary.JournalReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.json.AggregatedJsonReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+
+/**
+ * Factory for the configured persistence repository of Maven state information.
+ */
+public final class ReactorStateRepositoryFactory {
+
+	private ReactorStateRepositoryFactory() {}
+
+	/**
+	 * Instantiates the configured persistence repository for the Maven workspace of a Maven execution.
+	 *
+	 * @param session The current Maven execution.
+	 * @param configuration The configuration of the Maven execution.
+	 * @return The persistence repository.
+	 * @throws IllegalArgumentException if the configured combination of layout and format is not supported.
+	 */
+	public static IReactorStateRepository create(final MavenSession session, final ReactorStateConfiguration configuration) {
+		return create(session, configuration, configuration.getRepositoryFormat());
+	}
+
+	/**
+	 * Instantiates the configured persistence repository for the Maven workspace of a Maven execution, which persists the state in another format.
+	 *
+	 * @param session The current Maven execution.
+	 * @param configuration The configuration of the Maven execution.
+	 * @param format The format of the persisted state, which overrides the configured one.
+	 * @return The persistence repository.
+	 * @throws IllegalArgumentException if the combination of the configured layout and the format is not supported.
+	 */
+	public static IReactorStateRepository create(
+		final MavenSession session, final ReactorStateConfiguration configuration, final ReactorStateConfiguration.RepositoryFormat format
+	) {
+		final ReactorStateConfiguration.RepositoryLayout layout = configuration.getRepositoryLayout();
+		final StateFileWriter stateFileWriter =
+			new StateFileWriter(configuration.getRepositoryDurability(), configuration.getRepositoryCompression());
+
+		switch (layout) {
+			case AGGREGATED:
+				requireFormat(layout, format, ReactorStateConfiguration.RepositoryFormat.JSON);
+
+				return AggregatedJsonReactorStateRepository.create(session.getTopLevelProject(), stateFileWriter);
+			case JOURNAL:
+				requireFormat(layout, format, ReactorStateConfiguration.RepositoryFormat.BINARY);
+
+				return JournalReactorStateRepository.create(
+					session.getTopLevelProject(), configuration.getRepositoryDurability(), configuration.getRepositoryCompactionThreshold()
+				);
+			case MODULE:
+			default:
+				final IReactorStateRepository moduleRepository =
+					(format == ReactorStateConfiguration.RepositoryFormat.BINARY)
+						? new BinaryReactorStateRepository(stateFileWriter)
+						: new JsonReactorStateRepository(configuration.isRepositoryPrettyPrint(), stateFileWriter);
+
+				// The state of every Maven module is persisted in its own file, which can be accessed independently
+				final int parallelism = configuration.getRepositoryParallelism();
+				return (parallelism > 1) ? new ParallelReactorStateRepository(moduleRepository, parallelism) : moduleRepository;
+		}
+	}
+
+	/**
+	 * Verifies that a layout of the persisted state is combined with the only format it supports.
+	 *
+	 * @param layout The layout of the persisted state.
+	 * @param format The format of the persisted state.
+	 * @param supportedFormat The only format supported by the layout.
+	 * @throws IllegalArgumentException if the format is not supported by the layout.
+	 */
+	private static void requireFormat(
+		final ReactorStateConfiguration.RepositoryLayout layout, final ReactorStateConfiguration.RepositoryFormat format,
+		final ReactorStateConfiguration.RepositoryFormat supportedFormat
+	) {
+		if (format != supportedFormat) {
+			throw new IllegalArgumentException("The " + layout + " repository layout only supports the " + supportedFormat + " format");
+		}
+	}
+
+}
@@ -0,0 +1,269 @@
+package de.syquel.maven.reactorstate.common.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Utility class for the optional compression of files of the persisted Maven state.
+ *
+ * Compressed files consist of a header with a magic number and the format version followed by a zlib stream, which is deflated with a preset
+ * dictionary of common tokens of the persisted state, e.g. the property names of the repository metadata. Since the persisted state of a single
+ * Maven module is small, the dictionary provides most of the compression ratio. Compressed files are detected by their header, so uncompressed files
+ * remain readable regardless of the configured compression.
+ */
+public final class StateCompression {
+
+	/**
+	 * The magic number at the beginning of every compressed file.
+	 */
+	private static final byte[] MAGIC = { 'R', 'S', 'Z' };
+
+	/**
+	 * The version of the compression format, which is incremented on incompatible changes, e.g. of the preset dictionary.
+	 */
+	private static final byte FORMAT_VERSION = 1;
+
+	/**
+	 * The preset dictionary of common tokens of the persisted state.
+	 *
+	 * The tokens are ordered by ascending frequency, since deflate encodes references to the end of the dictionary more compactly.
+	 */
+	private static final byte[] DICTIONARY = String.join(
+		"",
+		"maven-plugin", "maven-metadata.xml", "test-jar", "javadoc", "sources", "tests", "war", "ear", "\"latest\":", "\"release\":", "\"name\":",
+		"\"prefix\":", "\"plugins\":[]", "\"versions\":[]", "\"groupRepositoryMetadata\":{", "\"artifactRepositoryMetadata\":{",
+		"\"snapshotRepositoryMetadata\":{", "\"modelEncoding\":\"UTF-8\",\"modelVersion\":\"1.1.0\",", "\"snapshot\":{\"buildNumber\":",
+		",\"localCopy\":false,\"timestamp\":\"", "\"snapshotVersions\":[{\"classifier\":\"", "\",\"extension\":\"pom\",\"updated\":\"",
+		"\",\"extension\":\"jar\",\"updated\":\"", "\",\"version\":\"", "\"versioning\":{\"lastUpdated\":\"", "\"attachedArtifacts\":[",
+		"{\"projectId\":\"", "\"pom\":{\"coordinates\":\"", "\"mainArtifact\":{\"coordinates\":\"", "{\"coordinates\":\"", "\",\"path\":\"pom.xml\",",
+		"\",\"path\":\"target/", "\"properties\":{}", "\"properties\":{\"constitutesBuildPath\":\"false\",\"includesDependencies\":\"false\",",
+		"\"language\":\"none\",\"type\":\"pom\"}", "\"properties\":{\"constitutesBuildPath\":\"true\",\"includesDependencies\":\"false\",",
+		"\"language\":\"java\",\"type\":\"jar\"}", "\"artifactId\":\"", "\",\"groupId\":\"", "-SNAPSHOT", ":jar:", ":pom:"
+	).getBytes(StandardCharsets.UTF_8);
+
+	/**
+	 * The zlib checksum of the preset dictionary, which identifies it within compressed files.
+	 */
+	private static final int DICTIONARY_ID = computeDictionaryId();
+
+	private StateCompression() {}
+
+	/**
+	 * Compresses the content of a file.
+	 *
+	 * The compression is deterministic, so an unchanged content results in an identical compressed content.
+	 *
+	 * @param content The content to compress.
+	 * @return The compressed content including the header.
+	 */
+	public static byte[] compress(final byte[] content) {
+		final ByteArrayOutputStream compressedContent = new ByteArrayOutputStream(content.length / 4 + MAGIC.length + 1);
+		compressedContent.write(MAGIC, 0, MAGIC.length);
+		compressedContent.write(FORMAT_VERSION);
+
+		final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			deflater.setDictionary(DICTIONARY);
+			deflater.setInput(content);
+			deflater.finish();
+
+			final byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				final int compressedLength = deflater.deflate(buffer);
+				compressedContent.write(buffer, 0, compressedLength);
+			}
+		} finally {
+			deflater.end();
+		}
+
+		return compressedContent.toByteArray();
+	}
+
+	/**
+	 * Opens a file of the persisted state for reading and decompresses it transparently if it is compressed.
+	 *
+	 * @param path The file to open.
+	 * @return The buffered and uncompressed content of the file.
+	 * @throws IOException if an error occurred while reading the file or the compressed content is malformed.
+	 */
+	public static InputStream newInputStream(final Path path) throws IOException {
+		final InputStream fileStream = new BufferedInputStream(Files.newInputStream(path));
+		boolean opened = false;
+		try {
+			final InputStream contentStream = openContent(fileStream, path);
+			opened = true;
+
+			return contentStream;
+		} finally {
+			if (!opened) {
+				fileStream.close();
+			}
+		}
+	}
+
+	/**
+	 * Provides the uncompressed content of a file.
+	 *
+	 * @param fileStream The buffered stream of the file.
+	 * @param path The file for error reporting.
+	 * @return The stream of the file itself if it is not compressed or a stream of the decompressed content otherwise.
+	 * @throws IOException if an error occurred while reading the file or the compressed content is malformed.
+	 */
+	private static InputStream openContent(final InputStream fileStream, final Path path) throws IOException {
+		if (!isCompressed(fileStream)) {
+			return fileStream;
+		}
+
+		try {
+			return new ByteArrayInputStream(decompress(readRemaining(fileStream), path));
+		} finally {
+			fileStream.close();
+		}
+	}
+
+	/**
+	 * Determines whether a stream starts with the header of compressed files and skips the header if so.
+	 *
+	 * @param stream The stream to inspect, which must support marks.
+	 * @return Whether the stream is compressed.
+	 * @throws IOException if an error occurred while reading the stream.
+	 */
+	private static boolean isCompressed(final InputStream stream) throws IOException {
+		final byte[] header = new byte[MAGIC.length + 1];
+
+		stream.mark(header.length);
+		final int headerLength = readFully(stream, header);
+		if (headerLength == header.length && Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC)) {
+			if (header[MAGIC.length] != FORMAT_VERSION) {
+				throw new IOException("Unsupported compression format version " + header[MAGIC.length]);
+			}
+
+			return true;
+		}
+
+		stream.reset();
+		return false;
+	}
+
+	/**
+	 * Reads bytes until a buffer is full or the stream has ended.
+	 *
+	 * @param stream The stream to read from.
+	 * @param buffer The buffer to fill.
+	 * @return The number of bytes read.
+	 * @throws IOException if an error occurred while reading the stream.
+	 */
+	private static int readFully(final InputStream stream, final byte[] buffer) throws IOException {
+		int totalLength = 0;
+		while (totalLength < buffer.length) {
+			final int length = stream.read(buffer, totalLength, buffer.length - totalLength);
+			if (length < 0) {
+				break;
+			}
+
+			totalLength += length;
+		}
+
+		return totalLength;
+	}
+
+	/**
+	 * Reads the remaining bytes of a stream.
+	 *
+	 * @param stream The stream to read from.
+	 * @return The remaining bytes.
+	 * @throws IOException if an error occurred while reading the stream.
+	 */
+	private static byte[] readRemaining(final InputStream stream) throws IOException {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		final byte[] buffer = new byte[8192];
+		int length;
+		while ((length = stream.read(buffer)) != -1) {
+			content.write(buffer, 0, length);
+		}
+
+		return content.toByteArray();
+	}
+
+	/**
+	 * Decompresses a zlib stream, which has been deflated with the preset dictionary.
+	 *
+	 * @param compressedContent The zlib stream.
+	 * @param path The file of the zlib stream for error reporting.
+	 * @return The uncompressed content.
+	 * @throws IOException if the zlib stream is malformed or has been deflated with another dictionary.
+	 */
+	private static byte[] decompress(final byte[] compressedContent, final Path path) throws IOException {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream(compressedContent.length * 4);
+
+		final Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressedContent);
+
+			final byte[] buffer = new byte[8192];
+			while (!inflater.finished()) {
+				final int length = inflate(inflater, buffer, path);
+				content.write(buffer, 0, length);
+			}
+		} finally {
+			inflater.end();
+		}
+
+		return content.toByteArray();
+	}
+
+	/**
+	 * Inflates the next chunk of a zlib stream and supplies the preset dictionary on demand.
+	 *
+	 * @param inflater The inflater of the zlib stream.
+	 * @param buffer The buffer for the uncompressed chunk.
+	 * @param path The file of the zlib stream for error reporting.
+	 * @return The length of the uncompressed chunk.
+	 * @throws IOException if the zlib stream is malformed, truncated or has been deflated with another dictionary.
+	 */
+	private static int inflate(final Inflater inflater, final byte[] buffer, final Path path) throws IOException {
+		try {
+			final int length = inflater.inflate(buffer);
+			if (length > 0) {
+				return length;
+			}
+
+			if (inflater.needsDictionary()) {
+				if (inflater.getAdler() != DICTIONARY_ID) {
+					throw new IOException("Compressed state " + path + " uses an unknown dictionary");
+				}
+
+				inflater.setDictionary(DICTIONARY);
+			} else if (inflater.needsInput()) {
+				throw new IOException("Compressed state " + path + " is truncated");
+			}
+
+			return 0;
+		} catch (final DataFormatException e) {
+			throw new IOException("Compressed state " + path + " is malformed", e);
+		}
+	}
+
+	/**
+	 * @return The zlib checksum of the preset dictionary.
+	 */
+	private static int computeDictionaryId() {
+		final Adler32 checksum = new Adler32();
+		checksum.update(DICTIONARY, 0, DICTIONARY.length);
+
+		return (int) checksum.getValue();
+	}
+
+}
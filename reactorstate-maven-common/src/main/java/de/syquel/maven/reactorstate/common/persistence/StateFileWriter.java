@@ -0,0 +1,229 @@
+package de.syquel.maven.reactorstate.common.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+
+/**
+ * A writer of files of the persisted Maven state, which replaces files atomically and forces them to durable storage as configured.
+ *
+ * Files are written to a temporary file next to their target and renamed afterwards, so an interrupted Maven execution never leaves a truncated
+ * file behind. The persisted state is serialized deterministically, so an unchanged state results in identical file contents. Files with identical
+ * contents are not rewritten, which preserves their modification times for caches keyed on them. Files are optionally compressed via
+ * {@link StateCompression} and have to be read via {@link StateCompression#newInputStream(Path)}.
+ *
+ * This writer is thread-safe.
+ */
+public final class StateFileWriter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StateFileWriter.class);
+
+	/**
+	 * The guarantees for persisted files to survive a crash of the operating system.
+	 */
+	private final ReactorStateConfiguration.RepositoryDurability durability;
+
+	/**
+	 * The compression of persisted files.
+	 */
+	private final ReactorStateConfiguration.RepositoryCompression compression;
+
+	/**
+	 * The written files, which are forced to durable storage by the next {@link #flush()}.
+	 */
+	private final Set<Path> unsyncedPaths = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Constructs a new instance, which neither compresses files nor forces them to durable storage.
+	 */
+	public StateFileWriter() {
+		this(ReactorStateConfiguration.RepositoryDurability.FAST, ReactorStateConfiguration.RepositoryCompression.NONE);
+	}
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param durability The guarantees for persisted files to survive a crash of the operating system.
+	 * @param compression The compression of persisted files.
+	 */
+	public StateFileWriter(
+		final ReactorStateConfiguration.RepositoryDurability durability, final ReactorStateConfiguration.RepositoryCompression compression
+	) {
+		this.durability = durability;
+		this.compression = compression;
+	}
+
+	/**
+	 * Replaces a file atomically unless it already has the content.
+	 *
+	 * @param path The file to write.
+	 * @param uncompressedContent The uncompressed content to write.
+	 * @return Whether the file has been written.
+	 * @throws IOException if an error occurred while reading or writing the file.
+	 */
+	public boolean writeIfChanged(final Path path, final byte[] uncompressedContent) throws IOException {
+		final byte[] content =
+			(compression == ReactorStateConfiguration.RepositoryCompression.DEFLATE) ? StateCompression.compress(uncompressedContent) : uncompressedContent;
+		if (hasContent(path, content)) {
+			return false;
+		}
+
+		replaceAtomically(path, content, durability == ReactorStateConfiguration.RepositoryDurability.SAFE);
+		if (durability == ReactorStateConfiguration.RepositoryDurability.BATCH) {
+			unsyncedPaths.add(path.toAbsolutePath());
+		}
+
+		return true;
+	}
+
+	/**
+	 * Replaces a file atomically by writing its content to a temporary file next to it and renaming the temporary file afterwards, so that concurrent
+	 * readers and interrupted Maven executions never observe a partial file.
+	 *
+	 * @param path The file to replace.
+	 * @param content The content to write.
+	 * @param sync Whether to force the file and its directory to durable storage.
+	 * @throws IOException if an error occurred while writing the file.
+	 */
+	public static void replaceAtomically(final Path path, final byte[] content, final boolean sync) throws IOException {
+		final Path parentPath = path.toAbsolutePath().getParent();
+		if (!Files.isDirectory(parentPath)) {
+			Files.createDirectories(parentPath);
+		}
+
+		final Path temporaryPath = Files.createTempFile(parentPath, path.getFileName().toString(), ".tmp");
+		try {
+			writeFile(temporaryPath, content, sync);
+			move(temporaryPath, path);
+		} finally {
+			Files.deleteIfExists(temporaryPath);
+		}
+
+		if (sync) {
+			syncDirectory(parentPath);
+		}
+	}
+
+	/**
+	 * Forces all files, which have been written since the last flush, and their directories to durable storage at once.
+	 *
+	 * This is only necessary for the {@link ReactorStateConfiguration.RepositoryDurability#BATCH} durability.
+	 *
+	 * @throws IOException if an error occurred while forcing the files to durable storage.
+	 */
+	public void flush() throws IOException {
+		final List<Path> syncedPaths = new ArrayList<>(unsyncedPaths);
+		if (syncedPaths.isEmpty()) {
+			return;
+		}
+
+		unsyncedPaths.removeAll(syncedPaths);
+
+		final Set<Path> syncedDirectoryPaths = new LinkedHashSet<>();
+		for (final Path syncedPath : syncedPaths) {
+			syncFile(syncedPath);
+			syncedDirectoryPaths.add(syncedPath.getParent());
+		}
+
+		for (final Path syncedDirectoryPath : syncedDirectoryPaths) {
+			syncDirectory(syncedDirectoryPath);
+		}
+
+		LOGGER.debug("Forced {} saved state files in {} directories to durable storage", syncedPaths.size(), syncedDirectoryPaths.size());
+	}
+
+	/**
+	 * Determines whether a file already has a specific content by comparing their digests.
+	 *
+	 * @param path The file to compare.
+	 * @param content The content to compare the file with.
+	 * @return Whether the file exists and has the content.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	private static boolean hasContent(final Path path, final byte[] content) throws IOException {
+		if (!Files.isRegularFile(path) || Files.size(path) != content.length) {
+			return false;
+		}
+
+		return DigestUtils.sha256Hex(path).equals(DigestUtils.sha256Hex(content));
+	}
+
+	/**
+	 * Writes the content of a new file.
+	 *
+	 * @param path The file to write.
+	 * @param content The content to write.
+	 * @param sync Whether to force the content to durable storage.
+	 * @throws IOException if an error occurred while writing the file.
+	 */
+	private static void writeFile(final Path path, final byte[] content, final boolean sync) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			final ByteBuffer buffer = ByteBuffer.wrap(content);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+
+			if (sync) {
+				channel.force(true);
+			}
+		}
+	}
+
+	/**
+	 * Replaces a file by another one, atomically if supported by the filesystem.
+	 *
+	 * @param sourcePath The file to move.
+	 * @param targetPath The file to replace.
+	 * @throws IOException if an error occurred while moving the file.
+	 */
+	public static void move(final Path sourcePath, final Path targetPath) throws IOException {
+		try {
+			Files.move(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+			Files.move(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Forces the content of an existing file to durable storage.
+	 *
+	 * @param path The file to force to durable storage.
+	 * @throws IOException if an error occurred while forcing the file to durable storage.
+	 */
+	private static void syncFile(final Path path) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Forces the entries of a directory to durable storage, so that renamed files survive a crash of the operating system.
+	 *
+	 * @param path The directory to force to durable storage.
+	 */
+	private static void syncDirectory(final Path path) {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (final IOException e) {
+			// Some platforms, e.g. Windows, do not support opening directories, but persist renames without it
+			LOGGER.debug("Cannot force directory {} to durable storage. Ignoring.", path, e);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.project.MavenProject;
+
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.StateCompression;
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * Implementation of a persistence repository for Maven state information via a compact binary representation.
+ *
+ * In contrast to the JSON representation, repeated strings and artifact properties are only persisted once per Maven module.
+ *
+ * @see BinaryStateFormat
+ */
+public class BinaryReactorStateRepository implements IReactorStateRepository {
+
+	/**
+	 * The location to persist Maven state information to.
+	 */
+	private static final String STATE_FILENAME = "reactorstate-maven.bin";
+
+	/**
+	 * The writer of the persisted binary files.
+	 */
+	private final StateFileWriter stateFileWriter;
+
+	/**
+	 * Constructs a new instance, which neither compresses the persisted state nor forces it to durable storage.
+	 */
+	public BinaryReactorStateRepository() {
+		this(new StateFileWriter());
+	}
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param stateFileWriter The writer of the persisted binary files.
+	 */
+	public BinaryReactorStateRepository(final StateFileWriter stateFileWriter) {
+		this.stateFileWriter = stateFileWriter;
+	}
+
+	@Override
+	public MavenProjectState read(final MavenProject mavenProject) throws IOException {
+		final Path reactorStatePath = getReactorStatePath(mavenProject);
+		if (!Files.isReadable(reactorStatePath)) {
+			return null;
+		}
+
+		try (final InputStream reactorStateStream = StateCompression.newInputStream(reactorStatePath)) {
+			return new BinaryStateReader(reactorStateStream).readProjectState(mavenProject);
+		}
+	}
+
+	@Override
+	public boolean save(final MavenProjectState mavenProjectState) throws IOException {
+		final BinaryStateWriter stateWriter = new BinaryStateWriter();
+		stateWriter.writeProjectState(mavenProjectState);
+
+		final ByteArrayOutputStream reactorStateBuffer = new ByteArrayOutputStream();
+		stateWriter.writeTo(reactorStateBuffer);
+
+		return stateFileWriter.writeIfChanged(getReactorStatePath(mavenProjectState.getProject()), reactorStateBuffer.toByteArray());
+	}
+
+	@Override
+	public void flush() throws IOException {
+		stateFileWriter.flush();
+	}
+
+	@Override
+	public void delete(final MavenProject mavenProject) throws IOException {
+		Files.deleteIfExists(getReactorStatePath(mavenProject));
+	}
+
+	/**
+	 * Determines the filesystem path to persisted state information for a Maven module.
+	 *
+	 * @param mavenProject The Maven module to determine the path for.
+	 * @return The filesystem path to persisted state information.
+	 */
+	private static Path getReactorStatePath(final MavenProject mavenProject) {
+		return MavenProjectUtils.resolveProjectBuildPath(mavenProject).resolve(STATE_FILENAME);
+	}
+
+}
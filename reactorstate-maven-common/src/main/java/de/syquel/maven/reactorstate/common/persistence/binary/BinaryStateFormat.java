@@ -0,0 +1,53 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+/**
+ * The constants of the binary representation of Maven module states.
+ *
+ * The binary representation consists of a header with the magic bytes and the format version, the string table, the artifact property map table and
+ * the body. All lengths, counts and table references are variable-length encoded.
+ *
+ * A journal consists of a header with the journal magic bytes and the journal format version followed by records. Every record consists of the
+ * length and the CRC-32 checksum of its body followed by the body, which consists of the modified UTF-8 encoded key of the Maven module and the
+ * binary representation of its state. A record without binary representation marks the deletion of the state. A record with an empty key commits all
+ * preceding records since the previous commit record as one batch.
+ */
+final class BinaryStateFormat {
+
+	/**
+	 * The magic bytes at the start of the binary representation.
+	 */
+	static final byte[] MAGIC = { 'R', 'S', 'T', 'B' };
+
+	/**
+	 * The version of the binary representation, which is incremented on incompatible changes.
+	 */
+	static final int FORMAT_VERSION = 3;
+
+	/**
+	 * The oldest version of the binary representation, which is still readable, but lacks the fingerprints of the Maven artifacts.
+	 */
+	static final int MINIMUM_FORMAT_VERSION = 1;
+
+	/**
+	 * The version of the binary representation, which introduced the fingerprints of the Maven artifacts.
+	 */
+	static final int FINGERPRINT_FORMAT_VERSION = 2;
+
+	/**
+	 * The version of the binary representation, which introduced the fingerprints of the inputs of the Maven modules.
+	 */
+	static final int INPUT_FINGERPRINT_FORMAT_VERSION = 3;
+
+	/**
+	 * The magic bytes at the start of a journal of binary representations.
+	 */
+	static final byte[] JOURNAL_MAGIC = { 'R', 'S', 'T', 'J' };
+
+	/**
+	 * The version of the journal framing, which is incremented on incompatible changes.
+	 */
+	static final int JOURNAL_FORMAT_VERSION = 2;
+
+	private BinaryStateFormat() {}
+
+}
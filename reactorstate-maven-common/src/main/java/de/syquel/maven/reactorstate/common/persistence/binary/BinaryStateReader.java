@@ -0,0 +1,302 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Plugin;
+import org.apache.maven.artifact.repository.metadata.Snapshot;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+
+/**
+ * A reader of the binary representation of Maven module states.
+ *
+ * The header and the tables are read on construction, whereas the states within the body are read on demand.
+ *
+ * @see BinaryStateWriter
+ */
+final class BinaryStateReader {
+
+	/**
+	 * The stream positioned at the next state within the body.
+	 */
+	private final DataInputStream in;
+
+	/**
+	 * The strings of the string table.
+	 */
+	private final String[] strings;
+
+	/**
+	 * The artifact property maps of the property map table.
+	 */
+	private final List<Map<String, String>> propertyMaps;
+
+	/**
+	 * The version of the binary representation.
+	 */
+	private final int formatVersion;
+
+	/**
+	 * Constructs a new instance and reads the header and the tables.
+	 *
+	 * @param in The stream positioned at the start of the binary representation.
+	 * @throws IOException if an error occurred while reading or the binary representation is incompatible.
+	 */
+	BinaryStateReader(final InputStream in) throws IOException {
+		this.in = new DataInputStream(in);
+
+		final byte[] magic = new byte[BinaryStateFormat.MAGIC.length];
+		this.in.readFully(magic);
+		if (!Arrays.equals(magic, BinaryStateFormat.MAGIC)) {
+			throw new IOException("Not a binary reactor state");
+		}
+
+		this.formatVersion = VarInts.readVarInt(this.in);
+		if (formatVersion < BinaryStateFormat.MINIMUM_FORMAT_VERSION || formatVersion > BinaryStateFormat.FORMAT_VERSION) {
+			throw new IOException("Unsupported binary reactor state format version " + formatVersion);
+		}
+
+		this.strings = new String[VarInts.readVarInt(this.in)];
+		for (int i = 0; i < strings.length; i++) {
+			final byte[] stringBytes = new byte[VarInts.readVarInt(this.in)];
+			this.in.readFully(stringBytes);
+			strings[i] = new String(stringBytes, StandardCharsets.UTF_8);
+		}
+
+		final int propertyMapCount = VarInts.readVarInt(this.in);
+		this.propertyMaps = new ArrayList<>(propertyMapCount);
+		for (int i = 0; i < propertyMapCount; i++) {
+			final int propertyCount = VarInts.readVarInt(this.in);
+			final Map<String, String> propertyMap = new LinkedHashMap<>();
+			for (int j = 0; j < propertyCount; j++) {
+				propertyMap.put(readString(), readString());
+			}
+
+			propertyMaps.add(Collections.unmodifiableMap(propertyMap));
+		}
+	}
+
+	/**
+	 * Reads the next state of a Maven module from the body.
+	 *
+	 * @param project The Maven module to read the state for.
+	 * @return The state of the Maven module.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	MavenProjectState readProjectState(final MavenProject project) throws IOException {
+		final Path projectBasePath = project.getBasedir().toPath();
+
+		// The persisted ID of the Maven module is informational only
+		readString();
+
+		final Artifact pom = readArtifact(projectBasePath);
+		final MavenArtifactState mainArtifactState = readArtifactState(projectBasePath);
+
+		final int attachedArtifactCount = VarInts.readVarInt(in);
+		final Set<MavenArtifactState> attachedArtifactStates = new HashSet<>();
+		for (int i = 0; i < attachedArtifactCount; i++) {
+			attachedArtifactStates.add(readArtifactState(projectBasePath));
+		}
+
+		final MavenProjectState projectState = new MavenProjectState(project, pom, mainArtifactState, attachedArtifactStates);
+		if (formatVersion >= BinaryStateFormat.INPUT_FINGERPRINT_FORMAT_VERSION) {
+			projectState.setInputFingerprint(readNullableString());
+		}
+
+		return projectState;
+	}
+
+	/**
+	 * Reads the state of a Maven artifact including its repository metadata and its fingerprint if present.
+	 *
+	 * @param projectBasePath The base path of the Maven module, which artifact paths are relative to.
+	 * @return The state of the Maven artifact.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private MavenArtifactState readArtifactState(final Path projectBasePath) throws IOException {
+		final MavenArtifactState artifactState = new MavenArtifactState(readArtifact(projectBasePath));
+		artifactState.setArtifactRepositoryMetadata(readMetadata());
+		artifactState.setGroupRepositoryMetadata(readMetadata());
+		artifactState.setSnapshotRepositoryMetadata(readMetadata());
+		if (formatVersion >= BinaryStateFormat.FINGERPRINT_FORMAT_VERSION && readPresence()) {
+			artifactState.setFingerprint(new ArtifactFingerprint(VarInts.readVarLong(in), in.readLong(), VarInts.readVarLong(in)));
+		}
+
+		return artifactState;
+	}
+
+	/**
+	 * Reads a Maven artifact.
+	 *
+	 * @param projectBasePath The base path of the Maven module, which artifact paths are relative to.
+	 * @return The Maven artifact.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private Artifact readArtifact(final Path projectBasePath) throws IOException {
+		final String coordinates = readString();
+		final String path = readNullableString();
+		final Map<String, String> properties = readPropertyMap();
+
+		final File artifactFile = (path != null) ? projectBasePath.resolve(path).toFile() : null;
+		return new DefaultArtifact(coordinates, properties).setFile(artifactFile);
+	}
+
+	/**
+	 * Reads Maven repository metadata.
+	 *
+	 * @return The Maven repository metadata or null.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private Metadata readMetadata() throws IOException {
+		if (!readPresence()) {
+			return null;
+		}
+
+		final Metadata metadata = new Metadata();
+		metadata.setModelVersion(readNullableString());
+		metadata.setGroupId(readNullableString());
+		metadata.setArtifactId(readNullableString());
+		metadata.setVersion(readNullableString());
+
+		if (readPresence()) {
+			final Versioning versioning = new Versioning();
+			versioning.setLatest(readNullableString());
+			versioning.setRelease(readNullableString());
+			versioning.setLastUpdated(readNullableString());
+			versioning.setVersions(readStrings());
+
+			if (readPresence()) {
+				final Snapshot snapshot = new Snapshot();
+				snapshot.setTimestamp(readNullableString());
+				snapshot.setBuildNumber(VarInts.readVarInt(in));
+				snapshot.setLocalCopy(in.readBoolean());
+
+				versioning.setSnapshot(snapshot);
+			}
+
+			final int snapshotVersionCount = VarInts.readVarInt(in);
+			for (int i = 0; i < snapshotVersionCount; i++) {
+				final SnapshotVersion snapshotVersion = new SnapshotVersion();
+				snapshotVersion.setClassifier(readNullableString());
+				snapshotVersion.setExtension(readNullableString());
+				snapshotVersion.setVersion(readNullableString());
+				snapshotVersion.setUpdated(readNullableString());
+
+				versioning.addSnapshotVersion(snapshotVersion);
+			}
+
+			metadata.setVersioning(versioning);
+		}
+
+		final int pluginCount = VarInts.readVarInt(in);
+		for (int i = 0; i < pluginCount; i++) {
+			final Plugin plugin = new Plugin();
+			plugin.setName(readNullableString());
+			plugin.setPrefix(readNullableString());
+			plugin.setArtifactId(readNullableString());
+
+			metadata.addPlugin(plugin);
+		}
+
+		return metadata;
+	}
+
+	/**
+	 * Reads whether an optional element is present.
+	 *
+	 * @return Whether the element is present.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private boolean readPresence() throws IOException {
+		return in.readBoolean();
+	}
+
+	/**
+	 * Reads a list of strings from references into the string table.
+	 *
+	 * @return The strings.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private List<String> readStrings() throws IOException {
+		final int count = VarInts.readVarInt(in);
+		final List<String> values = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			values.add(readString());
+		}
+
+		return values;
+	}
+
+	/**
+	 * Reads a string from a reference into the string table.
+	 *
+	 * @return The string.
+	 * @throws IOException if an error occurred while reading or the reference is invalid.
+	 */
+	private String readString() throws IOException {
+		return lookupString(VarInts.readVarInt(in));
+	}
+
+	/**
+	 * Reads an optional string from a reference into the string table.
+	 *
+	 * @return The string or null.
+	 * @throws IOException if an error occurred while reading or the reference is invalid.
+	 */
+	private String readNullableString() throws IOException {
+		final int reference = VarInts.readVarInt(in);
+		return (reference != 0) ? lookupString(reference - 1) : null;
+	}
+
+	/**
+	 * Reads an artifact property map from a reference into the property map table.
+	 *
+	 * @return The shared artifact property map.
+	 * @throws IOException if an error occurred while reading or the reference is invalid.
+	 */
+	private Map<String, String> readPropertyMap() throws IOException {
+		final int index = VarInts.readVarInt(in);
+		if (index >= propertyMaps.size()) {
+			throw new IOException("Invalid property map reference " + index);
+		}
+
+		return propertyMaps.get(index);
+	}
+
+	/**
+	 * Looks up a string within the string table.
+	 *
+	 * @param index The index of the string.
+	 * @return The string.
+	 * @throws IOException if the index is invalid.
+	 */
+	private String lookupString(final int index) throws IOException {
+		if (index >= strings.length) {
+			throw new IOException("Invalid string reference " + index);
+		}
+
+		return strings[index];
+	}
+
+}
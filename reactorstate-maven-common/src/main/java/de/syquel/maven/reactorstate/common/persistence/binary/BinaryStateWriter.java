@@ -0,0 +1,284 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Plugin;
+import org.apache.maven.artifact.repository.metadata.Snapshot;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+
+/**
+ * A writer of the binary representation of Maven module states.
+ *
+ * All strings are written once into a shared string table and referenced by their index. Equal artifact property maps are written once into a shared
+ * property map table. The body is buffered until all tables are known, so the binary representation is written by {@link #writeTo(OutputStream)}.
+ *
+ * @see BinaryStateReader
+ */
+final class BinaryStateWriter {
+
+	/**
+	 * The strings of the string table by their indices.
+	 */
+	private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+	/**
+	 * The artifact property maps of the property map table by their indices.
+	 */
+	private final Map<Map<String, String>, Integer> propertyMaps = new LinkedHashMap<>();
+
+	/**
+	 * The buffered body, which references the tables.
+	 */
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+	/**
+	 * Writes the state of a Maven module into the body.
+	 *
+	 * @param projectState The state of the Maven module.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	void writeProjectState(final MavenProjectState projectState) throws IOException {
+		final Path projectBasePath = projectState.getProject().getBasedir().toPath();
+
+		writeString(projectState.getProject().getId());
+		writeArtifact(projectState.getPom(), projectBasePath);
+		writeArtifactState(projectState.getMainArtifactState(), projectBasePath);
+
+		final Collection<MavenArtifactState> attachedArtifactStates = MavenProjectState.sortByCoordinates(projectState.getAttachedArtifactStates());
+		VarInts.writeVarInt(body, attachedArtifactStates.size());
+		for (final MavenArtifactState attachedArtifactState : attachedArtifactStates) {
+			writeArtifactState(attachedArtifactState, projectBasePath);
+		}
+
+		writeNullableString(projectState.getInputFingerprint());
+	}
+
+	/**
+	 * Writes the header, the tables and the body.
+	 *
+	 * @param out The stream to write to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	void writeTo(final OutputStream out) throws IOException {
+		out.write(BinaryStateFormat.MAGIC);
+		VarInts.writeVarInt(out, BinaryStateFormat.FORMAT_VERSION);
+
+		VarInts.writeVarInt(out, strings.size());
+		for (final String string : strings.keySet()) {
+			final byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+			VarInts.writeVarInt(out, stringBytes.length);
+			out.write(stringBytes);
+		}
+
+		VarInts.writeVarInt(out, propertyMaps.size());
+		for (final Map<String, String> propertyMap : propertyMaps.keySet()) {
+			VarInts.writeVarInt(out, propertyMap.size());
+			for (final Map.Entry<String, String> property : propertyMap.entrySet()) {
+				VarInts.writeVarInt(out, strings.get(property.getKey()));
+				VarInts.writeVarInt(out, strings.get(property.getValue()));
+			}
+		}
+
+		body.writeTo(out);
+	}
+
+	/**
+	 * Writes the state of a Maven artifact including its repository metadata and its fingerprint.
+	 *
+	 * @param artifactState The state of the Maven artifact.
+	 * @param projectBasePath The base path of the Maven module, which artifact paths are relative to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeArtifactState(final MavenArtifactState artifactState, final Path projectBasePath) throws IOException {
+		writeArtifact(artifactState.getArtifact(), projectBasePath);
+		writeMetadata(artifactState.getArtifactRepositoryMetadata());
+		writeMetadata(artifactState.getGroupRepositoryMetadata());
+		writeMetadata(artifactState.getSnapshotRepositoryMetadata());
+		writeFingerprint(artifactState.getFingerprint());
+	}
+
+	/**
+	 * Writes the fingerprint of the file of a Maven artifact.
+	 *
+	 * @param fingerprint The fingerprint or null.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeFingerprint(final ArtifactFingerprint fingerprint) throws IOException {
+		if (!writePresence(fingerprint)) {
+			return;
+		}
+
+		VarInts.writeVarLong(body, fingerprint.getSize());
+		// The modification time may precede the epoch, so it is not variable-length encoded
+		final long lastModified = fingerprint.getLastModified();
+		for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+			body.write((int) (lastModified >>> shift));
+		}
+		VarInts.writeVarLong(body, fingerprint.getChecksum());
+	}
+
+	/**
+	 * Writes a Maven artifact.
+	 *
+	 * @param artifact The Maven artifact.
+	 * @param projectBasePath The base path of the Maven module, which artifact paths are relative to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeArtifact(final Artifact artifact, final Path projectBasePath) throws IOException {
+		final File artifactFile = artifact.getFile();
+
+		writeString(ArtifactIdUtils.toId(artifact));
+		writeNullableString((artifactFile != null) ? projectBasePath.relativize(artifactFile.toPath()).toString() : null);
+		writePropertyMap(new TreeMap<>(artifact.getProperties()));
+	}
+
+	/**
+	 * Writes Maven repository metadata.
+	 *
+	 * @param metadata The Maven repository metadata or null.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeMetadata(final Metadata metadata) throws IOException {
+		if (!writePresence(metadata)) {
+			return;
+		}
+
+		writeNullableString(metadata.getModelVersion());
+		writeNullableString(metadata.getGroupId());
+		writeNullableString(metadata.getArtifactId());
+		writeNullableString(metadata.getVersion());
+
+		final Versioning versioning = metadata.getVersioning();
+		if (writePresence(versioning)) {
+			writeNullableString(versioning.getLatest());
+			writeNullableString(versioning.getRelease());
+			writeNullableString(versioning.getLastUpdated());
+			writeStrings(versioning.getVersions());
+
+			final Snapshot snapshot = versioning.getSnapshot();
+			if (writePresence(snapshot)) {
+				writeNullableString(snapshot.getTimestamp());
+				VarInts.writeVarInt(body, snapshot.getBuildNumber());
+				body.write(snapshot.isLocalCopy() ? 1 : 0);
+			}
+
+			final List<SnapshotVersion> snapshotVersions = versioning.getSnapshotVersions();
+			VarInts.writeVarInt(body, snapshotVersions.size());
+			for (final SnapshotVersion snapshotVersion : snapshotVersions) {
+				writeNullableString(snapshotVersion.getClassifier());
+				writeNullableString(snapshotVersion.getExtension());
+				writeNullableString(snapshotVersion.getVersion());
+				writeNullableString(snapshotVersion.getUpdated());
+			}
+		}
+
+		final List<Plugin> plugins = metadata.getPlugins();
+		VarInts.writeVarInt(body, plugins.size());
+		for (final Plugin plugin : plugins) {
+			writeNullableString(plugin.getName());
+			writeNullableString(plugin.getPrefix());
+			writeNullableString(plugin.getArtifactId());
+		}
+	}
+
+	/**
+	 * Writes whether an optional element is present.
+	 *
+	 * @param element The optional element.
+	 * @return Whether the element is present.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private boolean writePresence(final Object element) throws IOException {
+		body.write((element != null) ? 1 : 0);
+		return element != null;
+	}
+
+	/**
+	 * Writes a list of strings as references into the string table.
+	 *
+	 * @param values The strings.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeStrings(final List<String> values) throws IOException {
+		VarInts.writeVarInt(body, values.size());
+		for (final String value : values) {
+			writeString(value);
+		}
+	}
+
+	/**
+	 * Writes a string as reference into the string table.
+	 *
+	 * @param value The string.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeString(final String value) throws IOException {
+		VarInts.writeVarInt(body, register(value));
+	}
+
+	/**
+	 * Writes an optional string as reference into the string table, whereas 0 denotes null and all other references are shifted by one.
+	 *
+	 * @param value The string or null.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeNullableString(final String value) throws IOException {
+		VarInts.writeVarInt(body, (value != null) ? register(value) + 1 : 0);
+	}
+
+	/**
+	 * Writes an artifact property map as reference into the property map table.
+	 *
+	 * @param propertyMap The artifact property map.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writePropertyMap(final Map<String, String> propertyMap) throws IOException {
+		Integer index = propertyMaps.get(propertyMap);
+		if (index == null) {
+			for (final Map.Entry<String, String> property : propertyMap.entrySet()) {
+				register(property.getKey());
+				register(property.getValue());
+			}
+
+			index = propertyMaps.size();
+			propertyMaps.put(new LinkedHashMap<>(propertyMap), index);
+		}
+
+		VarInts.writeVarInt(body, index);
+	}
+
+	/**
+	 * Registers a string within the string table.
+	 *
+	 * @param value The string.
+	 * @return The index of the string within the string table.
+	 */
+	private int register(final String value) {
+		Integer index = strings.get(value);
+		if (index == null) {
+			index = strings.size();
+			strings.put(value, index);
+		}
+
+		return index;
+	}
+
+}
@@ -0,0 +1,941 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceModule;
+
+/**
+ * Implementation of a persistence repository for Maven state information, which appends the binary representations of the Maven module states to a
+ * single journal.
+ *
+ * The journal is an embedded key-value store, which is keyed by the version-agnostic key of the Maven modules, see
+ * {@link WorkspaceModule#toKey(String, String)}. It is located in the build directory of the top-most Maven module of the workspace and scanned once
+ * on first access, which builds a sorted in-memory index of the latest record of every Maven module. Saving states appends records sequentially
+ * instead of replacing files, while reading a state only reads its latest record.
+ *
+ * Every batch of saved states is a transaction, which is terminated by a commit record: The records of a batch, which has not been committed
+ * completely, e.g. due to an interrupted Maven execution, are discarded as a whole. If the obsolete records exceed the compaction threshold on first
+ * access, the journal is rewritten with the latest records only in a background thread while the Maven execution proceeds, which is awaited by
+ * {@link #flush()}. Reading and saving states is only blocked by the compaction while the rewritten journal replaces the current one.
+ *
+ * @see BinaryStateFormat
+ */
+public class JournalReactorStateRepository implements IReactorStateRepository {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JournalReactorStateRepository.class);
+
+	/**
+	 * The location of the journal within the build directory of the top-most Maven module.
+	 */
+	private static final String STATE_FILENAME = "reactorstate-maven.journal";
+
+	/**
+	 * The length of the journal header.
+	 */
+	private static final int HEADER_LENGTH = BinaryStateFormat.JOURNAL_MAGIC.length + 1;
+
+	/**
+	 * The length of the framing of every record, which consists of the length and the checksum of the record body.
+	 */
+	private static final int RECORD_FRAMING_LENGTH = 2 * Integer.BYTES;
+
+	/**
+	 * The key of the record, which commits all preceding records of a batch.
+	 */
+	private static final String COMMIT_KEY = "";
+
+	/**
+	 * The location of the journal.
+	 */
+	private final Path journalPath;
+
+	/**
+	 * The guarantees for appended records to survive a crash of the operating system.
+	 */
+	private final ReactorStateConfiguration.RepositoryDurability durability;
+
+	/**
+	 * The size of obsolete records in bytes, which triggers a compaction of the journal.
+	 */
+	private final long compactionThreshold;
+
+	/**
+	 * The latest records of the Maven modules by their keys, which are loaded on first access.
+	 */
+	private NavigableMap<String, JournalEntry> journalEntries;
+
+	/**
+	 * The size of the committed part of the journal in bytes.
+	 */
+	private long journalSize;
+
+	/**
+	 * Whether records have been appended since the last flush without forcing them to durable storage.
+	 */
+	private boolean unsynced;
+
+	/**
+	 * The background thread of the running compaction or null if there is none.
+	 */
+	private Thread compactionThread;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param journalPath The location of the journal.
+	 * @param durability The guarantees for appended records to survive a crash of the operating system.
+	 * @param compactionThreshold The size of obsolete records in bytes, which triggers a compaction of the journal.
+	 */
+	public JournalReactorStateRepository(
+		final Path journalPath, final ReactorStateConfiguration.RepositoryDurability durability, final long compactionThreshold
+	) {
+		this.journalPath = journalPath;
+		this.durability = durability;
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	/**
+	 * Instantiates this repository for the Maven workspace of a Maven module.
+	 *
+	 * @param project A Maven module of the workspace.
+	 * @param durability The guarantees for appended records to survive a crash of the operating system.
+	 * @param compactionThreshold The size of obsolete records in bytes, which triggers a compaction of the journal.
+	 * @return The repository for the Maven workspace.
+	 */
+	public static JournalReactorStateRepository create(
+		final MavenProject project, final ReactorStateConfiguration.RepositoryDurability durability, final long compactionThreshold
+	) {
+		final MavenProject rootProject = MavenProjectUtils.resolveWorkspaceRootProject(project);
+		final Path journalPath = MavenProjectUtils.resolveProjectBuildPath(rootProject).resolve(STATE_FILENAME);
+
+		return new JournalReactorStateRepository(journalPath, durability, compactionThreshold);
+	}
+
+	@Override
+	public synchronized MavenProjectState read(final MavenProject mavenProject) throws IOException {
+		final JournalEntry journalEntry = loadJournalEntries().get(buildEntryKey(mavenProject));
+		if (journalEntry == null) {
+			return null;
+		}
+
+		try (final FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+			return readProjectState(journalChannel, journalEntry, mavenProject);
+		}
+	}
+
+	@Override
+	public synchronized Collection<MavenProjectState> readAll(final Collection<MavenProject> mavenProjects) throws IOException {
+		final Map<String, JournalEntry> entries = loadJournalEntries();
+		if (entries.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		final List<MavenProjectState> projectStates = new ArrayList<>(mavenProjects.size());
+		try (final FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+			for (final MavenProject mavenProject : mavenProjects) {
+				final JournalEntry journalEntry = entries.get(buildEntryKey(mavenProject));
+				if (journalEntry != null) {
+					projectStates.add(readProjectState(journalChannel, journalEntry, mavenProject));
+				}
+			}
+		}
+
+		return projectStates;
+	}
+
+	@Override
+	public synchronized SortedSet<String> scanProjectKeys(final String keyPrefix) throws IOException {
+		return new TreeSet<>(loadJournalEntries().subMap(keyPrefix, true, keyPrefix + Character.MAX_VALUE, false).keySet());
+	}
+
+	@Override
+	public boolean save(final MavenProjectState mavenProjectState) throws IOException {
+		return saveAll(Collections.singleton(mavenProjectState)) > 0;
+	}
+
+	@Override
+	public int saveAll(final Collection<MavenProjectState> mavenProjectStates) throws IOException {
+		final Map<String, byte[]> payloads = new TreeMap<>();
+		for (final MavenProjectState mavenProjectState : mavenProjectStates) {
+			final BinaryStateWriter stateWriter = new BinaryStateWriter();
+			stateWriter.writeProjectState(mavenProjectState);
+
+			final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+			stateWriter.writeTo(payload);
+
+			payloads.put(buildEntryKey(mavenProjectState.getProject()), payload.toByteArray());
+		}
+
+		return append(payloads);
+	}
+
+	@Override
+	public synchronized void delete(final MavenProject mavenProject) throws IOException {
+		final String entryKey = buildEntryKey(mavenProject);
+		if (loadJournalEntries().containsKey(entryKey)) {
+			append(Collections.singletonMap(entryKey, new byte[0]));
+		}
+	}
+
+	/**
+	 * Awaits a running compaction of the journal, so that the Maven execution does not end before the journal has been compacted, and forces the
+	 * records, which have been appended since the last flush, to durable storage.
+	 *
+	 * Appended records are forced to durable storage on append for the {@link ReactorStateConfiguration.RepositoryDurability#SAFE} durability and by
+	 * this flush for the {@link ReactorStateConfiguration.RepositoryDurability#BATCH} durability.
+	 *
+	 * @throws IOException if the current thread has been interrupted while waiting or an error occurred while forcing the journal.
+	 */
+	@Override
+	public void flush() throws IOException {
+		awaitCompaction();
+		syncAppendedRecords();
+	}
+
+	/**
+	 * Appends the records of Maven modules, whose binary representation has changed, to the journal in a single sequential write, which is terminated
+	 * by a commit record.
+	 *
+	 * @param payloads The binary representations of the states of the Maven modules by their keys, which are empty for deleted states.
+	 * @return The number of appended records.
+	 * @throws IOException if an error occurred while reading or writing the journal.
+	 */
+	private synchronized int append(final Map<String, byte[]> payloads) throws IOException {
+		final Map<String, JournalEntry> entries = loadJournalEntries();
+		final long headerLength = (journalSize == 0) ? HEADER_LENGTH : 0;
+
+		final ByteArrayOutputStream records = new ByteArrayOutputStream();
+		final DataOutputStream recordsOutput = new DataOutputStream(records);
+		if (headerLength > 0) {
+			writeHeader(recordsOutput);
+		}
+
+		final Map<String, JournalEntry> appendedEntries = new HashMap<>();
+		for (final Map.Entry<String, byte[]> payload : payloads.entrySet()) {
+			final JournalEntry journalEntry = entries.get(payload.getKey());
+			final String digest = DigestUtils.sha256Hex(payload.getValue());
+			if ((journalEntry == null && payload.getValue().length == 0) || (journalEntry != null && journalEntry.getDigest().equals(digest))) {
+				continue;
+			}
+
+			final long recordOffset = journalSize + records.size();
+			final int payloadOffset = writeRecord(recordsOutput, payload.getKey(), payload.getValue());
+			appendedEntries.put(payload.getKey(), new JournalEntry(recordOffset, payloadOffset, payload.getValue().length, digest));
+		}
+
+		if (appendedEntries.isEmpty()) {
+			return 0;
+		}
+		writeRecord(recordsOutput, COMMIT_KEY, new byte[0]);
+
+		try (final FileChannel journalChannel = openForAppend()) {
+			writeFully(journalChannel, records.toByteArray(), journalSize);
+			if (durability == ReactorStateConfiguration.RepositoryDurability.SAFE) {
+				journalChannel.force(false);
+			}
+		}
+
+		unsynced = durability == ReactorStateConfiguration.RepositoryDurability.BATCH;
+		journalSize += records.size();
+		final int appendedCount = appendedEntries.size();
+		commit(appendedEntries);
+
+		return appendedCount;
+	}
+
+	/**
+	 * Awaits a running compaction of the journal.
+	 *
+	 * @throws IOException if the current thread has been interrupted while waiting.
+	 */
+	private void awaitCompaction() throws IOException {
+		final Thread runningCompactionThread;
+		synchronized (this) {
+			runningCompactionThread = compactionThread;
+		}
+
+		if (runningCompactionThread == null) {
+			return;
+		}
+
+		try {
+			runningCompactionThread.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while awaiting the compaction of " + journalPath);
+		}
+	}
+
+	/**
+	 * Forces the records, which have been appended since the last flush, to durable storage.
+	 *
+	 * @throws IOException if an error occurred while forcing the journal.
+	 */
+	private synchronized void syncAppendedRecords() throws IOException {
+		if (!unsynced) {
+			return;
+		}
+
+		try (final FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+			journalChannel.force(false);
+		}
+
+		unsynced = false;
+	}
+
+	/**
+	 * Opens the journal for appending records and discards a torn record at its end.
+	 *
+	 * @return The channel of the journal.
+	 * @throws IOException if an error occurred while opening the journal.
+	 */
+	private FileChannel openForAppend() throws IOException {
+		final Path parentPath = journalPath.toAbsolutePath().getParent();
+		if (!Files.isDirectory(parentPath)) {
+			Files.createDirectories(parentPath);
+		}
+
+		final FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		if (journalChannel.size() > journalSize) {
+			journalChannel.truncate(journalSize);
+		}
+
+		return journalChannel;
+	}
+
+	/**
+	 * Loads the index of the journal on first access by scanning all of its records.
+	 *
+	 * @return The latest records of the Maven modules by their keys.
+	 * @throws IOException if an error occurred while reading the journal.
+	 */
+	private NavigableMap<String, JournalEntry> loadJournalEntries() throws IOException {
+		if (journalEntries != null) {
+			return journalEntries;
+		}
+
+		journalEntries = new TreeMap<>();
+		journalSize = 0;
+		if (!Files.isReadable(journalPath)) {
+			return journalEntries;
+		}
+
+		final long fileSize = Files.size(journalPath);
+		try (final DataInputStream journalInput = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+			if (fileSize < HEADER_LENGTH || !readHeader(journalInput)) {
+				LOGGER.warn("Reactor state journal {} is incompatible. Ignoring.", journalPath);
+				return journalEntries;
+			}
+
+			journalSize = readCommittedRecords(journalInput, fileSize);
+		}
+
+		if (journalSize < fileSize) {
+			LOGGER.warn("Discarding {} bytes of an uncommitted batch at the end of reactor state journal {}", fileSize - journalSize, journalPath);
+		}
+
+		scheduleCompactionIfNecessary();
+		return journalEntries;
+	}
+
+	/**
+	 * Scans all records of the journal and indexes the records of the committed batches.
+	 *
+	 * @param journalInput The stream of the journal after its header.
+	 * @param fileSize The size of the journal in bytes.
+	 * @return The size of the committed part of the journal in bytes.
+	 * @throws IOException if an error occurred while reading the journal.
+	 */
+	private long readCommittedRecords(final DataInputStream journalInput, final long fileSize) throws IOException {
+		final Map<String, JournalEntry> uncommittedEntries = new HashMap<>();
+		long committedSize = HEADER_LENGTH;
+		long recordOffset = HEADER_LENGTH;
+		JournalRecord record;
+		while ((record = readRecord(journalInput, fileSize - recordOffset)) != null) {
+			final long recordLength = record.getRecordLength();
+			if (COMMIT_KEY.equals(record.getEntryKey())) {
+				commit(uncommittedEntries);
+				committedSize = recordOffset + recordLength;
+			} else {
+				final byte[] payload = record.getPayload();
+				final String digest = (payload.length == 0) ? null : DigestUtils.sha256Hex(payload);
+				uncommittedEntries.put(record.getEntryKey(), new JournalEntry(recordOffset, record.getPayloadOffset(), payload.length, digest));
+			}
+
+			recordOffset += recordLength;
+		}
+
+		return committedSize;
+	}
+
+	/**
+	 * Applies the records of a committed batch to the index of the journal.
+	 *
+	 * @param batchEntries The records of the batch by the keys of the Maven modules, which are empty for deleted states.
+	 */
+	private void commit(final Map<String, JournalEntry> batchEntries) {
+		for (final Map.Entry<String, JournalEntry> batchEntry : batchEntries.entrySet()) {
+			if (batchEntry.getValue().getPayloadLength() == 0) {
+				journalEntries.remove(batchEntry.getKey());
+			} else {
+				journalEntries.put(batchEntry.getKey(), batchEntry.getValue());
+			}
+		}
+
+		batchEntries.clear();
+	}
+
+	/**
+	 * Starts the compaction of the journal in a background thread if the obsolete records exceed the compaction threshold.
+	 *
+	 * The thread is no daemon, so that the JVM does not exit amid a compaction, and is awaited by {@link #flush()}.
+	 */
+	private void scheduleCompactionIfNecessary() {
+		if (compactionThread != null || getObsoleteSize() <= compactionThreshold) {
+			return;
+		}
+
+		compactionThread = new Thread(this::compact, "reactorstate-journal-compaction");
+		compactionThread.start();
+	}
+
+	/**
+	 * Rewrites the journal with the latest records of the Maven modules only and replaces it atomically.
+	 *
+	 * The latest records are copied into a temporary journal without holding the lock of this repository, since the committed part of the journal is
+	 * never modified by appending records. Only the batches, which have been appended meanwhile, are copied while holding the lock, right before the
+	 * temporary journal replaces the current one. A failed compaction leaves the journal untouched, since it remains valid and is compacted again later.
+	 */
+	private void compact() {
+		try {
+			final JournalSnapshot snapshot = takeSnapshot();
+			final Path temporaryPath = Files.createTempFile(journalPath.toAbsolutePath().getParent(), STATE_FILENAME, ".tmp");
+			try {
+				final Map<String, JournalEntry> compactedEntries = writeCompactedJournal(snapshot, temporaryPath);
+				replaceByCompactedJournal(snapshot, temporaryPath, compactedEntries);
+			} finally {
+				Files.deleteIfExists(temporaryPath);
+			}
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot compact reactor state journal {}. Ignoring.", journalPath, e);
+		} finally {
+			finishCompaction();
+		}
+	}
+
+	/**
+	 * Takes a snapshot of the latest records of the Maven modules for the compaction of the journal.
+	 *
+	 * @return The snapshot of the latest records.
+	 */
+	private synchronized JournalSnapshot takeSnapshot() {
+		final List<Map.Entry<String, JournalEntry>> entries = new ArrayList<>(journalEntries.entrySet());
+		entries.sort(Map.Entry.comparingByValue((first, second) -> Long.compare(first.getRecordOffset(), second.getRecordOffset())));
+
+		return new JournalSnapshot(entries, journalSize, getObsoleteSize());
+	}
+
+	/**
+	 * Copies the journal header and the latest records of a snapshot in their order within the journal as a single committed batch into a new journal.
+	 *
+	 * @param snapshot The snapshot of the latest records.
+	 * @param compactedPath The location of the new journal.
+	 * @return The latest records of the snapshot within the new journal by the keys of the Maven modules.
+	 * @throws IOException if an error occurred while reading or writing the journals.
+	 */
+	private Map<String, JournalEntry> writeCompactedJournal(final JournalSnapshot snapshot, final Path compactedPath) throws IOException {
+		final ByteArrayOutputStream compactedJournal = new ByteArrayOutputStream();
+		final DataOutputStream compactedOutput = new DataOutputStream(compactedJournal);
+		writeHeader(compactedOutput);
+
+		final Map<String, JournalEntry> compactedEntries = new HashMap<>();
+		try (final FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+			for (final Map.Entry<String, JournalEntry> entry : snapshot.getEntries()) {
+				final JournalEntry journalEntry = entry.getValue();
+				final long recordOffset = compactedJournal.size();
+				final int payloadOffset = writeRecord(compactedOutput, entry.getKey(), readPayload(journalChannel, journalEntry));
+
+				compactedEntries.put(
+					entry.getKey(), new JournalEntry(recordOffset, payloadOffset, journalEntry.getPayloadLength(), journalEntry.getDigest())
+				);
+			}
+		}
+		writeRecord(compactedOutput, COMMIT_KEY, new byte[0]);
+
+		try (final FileChannel compactedChannel = FileChannel.open(compactedPath, StandardOpenOption.WRITE)) {
+			writeFully(compactedChannel, compactedJournal.toByteArray(), 0);
+		}
+
+		return compactedEntries;
+	}
+
+	/**
+	 * Appends the batches, which have been committed since the snapshot, to the new journal and replaces the current journal by it.
+	 *
+	 * @param snapshot The snapshot of the latest records, which has been copied into the new journal.
+	 * @param compactedPath The location of the new journal.
+	 * @param compactedEntries The latest records of the snapshot within the new journal by the keys of the Maven modules.
+	 * @throws IOException if an error occurred while reading or writing the journals.
+	 */
+	private synchronized void replaceByCompactedJournal(
+		final JournalSnapshot snapshot, final Path compactedPath, final Map<String, JournalEntry> compactedEntries
+	) throws IOException {
+		if (journalEntries.isEmpty()) {
+			Files.deleteIfExists(journalPath);
+			journalSize = 0;
+			unsynced = false;
+			return;
+		}
+
+		final long compactedSize = Files.size(compactedPath);
+		final long appendedSize = journalSize - snapshot.getJournalSize();
+		try (
+			final FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.READ);
+			final FileChannel compactedChannel = FileChannel.open(compactedPath, StandardOpenOption.WRITE)
+		) {
+			writeFully(compactedChannel, readFully(journalChannel, snapshot.getJournalSize(), appendedSize), compactedSize);
+			if (durability != ReactorStateConfiguration.RepositoryDurability.FAST) {
+				compactedChannel.force(true);
+			}
+		}
+
+		StateFileWriter.move(compactedPath, journalPath);
+
+		final NavigableMap<String, JournalEntry> relocatedEntries = new TreeMap<>();
+		for (final Map.Entry<String, JournalEntry> entry : journalEntries.entrySet()) {
+			final JournalEntry journalEntry = entry.getValue();
+			final long appendedOffset = journalEntry.getRecordOffset() - snapshot.getJournalSize();
+			relocatedEntries.put(
+				entry.getKey(), (appendedOffset < 0) ? compactedEntries.get(entry.getKey()) : journalEntry.relocate(compactedSize + appendedOffset)
+			);
+		}
+
+		journalEntries = relocatedEntries;
+		journalSize = compactedSize + appendedSize;
+		// The compacted journal contains the appended records and has been forced to durable storage unless the durability is FAST
+		unsynced = false;
+		LOGGER.debug("Compacted reactor state journal {} by {} bytes", journalPath, snapshot.getObsoleteSize());
+	}
+
+	/**
+	 * Marks the compaction of the journal as finished.
+	 */
+	private synchronized void finishCompaction() {
+		compactionThread = null;
+	}
+
+	/**
+	 * @return The size of the obsolete records of the journal in bytes.
+	 */
+	private long getObsoleteSize() {
+		long liveSize = HEADER_LENGTH;
+		for (final JournalEntry journalEntry : journalEntries.values()) {
+			liveSize += journalEntry.getRecordLength();
+		}
+
+		return journalSize - liveSize;
+	}
+
+	/**
+	 * Reads the state of a Maven module from its latest record.
+	 *
+	 * @param journalChannel The channel of the journal.
+	 * @param journalEntry The latest record of the Maven module.
+	 * @param mavenProject The Maven module.
+	 * @return The state of the Maven module.
+	 * @throws IOException if the record is malformed or an error occurred while reading.
+	 */
+	private static MavenProjectState readProjectState(
+		final FileChannel journalChannel, final JournalEntry journalEntry, final MavenProject mavenProject
+	) throws IOException {
+		final InputStream payloadStream = new ByteArrayInputStream(readPayload(journalChannel, journalEntry));
+		return new BinaryStateReader(payloadStream).readProjectState(mavenProject);
+	}
+
+	/**
+	 * Reads the binary representation of the state of a Maven module from its latest record.
+	 *
+	 * @param journalChannel The channel of the journal.
+	 * @param journalEntry The latest record of the Maven module.
+	 * @return The binary representation of the state.
+	 * @throws IOException if the journal has been truncated or an error occurred while reading.
+	 */
+	private static byte[] readPayload(final FileChannel journalChannel, final JournalEntry journalEntry) throws IOException {
+		return readFully(journalChannel, journalEntry.getRecordOffset() + journalEntry.getPayloadOffset(), journalEntry.getPayloadLength());
+	}
+
+	/**
+	 * Reads a range of the journal completely.
+	 *
+	 * @param journalChannel The channel of the journal.
+	 * @param position The start of the range.
+	 * @param length The length of the range in bytes.
+	 * @return The content of the range.
+	 * @throws IOException if the journal has been truncated or an error occurred while reading.
+	 */
+	private static byte[] readFully(final FileChannel journalChannel, final long position, final long length) throws IOException {
+		final ByteBuffer content = ByteBuffer.allocate(Math.toIntExact(length));
+		while (content.hasRemaining()) {
+			final int readLength = journalChannel.read(content, position + content.position());
+			if (readLength < 0) {
+				throw new EOFException("Reactor state journal is truncated at offset " + (position + content.position()));
+			}
+		}
+
+		return content.array();
+	}
+
+	/**
+	 * Writes the journal header.
+	 *
+	 * @param out The stream to write to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeHeader(final DataOutputStream out) throws IOException {
+		out.write(BinaryStateFormat.JOURNAL_MAGIC);
+		out.writeByte(BinaryStateFormat.JOURNAL_FORMAT_VERSION);
+	}
+
+	/**
+	 * Reads and verifies the journal header.
+	 *
+	 * @param in The stream to read from, which contains at least the journal header.
+	 * @return Whether the journal header is compatible.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private static boolean readHeader(final DataInputStream in) throws IOException {
+		final byte[] header = new byte[HEADER_LENGTH];
+		in.readFully(header);
+
+		return Arrays.equals(Arrays.copyOf(header, BinaryStateFormat.JOURNAL_MAGIC.length), BinaryStateFormat.JOURNAL_MAGIC)
+			&& header[BinaryStateFormat.JOURNAL_MAGIC.length] == BinaryStateFormat.JOURNAL_FORMAT_VERSION;
+	}
+
+	/**
+	 * Writes a record of a Maven module.
+	 *
+	 * @param out The stream to write to.
+	 * @param entryKey The key of the Maven module.
+	 * @param payload The binary representation of the state of the Maven module, which is empty for a deleted state.
+	 * @return The offset of the binary representation relative to the start of the record.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static int writeRecord(final DataOutputStream out, final String entryKey, final byte[] payload) throws IOException {
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final DataOutputStream bodyOutput = new DataOutputStream(body);
+		bodyOutput.writeUTF(entryKey);
+		final int keyLength = body.size();
+		bodyOutput.write(payload);
+
+		final CRC32 checksum = new CRC32();
+		checksum.update(body.toByteArray(), 0, body.size());
+
+		out.writeInt(body.size());
+		out.writeInt((int) checksum.getValue());
+		body.writeTo(out);
+
+		return RECORD_FRAMING_LENGTH + keyLength;
+	}
+
+	/**
+	 * Reads the next record of a Maven module.
+	 *
+	 * @param in The stream to read from.
+	 * @param remainingSize The remaining size of the journal in bytes.
+	 * @return The record or null if the journal has ended or the next record is torn.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private static JournalRecord readRecord(final DataInputStream in, final long remainingSize) throws IOException {
+		if (remainingSize < RECORD_FRAMING_LENGTH) {
+			return null;
+		}
+
+		final int bodyLength = in.readInt();
+		final int expectedChecksum = in.readInt();
+		if (bodyLength < Short.BYTES || bodyLength > remainingSize - RECORD_FRAMING_LENGTH) {
+			return null;
+		}
+
+		final byte[] body = new byte[bodyLength];
+		in.readFully(body);
+
+		final CRC32 checksum = new CRC32();
+		checksum.update(body, 0, body.length);
+		if ((int) checksum.getValue() != expectedChecksum) {
+			return null;
+		}
+
+		final DataInputStream bodyInput = new DataInputStream(new ByteArrayInputStream(body));
+		final String entryKey = bodyInput.readUTF();
+		final int keyLength = bodyLength - bodyInput.available();
+
+		return new JournalRecord(entryKey, Arrays.copyOfRange(body, keyLength, bodyLength), RECORD_FRAMING_LENGTH + keyLength);
+	}
+
+	/**
+	 * Writes a buffer completely at a position of a channel.
+	 *
+	 * @param channel The channel to write to.
+	 * @param content The content to write.
+	 * @param position The position to write the content at.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeFully(final FileChannel channel, final byte[] content, final long position) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap(content);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, position + buffer.position());
+		}
+	}
+
+	/**
+	 * Builds the key of a Maven module within the journal.
+	 *
+	 * @param mavenProject The Maven module to build the key for.
+	 * @return The version-agnostic key of the Maven module.
+	 */
+	private static String buildEntryKey(final MavenProject mavenProject) {
+		return WorkspaceModule.toKey(mavenProject.getGroupId(), mavenProject.getArtifactId());
+	}
+
+	/**
+	 * The location of the latest record of a Maven module within the journal.
+	 */
+	private static final class JournalEntry {
+
+		/**
+		 * The offset of the record within the journal.
+		 */
+		private final long recordOffset;
+
+		/**
+		 * The offset of the binary representation relative to the start of the record.
+		 */
+		private final int payloadOffset;
+
+		/**
+		 * The length of the binary representation.
+		 */
+		private final int payloadLength;
+
+		/**
+		 * The digest of the binary representation, which detects unchanged states, or null for a deleted state.
+		 */
+		private final String digest;
+
+		/**
+		 * Constructs a new instance.
+		 *
+		 * @param recordOffset The offset of the record within the journal.
+		 * @param payloadOffset The offset of the binary representation relative to the start of the record.
+		 * @param payloadLength The length of the binary representation.
+		 * @param digest The digest of the binary representation.
+		 */
+		JournalEntry(final long recordOffset, final int payloadOffset, final int payloadLength, final String digest) {
+			this.recordOffset = recordOffset;
+			this.payloadOffset = payloadOffset;
+			this.payloadLength = payloadLength;
+			this.digest = digest;
+		}
+
+		/**
+		 * @return The offset of the record within the journal.
+		 */
+		long getRecordOffset() {
+			return recordOffset;
+		}
+
+		/**
+		 * @return The offset of the binary representation relative to the start of the record.
+		 */
+		int getPayloadOffset() {
+			return payloadOffset;
+		}
+
+		/**
+		 * @return The length of the binary representation.
+		 */
+		int getPayloadLength() {
+			return payloadLength;
+		}
+
+		/**
+		 * @return The length of the whole record.
+		 */
+		long getRecordLength() {
+			return (long) payloadOffset + payloadLength;
+		}
+
+		/**
+		 * @return The digest of the binary representation.
+		 */
+		String getDigest() {
+			return digest;
+		}
+
+		/**
+		 * Moves the record to another offset within the journal.
+		 *
+		 * @param relocatedRecordOffset The new offset of the record within the journal.
+		 * @return The record at the new offset.
+		 */
+		JournalEntry relocate(final long relocatedRecordOffset) {
+			return new JournalEntry(relocatedRecordOffset, payloadOffset, payloadLength, digest);
+		}
+
+	}
+
+	/**
+	 * A snapshot of the latest records of the Maven modules, which is taken at the start of a compaction.
+	 */
+	private static final class JournalSnapshot {
+
+		/**
+		 * The latest records of the Maven modules in their order within the journal.
+		 */
+		private final List<Map.Entry<String, JournalEntry>> entries;
+
+		/**
+		 * The size of the committed part of the journal in bytes.
+		 */
+		private final long journalSize;
+
+		/**
+		 * The size of the obsolete records of the journal in bytes.
+		 */
+		private final long obsoleteSize;
+
+		/**
+		 * Constructs a new instance.
+		 *
+		 * @param entries The latest records of the Maven modules in their order within the journal.
+		 * @param journalSize The size of the committed part of the journal in bytes.
+		 * @param obsoleteSize The size of the obsolete records of the journal in bytes.
+		 */
+		JournalSnapshot(final List<Map.Entry<String, JournalEntry>> entries, final long journalSize, final long obsoleteSize) {
+			this.entries = entries;
+			this.journalSize = journalSize;
+			this.obsoleteSize = obsoleteSize;
+		}
+
+		/**
+		 * @return The latest records of the Maven modules in their order within the journal.
+		 */
+		List<Map.Entry<String, JournalEntry>> getEntries() {
+			return entries;
+		}
+
+		/**
+		 * @return The size of the committed part of the journal in bytes.
+		 */
+		long getJournalSize() {
+			return journalSize;
+		}
+
+		/**
+		 * @return The size of the obsolete records of the journal in bytes.
+		 */
+		long getObsoleteSize() {
+			return obsoleteSize;
+		}
+
+	}
+
+	/**
+	 * A record of a Maven module, which has been read while scanning the journal.
+	 */
+	private static final class JournalRecord {
+
+		/**
+		 * The key of the Maven module.
+		 */
+		private final String entryKey;
+
+		/**
+		 * The binary representation of the state of the Maven module, which is empty for a deleted state.
+		 */
+		private final byte[] payload;
+
+		/**
+		 * The offset of the binary representation relative to the start of the record.
+		 */
+		private final int payloadOffset;
+
+		/**
+		 * Constructs a new instance.
+		 *
+		 * @param entryKey The key of the Maven module.
+		 * @param payload The binary representation of the state of the Maven module.
+		 * @param payloadOffset The offset of the binary representation relative to the start of the record.
+		 */
+		JournalRecord(final String entryKey, final byte[] payload, final int payloadOffset) {
+			this.entryKey = entryKey;
+			this.payload = payload;
+			this.payloadOffset = payloadOffset;
+		}
+
+		/**
+		 * @return The key of the Maven module.
+		 */
+		String getEntryKey() {
+			return entryKey;
+		}
+
+		/**
+		 * @return The binary representation of the state of the Maven module.
+		 */
+		byte[] getPayload() {
+			return payload;
+		}
+
+		/**
+		 * @return The offset of the binary representation relative to the start of the record.
+		 */
+		int getPayloadOffset() {
+			return payloadOffset;
+		}
+
+		/**
+		 * @return The length of the whole record.
+		 */
+		long getRecordLength() {
+			return (long) payloadOffset + payload.length;
+		}
+
+	}
+
+}
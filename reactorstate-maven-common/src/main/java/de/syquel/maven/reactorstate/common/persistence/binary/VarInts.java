@@ -0,0 +1,86 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Utility class for variable-length encoded unsigned integers, which occupy 7 bits per byte with the most significant bit as continuation flag.
+ */
+final class VarInts {
+
+	private VarInts() {}
+
+	/**
+	 * Writes a variable-length encoded unsigned integer.
+	 *
+	 * @param out The stream to write to.
+	 * @param value The non-negative value to write.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	static void writeVarInt(final OutputStream out, final int value) throws IOException {
+		writeVarLong(out, value);
+	}
+
+	/**
+	 * Writes a variable-length encoded unsigned long.
+	 *
+	 * @param out The stream to write to.
+	 * @param value The non-negative value to write.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	static void writeVarLong(final OutputStream out, final long value) throws IOException {
+		if (value < 0) {
+			throw new IllegalArgumentException("Variable-length values must not be negative, but is " + value);
+		}
+
+		long remainingValue = value;
+		while ((remainingValue & ~0x7FL) != 0) {
+			out.write((int) ((remainingValue & 0x7F) | 0x80));
+			remainingValue >>>= 7;
+		}
+		out.write((int) remainingValue);
+	}
+
+	/**
+	 * Reads a variable-length encoded unsigned integer.
+	 *
+	 * @param in The stream to read from.
+	 * @return The read value.
+	 * @throws IOException if an error occurred while reading or the value is malformed.
+	 */
+	static int readVarInt(final InputStream in) throws IOException {
+		final long value = readVarLong(in);
+		if (value > Integer.MAX_VALUE) {
+			throw new IOException("Variable-length integer exceeds range: " + value);
+		}
+
+		return (int) value;
+	}
+
+	/**
+	 * Reads a variable-length encoded unsigned long.
+	 *
+	 * @param in The stream to read from.
+	 * @return The read value.
+	 * @throws IOException if an error occurred while reading or the value is malformed.
+	 */
+	static long readVarLong(final InputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) {
+			final int b = in.read();
+			if (b < 0) {
+				throw new EOFException("Unexpected end of variable-length value");
+			}
+
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Malformed variable-length value");
+	}
+
+}
@@ -0,0 +1,365 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.util.ArtifactKeyUtils;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * The persisted index of all saved Maven artifacts within a Maven workspace, which maps their version-agnostic IDs to their version and file.
+ *
+ * The index is written alongside the saved state and memory-mapped on read, so that looking up a Maven artifact neither requires deserializing the
+ * saved state of all Maven modules nor holding it on the heap. Saving states only replaces the entries of the saved Maven modules and drops the
+ * entries of removed Maven modules.
+ *
+ * @see MappedArtifactIndex
+ */
+public class ArtifactIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactIndex.class);
+
+	/**
+	 * The location of the artifact index within the build directory of the top-most Maven module.
+	 */
+	private static final String INDEX_FILENAME = "reactorstate-artifacts.idx";
+
+	/**
+	 * Whether the current operating system is Windows.
+	 */
+	private static final boolean IS_WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+	/**
+	 * The extension of POMs.
+	 */
+	private static final String POM_EXTENSION = "pom";
+
+	/**
+	 * The writer of the artifact index, which neither compresses it nor forces it to durable storage, since it is rebuilt from the saved state.
+	 */
+	private static final StateFileWriter STATE_FILE_WRITER = new StateFileWriter();
+
+	/**
+	 * The base directory of the top-most Maven module of the workspace, which all persisted paths are relative to.
+	 */
+	private final Path workspaceBasePath;
+
+	/**
+	 * The location of the artifact index.
+	 */
+	private final Path indexPath;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param workspaceBasePath The base directory of the top-most Maven module of the workspace.
+	 * @param indexPath The location of the artifact index.
+	 */
+	public ArtifactIndex(final Path workspaceBasePath, final Path indexPath) {
+		this.workspaceBasePath = workspaceBasePath.toAbsolutePath().normalize();
+		this.indexPath = indexPath;
+	}
+
+	/**
+	 * Instantiates the artifact index for the Maven workspace of a Maven module.
+	 *
+	 * @param project A Maven module of the workspace.
+	 * @return The artifact index for the Maven workspace.
+	 */
+	public static ArtifactIndex create(final MavenProject project) {
+		final MavenProject rootProject = MavenProjectUtils.resolveWorkspaceRootProject(project);
+		final Path indexPath = MavenProjectUtils.resolveProjectBuildPath(rootProject).resolve(INDEX_FILENAME);
+
+		return new ArtifactIndex(rootProject.getBasedir().toPath(), indexPath);
+	}
+
+	/**
+	 * Memory-maps the persisted artifact index.
+	 *
+	 * On Windows, the artifact index is read onto the heap instead, since a mapped file cannot be replaced until its mapping has been garbage collected.
+	 *
+	 * @return The mapped artifact index or null if there is no valid persisted artifact index.
+	 */
+	public MappedArtifactIndex open() {
+		return open(!IS_WINDOWS);
+	}
+
+	/**
+	 * Opens the persisted artifact index.
+	 *
+	 * @param mapped Whether to memory-map the artifact index or to read it onto the heap.
+	 * @return The opened artifact index or null if there is no valid persisted artifact index.
+	 */
+	private MappedArtifactIndex open(final boolean mapped) {
+		if (!Files.isReadable(indexPath)) {
+			return null;
+		}
+
+		try {
+			final ByteBuffer indexBuffer = mapped ? map(indexPath) : ByteBuffer.wrap(Files.readAllBytes(indexPath));
+			return new MappedArtifactIndex(workspaceBasePath, indexBuffer);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot read artifact index {}. Ignoring.", indexPath, e);
+			return null;
+		} catch (final IllegalArgumentException e) {
+			LOGGER.warn("Invalid artifact index {}. Ignoring.", indexPath, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Memory-maps a file read-only.
+	 *
+	 * @param path The file to map.
+	 * @return The mapped file.
+	 * @throws IOException if an error occurred while mapping the file.
+	 */
+	private static ByteBuffer map(final Path path) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// The mapping stays valid after the channel has been closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Replaces the entries of the saved Maven modules within the persisted artifact index and drops the entries of Maven modules, whose POM no longer
+	 * exists, e.g. since they have been deleted or moved.
+	 *
+	 * The artifact index is not rewritten if its content has not changed.
+	 *
+	 * @param projectStates The saved states of the Maven modules.
+	 * @return Whether the persisted artifact index has been written.
+	 * @throws IOException if an error occurred while persisting the artifact index.
+	 */
+	public synchronized boolean update(final Collection<MavenProjectState> projectStates) throws IOException {
+		final Set<String> savedModulePaths = new HashSet<>();
+		final List<ArtifactIndexEntry> savedEntries = new ArrayList<>();
+		for (final MavenProjectState projectState : projectStates) {
+			final String modulePath = relativize(projectState.getProject().getBasedir().toPath());
+			savedModulePaths.add(modulePath);
+
+			final Map<String, ArtifactIndexEntry> moduleEntries = new LinkedHashMap<>();
+			addEntry(moduleEntries, projectState.getPom(), modulePath);
+			addEntry(moduleEntries, projectState.getMainArtifactState().getArtifact(), modulePath);
+			for (final MavenArtifactState attachedArtifactState : projectState.getAttachedArtifactStates()) {
+				addEntry(moduleEntries, attachedArtifactState.getArtifact(), modulePath);
+			}
+			savedEntries.addAll(moduleEntries.values());
+		}
+
+		final List<ArtifactIndexEntry> entries = new ArrayList<>();
+		// The existing artifact index is not mapped to be able to replace it afterwards
+		final MappedArtifactIndex existingIndex = open(false);
+		if (existingIndex != null) {
+			final List<ArtifactIndexEntry> existingEntries = existingIndex.entries();
+			final Set<String> removedModulePaths = findRemovedModulePaths(existingEntries);
+			for (final ArtifactIndexEntry entry : existingEntries) {
+				if (!savedModulePaths.contains(entry.getModulePath()) && !removedModulePaths.contains(entry.getModulePath())) {
+					entries.add(entry);
+				}
+			}
+		}
+		entries.addAll(savedEntries);
+
+		return write(entries);
+	}
+
+	/**
+	 * Determines the Maven modules of existing entries, whose POM no longer exists.
+	 *
+	 * @param existingEntries The entries of the existing artifact index.
+	 * @return The paths to the base directories of the removed Maven modules relative to the base directory of the workspace.
+	 */
+	private Set<String> findRemovedModulePaths(final List<ArtifactIndexEntry> existingEntries) {
+		final Set<String> removedModulePaths = new HashSet<>();
+		for (final ArtifactIndexEntry entry : existingEntries) {
+			if (isPomEntry(entry) && !Files.isRegularFile(workspaceBasePath.resolve(entry.getPath()))) {
+				removedModulePaths.add(entry.getModulePath());
+			}
+		}
+
+		return removedModulePaths;
+	}
+
+	/**
+	 * Determines whether an entry of the artifact index belongs to the POM of a Maven module, whose file is the POM itself.
+	 *
+	 * @param entry The entry of the artifact index.
+	 * @return Whether the entry has the version-agnostic ID {@code groupId:artifactId:pom} of a POM and a file.
+	 */
+	private static boolean isPomEntry(final ArtifactIndexEntry entry) {
+		final String[] idFields = entry.getVersionlessId().split(":", -1);
+		return !entry.getPath().isEmpty() && idFields.length == 3 && POM_EXTENSION.equals(idFields[2]);
+	}
+
+	/**
+	 * Replaces the artifact index atomically unless its content has not changed, so that mapped readers never observe a partial index and an
+	 * unchanged index keeps its modification time.
+	 *
+	 * @param entries The entries of the artifact index.
+	 * @return Whether the artifact index has been written.
+	 * @throws IOException if an error occurred while persisting the artifact index.
+	 */
+	private boolean write(final List<ArtifactIndexEntry> entries) throws IOException {
+		final ByteArrayOutputStream indexBuffer = new ByteArrayOutputStream();
+		try (final DataOutputStream indexStream = new DataOutputStream(indexBuffer)) {
+			writeEntries(indexStream, entries);
+		}
+
+		return STATE_FILE_WRITER.writeIfChanged(indexPath, indexBuffer.toByteArray());
+	}
+
+	/**
+	 * Writes the header, the slot table sorted by hash and the records of the artifact index.
+	 *
+	 * @param indexStream The stream to write the artifact index to.
+	 * @param entries The entries of the artifact index.
+	 * @throws IOException if the artifact index is too large or an error occurred while writing the artifact index.
+	 */
+	private static void writeEntries(final DataOutputStream indexStream, final List<ArtifactIndexEntry> entries) throws IOException {
+		final List<EncodedEntry> encodedEntries = new ArrayList<>(entries.size());
+		for (final ArtifactIndexEntry entry : entries) {
+			encodedEntries.add(new EncodedEntry(entry));
+		}
+		encodedEntries.sort(Comparator.comparingLong(EncodedEntry::getHash));
+
+		indexStream.write(MappedArtifactIndex.MAGIC);
+		indexStream.writeInt(MappedArtifactIndex.FORMAT_VERSION);
+		indexStream.writeInt(encodedEntries.size());
+
+		long recordOffset = MappedArtifactIndex.HEADER_SIZE + (long) encodedEntries.size() * MappedArtifactIndex.SLOT_SIZE;
+		for (final EncodedEntry encodedEntry : encodedEntries) {
+			if (recordOffset > Integer.MAX_VALUE) {
+				throw new IOException("Artifact index exceeds the maximum size");
+			}
+
+			indexStream.writeLong(encodedEntry.getHash());
+			indexStream.writeInt((int) recordOffset);
+			recordOffset += encodedEntry.getRecordSize();
+		}
+
+		for (final EncodedEntry encodedEntry : encodedEntries) {
+			encodedEntry.writeRecord(indexStream);
+		}
+	}
+
+	/**
+	 * Adds the entry of a saved Maven artifact, whereby later artifacts with the same version-agnostic ID take precedence.
+	 *
+	 * @param moduleEntries The entries of the Maven module by their version-agnostic IDs.
+	 * @param artifact The saved Maven artifact.
+	 * @param modulePath The path to the base directory of the owning Maven module relative to the base directory of the workspace.
+	 */
+	private void addEntry(final Map<String, ArtifactIndexEntry> moduleEntries, final Artifact artifact, final String modulePath) {
+		final String versionlessId = ArtifactIdUtils.toVersionlessId(artifact);
+		final File artifactFile = artifact.getFile();
+		final String path = (artifactFile != null) ? relativize(artifactFile.toPath()) : "";
+
+		moduleEntries.put(versionlessId, new ArtifactIndexEntry(versionlessId, artifact.getVersion(), path, modulePath));
+	}
+
+	/**
+	 * Determines the path relative to the base directory of the workspace.
+	 *
+	 * @param path The path.
+	 * @return The relative path.
+	 */
+	private String relativize(final Path path) {
+		final String relativePath = workspaceBasePath.relativize(path.toAbsolutePath().normalize()).toString();
+		return relativePath.isEmpty() ? "." : relativePath;
+	}
+
+	/**
+	 * An entry of the artifact index, whose fields have been encoded for writing.
+	 */
+	private static final class EncodedEntry {
+
+		/**
+		 * The UTF-8 representations of the version-agnostic ID, the version, the artifact path and the module path.
+		 */
+		private final byte[][] fields;
+
+		/**
+		 * The hash of the version-agnostic ID.
+		 */
+		private final long hash;
+
+		/**
+		 * Encodes an entry of the artifact index.
+		 *
+		 * @param entry The entry to encode.
+		 */
+		EncodedEntry(final ArtifactIndexEntry entry) {
+			fields = new byte[][] {
+				entry.getVersionlessId().getBytes(StandardCharsets.UTF_8),
+				entry.getVersion().getBytes(StandardCharsets.UTF_8),
+				entry.getPath().getBytes(StandardCharsets.UTF_8),
+				entry.getModulePath().getBytes(StandardCharsets.UTF_8)
+			};
+			hash = ArtifactKeyUtils.hash(fields[0]);
+		}
+
+		/**
+		 * @return The hash of the version-agnostic ID.
+		 */
+		long getHash() {
+			return hash;
+		}
+
+		/**
+		 * @return The size of the record in bytes.
+		 */
+		int getRecordSize() {
+			int recordSize = 0;
+			for (final byte[] field : fields) {
+				recordSize += Short.BYTES + field.length;
+			}
+
+			return recordSize;
+		}
+
+		/**
+		 * Writes the record as length-prefixed string fields.
+		 *
+		 * @param indexStream The stream to write the record to.
+		 * @throws IOException if a field is too long or an error occurred while writing the record.
+		 */
+		void writeRecord(final DataOutputStream indexStream) throws IOException {
+			for (final byte[] field : fields) {
+				if (field.length > 0xffff) {
+					throw new IOException("Artifact index field exceeds the maximum length");
+				}
+
+				indexStream.writeShort(field.length);
+				indexStream.write(field);
+			}
+		}
+
+	}
+
+}
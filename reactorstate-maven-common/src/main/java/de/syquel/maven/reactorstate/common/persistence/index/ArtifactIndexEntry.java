@@ -0,0 +1,71 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+/**
+ * An entry of the artifact index, which locates a saved Maven artifact by its version-agnostic ID.
+ */
+final class ArtifactIndexEntry {
+
+	/**
+	 * The version-agnostic ID of the Maven artifact.
+	 */
+	private final String versionlessId;
+
+	/**
+	 * The version of the Maven artifact.
+	 */
+	private final String version;
+
+	/**
+	 * The path to the file of the Maven artifact relative to the base directory of the workspace or an empty string if it has no file.
+	 */
+	private final String path;
+
+	/**
+	 * The path to the base directory of the owning Maven module relative to the base directory of the workspace.
+	 */
+	private final String modulePath;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param versionlessId The version-agnostic ID of the Maven artifact.
+	 * @param version The version of the Maven artifact.
+	 * @param path The path to the file of the Maven artifact relative to the base directory of the workspace or an empty string if it has no file.
+	 * @param modulePath The path to the base directory of the owning Maven module relative to the base directory of the workspace.
+	 */
+	ArtifactIndexEntry(final String versionlessId, final String version, final String path, final String modulePath) {
+		this.versionlessId = versionlessId;
+		this.version = version;
+		this.path = path;
+		this.modulePath = modulePath;
+	}
+
+	/**
+	 * @return The version-agnostic ID of the Maven artifact.
+	 */
+	String getVersionlessId() {
+		return versionlessId;
+	}
+
+	/**
+	 * @return The version of the Maven artifact.
+	 */
+	String getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return The path to the file of the Maven artifact relative to the base directory of the workspace or an empty string if it has no file.
+	 */
+	String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return The path to the base directory of the owning Maven module relative to the base directory of the workspace.
+	 */
+	String getModulePath() {
+		return modulePath;
+	}
+
+}
@@ -0,0 +1,213 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import java.util.Collection;
+
+import org.eclipse.aether.artifact.Artifact;
+
+import de.syquel.maven.reactorstate.common.util.ArtifactKeyUtils;
+
+/**
+ * An immutable lookup table of saved Maven artifacts by their version-agnostic IDs, which neither builds the version-agnostic IDs nor allocates on
+ * lookup.
+ *
+ * The Maven artifacts are stored in an open-addressing table with linear probing, which is keyed by the structured hash of
+ * {@link ArtifactKeyUtils#hash(Artifact)}. A {@link HashBloomFilter} in front of the table answers most lookups of absent Maven artifacts, e.g. of
+ * third-party dependencies, without probing the table at all.
+ *
+ * The table is safe for concurrent use.
+ */
+public final class ArtifactLookupTable {
+
+	/**
+	 * The empty lookup table.
+	 */
+	private static final ArtifactLookupTable EMPTY = new ArtifactLookupTable(new Artifact[0]);
+
+	/**
+	 * The structured hashes of the version-agnostic IDs of the Maven artifacts by their slots.
+	 */
+	private final long[] hashes;
+
+	/**
+	 * The Maven artifacts by their slots, whereby empty slots are null.
+	 */
+	private final Artifact[] artifacts;
+
+	/**
+	 * The mask of the slot indexes, since the number of slots is a power of two.
+	 */
+	private final int slotMask;
+
+	/**
+	 * The number of Maven artifacts within the table.
+	 */
+	private final int size;
+
+	/**
+	 * The filter of the hashes of all Maven artifacts within the table.
+	 */
+	private final HashBloomFilter filter;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param artifacts The Maven artifacts, whereby later Maven artifacts replace earlier ones with the same version-agnostic ID.
+	 */
+	private ArtifactLookupTable(final Artifact[] artifacts) {
+		// The load factor stays at most one half, so unsuccessful probe sequences remain short
+		final int slotCount = Integer.highestOneBit(Math.max(2, artifacts.length) * 2 - 1) << 1;
+		this.hashes = new long[slotCount];
+		this.artifacts = new Artifact[slotCount];
+		this.slotMask = slotCount - 1;
+		this.filter = new HashBloomFilter(artifacts.length);
+
+		int insertedCount = 0;
+		for (final Artifact artifact : artifacts) {
+			if (insert(artifact)) {
+				insertedCount++;
+			}
+		}
+		this.size = insertedCount;
+	}
+
+	/**
+	 * @return The empty lookup table.
+	 */
+	public static ArtifactLookupTable empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Creates a lookup table of Maven artifacts.
+	 *
+	 * @param artifacts The Maven artifacts, whereby later Maven artifacts replace earlier ones with the same version-agnostic ID.
+	 * @return The lookup table of the Maven artifacts.
+	 */
+	public static ArtifactLookupTable of(final Collection<Artifact> artifacts) {
+		return new ArtifactLookupTable(artifacts.toArray(new Artifact[0]));
+	}
+
+	/**
+	 * Creates a lookup table, which contains the Maven artifacts of this table and additional ones.
+	 *
+	 * @param additionalArtifacts The additional Maven artifacts, which replace existing ones with the same version-agnostic ID.
+	 * @return The extended lookup table.
+	 */
+	public ArtifactLookupTable with(final Collection<Artifact> additionalArtifacts) {
+		final Artifact[] extendedArtifacts = new Artifact[size + additionalArtifacts.size()];
+
+		int i = copyArtifacts(extendedArtifacts, 0);
+		for (final Artifact artifact : additionalArtifacts) {
+			extendedArtifacts[i++] = artifact;
+		}
+
+		return new ArtifactLookupTable(extendedArtifacts);
+	}
+
+	/**
+	 * Creates a lookup table, which contains the Maven artifacts of this table and of another one.
+	 *
+	 * @param additionalArtifacts The lookup table of the additional Maven artifacts, which replace existing ones with the same version-agnostic ID.
+	 * @return The merged lookup table.
+	 */
+	public ArtifactLookupTable with(final ArtifactLookupTable additionalArtifacts) {
+		final Artifact[] mergedArtifacts = new Artifact[size + additionalArtifacts.size];
+		additionalArtifacts.copyArtifacts(mergedArtifacts, copyArtifacts(mergedArtifacts, 0));
+
+		return new ArtifactLookupTable(mergedArtifacts);
+	}
+
+	/**
+	 * Looks up a Maven artifact by its version-agnostic ID.
+	 *
+	 * @param artifact The Maven artifact to look up.
+	 * @return The Maven artifact with the same version-agnostic ID or null if there is none.
+	 */
+	public Artifact find(final Artifact artifact) {
+		return find(artifact, ArtifactKeyUtils.hash(artifact));
+	}
+
+	/**
+	 * Looks up a Maven artifact by its version-agnostic ID, whose structured hash has already been computed.
+	 *
+	 * @param artifact The Maven artifact to look up.
+	 * @param hash The structured hash of the version-agnostic ID of the Maven artifact.
+	 * @return The Maven artifact with the same version-agnostic ID or null if there is none.
+	 */
+	public Artifact find(final Artifact artifact, final long hash) {
+		if (!filter.mightContain(hash)) {
+			return null;
+		}
+
+		for (int slot = toSlot(hash); artifacts[slot] != null; slot = (slot + 1) & slotMask) {
+			if (hashes[slot] == hash && ArtifactKeyUtils.equalsVersionlessId(artifacts[slot], artifact)) {
+				return artifacts[slot];
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The number of Maven artifacts within the table.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Copies the Maven artifacts of this table in slot order.
+	 *
+	 * @param targetArtifacts The array to copy the Maven artifacts to.
+	 * @param offset The index within the array to copy the first Maven artifact to.
+	 * @return The index within the array after the last copied Maven artifact.
+	 */
+	private int copyArtifacts(final Artifact[] targetArtifacts, final int offset) {
+		int i = offset;
+		for (final Artifact artifact : artifacts) {
+			if (artifact != null) {
+				targetArtifacts[i++] = artifact;
+			}
+		}
+
+		return i;
+	}
+
+	/**
+	 * Inserts a Maven artifact into its slot or replaces the Maven artifact with the same version-agnostic ID.
+	 *
+	 * @param artifact The Maven artifact to insert.
+	 * @return Whether the Maven artifact occupies a new slot.
+	 */
+	private boolean insert(final Artifact artifact) {
+		final long hash = ArtifactKeyUtils.hash(artifact);
+		filter.add(hash);
+
+		int slot = toSlot(hash);
+		while (artifacts[slot] != null) {
+			if (hashes[slot] == hash && ArtifactKeyUtils.equalsVersionlessId(artifacts[slot], artifact)) {
+				artifacts[slot] = artifact;
+				return false;
+			}
+
+			slot = (slot + 1) & slotMask;
+		}
+
+		hashes[slot] = hash;
+		artifacts[slot] = artifact;
+
+		return true;
+	}
+
+	/**
+	 * Determines the home slot of a hash, whereby the upper bits are folded in, since the lower bits of FNV-1a only depend on the lower bits of the
+	 * hashed bytes.
+	 *
+	 * @param hash The structured hash of a version-agnostic ID.
+	 * @return The home slot of the hash.
+	 */
+	private int toSlot(final long hash) {
+		return (int) (hash ^ (hash >>> 29) ^ (hash >>> 47)) & slotMask;
+	}
+
+}
@@ -0,0 +1,81 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+/**
+ * A Bloom filter over 64-bit hashes, which rules out most absent keys with a few bit tests before a more expensive lookup.
+ *
+ * The filter reserves ten bits per expected key and derives its probes from the upper and lower half of the hash by double hashing, which yields a
+ * false positive rate of about one percent. It never reports a false negative.
+ *
+ * The filter is safe for concurrent reads once all keys have been added.
+ */
+public final class HashBloomFilter {
+
+	/**
+	 * The number of bits per expected key.
+	 */
+	private static final int BITS_PER_KEY = 10;
+
+	/**
+	 * The number of probed bits per key.
+	 */
+	private static final int PROBE_COUNT = 7;
+
+	/**
+	 * The bits of the filter.
+	 */
+	private final long[] words;
+
+	/**
+	 * The mask of the bit positions, since the number of bits is a power of two.
+	 */
+	private final int bitMask;
+
+	/**
+	 * Constructs a new, empty instance.
+	 *
+	 * @param expectedKeyCount The expected number of keys.
+	 */
+	public HashBloomFilter(final int expectedKeyCount) {
+		final long requiredBits = Math.max(Long.SIZE, (long) expectedKeyCount * BITS_PER_KEY);
+		final int bitCount = (int) Math.min(1L << 30, Long.highestOneBit(requiredBits - 1) << 1);
+
+		this.words = new long[bitCount / Long.SIZE];
+		this.bitMask = bitCount - 1;
+	}
+
+	/**
+	 * Adds a key to the filter.
+	 *
+	 * @param hash The 64-bit hash of the key.
+	 */
+	public void add(final long hash) {
+		final int baseHash = (int) hash;
+		final int probeIncrement = (int) (hash >>> 32) | 1;
+
+		for (int i = 0; i < PROBE_COUNT; i++) {
+			final int bit = (baseHash + i * probeIncrement) & bitMask;
+			words[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * Determines whether a key may have been added to the filter.
+	 *
+	 * @param hash The 64-bit hash of the key.
+	 * @return False if the key has definitely not been added or true if it may have been added.
+	 */
+	public boolean mightContain(final long hash) {
+		final int baseHash = (int) hash;
+		final int probeIncrement = (int) (hash >>> 32) | 1;
+
+		for (int i = 0; i < PROBE_COUNT; i++) {
+			final int bit = (baseHash + i * probeIncrement) & bitMask;
+			if ((words[bit >>> 6] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+}
@@ -0,0 +1,294 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+import de.syquel.maven.reactorstate.common.util.ArtifactKeyUtils;
+
+/**
+ * A read-only view on a memory-mapped artifact index, which looks up saved Maven artifacts without deserializing the saved state of their Maven modules.
+ *
+ * The index consists of a header with the magic bytes, the format version and the number of entries, followed by a slot table sorted by the hashes of
+ * the version-agnostic artifact IDs and the records of the entries. Each slot consists of the 64-bit hash and the absolute offset of its record. Each
+ * record consists of the version-agnostic ID, the version, the relative artifact path and the relative module path as length-prefixed UTF-8 strings.
+ *
+ * Lookups only use absolute reads on the mapped buffer and are thereby safe for concurrent use.
+ */
+public final class MappedArtifactIndex {
+
+	/**
+	 * The magic bytes at the start of the artifact index.
+	 */
+	static final byte[] MAGIC = { 'R', 'S', 'T', 'I' };
+
+	/**
+	 * The version of the artifact index, which is incremented on incompatible changes.
+	 */
+	static final int FORMAT_VERSION = 1;
+
+	/**
+	 * The size of the header in bytes.
+	 */
+	static final int HEADER_SIZE = MAGIC.length + Integer.BYTES + Integer.BYTES;
+
+	/**
+	 * The size of a slot in bytes.
+	 */
+	static final int SLOT_SIZE = Long.BYTES + Integer.BYTES;
+
+	/**
+	 * The base directory of the top-most Maven module of the workspace, which all paths are relative to.
+	 */
+	private final Path workspaceBasePath;
+
+	/**
+	 * The mapped artifact index.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * The number of entries of the artifact index.
+	 */
+	private final int entryCount;
+
+	/**
+	 * The filter of the hashes of all entries, which rules out most absent Maven artifacts before the slot table is searched.
+	 */
+	private final HashBloomFilter filter;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param workspaceBasePath The base directory of the top-most Maven module of the workspace.
+	 * @param buffer The mapped artifact index.
+	 * @throws IllegalArgumentException if the buffer does not contain a compatible artifact index.
+	 */
+	MappedArtifactIndex(final Path workspaceBasePath, final ByteBuffer buffer) {
+		this.workspaceBasePath = workspaceBasePath;
+		this.buffer = buffer;
+
+		if (buffer.limit() < HEADER_SIZE) {
+			throw new IllegalArgumentException("Truncated artifact index");
+		}
+
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (buffer.get(i) != MAGIC[i]) {
+				throw new IllegalArgumentException("Not an artifact index");
+			}
+		}
+
+		final int formatVersion = buffer.getInt(MAGIC.length);
+		if (formatVersion != FORMAT_VERSION) {
+			throw new IllegalArgumentException("Unsupported artifact index version " + formatVersion);
+		}
+
+		entryCount = buffer.getInt(MAGIC.length + Integer.BYTES);
+		if (entryCount < 0 || (long) HEADER_SIZE + (long) entryCount * SLOT_SIZE > buffer.limit()) {
+			throw new IllegalArgumentException("Truncated artifact index");
+		}
+
+		filter = new HashBloomFilter(entryCount);
+		for (int slot = 0; slot < entryCount; slot++) {
+			filter.add(slotHash(slot));
+		}
+	}
+
+	/**
+	 * @return The number of entries of the artifact index.
+	 */
+	public int size() {
+		return entryCount;
+	}
+
+	/**
+	 * Looks up a saved Maven artifact by its version-agnostic ID.
+	 *
+	 * Neither the version-agnostic ID is built nor the records are decoded, unless the Maven artifact has been found.
+	 *
+	 * @param artifact The Maven artifact to look up.
+	 * @return The Maven artifact with the saved version and file or null if there is none.
+	 */
+	public Artifact find(final Artifact artifact) {
+		final long hash = ArtifactKeyUtils.hash(artifact);
+		if (!filter.mightContain(hash)) {
+			return null;
+		}
+
+		final byte[] key = ArtifactKeyUtils.isAscii(artifact) ? null : ArtifactIdUtils.toVersionlessId(artifact).getBytes(StandardCharsets.UTF_8);
+		for (int slot = lowerBound(hash); slot < entryCount && slotHash(slot) == hash; slot++) {
+			int offset = slotOffset(slot);
+			if (!((key != null) ? matches(offset, key) : matches(offset, artifact))) {
+				continue;
+			}
+
+			offset += Short.BYTES + readLength(offset);
+			final String version = readString(offset);
+			offset += Short.BYTES + readLength(offset);
+			final String path = readString(offset);
+
+			final File file = path.isEmpty() ? null : workspaceBasePath.resolve(path).toFile();
+			return artifact.setVersion(version).setFile(file);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reads all entries of the artifact index.
+	 *
+	 * @return The entries of the artifact index.
+	 */
+	List<ArtifactIndexEntry> entries() {
+		final List<ArtifactIndexEntry> entries = new ArrayList<>(entryCount);
+		for (int slot = 0; slot < entryCount; slot++) {
+			int offset = slotOffset(slot);
+
+			final String versionlessId = readString(offset);
+			offset += Short.BYTES + readLength(offset);
+			final String version = readString(offset);
+			offset += Short.BYTES + readLength(offset);
+			final String path = readString(offset);
+			offset += Short.BYTES + readLength(offset);
+			final String modulePath = readString(offset);
+
+			entries.add(new ArtifactIndexEntry(versionlessId, version, path, modulePath));
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Determines the first slot, whose hash is not less than a specific hash.
+	 *
+	 * @param hash The hash to search for.
+	 * @return The index of the first matching slot or the number of entries if there is none.
+	 */
+	private int lowerBound(final long hash) {
+		int low = 0;
+		int high = entryCount;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (slotHash(middle) < hash) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Determines whether the version-agnostic ID of a record equals a specific key.
+	 *
+	 * @param offset The offset of the record.
+	 * @param key The UTF-8 representation of the version-agnostic artifact ID.
+	 * @return Whether the record matches the key.
+	 */
+	private boolean matches(final int offset, final byte[] key) {
+		if (readLength(offset) != key.length) {
+			return false;
+		}
+
+		final int keyOffset = offset + Short.BYTES;
+		for (int i = 0; i < key.length; i++) {
+			if (buffer.get(keyOffset + i) != key[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Determines whether the version-agnostic ID of a record equals the ASCII version-agnostic ID of a Maven artifact.
+	 *
+	 * @param offset The offset of the record.
+	 * @param artifact The Maven artifact, whose version-agnostic ID consists of ASCII characters only.
+	 * @return Whether the record matches the Maven artifact.
+	 */
+	private boolean matches(final int offset, final Artifact artifact) {
+		final int end = offset + Short.BYTES + readLength(offset);
+
+		int position = matches(offset + Short.BYTES, end, artifact.getGroupId());
+		position = matches(position, end, ":");
+		position = matches(position, end, artifact.getArtifactId());
+		position = matches(position, end, ":");
+		position = matches(position, end, artifact.getExtension());
+		if (!artifact.getClassifier().isEmpty()) {
+			position = matches(position, end, ":");
+			position = matches(position, end, artifact.getClassifier());
+		}
+
+		return position == end;
+	}
+
+	/**
+	 * Determines whether the bytes at a position of a record equal an ASCII string.
+	 *
+	 * @param position The position within the record or -1 if a preceding part has not matched.
+	 * @param end The end of the version-agnostic ID of the record.
+	 * @param value The ASCII string.
+	 * @return The position after the matched string or -1 if the string has not matched.
+	 */
+	private int matches(final int position, final int end, final String value) {
+		if (position < 0 || end - position < value.length()) {
+			return -1;
+		}
+
+		for (int i = 0; i < value.length(); i++) {
+			if (buffer.get(position + i) != (byte) value.charAt(i)) {
+				return -1;
+			}
+		}
+
+		return position + value.length();
+	}
+
+	/**
+	 * @param slot The index of the slot.
+	 * @return The hash of the slot.
+	 */
+	private long slotHash(final int slot) {
+		return buffer.getLong(HEADER_SIZE + slot * SLOT_SIZE);
+	}
+
+	/**
+	 * @param slot The index of the slot.
+	 * @return The offset of the record of the slot.
+	 */
+	private int slotOffset(final int slot) {
+		return buffer.getInt(HEADER_SIZE + slot * SLOT_SIZE + Long.BYTES);
+	}
+
+	/**
+	 * @param offset The offset of a length-prefixed string.
+	 * @return The length of the string in bytes.
+	 */
+	private int readLength(final int offset) {
+		return buffer.getShort(offset) & 0xffff;
+	}
+
+	/**
+	 * Reads a length-prefixed UTF-8 string.
+	 *
+	 * @param offset The offset of the length-prefixed string.
+	 * @return The string.
+	 */
+	private String readString(final int offset) {
+		final byte[] bytes = new byte[readLength(offset)];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(offset + Short.BYTES + i);
+		}
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,120 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.eclipse.aether.artifact.Artifact;
+
+import de.syquel.maven.reactorstate.common.util.ArtifactKeyUtils;
+
+/**
+ * An immutable lookup table of saved Maven artifacts by their version-agnostic IDs, which is extended by small batches of Maven artifacts.
+ *
+ * Extending an {@link ArtifactLookupTable} rebuilds it as a whole, so adding the Maven artifacts of many Maven modules one by one takes quadratic
+ * time. This table consists of tiers of {@link ArtifactLookupTable}s instead, whereby an added batch is merged with the newest tiers, which are at
+ * most twice as large as the merged tier. Since the sizes of the tiers more than halve from the oldest to the newest tier, every Maven artifact is
+ * merged a logarithmic number of times and a lookup probes a logarithmic number of tiers, most of which are ruled out by their Bloom filters.
+ *
+ * The table is safe for concurrent use.
+ */
+public final class TieredArtifactLookupTable {
+
+	/**
+	 * The empty lookup table.
+	 */
+	private static final TieredArtifactLookupTable EMPTY = new TieredArtifactLookupTable(new ArtifactLookupTable[0]);
+
+	/**
+	 * The tiers of the table from the oldest to the newest one.
+	 */
+	private final ArtifactLookupTable[] tiers;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param tiers The tiers of the table from the oldest to the newest one.
+	 */
+	private TieredArtifactLookupTable(final ArtifactLookupTable[] tiers) {
+		this.tiers = tiers;
+	}
+
+	/**
+	 * @return The empty lookup table.
+	 */
+	public static TieredArtifactLookupTable empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Creates a lookup table, which contains the Maven artifacts of this table and additional ones.
+	 *
+	 * @param additionalArtifacts The additional Maven artifacts, which replace existing ones with the same version-agnostic ID.
+	 * @return The extended lookup table, which shares the unchanged tiers with this table.
+	 */
+	public TieredArtifactLookupTable with(final Collection<Artifact> additionalArtifacts) {
+		if (additionalArtifacts.isEmpty()) {
+			return this;
+		}
+
+		ArtifactLookupTable newestTier = ArtifactLookupTable.of(additionalArtifacts);
+		int tierCount = tiers.length;
+		while (tierCount > 0 && tiers[tierCount - 1].size() <= 2 * newestTier.size()) {
+			newestTier = tiers[tierCount - 1].with(newestTier);
+			tierCount--;
+		}
+
+		final ArtifactLookupTable[] extendedTiers = Arrays.copyOf(tiers, tierCount + 1);
+		extendedTiers[tierCount] = newestTier;
+
+		return new TieredArtifactLookupTable(extendedTiers);
+	}
+
+	/**
+	 * Looks up a Maven artifact by its version-agnostic ID.
+	 *
+	 * @param artifact The Maven artifact to look up.
+	 * @return The Maven artifact with the same version-agnostic ID or null if there is none.
+	 */
+	public Artifact find(final Artifact artifact) {
+		return find(artifact, ArtifactKeyUtils.hash(artifact));
+	}
+
+	/**
+	 * Looks up a Maven artifact by its version-agnostic ID, whose structured hash has already been computed.
+	 *
+	 * @param artifact The Maven artifact to look up.
+	 * @param hash The structured hash of the version-agnostic ID of the Maven artifact.
+	 * @return The Maven artifact with the same version-agnostic ID or null if there is none.
+	 */
+	public Artifact find(final Artifact artifact, final long hash) {
+		// Newer tiers take precedence, since their Maven artifacts replace older ones
+		for (int i = tiers.length - 1; i >= 0; i--) {
+			final Artifact foundArtifact = tiers[i].find(artifact, hash);
+			if (foundArtifact != null) {
+				return foundArtifact;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The number of Maven artifacts within all tiers of the table including replaced ones.
+	 */
+	public int size() {
+		int size = 0;
+		for (final ArtifactLookupTable tier : tiers) {
+			size += tier.size();
+		}
+
+		return size;
+	}
+
+	/**
+	 * @return The number of tiers of the table.
+	 */
+	int getTierCount() {
+		return tiers.length;
+	}
+
+}
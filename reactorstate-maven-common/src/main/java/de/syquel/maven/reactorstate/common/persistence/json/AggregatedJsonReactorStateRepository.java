@@ -0,0 +1,279 @@
+package de.syquel.maven.reactorstate.common.persistence.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.StateCompression;
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * Implementation of a persistence repository for Maven state information, which aggregates the states of all Maven modules within a single JSON file.
+ *
+ * The aggregated file is located in the build directory of the top-most Maven module of the workspace and read at most once, so that reading the
+ * states of the whole workspace is a single sequential read. Saving states only replaces the entries of the saved Maven modules. The repository
+ * metadata of all Maven modules is stored once within a shared table, which precedes the entries.
+ */
+public class AggregatedJsonReactorStateRepository implements IReactorStateRepository {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AggregatedJsonReactorStateRepository.class);
+
+	/**
+	 * The location of the aggregated file within the build directory of the top-most Maven module.
+	 */
+	private static final String STATE_FILENAME = "reactorstate-maven-aggregated.json";
+
+	/**
+	 * The version of the persistence format, which is incremented on incompatible changes.
+	 */
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * The oldest version of the persistence format, which is still readable.
+	 */
+	private static final int MINIMUM_FORMAT_VERSION = 1;
+
+	/**
+	 * The base directory of the top-most Maven module of the workspace, which all entries are relative to.
+	 */
+	private final Path workspaceBasePath;
+
+	/**
+	 * The location of the aggregated file.
+	 */
+	private final Path statePath;
+
+	/**
+	 * The writer of the aggregated file.
+	 */
+	private final StateFileWriter stateFileWriter;
+
+	/**
+	 * The entries of the aggregated file, which are loaded on first access.
+	 */
+	private Map<String, ReactorStateJsonCodec.ProjectStateRecord> projectStateRecords;
+
+	/**
+	 * Constructs a new instance, which neither compresses the aggregated file nor forces it to durable storage.
+	 *
+	 * @param workspaceBasePath The base directory of the top-most Maven module of the workspace.
+	 * @param statePath The location of the aggregated file.
+	 */
+	public AggregatedJsonReactorStateRepository(final Path workspaceBasePath, final Path statePath) {
+		this(workspaceBasePath, statePath, new StateFileWriter());
+	}
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param workspaceBasePath The base directory of the top-most Maven module of the workspace.
+	 * @param statePath The location of the aggregated file.
+	 * @param stateFileWriter The writer of the aggregated file.
+	 */
+	public AggregatedJsonReactorStateRepository(final Path workspaceBasePath, final Path statePath, final StateFileWriter stateFileWriter) {
+		this.workspaceBasePath = workspaceBasePath.toAbsolutePath().normalize();
+		this.statePath = statePath;
+		this.stateFileWriter = stateFileWriter;
+	}
+
+	/**
+	 * Instantiates this repository for the Maven workspace of a Maven module.
+	 *
+	 * @param project A Maven module of the workspace.
+	 * @param stateFileWriter The writer of the aggregated file.
+	 * @return The repository for the Maven workspace.
+	 */
+	public static AggregatedJsonReactorStateRepository create(final MavenProject project, final StateFileWriter stateFileWriter) {
+		final MavenProject rootProject = MavenProjectUtils.resolveWorkspaceRootProject(project);
+		final Path statePath = MavenProjectUtils.resolveProjectBuildPath(rootProject).resolve(STATE_FILENAME);
+
+		return new AggregatedJsonReactorStateRepository(rootProject.getBasedir().toPath(), statePath, stateFileWriter);
+	}
+
+	@Override
+	public synchronized MavenProjectState read(final MavenProject mavenProject) throws IOException {
+		final ReactorStateJsonCodec.ProjectStateRecord record = loadProjectStateRecords().get(buildEntryKey(mavenProject));
+		if (record == null) {
+			return null;
+		}
+
+		return record.toProjectState(mavenProject);
+	}
+
+	@Override
+	public boolean save(final MavenProjectState mavenProjectState) throws IOException {
+		return saveAll(Collections.singleton(mavenProjectState)) > 0;
+	}
+
+	@Override
+	public synchronized int saveAll(final Collection<MavenProjectState> mavenProjectStates) throws IOException {
+		final Map<String, ReactorStateJsonCodec.ProjectStateRecord> updatedProjectStateRecords = new TreeMap<>(loadProjectStateRecords());
+		for (final MavenProjectState mavenProjectState : mavenProjectStates) {
+			updatedProjectStateRecords.put(buildEntryKey(mavenProjectState.getProject()), ReactorStateJsonCodec.ProjectStateRecord.of(mavenProjectState));
+		}
+
+		// The states of all Maven modules share a single file, which is either written as a whole or not at all
+		return write(updatedProjectStateRecords) ? mavenProjectStates.size() : 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		stateFileWriter.flush();
+	}
+
+	@Override
+	public synchronized void delete(final MavenProject mavenProject) throws IOException {
+		final Map<String, ReactorStateJsonCodec.ProjectStateRecord> updatedProjectStateRecords = new TreeMap<>(loadProjectStateRecords());
+		if (updatedProjectStateRecords.remove(buildEntryKey(mavenProject)) != null) {
+			write(updatedProjectStateRecords);
+		}
+	}
+
+	/**
+	 * Loads the entries of the aggregated file on first access.
+	 *
+	 * @return The entries of the aggregated file.
+	 * @throws IOException if an error occurred while reading the aggregated file.
+	 */
+	private Map<String, ReactorStateJsonCodec.ProjectStateRecord> loadProjectStateRecords() throws IOException {
+		if (projectStateRecords != null) {
+			return projectStateRecords;
+		}
+
+		if (!Files.isReadable(statePath)) {
+			projectStateRecords = Collections.emptyMap();
+			return projectStateRecords;
+		}
+
+		int formatVersion = -1;
+		final MetadataTable metadataTable = new MetadataTable();
+		final Map<String, ReactorStateJsonCodec.ProjectStateRecord> records = new TreeMap<>();
+		try (
+			final JsonStreamReader stateReader = new JsonStreamReader(new InputStreamReader(StateCompression.newInputStream(statePath), StandardCharsets.UTF_8))
+		) {
+			stateReader.beginObject();
+			while (stateReader.hasNext()) {
+				final String name = stateReader.nextName();
+				if ("formatVersion".equals(name)) {
+					formatVersion = stateReader.nextInt();
+				} else if ("metadata".equals(name) && isSupportedFormatVersion(formatVersion)) {
+					metadataTable.read(stateReader);
+				} else if ("projectStates".equals(name) && isSupportedFormatVersion(formatVersion) && !stateReader.nextNullIfPresent()) {
+					stateReader.beginObject();
+					while (stateReader.hasNext()) {
+						final String entryKey = stateReader.nextName();
+						records.put(entryKey, ReactorStateJsonCodec.readProjectState(stateReader, resolveEntryBasePath(entryKey), metadataTable));
+					}
+					stateReader.endObject();
+				} else {
+					stateReader.skipValue();
+				}
+			}
+			stateReader.endObject();
+		}
+
+		if (!isSupportedFormatVersion(formatVersion)) {
+			LOGGER.warn("Aggregated reactor state {} is incompatible. Ignoring.", statePath);
+			projectStateRecords = Collections.emptyMap();
+		} else {
+			projectStateRecords = Collections.unmodifiableMap(records);
+		}
+
+		return projectStateRecords;
+	}
+
+	/**
+	 * Replaces the aggregated file atomically unless its content has not changed.
+	 *
+	 * @param updatedProjectStateRecords The entries of the aggregated file.
+	 * @return Whether the aggregated file has been written.
+	 * @throws IOException if an error occurred while writing the aggregated file.
+	 */
+	private boolean write(final Map<String, ReactorStateJsonCodec.ProjectStateRecord> updatedProjectStateRecords) throws IOException {
+		final ByteArrayOutputStream stateBuffer = new ByteArrayOutputStream();
+		try (final JsonStreamWriter stateWriter = new JsonStreamWriter(new OutputStreamWriter(stateBuffer, StandardCharsets.UTF_8), false)) {
+			writeEntries(stateWriter, updatedProjectStateRecords);
+		}
+
+		projectStateRecords = Collections.unmodifiableMap(updatedProjectStateRecords);
+
+		return stateFileWriter.writeIfChanged(statePath, stateBuffer.toByteArray());
+	}
+
+	/**
+	 * Writes the format version, the shared table of repository metadata and the entries of the aggregated file.
+	 *
+	 * @param stateWriter The JSON stream to write to.
+	 * @param updatedProjectStateRecords The entries of the aggregated file.
+	 * @throws IOException if an error occurred while writing the aggregated file.
+	 */
+	private void writeEntries(
+		final JsonStreamWriter stateWriter, final Map<String, ReactorStateJsonCodec.ProjectStateRecord> updatedProjectStateRecords
+	) throws IOException {
+		final MetadataTable metadataTable = new MetadataTable();
+		for (final ReactorStateJsonCodec.ProjectStateRecord record : updatedProjectStateRecords.values()) {
+			metadataTable.registerAll(record);
+		}
+
+		stateWriter.beginObject();
+		stateWriter.name("formatVersion").value(FORMAT_VERSION);
+		stateWriter.name("metadata");
+		metadataTable.write(stateWriter);
+		stateWriter.name("projectStates").beginObject();
+		for (final Map.Entry<String, ReactorStateJsonCodec.ProjectStateRecord> entry : updatedProjectStateRecords.entrySet()) {
+			stateWriter.name(entry.getKey());
+			ReactorStateJsonCodec.writeProjectState(stateWriter, entry.getValue(), resolveEntryBasePath(entry.getKey()), metadataTable);
+		}
+		stateWriter.endObject();
+		stateWriter.endObject();
+	}
+
+	/**
+	 * Determines whether a version of the persistence format is readable.
+	 *
+	 * @param formatVersion The version of the persistence format.
+	 * @return Whether the version is readable.
+	 */
+	private static boolean isSupportedFormatVersion(final int formatVersion) {
+		return formatVersion >= MINIMUM_FORMAT_VERSION && formatVersion <= FORMAT_VERSION;
+	}
+
+	/**
+	 * Builds the key of the entry of a Maven module within the aggregated file.
+	 *
+	 * @param mavenProject The Maven module to build the key for.
+	 * @return The path of the base directory of the Maven module relative to the base directory of the top-most Maven module.
+	 */
+	private String buildEntryKey(final MavenProject mavenProject) {
+		final String entryKey = workspaceBasePath.relativize(mavenProject.getBasedir().toPath().toAbsolutePath().normalize()).toString();
+		return entryKey.isEmpty() ? "." : entryKey;
+	}
+
+	/**
+	 * Resolves the base directory of the Maven module of an entry within the aggregated file.
+	 *
+	 * @param entryKey The key of the entry.
+	 * @return The base directory of the Maven module.
+	 */
+	private Path resolveEntryBasePath(final String entryKey) {
+		return workspaceBasePath.resolve(entryKey).normalize();
+	}
+
+}
@@ -1,30 +1,31 @@
 package de.syquel.maven.reactorstate.common.persistence.json;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.Reader;
-import java.io.Writer;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.maven.project.MavenProject;
-import org.eclipse.aether.artifact.Artifact;
-import org.eclipse.aether.artifact.DefaultArtifact;
-import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.apache.maven.artifact.repository.metadata.Metadata;
 
-import com.fasterxml.jackson.jr.ob.JSON;
+import org.apache.maven.project.MavenProject;
 
-import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
 import de.syquel.maven.reactorstate.common.data.MavenProjectState;
 import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
-import de.syquel.maven.reactorstate.common.persistence.json.dto.ArtifactDto;
-import de.syquel.maven.reactorstate.common.persistence.json.dto.MavenProjectStateDto;
+import de.syquel.maven.reactorstate.common.persistence.StateCompression;
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
 import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
 
 /**
  * Implementation of a persistence repository for Maven state information via JSON.
+ *
+ * @see ReactorStateJsonCodec
  */
 public class JsonReactorStateRepository implements IReactorStateRepository {
 
@@ -33,151 +34,90 @@ public class JsonReactorStateRepository implements IReactorStateRepository {
 	 */
 	private static final String STATE_PROPERTIES_FILENAME = "reactorstate-maven.json";
 
-	@Override
-	public MavenProjectState read(final MavenProject mavenProject) throws IOException {
-		final Path reactorStatePath = getReactorStatePath(mavenProject);
-		if (!Files.isReadable(reactorStatePath)) {
-			return null;
-		}
-
-		final JSON objectMapper = buildObjectMapper();
-
-		final MavenProjectStateDto dto;
-		try (final Reader reactorStateReader = Files.newBufferedReader(reactorStatePath)) {
-			dto = objectMapper.beanFrom(MavenProjectStateDto.class, reactorStateReader);
-		}
-		final MavenProjectState projectState = convert(mavenProject, dto);
-
-		return projectState;
-	}
-
-	@Override
-	public void save(final MavenProjectState mavenProjectState) throws IOException {
-		final Path reactorStatePath = getReactorStatePath(mavenProjectState.getProject());
-		if (!Files.isDirectory(reactorStatePath.getParent())) {
-			Files.createDirectories(reactorStatePath.getParent());
-		}
-
-		final MavenProjectStateDto dto = convert(mavenProjectState);
-
-		final JSON objectMapper = buildObjectMapper();
-		try (final Writer reactorStateWriter = Files.newBufferedWriter(reactorStatePath)) {
-			objectMapper.write(dto, reactorStateWriter);
-		}
-	}
-
-	@Override
-	public void delete(final MavenProject mavenProject) throws IOException {
-		final Path reactorStatePath = getReactorStatePath(mavenProject);
-		Files.deleteIfExists(reactorStatePath);
-	}
-
 	/**
-	 * Deserializes a persisted Maven module state.
-	 *
-	 * @param mavenProject The Maven module to deserialize the state for.
-	 * @param mavenProjectStateDto The serialized representation of the Maven module state.
-	 * @return The deserialized representation of the Maven module state.
+	 * Whether to pretty-print the persisted JSON.
 	 */
-	private static MavenProjectState convert(final MavenProject mavenProject, final MavenProjectStateDto mavenProjectStateDto) {
-		final Path projectBasePath = mavenProject.getBasedir().toPath();
-
-		final Artifact pom = buildArtifactDto(mavenProjectStateDto.getPom(), projectBasePath);
-		final MavenArtifactState mainArtifactState = convert(mavenProjectStateDto.getMainArtifact(), projectBasePath);
-		final Set<MavenArtifactState> attachedArtifactStates =
-			mavenProjectStateDto.getAttachedArtifacts().stream().map(artifactDto -> convert(artifactDto, projectBasePath)).collect(Collectors.toSet());
-
-		final MavenProjectState mavenProjectState = new MavenProjectState(mavenProject, pom, mainArtifactState, attachedArtifactStates);
-		return mavenProjectState;
-	}
+	private final boolean prettyPrint;
 
 	/**
-	 * Deserializes a persisted Maven artifact state.
-	 *
-	 * @param artifactDto The serialized representation of the Maven artifact state.
-	 * @param projectBasePath The base path of the Maven module to deserialize the state for.
-	 * @return The deserialized representation of the Maven artifact state.
+	 * The writer of the persisted JSON files.
 	 */
-	private static MavenArtifactState convert(final ArtifactDto artifactDto, final Path projectBasePath) {
-		final Artifact artifact = buildArtifactDto(artifactDto, projectBasePath);
-
-		final MavenArtifactState artifactState = new MavenArtifactState(artifact);
-		artifactState.setArtifactRepositoryMetadata(artifactDto.getArtifactRepositoryMetadata());
-		artifactState.setGroupRepositoryMetadata(artifactDto.getGroupRepositoryMetadata());
-		artifactState.setSnapshotRepositoryMetadata(artifactDto.getSnapshotRepositoryMetadata());
-
-		return artifactState;
-	}
+	private final StateFileWriter stateFileWriter;
 
 	/**
-	 * Serializes a Maven module state.
-	 *
-	 * @param projectState The deserialized representation of the Maven module state.
-	 * @return The serialized representation of the Maven module state.
+	 * The repository metadata read by this repository by its ID, so identical repository metadata of distinct Maven modules shares a single instance.
 	 */
-	private static MavenProjectStateDto convert(final MavenProjectState projectState) {
-		final String projectId = projectState.getProject().getId();
-		final Path projectBasePath = projectState.getProject().getBasedir().toPath();
+	private final Map<String, Metadata> internedMetadata = new ConcurrentHashMap<>();
 
-		final ArtifactDto pomDto = buildArtifactDto(projectState.getPom(), projectBasePath);
-		final ArtifactDto mainArtifactDto = convert(projectState.getMainArtifactState(), projectBasePath);
-		final Set<ArtifactDto> attachedArtifactDtos =
-			projectState.getAttachedArtifactStates().stream().map(artifact -> convert(artifact, projectBasePath)).collect(Collectors.toSet());
-
-		final MavenProjectStateDto projectStateDto = new MavenProjectStateDto(projectId, pomDto, mainArtifactDto, attachedArtifactDtos);
-		return projectStateDto;
+	/**
+	 * Constructs a new instance, which persists pretty-printed JSON.
+	 */
+	public JsonReactorStateRepository() {
+		this(true);
 	}
 
 	/**
-	 * Serializes a Maven artifact state.
+	 * Constructs a new instance, which neither compresses the persisted JSON nor forces it to durable storage.
 	 *
-	 * @param artifactState The deserialized representation of the Maven artifact state.
-	 * @param projectBasePath The base path of the Maven module to serialize the state for.
-	 * @return The serialized representation of the Maven artifact state.
+	 * @param prettyPrint Whether to pretty-print the persisted JSON.
 	 */
-	private static ArtifactDto convert(final MavenArtifactState artifactState, final Path projectBasePath) {
-		final Artifact artifact = artifactState.getArtifact();
-
-		final ArtifactDto artifactDto = buildArtifactDto(artifact, projectBasePath);
-		artifactDto.setArtifactRepositoryMetadata(artifactState.getArtifactRepositoryMetadata());
-		artifactDto.setGroupRepositoryMetadata(artifactState.getGroupRepositoryMetadata());
-		artifactDto.setSnapshotRepositoryMetadata(artifactState.getSnapshotRepositoryMetadata());
-
-		return artifactDto;
+	public JsonReactorStateRepository(final boolean prettyPrint) {
+		this(prettyPrint, new StateFileWriter());
 	}
 
 	/**
-	 * Builds a Maven artifact from its persistent representation.
+	 * Constructs a new instance.
 	 *
-	 * @param artifactDto The serialized representation of the Maven artifact state.
-	 * @param projectBasePath The base path of the Maven module to deserialize the state for.
-	 * @return The deserialized representation of the Maven artifact.
+	 * @param prettyPrint Whether to pretty-print the persisted JSON.
+	 * @param stateFileWriter The writer of the persisted JSON files.
 	 */
-	private static Artifact buildArtifactDto(final ArtifactDto artifactDto, final Path projectBasePath) {
-		final File artifactFile = (artifactDto.getPath() != null) ? projectBasePath.resolve(artifactDto.getPath()).toFile() : null;
+	public JsonReactorStateRepository(final boolean prettyPrint, final StateFileWriter stateFileWriter) {
+		this.prettyPrint = prettyPrint;
+		this.stateFileWriter = stateFileWriter;
+	}
 
-		final Artifact artifact =
-			new DefaultArtifact(artifactDto.getCoordinates(), artifactDto.getProperties())
-				.setFile(artifactFile);
+	@Override
+	public MavenProjectState read(final MavenProject mavenProject) throws IOException {
+		final Path reactorStatePath = getReactorStatePath(mavenProject);
+		if (!Files.isReadable(reactorStatePath)) {
+			return null;
+		}
 
-		return artifact;
+		try (
+			final JsonStreamReader reactorStateReader =
+				new JsonStreamReader(new InputStreamReader(StateCompression.newInputStream(reactorStatePath), StandardCharsets.UTF_8))
+		) {
+			return ReactorStateJsonCodec.readProjectState(
+					reactorStateReader, mavenProject.getBasedir().toPath(), new MetadataTable(internedMetadata)
+				)
+				.toProjectState(mavenProject);
+		}
 	}
 
-	/**
-	 * Builds a persistent representation for a Maven artifact.
-	 *
-	 * @param artifact The deserialized representation of the Maven artifact.
-	 * @param projectBasePath The base path of the Maven module to deserialize the state for.
-	 * @return The serialized representation of the Maven artifact.
-	 */
-	private static ArtifactDto buildArtifactDto(final Artifact artifact, final Path projectBasePath) {
-		final String artifactCoordinates = ArtifactIdUtils.toId(artifact);
+	@Override
+	public boolean save(final MavenProjectState mavenProjectState) throws IOException {
+		final ByteArrayOutputStream reactorStateBuffer = new ByteArrayOutputStream();
+		try (
+			final JsonStreamWriter reactorStateWriter =
+				new JsonStreamWriter(new OutputStreamWriter(reactorStateBuffer, StandardCharsets.UTF_8), prettyPrint)
+		) {
+			ReactorStateJsonCodec.writeProjectState(
+				reactorStateWriter, ReactorStateJsonCodec.ProjectStateRecord.of(mavenProjectState), mavenProjectState.getProject().getBasedir().toPath()
+			);
+		}
 
-		final File artifactFile = artifact.getFile();
-		final String artifactPath = (artifactFile != null) ? projectBasePath.relativize(artifactFile.toPath()).toString() : null;
+		return stateFileWriter.writeIfChanged(getReactorStatePath(mavenProjectState.getProject()), reactorStateBuffer.toByteArray());
+	}
+
+	@Override
+	public void flush() throws IOException {
+		stateFileWriter.flush();
+	}
 
-		final ArtifactDto artifactDto = new ArtifactDto(artifactCoordinates, artifactPath, artifact.getProperties());
-		return artifactDto;
+	@Override
+	public void delete(final MavenProject mavenProject) throws IOException {
+		final Path reactorStatePath = getReactorStatePath(mavenProject);
+		Files.deleteIfExists(reactorStatePath);
 	}
 
 	/**
@@ -193,15 +133,4 @@ public class JsonReactorStateRepository implements IReactorStateRepository {
 		return reactorStatePath;
 	}
 
-	/**
-	 * @return a pre-configured Json object mapper.
-	 */
-	private static JSON buildObjectMapper() {
-		return
-			JSON.builder()
-				.enable(JSON.Feature.PRETTY_PRINT_OUTPUT, JSON.Feature.WRITE_NULL_PROPERTIES, JSON.Feature.READ_ONLY)
-				.disable(JSON.Feature.USE_DEFERRED_MAPS)
-				.build();
-	}
-
 }
@@ -0,0 +1,228 @@
+package de.syquel.maven.reactorstate.common.persistence.json;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+
+/**
+ * A content-addressed table of repository metadata, which is persisted once and referenced by the Maven artifacts via its ID.
+ *
+ * The ID of repository metadata is derived from the digest of its JSON representation, so identical repository metadata of distinct Maven artifacts
+ * and Maven modules is persisted once. On read, repository metadata is interned by its ID, so all Maven artifacts with identical repository metadata
+ * share a single instance.
+ *
+ * Read repository metadata is kept as JSON text and only parsed when it is resolved, since resolving Maven artifacts from the workspace does not
+ * require repository metadata at all. This table is thread-safe once it has been read.
+ */
+final class MetadataTable {
+
+	/**
+	 * The number of hexadecimal digits of the digest, which form the ID of repository metadata.
+	 */
+	private static final int ID_LENGTH = 16;
+
+	/**
+	 * The interned repository metadata by its ID, which is shared with other tables.
+	 */
+	private final Map<String, Metadata> internedMetadata;
+
+	/**
+	 * The repository metadata of this table by its ID in a deterministic order.
+	 */
+	private final Map<String, Metadata> metadataById = new TreeMap<>();
+
+	/**
+	 * The IDs of the registered repository metadata by its instance.
+	 */
+	private final Map<Metadata, String> idsByMetadata = new IdentityHashMap<>();
+
+	/**
+	 * The JSON text of the read repository metadata by its ID, which has not been parsed yet.
+	 */
+	private final Map<String, String> unparsedMetadataById = new HashMap<>();
+
+	/**
+	 * Constructs a new instance, which does not share the read repository metadata with other tables.
+	 */
+	MetadataTable() {
+		this(new HashMap<>());
+	}
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param internedMetadata The interned repository metadata by its ID, which is shared with other tables and must be thread-safe if shared between
+	 * threads.
+	 */
+	MetadataTable(final Map<String, Metadata> internedMetadata) {
+		this.internedMetadata = internedMetadata;
+	}
+
+	/**
+	 * Registers the repository metadata of all Maven artifacts of a Maven module.
+	 *
+	 * @param record The state of the Maven module.
+	 * @throws IOException if an error occurred while serializing the repository metadata.
+	 */
+	void registerAll(final ReactorStateJsonCodec.ProjectStateRecord record) throws IOException {
+		registerAll(record.getMainArtifactState());
+		for (final MavenArtifactState attachedArtifactState : record.getAttachedArtifactStates()) {
+			registerAll(attachedArtifactState);
+		}
+	}
+
+	/**
+	 * Registers repository metadata within this table.
+	 *
+	 * @param metadata The repository metadata.
+	 * @return The ID of the repository metadata.
+	 * @throws IOException if an error occurred while serializing the repository metadata.
+	 */
+	String register(final Metadata metadata) throws IOException {
+		final String registeredId = idsByMetadata.get(metadata);
+		if (registeredId != null) {
+			return registeredId;
+		}
+
+		final StringWriter metadataJson = new StringWriter();
+		try (final JsonStreamWriter metadataWriter = new JsonStreamWriter(metadataJson, false)) {
+			ReactorStateJsonCodec.writeMetadata(metadataWriter, metadata);
+		}
+
+		final String id = DigestUtils.sha256Hex(metadataJson.toString().getBytes(StandardCharsets.UTF_8)).substring(0, ID_LENGTH);
+		metadataById.putIfAbsent(id, metadata);
+		idsByMetadata.put(metadata, id);
+
+		return id;
+	}
+
+	/**
+	 * Determines whether this table contains repository metadata.
+	 *
+	 * @param id The ID of the repository metadata.
+	 * @return Whether this table contains the repository metadata.
+	 */
+	synchronized boolean contains(final String id) {
+		return metadataById.containsKey(id) || unparsedMetadataById.containsKey(id);
+	}
+
+	/**
+	 * Resolves repository metadata by its ID and parses it on first access.
+	 *
+	 * @param id The ID of the repository metadata.
+	 * @return The repository metadata.
+	 * @throws IOException if the table does not contain the repository metadata or it is malformed.
+	 */
+	synchronized Metadata resolve(final String id) throws IOException {
+		final Metadata metadata = metadataById.get(id);
+		if (metadata != null) {
+			return metadata;
+		}
+
+		final String metadataJson = unparsedMetadataById.get(id);
+		if (metadataJson == null) {
+			throw new IOException("Unknown repository metadata " + id);
+		}
+
+		final Metadata parsedMetadata = parse(metadataJson);
+		final Metadata existingMetadata = internedMetadata.putIfAbsent(id, parsedMetadata);
+		final Metadata resolvedMetadata = (existingMetadata != null) ? existingMetadata : parsedMetadata;
+
+		unparsedMetadataById.remove(id);
+		metadataById.put(id, resolvedMetadata);
+
+		return resolvedMetadata;
+	}
+
+	/**
+	 * Writes all repository metadata of this table by its ID.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	void write(final JsonStreamWriter writer) throws IOException {
+		writer.beginObject();
+		for (final Map.Entry<String, Metadata> entry : metadataById.entrySet()) {
+			writer.name(entry.getKey());
+			ReactorStateJsonCodec.writeMetadata(writer, entry.getValue());
+		}
+		writer.endObject();
+	}
+
+	/**
+	 * Reads repository metadata by its ID into this table without parsing it.
+	 *
+	 * Repository metadata, which has already been interned, is reused instead.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	synchronized void read(final JsonStreamReader reader) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final String id = reader.nextName();
+			if (reader.nextNullIfPresent()) {
+				throw new IOException("Missing repository metadata " + id);
+			}
+
+			final Metadata existingMetadata = internedMetadata.get(id);
+			if (existingMetadata != null) {
+				reader.skipValue();
+				metadataById.put(id, existingMetadata);
+			} else {
+				unparsedMetadataById.put(id, reader.nextRawValue());
+			}
+		}
+		reader.endObject();
+	}
+
+	/**
+	 * Parses the JSON text of repository metadata.
+	 *
+	 * @param metadataJson The JSON text of the repository metadata, which is not null.
+	 * @return The repository metadata.
+	 * @throws IOException if the repository metadata is malformed.
+	 */
+	private static Metadata parse(final String metadataJson) throws IOException {
+		try (final JsonStreamReader metadataReader = new JsonStreamReader(new StringReader(metadataJson))) {
+			return ReactorStateJsonCodec.readMetadata(metadataReader);
+		}
+	}
+
+	/**
+	 * Registers the repository metadata of a Maven artifact.
+	 *
+	 * @param artifactState The state of the Maven artifact.
+	 * @throws IOException if an error occurred while serializing the repository metadata.
+	 */
+	private void registerAll(final MavenArtifactState artifactState) throws IOException {
+		registerIfPresent(artifactState.getArtifactRepositoryMetadata());
+		registerIfPresent(artifactState.getGroupRepositoryMetadata());
+		registerIfPresent(artifactState.getSnapshotRepositoryMetadata());
+	}
+
+	/**
+	 * Registers repository metadata within this table if present.
+	 *
+	 * @param metadata The repository metadata or null if there is none.
+	 * @throws IOException if an error occurred while serializing the repository metadata.
+	 */
+	private void registerIfPresent(final Metadata metadata) throws IOException {
+		if (metadata != null) {
+			register(metadata);
+		}
+	}
+
+}
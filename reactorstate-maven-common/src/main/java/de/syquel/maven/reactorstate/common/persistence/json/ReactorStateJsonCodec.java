@@ -0,0 +1,886 @@
+package de.syquel.maven.reactorstate.common.persistence.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Plugin;
+import org.apache.maven.artifact.repository.metadata.Snapshot;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
+import de.syquel.maven.reactorstate.common.data.IRepositoryMetadataLoader;
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonToken;
+
+/**
+ * The streaming codec for the JSON representation of Maven module states.
+ *
+ * The codec reads and writes the Maven artifacts and repository metadata directly from and to the JSON stream without reflection or an intermediate
+ * object graph. Unknown properties are skipped and null metadata is omitted on write, while explicit nulls of previously written states are accepted.
+ *
+ * Repository metadata is stored once within a {@link MetadataTable} and referenced by the Maven artifacts via its ID. Repository metadata, which is
+ * embedded within the Maven artifacts by previously written states, is still accepted.
+ *
+ * On read, the Maven artifacts form the eagerly decoded header tier of a Maven module state, whereas referenced repository metadata forms the detail
+ * tier, which is only resolved once it is accessed.
+ */
+final class ReactorStateJsonCodec {
+
+	private ReactorStateJsonCodec() {}
+
+	/**
+	 * Writes the state of a Maven module including the table of its repository metadata.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param record The state of the Maven module.
+	 * @param projectBasePath The base path of the Maven module, which all artifact paths are relative to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	static void writeProjectState(final JsonStreamWriter writer, final ProjectStateRecord record, final Path projectBasePath) throws IOException {
+		final MetadataTable metadataTable = new MetadataTable();
+		metadataTable.registerAll(record);
+
+		writeProjectState(writer, record, projectBasePath, metadataTable, true);
+	}
+
+	/**
+	 * Writes the state of a Maven module, which references its repository metadata within a table written separately.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param record The state of the Maven module.
+	 * @param projectBasePath The base path of the Maven module, which all artifact paths are relative to.
+	 * @param metadataTable The table of repository metadata, which contains the repository metadata of the Maven module.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	static void writeProjectState(
+		final JsonStreamWriter writer, final ProjectStateRecord record, final Path projectBasePath, final MetadataTable metadataTable
+	) throws IOException {
+		writeProjectState(writer, record, projectBasePath, metadataTable, false);
+	}
+
+	/**
+	 * Reads the state of a Maven module.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @param projectBasePath The base path of the Maven module, which all artifact paths are relative to.
+	 * @param metadataTable The table of repository metadata, which is extended by the table of the Maven module if present.
+	 * @return The state of the Maven module.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	static ProjectStateRecord readProjectState(
+		final JsonStreamReader reader, final Path projectBasePath, final MetadataTable metadataTable
+	) throws IOException {
+		String projectId = null;
+		String inputFingerprint = null;
+		Artifact pom = null;
+		MavenArtifactState mainArtifactState = null;
+		final Set<MavenArtifactState> attachedArtifactStates = new HashSet<>();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "projectId":
+					projectId = reader.nextString();
+					break;
+				case "inputFingerprint":
+					inputFingerprint = reader.nextString();
+					break;
+				case "metadata":
+					metadataTable.read(reader);
+					break;
+				case "pom":
+					pom = readArtifactState(reader, projectBasePath, metadataTable).getArtifact();
+					break;
+				case "mainArtifact":
+					mainArtifactState = readArtifactState(reader, projectBasePath, metadataTable);
+					break;
+				case "attachedArtifacts":
+					reader.beginArray();
+					while (reader.hasNext()) {
+						attachedArtifactStates.add(readArtifactState(reader, projectBasePath, metadataTable));
+					}
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		if (pom == null || mainArtifactState == null) {
+			throw new IOException("Incomplete state of Maven module " + projectId);
+		}
+
+		return new ProjectStateRecord(projectId, pom, mainArtifactState, attachedArtifactStates, inputFingerprint);
+	}
+
+	/**
+	 * Writes the state of a Maven module.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param record The state of the Maven module.
+	 * @param projectBasePath The base path of the Maven module, which all artifact paths are relative to.
+	 * @param metadataTable The table of repository metadata, which contains the repository metadata of the Maven module.
+	 * @param embedMetadataTable Whether to write the table of repository metadata as part of the state.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeProjectState(
+		final JsonStreamWriter writer, final ProjectStateRecord record, final Path projectBasePath, final MetadataTable metadataTable,
+		final boolean embedMetadataTable
+	) throws IOException {
+		writer.beginObject();
+		writer.name("projectId").value(record.getProjectId());
+		if (record.getInputFingerprint() != null) {
+			writer.name("inputFingerprint").value(record.getInputFingerprint());
+		}
+		if (embedMetadataTable) {
+			// The table precedes the Maven artifacts, so references are resolvable while streaming
+			writer.name("metadata");
+			metadataTable.write(writer);
+		}
+
+		writer.name("pom");
+		writeArtifact(writer, record.getPom(), null, projectBasePath, metadataTable);
+		writer.name("mainArtifact");
+		writeArtifact(writer, record.getMainArtifactState().getArtifact(), record.getMainArtifactState(), projectBasePath, metadataTable);
+
+		writer.name("attachedArtifacts").beginArray();
+		for (final MavenArtifactState attachedArtifactState : record.getAttachedArtifactStates()) {
+			writeArtifact(writer, attachedArtifactState.getArtifact(), attachedArtifactState, projectBasePath, metadataTable);
+		}
+		writer.endArray();
+		writer.endObject();
+	}
+
+	/**
+	 * Writes a Maven artifact and its repository metadata.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param artifact The Maven artifact.
+	 * @param artifactState The state of the Maven artifact with its repository metadata or null if there is none.
+	 * @param projectBasePath The base path of the Maven module, which the artifact path is relative to.
+	 * @param metadataTable The table of repository metadata, which contains the repository metadata of the Maven artifact.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeArtifact(
+		final JsonStreamWriter writer, final Artifact artifact, final MavenArtifactState artifactState, final Path projectBasePath,
+		final MetadataTable metadataTable
+	) throws IOException {
+		final File artifactFile = artifact.getFile();
+
+		writer.beginObject();
+		writer.name("coordinates").value(ArtifactIdUtils.toId(artifact));
+		writer.name("path").value((artifactFile != null) ? projectBasePath.relativize(artifactFile.toPath()).toString() : null);
+
+		writer.name("properties").beginObject();
+		for (final Map.Entry<String, String> property : new TreeMap<>(artifact.getProperties()).entrySet()) {
+			writer.name(property.getKey()).value(property.getValue());
+		}
+		writer.endObject();
+
+		if (artifactState != null) {
+			writeFingerprint(writer, artifactState.getFingerprint());
+			writeMetadataReference(writer, "artifactRepositoryMetadata", artifactState.getArtifactRepositoryMetadata(), metadataTable);
+			writeMetadataReference(writer, "groupRepositoryMetadata", artifactState.getGroupRepositoryMetadata(), metadataTable);
+			writeMetadataReference(writer, "snapshotRepositoryMetadata", artifactState.getSnapshotRepositoryMetadata(), metadataTable);
+		}
+		writer.endObject();
+	}
+
+	/**
+	 * Reads a Maven artifact and defers resolving its referenced repository metadata until it is accessed.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @param projectBasePath The base path of the Maven module, which the artifact path is relative to.
+	 * @param metadataTable The table of repository metadata, which contains the referenced repository metadata.
+	 * @return The state of the Maven artifact.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static MavenArtifactState readArtifactState(
+		final JsonStreamReader reader, final Path projectBasePath, final MetadataTable metadataTable
+	) throws IOException {
+		String coordinates = null;
+		String path = null;
+		Map<String, String> properties = Collections.emptyMap();
+		ArtifactFingerprint fingerprint = null;
+		Metadata artifactRepositoryMetadata = null;
+		Metadata groupRepositoryMetadata = null;
+		Metadata snapshotRepositoryMetadata = null;
+		String artifactRepositoryMetadataId = null;
+		String groupRepositoryMetadataId = null;
+		String snapshotRepositoryMetadataId = null;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "coordinates":
+					coordinates = reader.nextString();
+					break;
+				case "path":
+					path = reader.nextString();
+					break;
+				case "properties":
+					properties = readProperties(reader);
+					break;
+				case "fingerprint":
+					fingerprint = readFingerprint(reader);
+					break;
+				case "artifactRepositoryMetadata":
+					if (reader.peek() == JsonToken.STRING) {
+						artifactRepositoryMetadataId = readMetadataId(reader, metadataTable);
+					} else {
+						artifactRepositoryMetadata = readMetadata(reader);
+					}
+					break;
+				case "groupRepositoryMetadata":
+					if (reader.peek() == JsonToken.STRING) {
+						groupRepositoryMetadataId = readMetadataId(reader, metadataTable);
+					} else {
+						groupRepositoryMetadata = readMetadata(reader);
+					}
+					break;
+				case "snapshotRepositoryMetadata":
+					if (reader.peek() == JsonToken.STRING) {
+						snapshotRepositoryMetadataId = readMetadataId(reader, metadataTable);
+					} else {
+						snapshotRepositoryMetadata = readMetadata(reader);
+					}
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		if (coordinates == null) {
+			throw new IOException("Missing coordinates of Maven artifact");
+		}
+
+		final File artifactFile = (path != null) ? projectBasePath.resolve(path).toFile() : null;
+		final Artifact artifact = new DefaultArtifact(coordinates, properties).setFile(artifactFile);
+
+		final MavenArtifactState artifactState = new MavenArtifactState(artifact);
+		artifactState.setFingerprint(fingerprint);
+		artifactState.setArtifactRepositoryMetadata(artifactRepositoryMetadata);
+		artifactState.setGroupRepositoryMetadata(groupRepositoryMetadata);
+		artifactState.setSnapshotRepositoryMetadata(snapshotRepositoryMetadata);
+		if (artifactRepositoryMetadataId != null || groupRepositoryMetadataId != null || snapshotRepositoryMetadataId != null) {
+			artifactState.setRepositoryMetadataLoader(
+				new MetadataReferences(metadataTable, artifactRepositoryMetadataId, groupRepositoryMetadataId, snapshotRepositoryMetadataId)
+			);
+		}
+
+		return artifactState;
+	}
+
+	/**
+	 * Reads the properties of a Maven artifact.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The properties of the Maven artifact.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static Map<String, String> readProperties(final JsonStreamReader reader) throws IOException {
+		if (reader.nextNullIfPresent()) {
+			return Collections.emptyMap();
+		}
+
+		final Map<String, String> properties = new LinkedHashMap<>();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			properties.put(reader.nextName(), reader.nextString());
+		}
+		reader.endObject();
+
+		return properties;
+	}
+
+	/**
+	 * Writes the fingerprint of the file of a Maven artifact unless it is unknown.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param fingerprint The fingerprint or null if it is unknown.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeFingerprint(final JsonStreamWriter writer, final ArtifactFingerprint fingerprint) throws IOException {
+		if (fingerprint == null) {
+			return;
+		}
+
+		writer.name("fingerprint").beginObject();
+		writer.name("size").value(fingerprint.getSize());
+		writer.name("lastModified").value(fingerprint.getLastModified());
+		writer.name("checksum").value(fingerprint.getChecksum());
+		writer.endObject();
+	}
+
+	/**
+	 * Reads the fingerprint of the file of a Maven artifact.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The fingerprint or null if it is absent or incomplete.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static ArtifactFingerprint readFingerprint(final JsonStreamReader reader) throws IOException {
+		if (reader.nextNullIfPresent()) {
+			return null;
+		}
+
+		Long size = null;
+		Long lastModified = null;
+		Long checksum = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "size":
+					size = reader.nextLong();
+					break;
+				case "lastModified":
+					lastModified = reader.nextLong();
+					break;
+				case "checksum":
+					checksum = reader.nextLong();
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		if (size == null || lastModified == null || checksum == null) {
+			return null;
+		}
+
+		return new ArtifactFingerprint(size, lastModified, checksum);
+	}
+
+	/**
+	 * Writes a reference to repository metadata unless it is absent.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param name The name of the property.
+	 * @param metadata The repository metadata or null if there is none.
+	 * @param metadataTable The table of repository metadata, which contains the repository metadata.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeMetadataReference(
+		final JsonStreamWriter writer, final String name, final Metadata metadata, final MetadataTable metadataTable
+	) throws IOException {
+		if (metadata != null) {
+			writer.name(name).value(metadataTable.register(metadata));
+		}
+	}
+
+	/**
+	 * Reads a reference to repository metadata without resolving it.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @param metadataTable The table of repository metadata, which contains the referenced repository metadata.
+	 * @return The ID of the repository metadata.
+	 * @throws IOException if the JSON stream is malformed, the reference is unknown or an error occurred while reading.
+	 */
+	private static String readMetadataId(final JsonStreamReader reader, final MetadataTable metadataTable) throws IOException {
+		final String id = reader.nextString();
+		if (!metadataTable.contains(id)) {
+			throw new IOException("Unknown repository metadata " + id);
+		}
+
+		return id;
+	}
+
+	/**
+	 * Writes repository metadata.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param metadata The repository metadata.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	static void writeMetadata(final JsonStreamWriter writer, final Metadata metadata) throws IOException {
+		writer.beginObject();
+		writer.name("artifactId").value(metadata.getArtifactId());
+		writer.name("groupId").value(metadata.getGroupId());
+		writer.name("modelEncoding").value(metadata.getModelEncoding());
+		writer.name("modelVersion").value(metadata.getModelVersion());
+
+		writer.name("plugins").beginArray();
+		for (final Plugin plugin : metadata.getPlugins()) {
+			writer.beginObject();
+			writer.name("artifactId").value(plugin.getArtifactId());
+			writer.name("name").value(plugin.getName());
+			writer.name("prefix").value(plugin.getPrefix());
+			writer.endObject();
+		}
+		writer.endArray();
+
+		writer.name("version").value(metadata.getVersion());
+
+		final Versioning versioning = metadata.getVersioning();
+		if (versioning != null) {
+			writer.name("versioning").beginObject();
+			writer.name("lastUpdated").value(versioning.getLastUpdated());
+			writer.name("latest").value(versioning.getLatest());
+			writer.name("release").value(versioning.getRelease());
+
+			final Snapshot snapshot = versioning.getSnapshot();
+			if (snapshot != null) {
+				writer.name("snapshot").beginObject();
+				writer.name("buildNumber").value(snapshot.getBuildNumber());
+				writer.name("localCopy").value(snapshot.isLocalCopy());
+				writer.name("timestamp").value(snapshot.getTimestamp());
+				writer.endObject();
+			}
+
+			writer.name("snapshotVersions").beginArray();
+			for (final SnapshotVersion snapshotVersion : versioning.getSnapshotVersions()) {
+				writer.beginObject();
+				writer.name("classifier").value(snapshotVersion.getClassifier());
+				writer.name("extension").value(snapshotVersion.getExtension());
+				writer.name("updated").value(snapshotVersion.getUpdated());
+				writer.name("version").value(snapshotVersion.getVersion());
+				writer.endObject();
+			}
+			writer.endArray();
+
+			writer.name("versions");
+			writeStrings(writer, versioning.getVersions());
+			writer.endObject();
+		}
+		writer.endObject();
+	}
+
+	/**
+	 * Reads repository metadata.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The repository metadata or null if it is absent.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	static Metadata readMetadata(final JsonStreamReader reader) throws IOException {
+		if (reader.nextNullIfPresent()) {
+			return null;
+		}
+
+		final Metadata metadata = new Metadata();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "artifactId":
+					metadata.setArtifactId(reader.nextString());
+					break;
+				case "groupId":
+					metadata.setGroupId(reader.nextString());
+					break;
+				case "modelEncoding":
+					final String modelEncoding = reader.nextString();
+					if (modelEncoding != null) {
+						metadata.setModelEncoding(modelEncoding);
+					}
+					break;
+				case "modelVersion":
+					metadata.setModelVersion(reader.nextString());
+					break;
+				case "plugins":
+					if (!reader.nextNullIfPresent()) {
+						reader.beginArray();
+						while (reader.hasNext()) {
+							metadata.addPlugin(readPlugin(reader));
+						}
+						reader.endArray();
+					}
+					break;
+				case "version":
+					metadata.setVersion(reader.nextString());
+					break;
+				case "versioning":
+					metadata.setVersioning(readVersioning(reader));
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return metadata;
+	}
+
+	/**
+	 * Reads the versioning of repository metadata.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The versioning or null if it is absent.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static Versioning readVersioning(final JsonStreamReader reader) throws IOException {
+		if (reader.nextNullIfPresent()) {
+			return null;
+		}
+
+		final Versioning versioning = new Versioning();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "lastUpdated":
+					versioning.setLastUpdated(reader.nextString());
+					break;
+				case "latest":
+					versioning.setLatest(reader.nextString());
+					break;
+				case "release":
+					versioning.setRelease(reader.nextString());
+					break;
+				case "snapshot":
+					versioning.setSnapshot(readSnapshot(reader));
+					break;
+				case "snapshotVersions":
+					if (!reader.nextNullIfPresent()) {
+						reader.beginArray();
+						while (reader.hasNext()) {
+							versioning.addSnapshotVersion(readSnapshotVersion(reader));
+						}
+						reader.endArray();
+					}
+					break;
+				case "versions":
+					versioning.setVersions(readStrings(reader));
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return versioning;
+	}
+
+	/**
+	 * Reads the snapshot information of repository metadata.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The snapshot information or null if it is absent.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static Snapshot readSnapshot(final JsonStreamReader reader) throws IOException {
+		if (reader.nextNullIfPresent()) {
+			return null;
+		}
+
+		final Snapshot snapshot = new Snapshot();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "buildNumber":
+					snapshot.setBuildNumber(reader.nextInt());
+					break;
+				case "localCopy":
+					snapshot.setLocalCopy(reader.nextBoolean());
+					break;
+				case "timestamp":
+					snapshot.setTimestamp(reader.nextString());
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return snapshot;
+	}
+
+	/**
+	 * Reads a snapshot version of repository metadata.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The snapshot version.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static SnapshotVersion readSnapshotVersion(final JsonStreamReader reader) throws IOException {
+		final SnapshotVersion snapshotVersion = new SnapshotVersion();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "classifier":
+					snapshotVersion.setClassifier(reader.nextString());
+					break;
+				case "extension":
+					snapshotVersion.setExtension(reader.nextString());
+					break;
+				case "updated":
+					snapshotVersion.setUpdated(reader.nextString());
+					break;
+				case "version":
+					snapshotVersion.setVersion(reader.nextString());
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return snapshotVersion;
+	}
+
+	/**
+	 * Reads a plugin mapping of group-level repository metadata.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The plugin mapping.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static Plugin readPlugin(final JsonStreamReader reader) throws IOException {
+		final Plugin plugin = new Plugin();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "artifactId":
+					plugin.setArtifactId(reader.nextString());
+					break;
+				case "name":
+					plugin.setName(reader.nextString());
+					break;
+				case "prefix":
+					plugin.setPrefix(reader.nextString());
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return plugin;
+	}
+
+	/**
+	 * Writes a list of strings.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param values The strings.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeStrings(final JsonStreamWriter writer, final List<String> values) throws IOException {
+		writer.beginArray();
+		for (final String value : values) {
+			writer.value(value);
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Reads a list of strings.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The strings, which are empty if the list is absent.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static List<String> readStrings(final JsonStreamReader reader) throws IOException {
+		final List<String> values = new ArrayList<>();
+		if (reader.nextNullIfPresent()) {
+			return values;
+		}
+
+		reader.beginArray();
+		while (reader.hasNext()) {
+			values.add(reader.nextString());
+		}
+		reader.endArray();
+
+		return values;
+	}
+
+	/**
+	 * The references of a Maven artifact to its repository metadata, which are resolved once the repository metadata is accessed.
+	 */
+	private static final class MetadataReferences implements IRepositoryMetadataLoader {
+
+		/**
+		 * The table of repository metadata, which contains the referenced repository metadata.
+		 */
+		private final MetadataTable metadataTable;
+
+		/**
+		 * The ID of the Maven artifact-level repository metadata or null if there is none.
+		 */
+		private final String artifactRepositoryMetadataId;
+
+		/**
+		 * The ID of the module-group-level repository metadata or null if there is none.
+		 */
+		private final String groupRepositoryMetadataId;
+
+		/**
+		 * The ID of the snapshot-specific repository metadata or null if there is none.
+		 */
+		private final String snapshotRepositoryMetadataId;
+
+		/**
+		 * Constructs a new instance.
+		 *
+		 * @param metadataTable The table of repository metadata, which contains the referenced repository metadata.
+		 * @param artifactRepositoryMetadataId The ID of the Maven artifact-level repository metadata or null if there is none.
+		 * @param groupRepositoryMetadataId The ID of the module-group-level repository metadata or null if there is none.
+		 * @param snapshotRepositoryMetadataId The ID of the snapshot-specific repository metadata or null if there is none.
+		 */
+		MetadataReferences(
+			final MetadataTable metadataTable, final String artifactRepositoryMetadataId, final String groupRepositoryMetadataId,
+			final String snapshotRepositoryMetadataId
+		) {
+			this.metadataTable = metadataTable;
+			this.artifactRepositoryMetadataId = artifactRepositoryMetadataId;
+			this.groupRepositoryMetadataId = groupRepositoryMetadataId;
+			this.snapshotRepositoryMetadataId = snapshotRepositoryMetadataId;
+		}
+
+		@Override
+		public void load(final MavenArtifactState artifactState) throws IOException {
+			if (artifactRepositoryMetadataId != null) {
+				artifactState.setArtifactRepositoryMetadata(metadataTable.resolve(artifactRepositoryMetadataId));
+			}
+			if (groupRepositoryMetadataId != null) {
+				artifactState.setGroupRepositoryMetadata(metadataTable.resolve(groupRepositoryMetadataId));
+			}
+			if (snapshotRepositoryMetadataId != null) {
+				artifactState.setSnapshotRepositoryMetadata(metadataTable.resolve(snapshotRepositoryMetadataId));
+			}
+		}
+
+	}
+
+	/**
+	 * The decoded state of a Maven module, which is not bound to a Maven project instance yet.
+	 */
+	static final class ProjectStateRecord {
+
+		/**
+		 * The full ID of the Maven module in the format [groupId]:[artifactId]:[packaging]:[version].
+		 */
+		private final String projectId;
+
+		/**
+		 * The POM of the Maven module as Maven artifact.
+		 */
+		private final Artifact pom;
+
+		/**
+		 * The state of the main artifact of the Maven module.
+		 */
+		private final MavenArtifactState mainArtifactState;
+
+		/**
+		 * The states of the attached artifacts of the Maven module in their canonical order.
+		 */
+		private final Set<MavenArtifactState> attachedArtifactStates;
+
+		/**
+		 * The fingerprint of the inputs of the Maven module or null if it is unknown.
+		 */
+		private final String inputFingerprint;
+
+		/**
+		 * Constructs a new instance.
+		 *
+		 * @param projectId The full ID of the Maven module.
+		 * @param pom The POM of the Maven module as Maven artifact.
+		 * @param mainArtifactState The state of the main artifact of the Maven module.
+		 * @param attachedArtifactStates The states of the attached artifacts of the Maven module.
+		 * @param inputFingerprint The fingerprint of the inputs of the Maven module or null if it is unknown.
+		 */
+		ProjectStateRecord(
+			final String projectId, final Artifact pom, final MavenArtifactState mainArtifactState, final Set<MavenArtifactState> attachedArtifactStates,
+			final String inputFingerprint
+		) {
+			this.projectId = projectId;
+			this.pom = pom;
+			this.mainArtifactState = mainArtifactState;
+			this.attachedArtifactStates = MavenProjectState.sortByCoordinates(attachedArtifactStates);
+			this.inputFingerprint = inputFingerprint;
+		}
+
+		/**
+		 * Captures the state of a Maven module.
+		 *
+		 * @param projectState The state of the Maven module.
+		 * @return The captured state.
+		 */
+		static ProjectStateRecord of(final MavenProjectState projectState) {
+			return new ProjectStateRecord(
+				projectState.getProject().getId(), projectState.getPom(), projectState.getMainArtifactState(),
+				MavenProjectState.sortByCoordinates(projectState.getAttachedArtifactStates()), projectState.getInputFingerprint()
+			);
+		}
+
+		/**
+		 * Binds the state to a Maven module.
+		 *
+		 * @param project The Maven module.
+		 * @return The state of the Maven module.
+		 */
+		MavenProjectState toProjectState(final MavenProject project) {
+			final MavenProjectState projectState = new MavenProjectState(project, pom, mainArtifactState, attachedArtifactStates);
+			projectState.setInputFingerprint(inputFingerprint);
+
+			return projectState;
+		}
+
+		/**
+		 * @return The full ID of the Maven module in the format [groupId]:[artifactId]:[packaging]:[version].
+		 */
+		String getProjectId() {
+			return projectId;
+		}
+
+		/**
+		 * @return The POM of the Maven module as Maven artifact.
+		 */
+		Artifact getPom() {
+			return pom;
+		}
+
+		/**
+		 * @return The state of the main artifact of the Maven module.
+		 */
+		MavenArtifactState getMainArtifactState() {
+			return mainArtifactState;
+		}
+
+		/**
+		 * @return The states of the attached artifacts of the Maven module.
+		 */
+		Set<MavenArtifactState> getAttachedArtifactStates() {
+			return attachedArtifactStates;
+		}
+
+		/**
+		 * @return The fingerprint of the inputs of the Maven module or null if it is unknown.
+		 */
+		String getInputFingerprint() {
+			return inputFingerprint;
+		}
+
+	}
+
+}
@@ -0,0 +1,523 @@
+package de.syquel.maven.reactorstate.common.persistence.json.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A minimal streaming reader for JSON documents, which reads values on demand without building an intermediate object graph.
+ *
+ * The reader is a pull parser: The caller navigates the document by consuming the expected tokens and skips unknown properties via
+ * {@link #skipValue()}.
+ */
+public final class JsonStreamReader implements Closeable {
+
+	/**
+	 * The size of the read buffer in characters.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * The underlying character stream.
+	 */
+	private final Reader in;
+
+	/**
+	 * The read buffer.
+	 */
+	private final char[] buffer = new char[BUFFER_SIZE];
+
+	/**
+	 * The position of the next character within the read buffer.
+	 */
+	private int position;
+
+	/**
+	 * The number of valid characters within the read buffer.
+	 */
+	private int limit;
+
+	/**
+	 * The number of characters consumed before the current read buffer, for error messages.
+	 */
+	private long consumed;
+
+	/**
+	 * The reusable builder for string values.
+	 */
+	private final StringBuilder stringBuilder = new StringBuilder();
+
+	/**
+	 * The builder for the verbatim text of the value, which is currently captured, or null if no value is captured.
+	 */
+	private StringBuilder capture;
+
+	/**
+	 * The position within the read buffer, which the captured text has not been copied from yet.
+	 */
+	private int captureStart;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param in The underlying character stream.
+	 */
+	public JsonStreamReader(final Reader in) {
+		this.in = in;
+	}
+
+	/**
+	 * Determines the type of the next token.
+	 *
+	 * @return The type of the next token.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	public JsonToken peek() throws IOException {
+		final int c = peekNonWhitespace();
+		switch (c) {
+			case -1:
+				return JsonToken.END_DOCUMENT;
+			case '{':
+				return JsonToken.BEGIN_OBJECT;
+			case '}':
+				return JsonToken.END_OBJECT;
+			case '[':
+				return JsonToken.BEGIN_ARRAY;
+			case ']':
+				return JsonToken.END_ARRAY;
+			case '"':
+				return JsonToken.STRING;
+			case 't':
+			case 'f':
+				return JsonToken.BOOLEAN;
+			case 'n':
+				return JsonToken.NULL;
+			default:
+				if (c == '-' || (c >= '0' && c <= '9')) {
+					return JsonToken.NUMBER;
+				}
+
+				throw syntaxError("Unexpected character '" + (char) c + "'");
+		}
+	}
+
+	/**
+	 * Consumes the beginning of a JSON object.
+	 *
+	 * @throws IOException if the next token is not the beginning of a JSON object or an error occurred while reading.
+	 */
+	public void beginObject() throws IOException {
+		expect('{');
+	}
+
+	/**
+	 * Consumes the end of a JSON object.
+	 *
+	 * @throws IOException if the next token is not the end of a JSON object or an error occurred while reading.
+	 */
+	public void endObject() throws IOException {
+		expect('}');
+	}
+
+	/**
+	 * Consumes the beginning of a JSON array.
+	 *
+	 * @throws IOException if the next token is not the beginning of a JSON array or an error occurred while reading.
+	 */
+	public void beginArray() throws IOException {
+		expect('[');
+	}
+
+	/**
+	 * Consumes the end of a JSON array.
+	 *
+	 * @throws IOException if the next token is not the end of a JSON array or an error occurred while reading.
+	 */
+	public void endArray() throws IOException {
+		expect(']');
+	}
+
+	/**
+	 * Determines whether the current JSON object or array has another property or element and consumes its separator.
+	 *
+	 * @return Whether there is another property or element.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	public boolean hasNext() throws IOException {
+		int c = peekNonWhitespace();
+		if (c == ',') {
+			position++;
+			c = peekNonWhitespace();
+		}
+
+		return c != '}' && c != ']' && c != -1;
+	}
+
+	/**
+	 * Consumes the name of the next property of the current JSON object.
+	 *
+	 * @return The name of the property.
+	 * @throws IOException if the next token is not a property name or an error occurred while reading.
+	 */
+	public String nextName() throws IOException {
+		if (peekNonWhitespace() != '"') {
+			throw syntaxError("Expected property name");
+		}
+
+		final String name = readString();
+		expect(':');
+		return name;
+	}
+
+	/**
+	 * Consumes a string value.
+	 *
+	 * @return The string value or null if the value is null.
+	 * @throws IOException if the next token is not a string or null or an error occurred while reading.
+	 */
+	public String nextString() throws IOException {
+		switch (peek()) {
+			case STRING:
+				return readString();
+			case NULL:
+				readLiteral("null");
+				return null;
+			case NUMBER:
+				return readNumber();
+			case BOOLEAN:
+				return Boolean.toString(nextBoolean());
+			default:
+				throw syntaxError("Expected string value");
+		}
+	}
+
+	/**
+	 * Consumes a numeric value.
+	 *
+	 * @return The numeric value.
+	 * @throws IOException if the next token is not an integral number or an error occurred while reading.
+	 */
+	public long nextLong() throws IOException {
+		final JsonToken token = peek();
+		final String number = (token == JsonToken.STRING) ? readString() : (token == JsonToken.NUMBER) ? readNumber() : null;
+		if (number == null) {
+			throw syntaxError("Expected numeric value");
+		}
+
+		try {
+			return Long.parseLong(number);
+		} catch (final NumberFormatException e) {
+			throw syntaxError("Invalid integral number " + number);
+		}
+	}
+
+	/**
+	 * Consumes a numeric value.
+	 *
+	 * @return The numeric value.
+	 * @throws IOException if the next token is not an integral number within the range of an integer or an error occurred while reading.
+	 */
+	public int nextInt() throws IOException {
+		final long value = nextLong();
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw syntaxError("Integral number " + value + " exceeds the range of an integer");
+		}
+
+		return (int) value;
+	}
+
+	/**
+	 * Consumes a boolean value.
+	 *
+	 * @return The boolean value.
+	 * @throws IOException if the next token is not a boolean or an error occurred while reading.
+	 */
+	public boolean nextBoolean() throws IOException {
+		final int c = peekNonWhitespace();
+		if (c == 't') {
+			readLiteral("true");
+			return true;
+		} else if (c == 'f') {
+			readLiteral("false");
+			return false;
+		}
+
+		throw syntaxError("Expected boolean value");
+	}
+
+	/**
+	 * Consumes a null value if present.
+	 *
+	 * @return Whether a null value has been consumed.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	public boolean nextNullIfPresent() throws IOException {
+		if (peek() != JsonToken.NULL) {
+			return false;
+		}
+
+		readLiteral("null");
+		return true;
+	}
+
+	/**
+	 * Skips the next value including all nested values.
+	 *
+	 * @throws IOException if an error occurred while reading.
+	 */
+	public void skipValue() throws IOException {
+		switch (peek()) {
+			case BEGIN_OBJECT:
+				beginObject();
+				while (hasNext()) {
+					nextName();
+					skipValue();
+				}
+				endObject();
+				break;
+			case BEGIN_ARRAY:
+				beginArray();
+				while (hasNext()) {
+					skipValue();
+				}
+				endArray();
+				break;
+			case STRING:
+			case NUMBER:
+			case BOOLEAN:
+			case NULL:
+				nextString();
+				break;
+			default:
+				throw syntaxError("Expected value");
+		}
+	}
+
+	/**
+	 * Consumes the next value including all nested values and returns its verbatim JSON text, so it can be parsed later on.
+	 *
+	 * @return The JSON text of the value.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	public String nextRawValue() throws IOException {
+		peekNonWhitespace();
+		capture = new StringBuilder();
+		captureStart = position;
+		try {
+			skipValue();
+			capture.append(buffer, captureStart, position - captureStart);
+
+			return capture.toString();
+		} finally {
+			capture = null;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Consumes an expected structural character.
+	 *
+	 * @param expected The expected character.
+	 * @throws IOException if the next character is not the expected one or an error occurred while reading.
+	 */
+	private void expect(final char expected) throws IOException {
+		if (peekNonWhitespace() != expected) {
+			throw syntaxError("Expected '" + expected + "'");
+		}
+
+		position++;
+	}
+
+	/**
+	 * Consumes an expected literal.
+	 *
+	 * @param literal The expected literal.
+	 * @throws IOException if the next characters are not the expected literal or an error occurred while reading.
+	 */
+	private void readLiteral(final String literal) throws IOException {
+		for (int i = 0; i < literal.length(); i++) {
+			if (read() != literal.charAt(i)) {
+				throw syntaxError("Expected literal " + literal);
+			}
+		}
+	}
+
+	/**
+	 * Consumes a number.
+	 *
+	 * @return The textual representation of the number.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private String readNumber() throws IOException {
+		stringBuilder.setLength(0);
+		for (int c = peekChar(); c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9'); c = peekChar()) {
+			stringBuilder.append((char) c);
+			position++;
+		}
+
+		return stringBuilder.toString();
+	}
+
+	/**
+	 * Consumes a quoted string and resolves its escape sequences.
+	 *
+	 * @return The string.
+	 * @throws IOException if the string is malformed or an error occurred while reading.
+	 */
+	private String readString() throws IOException {
+		expect('"');
+		stringBuilder.setLength(0);
+
+		while (true) {
+			if (position == limit && !fill()) {
+				throw syntaxError("Unterminated string");
+			}
+
+			// Copy unescaped runs at once
+			final int start = position;
+			while (position < limit && buffer[position] != '"' && buffer[position] != '\\') {
+				position++;
+			}
+			stringBuilder.append(buffer, start, position - start);
+
+			if (position == limit) {
+				continue;
+			}
+
+			final char c = buffer[position++];
+			if (c == '"') {
+				return stringBuilder.toString();
+			}
+
+			stringBuilder.append(readEscapeSequence());
+		}
+	}
+
+	/**
+	 * Consumes the remainder of an escape sequence after the backslash.
+	 *
+	 * @return The escaped character.
+	 * @throws IOException if the escape sequence is malformed or an error occurred while reading.
+	 */
+	private char readEscapeSequence() throws IOException {
+		final int c = read();
+		switch (c) {
+			case '"':
+			case '\\':
+			case '/':
+				return (char) c;
+			case 'b':
+				return '\b';
+			case 'f':
+				return '\f';
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 't':
+				return '\t';
+			case 'u':
+				int codeUnit = 0;
+				for (int i = 0; i < 4; i++) {
+					final int digit = Character.digit(read(), 16);
+					if (digit < 0) {
+						throw syntaxError("Malformed unicode escape sequence");
+					}
+					codeUnit = (codeUnit << 4) | digit;
+				}
+				return (char) codeUnit;
+			default:
+				throw syntaxError("Malformed escape sequence");
+		}
+	}
+
+	/**
+	 * Skips whitespace and determines the next character without consuming it.
+	 *
+	 * @return The next non-whitespace character or -1 at the end of the stream.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private int peekNonWhitespace() throws IOException {
+		while (true) {
+			final int c = peekChar();
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+				return c;
+			}
+			position++;
+		}
+	}
+
+	/**
+	 * Determines the next character without consuming it.
+	 *
+	 * @return The next character or -1 at the end of the stream.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private int peekChar() throws IOException {
+		if (position == limit && !fill()) {
+			return -1;
+		}
+
+		return buffer[position];
+	}
+
+	/**
+	 * Consumes the next character.
+	 *
+	 * @return The next character or -1 at the end of the stream.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private int read() throws IOException {
+		final int c = peekChar();
+		if (c != -1) {
+			position++;
+		}
+
+		return c;
+	}
+
+	/**
+	 * Refills the read buffer once it has been consumed.
+	 *
+	 * @return Whether there are more characters.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private boolean fill() throws IOException {
+		if (capture != null) {
+			// Preserve the captured text before the read buffer is overwritten
+			capture.append(buffer, captureStart, limit - captureStart);
+			captureStart = 0;
+		}
+
+		consumed += limit;
+		position = 0;
+		limit = 0;
+
+		int count;
+		do {
+			count = in.read(buffer, 0, buffer.length);
+		} while (count == 0);
+
+		if (count < 0) {
+			return false;
+		}
+
+		limit = count;
+		return true;
+	}
+
+	/**
+	 * Builds an exception for a malformed JSON document.
+	 *
+	 * @param message The description of the syntax error.
+	 * @return The exception.
+	 */
+	private IOException syntaxError(final String message) {
+		return new IOException(message + " at character " + (consumed + position) + " of JSON document");
+	}
+
+}
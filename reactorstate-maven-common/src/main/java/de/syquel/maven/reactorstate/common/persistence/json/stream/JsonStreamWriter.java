@@ -0,0 +1,349 @@
+package de.syquel.maven.reactorstate.common.persistence.json.stream;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A minimal streaming writer for JSON documents, which writes values as they are passed without building an intermediate object graph.
+ *
+ * The output is either compact or pretty-printed in the same layout as the previously used object mapper, so that existing state files keep their
+ * appearance.
+ */
+public final class JsonStreamWriter implements Closeable, Flushable {
+
+	/**
+	 * The indentation per nesting level of pretty-printed objects.
+	 */
+	private static final String INDENTATION = "  ";
+
+	/**
+	 * The hexadecimal digits for unicode escape sequences.
+	 */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The underlying character stream.
+	 */
+	private final Writer out;
+
+	/**
+	 * Whether to pretty-print the JSON document.
+	 */
+	private final boolean prettyPrint;
+
+	/**
+	 * The currently open JSON objects and arrays.
+	 */
+	private final Deque<Scope> scopes = new ArrayDeque<>();
+
+	/**
+	 * Whether a property name has been written, whose value is pending.
+	 */
+	private boolean pendingValue;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param out The underlying character stream.
+	 * @param prettyPrint Whether to pretty-print the JSON document.
+	 */
+	public JsonStreamWriter(final Writer out, final boolean prettyPrint) {
+		this.out = out;
+		this.prettyPrint = prettyPrint;
+	}
+
+	/**
+	 * Begins a JSON object.
+	 *
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter beginObject() throws IOException {
+		beforeValue();
+		out.write('{');
+		scopes.push(new Scope(true));
+		return this;
+	}
+
+	/**
+	 * Ends the current JSON object.
+	 *
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter endObject() throws IOException {
+		final Scope scope = scopes.pop();
+		if (!scope.object || pendingValue) {
+			throw new IllegalStateException("Not within a JSON object");
+		}
+
+		if (prettyPrint) {
+			if (scope.empty) {
+				out.write(' ');
+			} else {
+				newLine();
+			}
+		}
+		out.write('}');
+		return this;
+	}
+
+	/**
+	 * Begins a JSON array.
+	 *
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter beginArray() throws IOException {
+		beforeValue();
+		out.write('[');
+		scopes.push(new Scope(false));
+		return this;
+	}
+
+	/**
+	 * Ends the current JSON array.
+	 *
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter endArray() throws IOException {
+		final Scope scope = scopes.pop();
+		if (scope.object) {
+			throw new IllegalStateException("Not within a JSON array");
+		}
+
+		if (prettyPrint) {
+			out.write(' ');
+		}
+		out.write(']');
+		return this;
+	}
+
+	/**
+	 * Writes the name of a property of the current JSON object.
+	 *
+	 * @param name The name of the property.
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter name(final String name) throws IOException {
+		final Scope scope = scopes.peek();
+		if (scope == null || !scope.object || pendingValue) {
+			throw new IllegalStateException("Not within a JSON object");
+		}
+
+		if (!scope.empty) {
+			out.write(',');
+		}
+		scope.empty = false;
+
+		if (prettyPrint) {
+			newLine();
+		}
+		writeString(name);
+		out.write(prettyPrint ? " : " : ":");
+
+		pendingValue = true;
+		return this;
+	}
+
+	/**
+	 * Writes a string value.
+	 *
+	 * @param value The string value or null.
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter value(final String value) throws IOException {
+		if (value == null) {
+			return nullValue();
+		}
+
+		beforeValue();
+		writeString(value);
+		return this;
+	}
+
+	/**
+	 * Writes a numeric value.
+	 *
+	 * @param value The numeric value.
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter value(final long value) throws IOException {
+		beforeValue();
+		out.write(Long.toString(value));
+		return this;
+	}
+
+	/**
+	 * Writes a boolean value.
+	 *
+	 * @param value The boolean value.
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter value(final boolean value) throws IOException {
+		beforeValue();
+		out.write(value ? "true" : "false");
+		return this;
+	}
+
+	/**
+	 * Writes a null value.
+	 *
+	 * @return This writer.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public JsonStreamWriter nullValue() throws IOException {
+		beforeValue();
+		out.write("null");
+		return this;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	/**
+	 * Writes the separator in front of a value.
+	 *
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void beforeValue() throws IOException {
+		if (pendingValue) {
+			pendingValue = false;
+			return;
+		}
+
+		final Scope scope = scopes.peek();
+		if (scope == null) {
+			return;
+		}
+
+		if (scope.object) {
+			throw new IllegalStateException("Missing name of JSON property");
+		}
+
+		if (!scope.empty) {
+			out.write(',');
+		}
+		if (prettyPrint) {
+			out.write(' ');
+		}
+		scope.empty = false;
+	}
+
+	/**
+	 * Writes a line break and the indentation of the current nesting level.
+	 *
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void newLine() throws IOException {
+		out.write('\n');
+		for (int i = 0; i < countObjectScopes(); i++) {
+			out.write(INDENTATION);
+		}
+	}
+
+	/**
+	 * @return The number of currently open JSON objects, which determine the indentation.
+	 */
+	private int countObjectScopes() {
+		int objectScopes = 0;
+		for (final Scope scope : scopes) {
+			if (scope.object) {
+				objectScopes++;
+			}
+		}
+
+		return objectScopes;
+	}
+
+	/**
+	 * Writes a quoted and escaped string.
+	 *
+	 * @param value The string to write.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private void writeString(final String value) throws IOException {
+		out.write('"');
+
+		int start = 0;
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+
+			out.write(value, start, i - start);
+			start = i + 1;
+
+			switch (c) {
+				case '"':
+					out.write("\\\"");
+					break;
+				case '\\':
+					out.write("\\\\");
+					break;
+				case '\n':
+					out.write("\\n");
+					break;
+				case '\r':
+					out.write("\\r");
+					break;
+				case '\t':
+					out.write("\\t");
+					break;
+				default:
+					out.write("\\u00");
+					out.write(HEX_DIGITS[c >> 4]);
+					out.write(HEX_DIGITS[c & 0xf]);
+					break;
+			}
+		}
+		out.write(value, start, length - start);
+
+		out.write('"');
+	}
+
+	/**
+	 * An open JSON object or array.
+	 */
+	private static final class Scope {
+
+		/**
+		 * Whether the scope is a JSON object or a JSON array.
+		 */
+		private final boolean object;
+
+		/**
+		 * Whether no property or element has been written yet.
+		 */
+		private boolean empty = true;
+
+		/**
+		 * Constructs a new instance.
+		 *
+		 * @param object Whether the scope is a JSON object or a JSON array.
+		 */
+		Scope(final boolean object) {
+			this.object = object;
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+package de.syquel.maven.reactorstate.common.persistence.json.stream;
+
+/**
+ * The types of tokens of a JSON document.
+ */
+public enum JsonToken {
+
+	/**
+	 * The beginning of a JSON object.
+	 */
+	BEGIN_OBJECT,
+
+	/**
+	 * The end of a JSON object.
+	 */
+	END_OBJECT,
+
+	/**
+	 * The beginning of a JSON array.
+	 */
+	BEGIN_ARRAY,
+
+	/**
+	 * The end of a JSON array.
+	 */
+	END_ARRAY,
+
+	/**
+	 * A string value or property name.
+	 */
+	STRING,
+
+	/**
+	 * A numeric value.
+	 */
+	NUMBER,
+
+	/**
+	 * A boolean value.
+	 */
+	BOOLEAN,
+
+	/**
+	 * A null value.
+	 */
+	NULL,
+
+	/**
+	 * The end of the JSON document.
+	 */
+	END_DOCUMENT
+
+}
@@ -0,0 +1,163 @@
+package de.syquel.maven.reactorstate.common.util;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+/**
+ * Utility class for the version-agnostic keys of Maven artifacts, which are hashed and compared field by field instead of concatenating them.
+ *
+ * The hash of a Maven artifact is the 64-bit FNV-1a hash of the UTF-8 representation of its version-agnostic ID as built by
+ * {@link ArtifactIdUtils#toVersionlessId(Artifact)}, so it is compatible with hashes of persisted version-agnostic IDs. The fields are encoded to UTF-8
+ * while hashing them, so neither the version-agnostic ID nor its UTF-8 representation is built.
+ */
+public final class ArtifactKeyUtils {
+
+	/**
+	 * The offset basis of the 64-bit FNV-1a hash.
+	 */
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	/**
+	 * The prime of the 64-bit FNV-1a hash.
+	 */
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/**
+	 * The separator of the fields of a version-agnostic ID.
+	 */
+	private static final char SEPARATOR = ':';
+
+	private ArtifactKeyUtils() {}
+
+	/**
+	 * Computes the 64-bit FNV-1a hash of the UTF-8 representation of a version-agnostic artifact ID.
+	 *
+	 * @param key The UTF-8 representation of the version-agnostic artifact ID.
+	 * @return The hash of the version-agnostic artifact ID.
+	 */
+	public static long hash(final byte[] key) {
+		long hash = FNV_OFFSET_BASIS;
+		for (final byte b : key) {
+			hash ^= (b & 0xff);
+			hash *= FNV_PRIME;
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Computes the hash of the version-agnostic ID of a Maven artifact without building the version-agnostic ID.
+	 *
+	 * @param artifact The Maven artifact.
+	 * @return The hash of the version-agnostic ID, which equals {@link #hash(byte[])} of its UTF-8 representation.
+	 */
+	public static long hash(final Artifact artifact) {
+		long hash = FNV_OFFSET_BASIS;
+		hash = update(hash, artifact.getGroupId());
+		hash = update(hash, SEPARATOR);
+		hash = update(hash, artifact.getArtifactId());
+		hash = update(hash, SEPARATOR);
+		hash = update(hash, artifact.getExtension());
+
+		final String classifier = artifact.getClassifier();
+		if (!classifier.isEmpty()) {
+			hash = update(hash, SEPARATOR);
+			hash = update(hash, classifier);
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Computes the hash of the version-agnostic key of a Maven module without building the key.
+	 *
+	 * @param groupId The group ID of the Maven module.
+	 * @param artifactId The artifact ID of the Maven module.
+	 * @return The hash of the version-agnostic key {@code groupId:artifactId}.
+	 */
+	public static long hash(final String groupId, final String artifactId) {
+		return update(update(update(FNV_OFFSET_BASIS, groupId), SEPARATOR), artifactId);
+	}
+
+	/**
+	 * Determines whether two Maven artifacts have the same version-agnostic ID.
+	 *
+	 * @param artifact The first Maven artifact.
+	 * @param otherArtifact The second Maven artifact.
+	 * @return Whether the group IDs, artifact IDs, extensions and classifiers of both Maven artifacts are equal.
+	 */
+	public static boolean equalsVersionlessId(final Artifact artifact, final Artifact otherArtifact) {
+		return artifact.getArtifactId().equals(otherArtifact.getArtifactId())
+			&& artifact.getGroupId().equals(otherArtifact.getGroupId())
+			&& artifact.getExtension().equals(otherArtifact.getExtension())
+			&& artifact.getClassifier().equals(otherArtifact.getClassifier());
+	}
+
+	/**
+	 * Determines whether the version-agnostic ID of a Maven artifact consists of ASCII characters only, so every character is a single UTF-8 byte.
+	 *
+	 * @param artifact The Maven artifact.
+	 * @return Whether the version-agnostic ID consists of ASCII characters only.
+	 */
+	public static boolean isAscii(final Artifact artifact) {
+		return isAscii(artifact.getGroupId()) && isAscii(artifact.getArtifactId()) && isAscii(artifact.getExtension())
+			&& isAscii(artifact.getClassifier());
+	}
+
+	/**
+	 * @param value The string to check.
+	 * @return Whether the string consists of ASCII characters only.
+	 */
+	private static boolean isAscii(final String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Updates a hash with the UTF-8 representation of a string, which is encoded on the fly.
+	 *
+	 * Unpaired surrogates are encoded as {@code '?'} just like {@link String#getBytes(java.nio.charset.Charset)} does.
+	 *
+	 * @param hash The hash to update.
+	 * @param value The string.
+	 * @return The updated hash.
+	 */
+	private static long update(final long hash, final String value) {
+		long updatedHash = hash;
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c < 0x80) {
+				updatedHash = update(updatedHash, c);
+			} else if (c < 0x800) {
+				updatedHash = update(update(updatedHash, 0xc0 | (c >>> 6)), 0x80 | (c & 0x3f));
+			} else if (!Character.isSurrogate(c)) {
+				updatedHash = update(update(update(updatedHash, 0xe0 | (c >>> 12)), 0x80 | ((c >>> 6) & 0x3f)), 0x80 | (c & 0x3f));
+			} else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+				final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				updatedHash = update(update(updatedHash, 0xf0 | (codePoint >>> 18)), 0x80 | ((codePoint >>> 12) & 0x3f));
+				updatedHash = update(update(updatedHash, 0x80 | ((codePoint >>> 6) & 0x3f)), 0x80 | (codePoint & 0x3f));
+			} else {
+				updatedHash = update(updatedHash, '?');
+			}
+		}
+
+		return updatedHash;
+	}
+
+	/**
+	 * Updates a hash with a single byte of a UTF-8 representation.
+	 *
+	 * @param hash The hash to update.
+	 * @param value The unsigned byte.
+	 * @return The updated hash.
+	 */
+	private static long update(final long hash, final int value) {
+		return (hash ^ value) * FNV_PRIME;
+	}
+
+}
@@ -0,0 +1,113 @@
+package de.syquel.maven.reactorstate.common.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import de.syquel.maven.reactorstate.common.hash.FileHashingService;
+import de.syquel.maven.reactorstate.common.hash.HashAlgorithm;
+
+/**
+ * Utility class for content digests.
+ */
+public final class DigestUtils {
+
+	/**
+	 * The digest algorithm, which is guaranteed to be available on every Java platform.
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/**
+	 * The hexadecimal digits for the string representation of digests.
+	 */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The service, which computes SHA-256 digests of single files.
+	 */
+	private static final FileHashingService SHA256_FILE_HASHING_SERVICE = new FileHashingService(HashAlgorithm.SHA256, 1);
+
+	/**
+	 * The service, which computes CRC-32 checksums of single files.
+	 */
+	private static final FileHashingService CRC32_FILE_HASHING_SERVICE = new FileHashingService(HashAlgorithm.CRC32, 1);
+
+	private DigestUtils() {}
+
+	/**
+	 * Computes the SHA-256 digest of a byte array.
+	 *
+	 * @param content The content to compute the digest for.
+	 * @return The hexadecimal representation of the digest.
+	 */
+	public static String sha256Hex(final byte[] content) {
+		final MessageDigest messageDigest = createMessageDigest();
+		return toHex(messageDigest.digest(content));
+	}
+
+	/**
+	 * Computes the SHA-256 digest of a file.
+	 *
+	 * @param path The file to compute the digest for.
+	 * @return The hexadecimal representation of the digest.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	public static String sha256Hex(final Path path) throws IOException {
+		return toHex(SHA256_FILE_HASHING_SERVICE.hash(path));
+	}
+
+	/**
+	 * Computes the CRC-32 checksum of a file, which is considerably cheaper than a cryptographic digest.
+	 *
+	 * @param path The file to compute the checksum for.
+	 * @return The checksum as unsigned 32-bit value.
+	 * @throws IOException if an error occurred while reading the file.
+	 */
+	public static long crc32(final Path path) throws IOException {
+		return toLong(CRC32_FILE_HASHING_SERVICE.hash(path));
+	}
+
+	/**
+	 * Converts a byte array into its hexadecimal representation.
+	 *
+	 * @param bytes The byte array to convert.
+	 * @return The hexadecimal representation of the byte array.
+	 */
+	public static String toHex(final byte[] bytes) {
+		final char[] hexChars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hexChars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			hexChars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+
+		return new String(hexChars);
+	}
+
+	/**
+	 * Converts a hash of at most 8 bytes in big-endian byte order into a value.
+	 *
+	 * @param bytes The bytes of the hash.
+	 * @return The hash as unsigned value.
+	 */
+	public static long toLong(final byte[] bytes) {
+		long value = 0;
+		for (final byte hashByte : bytes) {
+			value = (value << 8) | (hashByte & 0xFF);
+		}
+
+		return value;
+	}
+
+	/**
+	 * @return a new SHA-256 message digest.
+	 */
+	private static MessageDigest createMessageDigest() {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Digest algorithm " + DIGEST_ALGORITHM + " is not supported", e);
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+package de.syquel.maven.reactorstate.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class for reading the local Git repository of a Maven workspace.
+ *
+ * The Git command line client is invoked with read-only commands, which operate on the local repository only and never access the network.
+ */
+public final class GitUtils {
+
+	/**
+	 * The executable of the Git command line client.
+	 */
+	private static final String GIT_EXECUTABLE = "git";
+
+	private GitUtils() {}
+
+	/**
+	 * Reads the files, which have changed since a base revision.
+	 *
+	 * The changes are determined against the merge base of the base revision and the checked out revision, so changes on the base branch are not
+	 * included. Uncommitted and untracked files, which are not ignored, are included as well.
+	 *
+	 * @param directory A directory within the working tree of the Git repository.
+	 * @param baseRevision The base revision, e.g. the target branch of a merge request.
+	 * @return The absolute paths to the changed files including deleted ones.
+	 * @throws IOException if the Git repository cannot be read or the base revision is invalid or does not exist.
+	 */
+	public static Set<Path> readChangedPaths(final Path directory, final String baseRevision) throws IOException {
+		final String topLevelPath = runGit(directory, "rev-parse", "--show-cdup").trim();
+		final Path workingTreePath = directory.resolve(topLevelPath).normalize();
+
+		final String mergeBase = runGit(directory, "merge-base", resolveCommit(directory, baseRevision), "HEAD").trim();
+
+		final Set<Path> changedPaths = new LinkedHashSet<>();
+		addPaths(changedPaths, workingTreePath, runGit(workingTreePath, "diff", "--name-only", "--no-renames", "-z", mergeBase, "--"));
+		addPaths(changedPaths, workingTreePath, runGit(workingTreePath, "ls-files", "--others", "--exclude-standard", "-z"));
+
+		return changedPaths;
+	}
+
+	/**
+	 * Resolves a user-supplied revision to the ID of its commit, so it is never interpreted as an option of subsequent Git commands.
+	 *
+	 * @param directory A directory within the working tree of the Git repository.
+	 * @param revision The revision to resolve.
+	 * @return The full ID of the commit.
+	 * @throws IOException if the revision is an option, does not denote a commit or the Git repository cannot be read.
+	 */
+	private static String resolveCommit(final Path directory, final String revision) throws IOException {
+		if (revision.isEmpty() || revision.startsWith("-")) {
+			throw new IOException("Invalid Git revision '" + revision + "'");
+		}
+
+		return runGit(directory, "rev-parse", "--verify", "--quiet", revision + "^{commit}").trim();
+	}
+
+	/**
+	 * Adds the paths of a NUL-separated list of files relative to the working tree.
+	 *
+	 * @param paths The absolute paths to add to.
+	 * @param workingTreePath The top-level directory of the working tree.
+	 * @param output The NUL-separated list of files.
+	 */
+	private static void addPaths(final Set<Path> paths, final Path workingTreePath, final String output) {
+		for (final String relativePath : output.split("\0")) {
+			if (!relativePath.isEmpty()) {
+				paths.add(workingTreePath.resolve(relativePath));
+			}
+		}
+	}
+
+	/**
+	 * Runs a Git command and returns its output.
+	 *
+	 * @param directory The working directory of the Git command.
+	 * @param arguments The arguments of the Git command.
+	 * @return The standard output of the Git command.
+	 * @throws IOException if the Git command cannot be executed or fails.
+	 */
+	private static String runGit(final Path directory, final String... arguments) throws IOException {
+		final List<String> command = new ArrayList<>();
+		command.add(GIT_EXECUTABLE);
+		// Paths are printed verbatim instead of being quoted
+		command.add("-c");
+		command.add("core.quotePath=false");
+		command.addAll(Arrays.asList(arguments));
+
+		final ProcessBuilder processBuilder = new ProcessBuilder(command).directory(directory.toFile());
+		processBuilder.environment().put("GIT_TERMINAL_PROMPT", "0");
+		// Read-only commands must not refresh the index of a concurrently used working tree
+		processBuilder.environment().put("GIT_OPTIONAL_LOCKS", "0");
+		processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+		final Process process = processBuilder.start();
+		final String output;
+		final int exitCode;
+		try {
+			output = readFully(process.getInputStream());
+			exitCode = process.waitFor();
+		} catch (final InterruptedException e) {
+			process.destroy();
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while running " + command);
+		}
+
+		if (exitCode != 0) {
+			throw new IOException("Command " + command + " failed with exit code " + exitCode + " in " + directory);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Reads a stream completely as UTF-8 encoded text.
+	 *
+	 * @param inputStream The stream to read, which is closed afterwards.
+	 * @return The text.
+	 * @throws IOException if an error occurred while reading.
+	 */
+	private static String readFully(final InputStream inputStream) throws IOException {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		final byte[] buffer = new byte[8192];
+		try (final InputStream stream = inputStream) {
+			int readBytes;
+			while ((readBytes = stream.read(buffer)) != -1) {
+				content.write(buffer, 0, readBytes);
+			}
+		}
+
+		return new String(content.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -24,4 +24,29 @@ public final class MavenProjectUtils {
 		return projectBuildPath;
 	}
 
+	/**
+	 * Determines if a Maven module belongs to the current Maven workspace.
+	 *
+	 * @param project The Maven module to check.
+	 * @return Whether the Maven module belongs to the current Maven workspace.
+	 */
+	public static boolean isWorkspaceProject(final MavenProject project) {
+		return project.getBasedir() != null;
+	}
+
+	/**
+	 * Resolves the top-most Maven module of the workspace by following the parent modules of a Maven module as long as they belong to the workspace.
+	 *
+	 * @param project The Maven module to resolve the top-most Maven module for.
+	 * @return The top-most Maven module of the workspace.
+	 */
+	public static MavenProject resolveWorkspaceRootProject(final MavenProject project) {
+		MavenProject rootProject = project;
+		while (rootProject.getParent() != null && isWorkspaceProject(rootProject.getParent())) {
+			rootProject = rootProject.getParent();
+		}
+
+		return rootProject;
+	}
+
 }
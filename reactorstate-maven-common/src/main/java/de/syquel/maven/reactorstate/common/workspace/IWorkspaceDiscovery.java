@@ -0,0 +1,27 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingException;
+
+/**
+ * The discovery strategy for Maven modules within the workspace of a Maven project.
+ *
+ * The main use-case for this functionality is to be able to restore the state of other Maven modules, which are not being built in the current
+ * Maven execution, but belong to the same Maven workspace, to enable standalone builds of submodules.
+ */
+public interface IWorkspaceDiscovery {
+
+	/**
+	 * Discovers Maven modules within the workspace of a Maven module recursively.
+	 *
+	 * @param project The Maven module to search for parent and child modules.
+	 * @param knownProjects The already known Maven modules within the Maven workspace.
+	 * @return The known and discovered Maven modules within the Maven workspace.
+	 * @throws ProjectBuildingException if an invalid POM is encountered.
+	 */
+	Set<WorkspaceModule> discover(MavenProject project, Collection<MavenProject> knownProjects) throws ProjectBuildingException;
+
+}
@@ -0,0 +1,226 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * A discovery strategy, which answers the discovery of Maven modules from a persisted topology of the Maven workspace as long as no POM has changed.
+ *
+ * Otherwise the discovery is delegated and its result persisted for subsequent Maven executions.
+ * The persisted topology is located in the build directory of the top-most Maven module of the workspace.
+ *
+ * The persisted topology is only reused by Maven executions with the same explicitly activated and deactivated Maven profiles, user properties, JDK
+ * version, operating system and external parent POMs of the Maven modules of the Maven execution. System properties and environment variables are not
+ * considered, since they differ between most Maven executions, nor are the files, which activate Maven profiles.
+ */
+public class IndexedWorkspaceDiscovery implements IWorkspaceDiscovery {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(IndexedWorkspaceDiscovery.class);
+
+	/**
+	 * The location of the persisted topology within the build directory of the top-most Maven module.
+	 */
+	private static final String INDEX_FILENAME = "reactorstate-workspace.json";
+
+	/**
+	 * The system properties, which activate Maven profiles by JDK version and operating system.
+	 */
+	private static final List<String> ACTIVATION_SYSTEM_PROPERTIES = Arrays.asList("java.version", "os.name", "os.arch", "os.version");
+
+	/**
+	 * The extension of POMs.
+	 */
+	private static final String POM_EXTENSION = "pom";
+
+	/**
+	 * The discovery strategy to delegate to if there is no valid persisted topology.
+	 */
+	private final IWorkspaceDiscovery delegate;
+
+	/**
+	 * The Maven building request of the current Maven execution.
+	 */
+	private final ProjectBuildingRequest buildingRequest;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param delegate The discovery strategy to delegate to if there is no valid persisted topology.
+	 * @param buildingRequest The Maven building request of the current Maven execution.
+	 */
+	public IndexedWorkspaceDiscovery(final IWorkspaceDiscovery delegate, final ProjectBuildingRequest buildingRequest) {
+		this.delegate = delegate;
+		this.buildingRequest = buildingRequest;
+	}
+
+	@Override
+	public Set<WorkspaceModule> discover(final MavenProject project, final Collection<MavenProject> knownProjects) throws ProjectBuildingException {
+		final MavenProject rootProject = MavenProjectUtils.resolveWorkspaceRootProject(project);
+		final Path indexPath = MavenProjectUtils.resolveProjectBuildPath(rootProject).resolve(INDEX_FILENAME);
+		final WorkspaceTopologyIndex topologyIndex = new WorkspaceTopologyIndex(rootProject.getBasedir().toPath(), indexPath);
+
+		final String executionKey;
+		try {
+			executionKey = buildExecutionKey(buildingRequest, knownProjects);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot inspect external parent POMs for workspace index {}. Ignoring.", indexPath, e);
+			return delegate.discover(project, knownProjects);
+		}
+
+		final Collection<WorkspaceModule> indexedModules = topologyIndex.load(executionKey);
+		if (indexedModules != null && containsProject(indexedModules, project)) {
+			LOGGER.info("Resolved Maven project tree from workspace index {}", indexPath);
+			return new HashSet<>(indexedModules);
+		}
+
+		final Set<WorkspaceModule> modules = delegate.discover(project, knownProjects);
+
+		try {
+			topologyIndex.save(executionKey, modules);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot persist workspace index {}. Ignoring.", indexPath, e);
+		}
+
+		return modules;
+	}
+
+	/**
+	 * Determines whether a Maven module is part of the Maven workspace.
+	 *
+	 * @param modules The Maven modules of the workspace.
+	 * @param project The Maven module to check.
+	 * @return Whether the Maven module is part of the Maven workspace.
+	 */
+	private static boolean containsProject(final Collection<WorkspaceModule> modules, final MavenProject project) {
+		final Path pomPath = WorkspaceModule.normalize(project.getFile().toPath());
+		for (final WorkspaceModule module : modules) {
+			if (module.getPomPath().equals(pomPath)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Builds the key of the inputs of a Maven execution, which may influence the Maven modules of the workspace.
+	 *
+	 * @param buildingRequest The Maven building request of the Maven execution.
+	 * @param projects The Maven modules of the Maven execution.
+	 * @return The digest of the explicitly activated and deactivated Maven profiles, the user properties, the JDK version, the operating system and the
+	 * external parent POMs.
+	 * @throws IOException if an error occurred while reading an external parent POM.
+	 */
+	private static String buildExecutionKey(final ProjectBuildingRequest buildingRequest, final Collection<MavenProject> projects) throws IOException {
+		final StringBuilder executionKey = new StringBuilder();
+		for (final String activeProfileId : new TreeSet<>(buildingRequest.getActiveProfileIds())) {
+			executionKey.append("+profile:").append(activeProfileId).append('\n');
+		}
+		for (final String inactiveProfileId : new TreeSet<>(buildingRequest.getInactiveProfileIds())) {
+			executionKey.append("-profile:").append(inactiveProfileId).append('\n');
+		}
+
+		for (final Map.Entry<String, String> userProperty : toSortedMap(buildingRequest.getUserProperties()).entrySet()) {
+			executionKey.append("property:").append(userProperty.getKey()).append('=').append(userProperty.getValue()).append('\n');
+		}
+
+		final Properties systemProperties = buildingRequest.getSystemProperties();
+		for (final String systemPropertyName : ACTIVATION_SYSTEM_PROPERTIES) {
+			executionKey.append(systemPropertyName).append('=').append(systemProperties.getProperty(systemPropertyName)).append('\n');
+		}
+
+		for (final Map.Entry<String, String> externalParent : hashExternalParents(buildingRequest, projects).entrySet()) {
+			executionKey.append("parent:").append(externalParent.getKey()).append('=').append(externalParent.getValue()).append('\n');
+		}
+
+		return DigestUtils.sha256Hex(executionKey.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Computes the digests of the external parent POMs of Maven modules, which are resolved from the local repository.
+	 *
+	 * @param buildingRequest The Maven building request of the Maven execution.
+	 * @param projects The Maven modules.
+	 * @return The digests of the external parent POMs by their IDs. The digest of an external parent POM, which is absent from the local repository, is
+	 * empty.
+	 * @throws IOException if an error occurred while reading an external parent POM.
+	 */
+	private static SortedMap<String, String> hashExternalParents(final ProjectBuildingRequest buildingRequest, final Collection<MavenProject> projects)
+		throws IOException
+	{
+		final RepositorySystemSession repositorySession = buildingRequest.getRepositorySession();
+
+		final SortedMap<String, String> externalParentHashes = new TreeMap<>();
+		for (final MavenProject project : projects) {
+			for (MavenProject child = project; child.getParent() != null; child = child.getParent()) {
+				final Parent parent = child.getModel().getParent();
+				if (MavenProjectUtils.isWorkspaceProject(child.getParent()) || parent == null) {
+					continue;
+				}
+
+				final Artifact parentPom = new DefaultArtifact(parent.getGroupId(), parent.getArtifactId(), POM_EXTENSION, parent.getVersion());
+				final String parentId = ArtifactIdUtils.toId(parentPom);
+				if (externalParentHashes.containsKey(parentId)) {
+					continue;
+				}
+
+				String parentHash = "";
+				if (repositorySession != null) {
+					final LocalRepositoryManager localRepositoryManager = repositorySession.getLocalRepositoryManager();
+					final Path parentPomPath =
+						localRepositoryManager.getRepository().getBasedir().toPath().resolve(localRepositoryManager.getPathForLocalArtifact(parentPom));
+					if (Files.isRegularFile(parentPomPath)) {
+						parentHash = DigestUtils.sha256Hex(parentPomPath);
+					}
+				}
+
+				externalParentHashes.put(parentId, parentHash);
+			}
+		}
+
+		return externalParentHashes;
+	}
+
+	/**
+	 * Sorts properties by their names.
+	 *
+	 * @param properties The properties to sort.
+	 * @return The string properties sorted by their names.
+	 */
+	private static SortedMap<String, String> toSortedMap(final Properties properties) {
+		final SortedMap<String, String> sortedProperties = new TreeMap<>();
+		for (final String propertyName : properties.stringPropertyNames()) {
+			sortedProperties.put(propertyName, properties.getProperty(propertyName));
+		}
+
+		return sortedProperties;
+	}
+
+}
@@ -0,0 +1,250 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * Discovers Maven modules within the workspace of a Maven project by building sibling modules concurrently on a bounded fork-join pool.
+ */
+public class ParallelWorkspaceDiscovery implements IWorkspaceDiscovery {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParallelWorkspaceDiscovery.class);
+
+	/**
+	 * The builder for Maven projects from POMs.
+	 */
+	private final ProjectBuilder projectBuilder;
+
+	/**
+	 * The template of the Maven building requests, which is copied for every concurrently built Maven module.
+	 */
+	private final ProjectBuildingRequest buildingRequest;
+
+	/**
+	 * The maximum number of Maven modules, which are built concurrently.
+	 */
+	private final int parallelism;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param projectBuilder The builder for Maven projects from POMs.
+	 * @param buildingRequest The Maven building request of the current Maven execution.
+	 * @param parallelism The maximum number of Maven modules, which are built concurrently.
+	 */
+	public ParallelWorkspaceDiscovery(final ProjectBuilder projectBuilder, final ProjectBuildingRequest buildingRequest, final int parallelism) {
+		this.projectBuilder = projectBuilder;
+		// Detach from the building request of the Maven execution, which is mutated while the build is running
+		this.buildingRequest = new DefaultProjectBuildingRequest(buildingRequest);
+		this.buildingRequest.setProject(null);
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public Set<WorkspaceModule> discover(final MavenProject project, final Collection<MavenProject> knownProjects) throws ProjectBuildingException {
+		final DiscoveryContext context = new DiscoveryContext();
+		for (final MavenProject knownProject : knownProjects) {
+			context.discoveredProjects.add(knownProject);
+			context.visit(knownProject.getFile());
+		}
+		context.visit(project.getFile());
+
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		final ForkJoinPool discoveryPool =
+			new ForkJoinPool(parallelism, new ContextClassLoaderThreadFactory(contextClassLoader), null, false);
+		try {
+			discoveryPool.invoke(new DiscoveryTask(context, project));
+		} finally {
+			shutdown(discoveryPool);
+		}
+
+		final ProjectBuildingException failure = context.failures.poll();
+		if (failure != null) {
+			for (final ProjectBuildingException suppressedFailure : context.failures) {
+				failure.addSuppressed(suppressedFailure);
+			}
+
+			throw failure;
+		}
+
+		final Set<WorkspaceModule> modules = new HashSet<>();
+		for (final MavenProject discoveredProject : context.discoveredProjects) {
+			modules.add(WorkspaceModule.of(discoveredProject));
+		}
+
+		return modules;
+	}
+
+	/**
+	 * Shuts down a fork-join pool and waits for its worker threads to terminate, so they do not outlive the discovery.
+	 *
+	 * @param discoveryPool The fork-join pool to shut down.
+	 */
+	private static void shutdown(final ForkJoinPool discoveryPool) {
+		discoveryPool.shutdown();
+		try {
+			discoveryPool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * The state of a single workspace discovery, which is shared by all discovery tasks.
+	 */
+	private static final class DiscoveryContext {
+
+		/**
+		 * The normalized POM paths of all Maven modules, which have already been claimed by a discovery task.
+		 */
+		private final Set<Path> visitedPomPaths = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * The already discovered Maven modules within the Maven workspace.
+		 */
+		private final Set<MavenProject> discoveredProjects = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * The errors, which occurred while building Maven modules.
+		 */
+		private final Queue<ProjectBuildingException> failures = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * Claims a POM for discovery.
+		 *
+		 * @param pomFile The POM to claim.
+		 * @return Whether the POM has not been claimed before.
+		 */
+		private boolean visit(final File pomFile) {
+			return pomFile == null || visitedPomPaths.add(WorkspaceModule.normalize(pomFile.toPath()));
+		}
+
+	}
+
+	/**
+	 * A discovery task, which searches a single Maven module for its parent and child modules and forks a sub-task for each unvisited one.
+	 */
+	private final class DiscoveryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The state of the workspace discovery.
+		 */
+		private final transient DiscoveryContext context;
+
+		/**
+		 * The already built Maven module to search or null if it still has to be built from {@link #pomPath}.
+		 */
+		private final transient MavenProject project;
+
+		/**
+		 * The POM of the Maven module to build or null if it has already been built.
+		 */
+		private final transient Path pomPath;
+
+		private DiscoveryTask(final DiscoveryContext context, final MavenProject project) {
+			this.context = context;
+			this.project = project;
+			this.pomPath = null;
+		}
+
+		private DiscoveryTask(final DiscoveryContext context, final Path pomPath) {
+			this.context = context;
+			this.project = null;
+			this.pomPath = pomPath;
+		}
+
+		@Override
+		protected void compute() {
+			final MavenProject currentProject;
+			if (project != null) {
+				currentProject = project;
+			} else {
+				try {
+					// The building request is mutable and thereby not shared between concurrently built Maven modules
+					currentProject = projectBuilder.build(pomPath.toFile(), new DefaultProjectBuildingRequest(buildingRequest)).getProject();
+				} catch (final ProjectBuildingException e) {
+					context.failures.add(e);
+					return;
+				}
+
+				LOGGER.info("Discovered upstream Maven project {}", currentProject.getId());
+				context.discoveredProjects.add(currentProject);
+			}
+
+			final List<DiscoveryTask> subTasks = new ArrayList<>();
+
+			// Discover downstream Maven projects within workspace
+			final Path projectBasePath = currentProject.getBasedir().toPath();
+			for (final String module : currentProject.getModules()) {
+				final Path modulePomPath = WorkspaceModule.resolveModulePomPath(projectBasePath, module);
+				if (context.visit(modulePomPath.toFile())) {
+					subTasks.add(new DiscoveryTask(context, modulePomPath));
+				}
+			}
+
+			// Discover upstream Maven projects within workspace
+			final MavenProject parentProject = currentProject.getParent();
+			if (parentProject != null && MavenProjectUtils.isWorkspaceProject(parentProject) && context.visit(parentProject.getFile())) {
+				LOGGER.info("Discovered Maven parent project {}", parentProject.getId());
+				context.discoveredProjects.add(parentProject);
+
+				subTasks.add(new DiscoveryTask(context, parentProject));
+			}
+
+			invokeAll(subTasks);
+		}
+
+	}
+
+	/**
+	 * A factory for fork-join worker threads, which inherit the context class loader of the Maven execution.
+	 *
+	 * This is required, since Maven resolves extensions and the like of built Maven modules via the context class loader.
+	 */
+	private static final class ContextClassLoaderThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+		/**
+		 * The context class loader of the Maven execution.
+		 */
+		private final ClassLoader contextClassLoader;
+
+		private ContextClassLoaderThreadFactory(final ClassLoader contextClassLoader) {
+			this.contextClassLoader = contextClassLoader;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+			final ForkJoinWorkerThread workerThread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			workerThread.setName("reactorstate-discovery-" + workerThread.getPoolIndex());
+			workerThread.setContextClassLoader(contextClassLoader);
+
+			return workerThread;
+		}
+
+	}
+
+}
@@ -0,0 +1,106 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The raw, i.e. neither inherited nor interpolated, content of a POM, which is relevant for the topology of a Maven workspace.
+ */
+class RawPom {
+
+	/**
+	 * The declared group ID or null if it is inherited.
+	 */
+	String groupId;
+
+	/**
+	 * The declared artifact ID.
+	 */
+	String artifactId;
+
+	/**
+	 * The declared version or null if it is inherited.
+	 */
+	String version;
+
+	/**
+	 * The declared packaging or null if it is the default packaging.
+	 */
+	String packaging;
+
+	/**
+	 * The group ID of the declared parent or null if there is no parent.
+	 */
+	String parentGroupId;
+
+	/**
+	 * The artifact ID of the declared parent or null if there is no parent.
+	 */
+	String parentArtifactId;
+
+	/**
+	 * The version of the declared parent or null if there is no parent.
+	 */
+	String parentVersion;
+
+	/**
+	 * The relative path of the declared parent or null if the default relative path applies.
+	 */
+	String parentRelativePath;
+
+	/**
+	 * The declared child modules.
+	 */
+	final List<String> modules = new ArrayList<>();
+
+	/**
+	 * The declared properties.
+	 */
+	final Properties properties = new Properties();
+
+	/**
+	 * The declared build directory or null if it is inherited.
+	 */
+	String buildDirectory;
+
+	/**
+	 * The declared dependencies.
+	 */
+	final List<RawCoordinate> dependencies = new ArrayList<>();
+
+	/**
+	 * The declared build plugins.
+	 */
+	final List<RawCoordinate> plugins = new ArrayList<>();
+
+	/**
+	 * Whether any profile declares child modules, which are only part of the workspace if the profile is active.
+	 */
+	boolean profileModules;
+
+	/**
+	 * @return Whether the POM declares a parent.
+	 */
+	boolean hasParent() {
+		return parentArtifactId != null;
+	}
+
+	/**
+	 * The raw coordinates of a dependency or plugin.
+	 */
+	static class RawCoordinate {
+
+		/**
+		 * The declared group ID or null if the default group ID applies.
+		 */
+		String groupId;
+
+		/**
+		 * The declared artifact ID.
+		 */
+		String artifactId;
+
+	}
+
+}
@@ -0,0 +1,235 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A streaming reader for the raw content of POMs, which is relevant for the topology of a Maven workspace.
+ *
+ * In contrast to building the effective model of a POM, neither inheritance, interpolation, profile activation nor plugin management is applied.
+ */
+final class RawPomReader {
+
+	/**
+	 * The factory for streaming XML readers, which is thread-safe once configured.
+	 */
+	private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+	private RawPomReader() {}
+
+	/**
+	 * Reads the raw content of a POM.
+	 *
+	 * @param pomPath The path to the POM.
+	 * @return The raw content of the POM.
+	 * @throws IOException if an error occurred while reading the POM or the POM is malformed.
+	 */
+	static RawPom read(final Path pomPath) throws IOException {
+		try (final InputStream pomStream = Files.newInputStream(pomPath)) {
+			final XMLStreamReader xmlReader = XML_INPUT_FACTORY.createXMLStreamReader(pomStream);
+			try {
+				return read(xmlReader);
+			} finally {
+				xmlReader.close();
+			}
+		} catch (final XMLStreamException e) {
+			throw new IOException("Cannot parse POM " + pomPath, e);
+		}
+	}
+
+	/**
+	 * Reads the raw content of a POM from a streaming XML reader.
+	 *
+	 * @param xmlReader The streaming XML reader positioned before the root element.
+	 * @return The raw content of the POM.
+	 * @throws XMLStreamException if the POM is malformed.
+	 */
+	private static RawPom read(final XMLStreamReader xmlReader) throws XMLStreamException {
+		final RawPom rawPom = new RawPom();
+
+		final StringBuilder elementPath = new StringBuilder();
+		final StringBuilder text = new StringBuilder();
+		while (xmlReader.hasNext()) {
+			switch (xmlReader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					elementPath.append('/').append(xmlReader.getLocalName());
+					text.setLength(0);
+
+					if (isSkippable(elementPath)) {
+						skipElement(xmlReader);
+						elementPath.setLength(elementPath.lastIndexOf("/"));
+					}
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+					text.append(xmlReader.getText());
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					assign(rawPom, elementPath.toString(), text.toString().trim());
+					elementPath.setLength(elementPath.lastIndexOf("/"));
+					text.setLength(0);
+					break;
+				default:
+					break;
+			}
+		}
+
+		return rawPom;
+	}
+
+	/**
+	 * Begins a repeatable compound element of the raw content of a POM.
+	 *
+	 * @param rawPom The raw content of the POM.
+	 * @param elementPath The path of the element starting from the root element.
+	 */
+	private static void begin(final RawPom rawPom, final String elementPath) {
+		switch (elementPath) {
+			case "/project/dependencies/dependency":
+				rawPom.dependencies.add(new RawPom.RawCoordinate());
+				break;
+			case "/project/build/plugins/plugin":
+				rawPom.plugins.add(new RawPom.RawCoordinate());
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Assigns the text content of an element to the raw content of a POM.
+	 *
+	 * @param rawPom The raw content of the POM.
+	 * @param elementPath The path of the element starting from the root element.
+	 * @param text The text content of the element.
+	 */
+	private static void assign(final RawPom rawPom, final String elementPath, final String text) {
+		switch (elementPath) {
+			case "/project/groupId":
+				rawPom.groupId = text;
+				break;
+			case "/project/artifactId":
+				rawPom.artifactId = text;
+				break;
+			case "/project/version":
+				rawPom.version = text;
+				break;
+			case "/project/packaging":
+				rawPom.packaging = text;
+				break;
+			case "/project/parent/groupId":
+				rawPom.parentGroupId = text;
+				break;
+			case "/project/parent/artifactId":
+				rawPom.parentArtifactId = text;
+				break;
+			case "/project/parent/version":
+				rawPom.parentVersion = text;
+				break;
+			case "/project/parent/relativePath":
+				rawPom.parentRelativePath = text;
+				break;
+			case "/project/modules/module":
+				rawPom.modules.add(text);
+				break;
+			case "/project/dependencies/dependency/groupId":
+				last(rawPom.dependencies).groupId = text;
+				break;
+			case "/project/dependencies/dependency/artifactId":
+				last(rawPom.dependencies).artifactId = text;
+				break;
+			case "/project/build/plugins/plugin/groupId":
+				last(rawPom.plugins).groupId = text;
+				break;
+			case "/project/build/plugins/plugin/artifactId":
+				last(rawPom.plugins).artifactId = text;
+				break;
+			case "/project/build/directory":
+				rawPom.buildDirectory = text;
+				break;
+			case "/project/profiles/profile/modules/module":
+				rawPom.profileModules = true;
+				break;
+			default:
+				if (elementPath.startsWith("/project/properties/") && elementPath.indexOf('/', "/project/properties/".length()) < 0) {
+					rawPom.properties.setProperty(elementPath.substring("/project/properties/".length()), text);
+				}
+				break;
+		}
+	}
+
+	/**
+	 * @param coordinates The raw coordinates, which have been begun so far.
+	 * @return The raw coordinates, which have been begun most recently.
+	 */
+	private static RawPom.RawCoordinate last(final List<RawPom.RawCoordinate> coordinates) {
+		return coordinates.get(coordinates.size() - 1);
+	}
+
+	/**
+	 * Determines whether an element and its children are irrelevant for the topology of a Maven workspace.
+	 *
+	 * @param elementPath The path of the element starting from the root element.
+	 * @return Whether the element can be skipped.
+	 */
+	private static boolean isSkippable(final CharSequence elementPath) {
+		final String path = elementPath.toString();
+		switch (path) {
+			case "/project/dependencies/dependency/exclusions":
+			case "/project/dependencyManagement":
+			case "/project/reporting":
+			case "/project/build/plugins/plugin/configuration":
+			case "/project/build/plugins/plugin/executions":
+			case "/project/build/plugins/plugin/dependencies":
+			case "/project/build/pluginManagement":
+			case "/project/build/resources":
+			case "/project/build/testResources":
+			case "/project/profiles/profile/dependencies":
+			case "/project/profiles/profile/dependencyManagement":
+			case "/project/profiles/profile/build":
+			case "/project/profiles/profile/reporting":
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Skips the current element including all of its children.
+	 *
+	 * @param xmlReader The streaming XML reader positioned at the start of the element.
+	 * @throws XMLStreamException if the POM is malformed.
+	 */
+	private static void skipElement(final XMLStreamReader xmlReader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			final int event = xmlReader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * @return a factory for streaming XML readers, which does not resolve external entities.
+	 */
+	private static XMLInputFactory createXmlInputFactory() {
+		final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+		return xmlInputFactory;
+	}
+
+}
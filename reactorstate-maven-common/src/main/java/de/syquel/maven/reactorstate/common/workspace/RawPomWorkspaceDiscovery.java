@@ -0,0 +1,500 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * Discovers Maven modules within the workspace of a Maven project by scanning their raw POMs with a streaming XML reader.
+ *
+ * Only {@code <parent>}, {@code <modules>}, the coordinates, the properties, the build directory, the dependencies and the build plugins of a POM are
+ * read and interpolated in a simplified manner. The effective model of a Maven module is only built if its raw POM is not sufficient, e.g. if it
+ * contains expressions referencing properties of a parent outside of the workspace or if it declares modules within profiles.
+ */
+public class RawPomWorkspaceDiscovery implements IWorkspaceDiscovery {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RawPomWorkspaceDiscovery.class);
+
+	/**
+	 * The pattern of expressions within raw POMs.
+	 */
+	private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+
+	/**
+	 * The maximum nesting depth of expressions, which are interpolated.
+	 */
+	private static final int MAX_INTERPOLATION_DEPTH = 10;
+
+	/**
+	 * The build directory of the Maven Super POM.
+	 */
+	private static final String DEFAULT_BUILD_DIRECTORY = "${project.basedir}/target";
+
+	/**
+	 * The packaging of the Maven Super POM.
+	 */
+	private static final String DEFAULT_PACKAGING = "jar";
+
+	/**
+	 * The group ID of build plugins, which do not declare a group ID.
+	 */
+	private static final String DEFAULT_PLUGIN_GROUP_ID = "org.apache.maven.plugins";
+
+	/**
+	 * The builder for Maven projects from POMs, which is used if a raw POM is not sufficient.
+	 */
+	private final ProjectBuilder projectBuilder;
+
+	/**
+	 * The Maven building request of the current Maven execution.
+	 */
+	private final ProjectBuildingRequest buildingRequest;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param projectBuilder The builder for Maven projects from POMs, which is used if a raw POM is not sufficient.
+	 * @param buildingRequest The Maven building request of the current Maven execution.
+	 */
+	public RawPomWorkspaceDiscovery(final ProjectBuilder projectBuilder, final ProjectBuildingRequest buildingRequest) {
+		this.projectBuilder = projectBuilder;
+		// Detach from the building request of the Maven execution, which is mutated while the build is running
+		this.buildingRequest = new DefaultProjectBuildingRequest(buildingRequest);
+		this.buildingRequest.setProject(null);
+	}
+
+	@Override
+	public Set<WorkspaceModule> discover(final MavenProject project, final Collection<MavenProject> knownProjects) throws ProjectBuildingException {
+		final ScanContext scanContext = new ScanContext(knownProjects);
+
+		// The parent modules of the Maven module have already been built by Maven
+		final Deque<Path> pendingPomPaths = new ArrayDeque<>();
+		for (MavenProject chainProject = project; chainProject != null; chainProject = chainProject.getParent()) {
+			if (!MavenProjectUtils.isWorkspaceProject(chainProject)) {
+				break;
+			}
+
+			final Path pomPath = WorkspaceModule.normalize(chainProject.getFile().toPath());
+			scanContext.modelContexts.put(pomPath, ModelContext.of(chainProject));
+			pendingPomPaths.addFirst(pomPath);
+		}
+
+		final Set<Path> visitedPomPaths = new HashSet<>();
+		final Set<WorkspaceModule> modules = new HashSet<>();
+		while (!pendingPomPaths.isEmpty()) {
+			final Path pomPath = pendingPomPaths.poll();
+			if (!visitedPomPaths.add(pomPath)) {
+				continue;
+			}
+
+			final ModelContext modelContext = resolve(pomPath, scanContext);
+			modules.add(modelContext.module);
+
+			pendingPomPaths.addAll(modelContext.module.getModulePomPaths());
+			if (modelContext.module.getParentPomPath() != null) {
+				pendingPomPaths.add(modelContext.module.getParentPomPath());
+			}
+		}
+
+		return modules;
+	}
+
+	/**
+	 * Resolves the model context of a Maven module based on its raw POM or its effective model as fallback.
+	 *
+	 * @param pomPath The absolute and normalized path to the POM of the Maven module.
+	 * @param scanContext The state of the workspace scan.
+	 * @return The model context of the Maven module.
+	 * @throws ProjectBuildingException if the effective model of an invalid POM is built.
+	 */
+	private ModelContext resolve(final Path pomPath, final ScanContext scanContext) throws ProjectBuildingException {
+		final ModelContext existingModelContext = scanContext.modelContexts.get(pomPath);
+		if (existingModelContext != null) {
+			return existingModelContext;
+		}
+
+		final MavenProject knownProject = scanContext.knownProjects.get(pomPath);
+		if (knownProject != null) {
+			final ModelContext knownModelContext = ModelContext.of(knownProject);
+			scanContext.modelContexts.put(pomPath, knownModelContext);
+
+			return knownModelContext;
+		}
+
+		ModelContext modelContext = null;
+		if (scanContext.inProgressPomPaths.add(pomPath)) {
+			try {
+				final RawPom rawPom = RawPomReader.read(pomPath);
+				modelContext = interpret(pomPath, rawPom, scanContext);
+			} catch (final IOException e) {
+				LOGGER.debug("Cannot scan raw POM {}", pomPath, e);
+			} finally {
+				scanContext.inProgressPomPaths.remove(pomPath);
+			}
+		}
+
+		if (modelContext == null) {
+			final MavenProject builtProject = projectBuilder.build(pomPath.toFile(), buildingRequest).getProject();
+			LOGGER.info("Discovered upstream Maven project {} from effective model", builtProject.getId());
+			modelContext = ModelContext.of(builtProject);
+		} else {
+			final WorkspaceModule module = modelContext.module;
+			LOGGER.info("Discovered upstream Maven project {}:{}:{}:{}", module.getGroupId(), module.getArtifactId(), module.getPackaging(), module.getVersion());
+		}
+
+		scanContext.modelContexts.put(pomPath, modelContext);
+		return modelContext;
+	}
+
+	/**
+	 * Interprets the raw POM of a Maven module by applying inheritance and interpolation in a simplified manner.
+	 *
+	 * @param pomPath The absolute and normalized path to the POM of the Maven module.
+	 * @param rawPom The raw POM of the Maven module.
+	 * @param scanContext The state of the workspace scan.
+	 * @return The model context of the Maven module or null if the raw POM is not sufficient.
+	 * @throws ProjectBuildingException if the effective model of an invalid parent POM is built.
+	 */
+	private ModelContext interpret(final Path pomPath, final RawPom rawPom, final ScanContext scanContext) throws ProjectBuildingException {
+		if (rawPom.artifactId == null || rawPom.profileModules) {
+			return null;
+		}
+
+		final Path projectBasePath = pomPath.getParent();
+
+		// Resolve parent within workspace
+		ModelContext parentModelContext = null;
+		if (rawPom.hasParent()) {
+			final Path parentPomPath = resolveParentPomPath(projectBasePath, rawPom.parentRelativePath);
+			if (parentPomPath != null && !scanContext.inProgressPomPaths.contains(parentPomPath)) {
+				final ModelContext candidateModelContext = resolve(parentPomPath, scanContext);
+				final WorkspaceModule candidateModule = candidateModelContext.module;
+				if (candidateModule.getArtifactId().equals(rawPom.parentArtifactId) && candidateModule.getGroupId().equals(rawPom.parentGroupId)) {
+					parentModelContext = candidateModelContext;
+				}
+			}
+		}
+
+		final Properties modelProperties = new Properties();
+		if (parentModelContext != null) {
+			modelProperties.putAll(parentModelContext.properties);
+		}
+		modelProperties.putAll(rawPom.properties);
+
+		final String rawBuildDirectory;
+		if (rawPom.buildDirectory != null) {
+			rawBuildDirectory = rawPom.buildDirectory;
+		} else if (parentModelContext != null) {
+			rawBuildDirectory = parentModelContext.rawBuildDirectory;
+		} else {
+			rawBuildDirectory = DEFAULT_BUILD_DIRECTORY;
+		}
+
+		// Interpolate coordinates and build directory
+		final ExpressionResolver expressionResolver = new ExpressionResolver(projectBasePath, rawPom, modelProperties);
+		final String groupId = expressionResolver.interpolate((rawPom.groupId != null) ? rawPom.groupId : rawPom.parentGroupId);
+		final String artifactId = expressionResolver.interpolate(rawPom.artifactId);
+		final String version = expressionResolver.interpolate((rawPom.version != null) ? rawPom.version : rawPom.parentVersion);
+		final String packaging = expressionResolver.interpolate((rawPom.packaging != null) ? rawPom.packaging : DEFAULT_PACKAGING);
+		final String buildDirectory = expressionResolver.interpolate(rawBuildDirectory);
+		if (groupId == null || artifactId == null || version == null || packaging == null || buildDirectory == null) {
+			return null;
+		}
+
+		final List<Path> modulePomPaths = new ArrayList<>();
+		for (final String module : rawPom.modules) {
+			modulePomPaths.add(WorkspaceModule.resolveModulePomPath(projectBasePath, module));
+		}
+
+		// Dependencies with unresolvable coordinates are omitted, since they only serve as hints for demand-driven loading
+		final List<String> dependencyKeys = new ArrayList<>();
+		for (final RawPom.RawCoordinate dependency : rawPom.dependencies) {
+			addDependencyKey(dependencyKeys, expressionResolver, dependency.groupId, dependency.artifactId);
+		}
+		for (final RawPom.RawCoordinate plugin : rawPom.plugins) {
+			addDependencyKey(dependencyKeys, expressionResolver, (plugin.groupId != null) ? plugin.groupId : DEFAULT_PLUGIN_GROUP_ID, plugin.artifactId);
+		}
+
+		final WorkspaceModule module = new WorkspaceModule(
+			pomPath, groupId, artifactId, version, packaging,
+			(parentModelContext != null) ? parentModelContext.module.getPomPath() : null,
+			modulePomPaths, WorkspaceModule.normalize(projectBasePath.resolve(buildDirectory)), dependencyKeys
+		);
+
+		return new ModelContext(module, modelProperties, rawBuildDirectory);
+	}
+
+	/**
+	 * Interpolates the raw coordinates of a dependency or build plugin and adds its key if it is resolvable.
+	 *
+	 * @param dependencyKeys The keys of the dependencies to add to.
+	 * @param expressionResolver The interpolator for the Maven module, which declares the dependency.
+	 * @param rawGroupId The declared group ID of the dependency.
+	 * @param rawArtifactId The declared artifact ID of the dependency.
+	 */
+	private static void addDependencyKey(
+		final List<String> dependencyKeys, final ExpressionResolver expressionResolver, final String rawGroupId, final String rawArtifactId
+	) {
+		final String groupId = expressionResolver.interpolate(rawGroupId);
+		final String artifactId = expressionResolver.interpolate(rawArtifactId);
+		if (groupId != null && artifactId != null) {
+			dependencyKeys.add(WorkspaceModule.toKey(groupId, artifactId));
+		}
+	}
+
+	/**
+	 * Resolves the path to the POM of a declared parent Maven module.
+	 *
+	 * @param projectBasePath The base directory of the child Maven module.
+	 * @param relativePath The declared relative path of the parent or null if the default relative path applies.
+	 * @return The absolute and normalized path to the POM of the parent or null if it does not exist.
+	 */
+	private static Path resolveParentPomPath(final Path projectBasePath, final String relativePath) {
+		if (relativePath != null && relativePath.isEmpty()) {
+			// Lookup of the parent within the workspace has been disabled explicitly
+			return null;
+		}
+
+		Path parentPomPath = projectBasePath.resolve((relativePath != null) ? relativePath : "../pom.xml");
+		if (Files.isDirectory(parentPomPath)) {
+			parentPomPath = parentPomPath.resolve("pom.xml");
+		}
+
+		return Files.isRegularFile(parentPomPath) ? WorkspaceModule.normalize(parentPomPath) : null;
+	}
+
+	/**
+	 * Determines the declared build directory of a Maven module and its parents before interpolation.
+	 *
+	 * @param project The Maven module to determine the build directory for.
+	 * @return The declared build directory before interpolation.
+	 */
+	private static String resolveRawBuildDirectory(final MavenProject project) {
+		for (MavenProject currentProject = project; currentProject != null; currentProject = currentProject.getParent()) {
+			final Model originalModel = currentProject.getOriginalModel();
+			if (originalModel != null && originalModel.getBuild() != null && originalModel.getBuild().getDirectory() != null) {
+				return originalModel.getBuild().getDirectory();
+			}
+		}
+
+		return DEFAULT_BUILD_DIRECTORY;
+	}
+
+	/**
+	 * The state of a single workspace scan.
+	 */
+	private static final class ScanContext {
+
+		/**
+		 * The already known Maven modules within the Maven workspace by the absolute and normalized paths to their POMs.
+		 */
+		private final Map<Path, MavenProject> knownProjects = new HashMap<>();
+
+		/**
+		 * The already resolved model contexts by the absolute and normalized paths to their POMs.
+		 */
+		private final Map<Path, ModelContext> modelContexts = new HashMap<>();
+
+		/**
+		 * The absolute and normalized paths to the POMs, which are currently being resolved, to detect cyclic parents.
+		 */
+		private final Set<Path> inProgressPomPaths = new HashSet<>();
+
+		private ScanContext(final Collection<MavenProject> knownProjects) {
+			for (final MavenProject knownProject : knownProjects) {
+				this.knownProjects.put(WorkspaceModule.normalize(knownProject.getFile().toPath()), knownProject);
+			}
+		}
+
+	}
+
+	/**
+	 * The resolved model of a Maven module, which is inherited by its child Maven modules.
+	 */
+	private static final class ModelContext {
+
+		/**
+		 * The workspace representation of the Maven module.
+		 */
+		private final WorkspaceModule module;
+
+		/**
+		 * The properties of the Maven module including the inherited ones.
+		 */
+		private final Properties properties;
+
+		/**
+		 * The build directory of the Maven module before interpolation.
+		 */
+		private final String rawBuildDirectory;
+
+		private ModelContext(final WorkspaceModule module, final Properties properties, final String rawBuildDirectory) {
+			this.module = module;
+			this.properties = properties;
+			this.rawBuildDirectory = rawBuildDirectory;
+		}
+
+		/**
+		 * Builds the model context of a Maven module based on its effective model.
+		 *
+		 * @param project The Maven module with its effective model.
+		 * @return The model context of the Maven module.
+		 */
+		private static ModelContext of(final MavenProject project) {
+			final Properties properties = new Properties();
+			properties.putAll(project.getProperties());
+
+			return new ModelContext(WorkspaceModule.of(project), properties, resolveRawBuildDirectory(project));
+		}
+
+	}
+
+	/**
+	 * A simplified interpolator for expressions within raw POMs.
+	 *
+	 * Expressions are resolved in the same order as Maven does: model values, user properties, model properties and system properties.
+	 */
+	private final class ExpressionResolver {
+
+		/**
+		 * The base directory of the Maven module.
+		 */
+		private final Path projectBasePath;
+
+		/**
+		 * The raw POM of the Maven module.
+		 */
+		private final RawPom rawPom;
+
+		/**
+		 * The properties of the Maven module including the inherited ones.
+		 */
+		private final Properties modelProperties;
+
+		private ExpressionResolver(final Path projectBasePath, final RawPom rawPom, final Properties modelProperties) {
+			this.projectBasePath = projectBasePath;
+			this.rawPom = rawPom;
+			this.modelProperties = modelProperties;
+		}
+
+		/**
+		 * Interpolates all expressions within a value.
+		 *
+		 * @param value The value to interpolate.
+		 * @return The interpolated value or null if the value is null or contains unresolvable expressions.
+		 */
+		private String interpolate(final String value) {
+			return interpolate(value, 0);
+		}
+
+		private String interpolate(final String value, final int depth) {
+			if (value == null || depth > MAX_INTERPOLATION_DEPTH) {
+				return null;
+			}
+
+			final Matcher expressionMatcher = EXPRESSION_PATTERN.matcher(value);
+			final StringBuffer interpolatedValue = new StringBuffer();
+			while (expressionMatcher.find()) {
+				final String resolvedValue = interpolate(lookup(expressionMatcher.group(1)), depth + 1);
+				if (resolvedValue == null) {
+					return null;
+				}
+
+				expressionMatcher.appendReplacement(interpolatedValue, Matcher.quoteReplacement(resolvedValue));
+			}
+			expressionMatcher.appendTail(interpolatedValue);
+
+			return interpolatedValue.toString();
+		}
+
+		/**
+		 * Looks up the value of an expression.
+		 *
+		 * @param expression The expression without its delimiters.
+		 * @return The raw value of the expression or null if it is unresolvable.
+		 */
+		private String lookup(final String expression) {
+			final String modelValue = lookupModelValue(expression);
+			if (modelValue != null) {
+				return modelValue;
+			}
+
+			final String userValue = buildingRequest.getUserProperties().getProperty(expression);
+			if (userValue != null) {
+				return userValue;
+			}
+
+			final String modelPropertyValue = modelProperties.getProperty(expression);
+			if (modelPropertyValue != null) {
+				return modelPropertyValue;
+			}
+
+			return buildingRequest.getSystemProperties().getProperty(expression);
+		}
+
+		/**
+		 * Looks up the value of an expression, which references the model of the Maven module.
+		 *
+		 * @param expression The expression without its delimiters.
+		 * @return The raw value of the expression or null if it does not reference a supported model value.
+		 */
+		private String lookupModelValue(final String expression) {
+			final String modelExpression;
+			if (expression.startsWith("project.")) {
+				modelExpression = expression.substring("project.".length());
+			} else if (expression.startsWith("pom.")) {
+				modelExpression = expression.substring("pom.".length());
+			} else if ("basedir".equals(expression)) {
+				modelExpression = expression;
+			} else {
+				return null;
+			}
+
+			switch (modelExpression) {
+				case "basedir":
+					return projectBasePath.toString();
+				case "groupId":
+					return (rawPom.groupId != null) ? rawPom.groupId : rawPom.parentGroupId;
+				case "artifactId":
+					return rawPom.artifactId;
+				case "version":
+					return (rawPom.version != null) ? rawPom.version : rawPom.parentVersion;
+				case "packaging":
+					return (rawPom.packaging != null) ? rawPom.packaging : DEFAULT_PACKAGING;
+				case "parent.groupId":
+					return rawPom.parentGroupId;
+				case "parent.artifactId":
+					return rawPom.parentArtifactId;
+				case "parent.version":
+					return rawPom.parentVersion;
+				default:
+					return null;
+			}
+		}
+
+	}
+
+}
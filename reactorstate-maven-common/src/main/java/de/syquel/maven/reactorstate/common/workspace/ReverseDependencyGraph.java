@@ -0,0 +1,343 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.maven.project.MavenProject;
+
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * The reverse dependency graph of the Maven modules within a Maven workspace, which maps every Maven module to the Maven modules depending on it.
+ *
+ * A Maven module depends on another one, if it declares it as dependency or build plugin, and inherits from another one, if it is its child. Since
+ * the graph only consists of the version-agnostic keys of the Maven modules, the downstream Maven modules of a set of changed Maven modules are
+ * determined without building any Maven project. The dependents and children of a Maven module are also kept, if the Maven module itself is not part
+ * of the graph yet, e.g. since its state has not been saved so far, so that they are known as soon as it is added.
+ *
+ * This class is not thread-safe.
+ */
+public final class ReverseDependencyGraph {
+
+	/**
+	 * The absolute and normalized paths to the POMs of the Maven modules by their version-agnostic keys.
+	 */
+	private final SortedMap<String, Path> pomPathsByKey = new TreeMap<>();
+
+	/**
+	 * The version-agnostic keys of the dependent Maven modules by the version-agnostic keys of the Maven modules, which they depend on, regardless of
+	 * whether these are part of the graph.
+	 */
+	private final Map<String, SortedSet<String>> dependentKeysByKey = new HashMap<>();
+
+	/**
+	 * The version-agnostic keys of the child Maven modules by the version-agnostic keys of their parent Maven modules, regardless of whether these are
+	 * part of the graph.
+	 */
+	private final Map<String, SortedSet<String>> childKeysByKey = new HashMap<>();
+
+	/**
+	 * Builds the reverse dependency graph of the Maven modules of a Maven workspace.
+	 *
+	 * @param modules The Maven modules of the workspace.
+	 * @return The reverse dependency graph of the Maven modules.
+	 */
+	public static ReverseDependencyGraph of(final Collection<WorkspaceModule> modules) {
+		final ReverseDependencyGraph graph = new ReverseDependencyGraph();
+
+		final Map<Path, String> keysByPomPath = new HashMap<>();
+		for (final WorkspaceModule module : modules) {
+			graph.addModule(module.getKey(), module.getPomPath());
+			keysByPomPath.put(module.getPomPath(), module.getKey());
+		}
+
+		for (final WorkspaceModule module : modules) {
+			for (final String dependencyKey : module.getDependencyKeys()) {
+				graph.addDependency(module.getKey(), dependencyKey);
+			}
+
+			final String parentKey = (module.getParentPomPath() != null) ? keysByPomPath.get(module.getParentPomPath()) : null;
+			if (parentKey != null) {
+				graph.addChild(module.getKey(), parentKey);
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Adds a Maven module without any dependents and children, whereby an existing Maven module with the same key is replaced including its dependents
+	 * and children.
+	 *
+	 * @param key The version-agnostic key of the Maven module.
+	 * @param pomPath The path to the POM of the Maven module.
+	 */
+	public void addModule(final String key, final Path pomPath) {
+		pomPathsByKey.put(key, WorkspaceModule.normalize(pomPath));
+		dependentKeysByKey.remove(key);
+		childKeysByKey.remove(key);
+	}
+
+	/**
+	 * Adds a dependency of a Maven module of the graph on another Maven module, which does not need to be part of the graph yet.
+	 *
+	 * @param dependentKey The version-agnostic key of the dependent Maven module.
+	 * @param dependencyKey The version-agnostic key of the Maven module, which is depended on.
+	 * @return Whether the dependency has been added, i.e. the dependent Maven module is part of the graph and differs from the other Maven module.
+	 */
+	public boolean addDependency(final String dependentKey, final String dependencyKey) {
+		return addEdge(dependentKeysByKey, dependentKey, dependencyKey);
+	}
+
+	/**
+	 * Adds the inheritance of a Maven module of the graph from its parent Maven module, which does not need to be part of the graph yet.
+	 *
+	 * @param childKey The version-agnostic key of the child Maven module.
+	 * @param parentKey The version-agnostic key of the parent Maven module.
+	 * @return Whether the inheritance has been added, i.e. the child Maven module is part of the graph and differs from the parent Maven module.
+	 */
+	public boolean addChild(final String childKey, final String parentKey) {
+		return addEdge(childKeysByKey, childKey, parentKey);
+	}
+
+	/**
+	 * Replaces the Maven modules of a Maven execution within the graph including the dependencies and parents, which they declare.
+	 *
+	 * The dependents and children of a replaced Maven module are kept, since they are declared by Maven modules, which may not be part of the Maven
+	 * execution. Likewise, dependencies on and inheritances from Maven modules, which are not part of the graph yet, are kept until these are added.
+	 * Maven modules, whose POMs no longer exist, are removed.
+	 *
+	 * @param projects The Maven modules of the Maven execution.
+	 */
+	public void update(final Collection<MavenProject> projects) {
+		final Map<String, WorkspaceModule> updatedModules = new HashMap<>();
+		for (final MavenProject project : projects) {
+			updatedModules.put(WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId()), WorkspaceModule.of(project));
+		}
+
+		// The dependencies and parents declared by the updated Maven modules are replaced as a whole
+		removeDownstreamKeys(updatedModules.keySet());
+		for (final WorkspaceModule module : updatedModules.values()) {
+			pomPathsByKey.put(module.getKey(), module.getPomPath());
+		}
+
+		final Set<String> removedKeys = new HashSet<>();
+		for (final Map.Entry<String, Path> pomPathByKey : pomPathsByKey.entrySet()) {
+			if (!Files.isRegularFile(pomPathByKey.getValue())) {
+				removedKeys.add(pomPathByKey.getKey());
+			}
+		}
+		pomPathsByKey.keySet().removeAll(removedKeys);
+		dependentKeysByKey.keySet().removeAll(removedKeys);
+		childKeysByKey.keySet().removeAll(removedKeys);
+		removeDownstreamKeys(removedKeys);
+
+		for (final MavenProject project : projects) {
+			final String key = WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId());
+			for (final String dependencyKey : updatedModules.get(key).getDependencyKeys()) {
+				addDependency(key, dependencyKey);
+			}
+
+			final MavenProject parentProject = project.getParent();
+			if (parentProject != null && MavenProjectUtils.isWorkspaceProject(parentProject)) {
+				addChild(key, WorkspaceModule.toKey(parentProject.getGroupId(), parentProject.getArtifactId()));
+			}
+		}
+
+		// Maven modules outside of the graph are only kept as long as Maven modules of the graph depend on or inherit from them
+		dependentKeysByKey.entrySet().removeIf(entry -> entry.getValue().isEmpty() && !pomPathsByKey.containsKey(entry.getKey()));
+		childKeysByKey.entrySet().removeIf(entry -> entry.getValue().isEmpty() && !pomPathsByKey.containsKey(entry.getKey()));
+	}
+
+	/**
+	 * Resolves the Maven modules, which transitively depend on or inherit from a set of arbitrarily changed Maven modules including themselves, in
+	 * topological order.
+	 *
+	 * @param keys The version-agnostic keys of the changed Maven modules. Keys, which are not part of the graph, are ignored.
+	 * @return The version-agnostic keys of the downstream Maven modules in topological order.
+	 * @see #resolveDownstream(Collection, Collection)
+	 */
+	public List<String> resolveDownstream(final Collection<String> keys) {
+		return resolveDownstream(keys, keys);
+	}
+
+	/**
+	 * Resolves the Maven modules, which are affected by a set of changed Maven modules including themselves, in topological order.
+	 *
+	 * A change of a Maven module affects the Maven modules depending on it, while a change of its POM additionally affects its descendants, which
+	 * inherit the POM. Every Maven module succeeds all Maven modules it depends on or inherits from, so the resolved Maven modules can be built in the
+	 * returned order. Independent Maven modules are ordered by their keys to yield a stable order.
+	 *
+	 * @param keys The version-agnostic keys of the changed Maven modules. Keys, which are not part of the graph, are ignored.
+	 * @param pomKeys The version-agnostic keys of the Maven modules with changed POMs. Keys, which are not part of the graph, are ignored.
+	 * @return The version-agnostic keys of the downstream Maven modules in topological order.
+	 */
+	public List<String> resolveDownstream(final Collection<String> keys, final Collection<String> pomKeys) {
+		final Deque<String> pendingKeys = new ArrayDeque<>(keys);
+
+		// Changed POMs are inherited by all descendants
+		final Set<String> inheritingKeys = new HashSet<>();
+		final Deque<String> pendingPomKeys = new ArrayDeque<>(pomKeys);
+		while (!pendingPomKeys.isEmpty()) {
+			final String key = pendingPomKeys.poll();
+			if (pomPathsByKey.containsKey(key) && inheritingKeys.add(key)) {
+				pendingKeys.add(key);
+				pendingPomKeys.addAll(getChildKeys(key));
+			}
+		}
+
+		final Set<String> closure = new HashSet<>();
+		while (!pendingKeys.isEmpty()) {
+			final String key = pendingKeys.poll();
+			if (pomPathsByKey.containsKey(key) && closure.add(key)) {
+				pendingKeys.addAll(getDependentKeys(key));
+			}
+		}
+
+		final Map<String, Integer> upstreamCounts = new HashMap<>();
+		for (final String key : closure) {
+			upstreamCounts.putIfAbsent(key, 0);
+			for (final String downstreamKey : getDownstreamKeys(key)) {
+				if (closure.contains(downstreamKey)) {
+					upstreamCounts.merge(downstreamKey, 1, Integer::sum);
+				}
+			}
+		}
+
+		final PriorityQueue<String> readyKeys = new PriorityQueue<>();
+		for (final Map.Entry<String, Integer> upstreamCount : upstreamCounts.entrySet()) {
+			if (upstreamCount.getValue() == 0) {
+				readyKeys.add(upstreamCount.getKey());
+			}
+		}
+
+		final List<String> orderedKeys = new ArrayList<>(closure.size());
+		while (!readyKeys.isEmpty()) {
+			final String key = readyKeys.poll();
+			orderedKeys.add(key);
+
+			for (final String downstreamKey : getDownstreamKeys(key)) {
+				if (closure.contains(downstreamKey) && upstreamCounts.merge(downstreamKey, -1, Integer::sum) == 0) {
+					readyKeys.add(downstreamKey);
+				}
+			}
+		}
+
+		if (orderedKeys.size() < closure.size()) {
+			// Maven rejects cyclic reactors, but a graph merged from several Maven executions may still contain a stale cycle
+			final SortedSet<String> cyclicKeys = new TreeSet<>(closure);
+			cyclicKeys.removeAll(orderedKeys);
+			orderedKeys.addAll(cyclicKeys);
+		}
+
+		return orderedKeys;
+	}
+
+	/**
+	 * @return The version-agnostic keys of all Maven modules in the graph in ascending order.
+	 */
+	public Set<String> getModuleKeys() {
+		return Collections.unmodifiableSet(pomPathsByKey.keySet());
+	}
+
+	/**
+	 * @return The version-agnostic keys of the Maven modules, which Maven modules of the graph depend on or inherit from, but which are not part of the
+	 *         graph themselves, in ascending order.
+	 */
+	public SortedSet<String> getUnknownKeys() {
+		final SortedSet<String> unknownKeys = new TreeSet<>(dependentKeysByKey.keySet());
+		unknownKeys.addAll(childKeysByKey.keySet());
+		unknownKeys.removeAll(pomPathsByKey.keySet());
+
+		return unknownKeys;
+	}
+
+	/**
+	 * @param key The version-agnostic key of a Maven module.
+	 * @return The absolute and normalized path to the POM of the Maven module or null if it is not part of the graph.
+	 */
+	public Path getPomPath(final String key) {
+		return pomPathsByKey.get(key);
+	}
+
+	/**
+	 * @param key The version-agnostic key of a Maven module, which does not need to be part of the graph.
+	 * @return The version-agnostic keys of the Maven modules, which directly depend on the Maven module, in ascending order.
+	 */
+	public SortedSet<String> getDependentKeys(final String key) {
+		final SortedSet<String> dependentKeys = dependentKeysByKey.get(key);
+		return (dependentKeys != null) ? Collections.unmodifiableSortedSet(dependentKeys) : Collections.emptySortedSet();
+	}
+
+	/**
+	 * @param key The version-agnostic key of a Maven module, which does not need to be part of the graph.
+	 * @return The version-agnostic keys of the child Maven modules of the Maven module in ascending order.
+	 */
+	public SortedSet<String> getChildKeys(final String key) {
+		final SortedSet<String> childKeys = childKeysByKey.get(key);
+		return (childKeys != null) ? Collections.unmodifiableSortedSet(childKeys) : Collections.emptySortedSet();
+	}
+
+	/**
+	 * Determines the Maven modules, which directly depend on or inherit from a Maven module.
+	 *
+	 * @param key The version-agnostic key of the Maven module.
+	 * @return The version-agnostic keys of the dependent and child Maven modules.
+	 */
+	private List<String> getDownstreamKeys(final String key) {
+		final List<String> downstreamKeys = new ArrayList<>(getDependentKeys(key));
+		downstreamKeys.addAll(getChildKeys(key));
+
+		return downstreamKeys;
+	}
+
+	/**
+	 * Adds an edge from a Maven module of the graph to an upstream Maven module, which does not need to be part of the graph yet.
+	 *
+	 * @param downstreamKeysByKey The downstream Maven modules by the upstream Maven modules of the kind of edge.
+	 * @param downstreamKey The version-agnostic key of the downstream Maven module.
+	 * @param upstreamKey The version-agnostic key of the upstream Maven module.
+	 * @return Whether the edge has been added, i.e. the downstream Maven module is part of the graph and differs from the upstream Maven module.
+	 */
+	private boolean addEdge(final Map<String, SortedSet<String>> downstreamKeysByKey, final String downstreamKey, final String upstreamKey) {
+		if (!pomPathsByKey.containsKey(downstreamKey) || downstreamKey.equals(upstreamKey)) {
+			return false;
+		}
+
+		return downstreamKeysByKey.computeIfAbsent(upstreamKey, key -> new TreeSet<>()).add(downstreamKey);
+	}
+
+	/**
+	 * Removes Maven modules from the dependents and children of all Maven modules.
+	 *
+	 * @param downstreamKeys The version-agnostic keys of the Maven modules to remove.
+	 */
+	private void removeDownstreamKeys(final Set<String> downstreamKeys) {
+		if (downstreamKeys.isEmpty()) {
+			return;
+		}
+
+		for (final SortedSet<String> existingDependentKeys : dependentKeysByKey.values()) {
+			existingDependentKeys.removeIf(downstreamKeys::contains);
+		}
+		for (final SortedSet<String> existingChildKeys : childKeysByKey.values()) {
+			existingChildKeys.removeIf(downstreamKeys::contains);
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+import de.syquel.maven.reactorstate.common.workspace.dto.DependentModulesDto;
+import de.syquel.maven.reactorstate.common.workspace.dto.ReverseDependencyGraphDto;
+
+/**
+ * The persisted reverse dependency graph of a Maven workspace, which is written alongside the saved state.
+ *
+ * Saving states only replaces the dependencies declared by the saved Maven modules, so the graph covers the whole workspace even if only a subset of
+ * its Maven modules has been built.
+ *
+ * @see ReverseDependencyGraph
+ */
+public class ReverseDependencyGraphIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReverseDependencyGraphIndex.class);
+
+	/**
+	 * The location of the reverse dependency graph within the build directory of the top-most Maven module.
+	 */
+	private static final String INDEX_FILENAME = "reactorstate-dependents.json";
+
+	/**
+	 * The version of the persistence format, which is incremented on incompatible changes.
+	 */
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * The base directory of the top-most Maven module of the workspace, which all persisted paths are relative to.
+	 */
+	private final Path workspaceBasePath;
+
+	/**
+	 * The location of the persisted reverse dependency graph.
+	 */
+	private final Path indexPath;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param workspaceBasePath The base directory of the top-most Maven module of the workspace.
+	 * @param indexPath The location of the persisted reverse dependency graph.
+	 */
+	public ReverseDependencyGraphIndex(final Path workspaceBasePath, final Path indexPath) {
+		this.workspaceBasePath = WorkspaceModule.normalize(workspaceBasePath);
+		this.indexPath = indexPath;
+	}
+
+	/**
+	 * Instantiates the reverse dependency graph index for the Maven workspace of a Maven module.
+	 *
+	 * @param project A Maven module of the workspace.
+	 * @return The reverse dependency graph index for the Maven workspace.
+	 */
+	public static ReverseDependencyGraphIndex create(final MavenProject project) {
+		final MavenProject rootProject = MavenProjectUtils.resolveWorkspaceRootProject(project);
+		final Path indexPath = MavenProjectUtils.resolveProjectBuildPath(rootProject).resolve(INDEX_FILENAME);
+
+		return new ReverseDependencyGraphIndex(rootProject.getBasedir().toPath(), indexPath);
+	}
+
+	/**
+	 * Loads the persisted reverse dependency graph.
+	 *
+	 * @return The reverse dependency graph or null if there is no valid persisted reverse dependency graph.
+	 */
+	public ReverseDependencyGraph load() {
+		if (!Files.isReadable(indexPath)) {
+			return null;
+		}
+
+		final ReverseDependencyGraphDto graphDto;
+		try (final JsonStreamReader indexReader = new JsonStreamReader(Files.newBufferedReader(indexPath))) {
+			graphDto = ReverseDependencyGraphDto.read(indexReader);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot read reverse dependency graph {}. Ignoring.", indexPath, e);
+			return null;
+		}
+
+		if (graphDto.getFormatVersion() != FORMAT_VERSION) {
+			LOGGER.debug("Reverse dependency graph {} has an incompatible format", indexPath);
+			return null;
+		}
+
+		final ReverseDependencyGraph graph = new ReverseDependencyGraph();
+		for (final DependentModulesDto moduleDto : graphDto.getModules()) {
+			if (moduleDto.getPomPath() != null) {
+				graph.addModule(moduleDto.getKey(), workspaceBasePath.resolve(moduleDto.getPomPath()));
+			}
+		}
+		for (final DependentModulesDto moduleDto : graphDto.getModules()) {
+			for (final String dependentKey : moduleDto.getDependentKeys()) {
+				graph.addDependency(dependentKey, moduleDto.getKey());
+			}
+			for (final String childKey : moduleDto.getChildKeys()) {
+				graph.addChild(childKey, moduleDto.getKey());
+			}
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Replaces the Maven modules of a Maven execution within the persisted reverse dependency graph.
+	 *
+	 * @param projects The Maven modules of the Maven execution.
+	 * @throws IOException if an error occurred while persisting the reverse dependency graph.
+	 */
+	public synchronized void update(final Collection<MavenProject> projects) throws IOException {
+		final ReverseDependencyGraph existingGraph = load();
+		final ReverseDependencyGraph graph = (existingGraph != null) ? existingGraph : new ReverseDependencyGraph();
+		graph.update(projects);
+
+		save(graph);
+	}
+
+	/**
+	 * Persists a reverse dependency graph atomically, so that readers never observe a partial graph.
+	 *
+	 * @param graph The reverse dependency graph of the Maven workspace.
+	 * @throws IOException if an error occurred while persisting the reverse dependency graph.
+	 */
+	void save(final ReverseDependencyGraph graph) throws IOException {
+		final List<DependentModulesDto> moduleDtos = new ArrayList<>();
+		for (final String key : graph.getModuleKeys()) {
+			final String pomPath = workspaceBasePath.relativize(graph.getPomPath(key)).toString();
+			moduleDtos.add(new DependentModulesDto(key, pomPath, new ArrayList<>(graph.getDependentKeys(key)), new ArrayList<>(graph.getChildKeys(key))));
+		}
+		for (final String key : graph.getUnknownKeys()) {
+			moduleDtos.add(new DependentModulesDto(key, null, new ArrayList<>(graph.getDependentKeys(key)), new ArrayList<>(graph.getChildKeys(key))));
+		}
+
+		final ReverseDependencyGraphDto graphDto = new ReverseDependencyGraphDto(FORMAT_VERSION, moduleDtos);
+
+		final ByteArrayOutputStream indexBuffer = new ByteArrayOutputStream();
+		try (final JsonStreamWriter indexWriter = new JsonStreamWriter(new OutputStreamWriter(indexBuffer, StandardCharsets.UTF_8), false)) {
+			graphDto.write(indexWriter);
+		}
+
+		StateFileWriter.replaceAtomically(indexPath, indexBuffer.toByteArray(), false);
+	}
+
+}
@@ -0,0 +1,98 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Determines the Maven modules within a Maven workspace, which are affected by a set of changed files.
+ *
+ * A changed file belongs to the Maven module with the innermost base directory containing it. A Maven module is affected, if it contains a changed
+ * file or if it declares an affected Maven module as dependency or build plugin. A change of the POM of a Maven module additionally affects all of
+ * its child Maven modules, which inherit from it.
+ *
+ * @see ReverseDependencyGraph#resolveDownstream(Collection, Collection)
+ */
+public final class WorkspaceChangeClosure {
+
+	/**
+	 * The Maven modules of the workspace by their absolute and normalized base directories.
+	 */
+	private final Map<Path, WorkspaceModule> modulesByBasePath = new HashMap<>();
+
+	/**
+	 * The Maven modules of the workspace by their version-agnostic keys.
+	 */
+	private final Map<String, WorkspaceModule> modulesByKey = new HashMap<>();
+
+	/**
+	 * The reverse dependency graph of the Maven modules of the workspace.
+	 */
+	private final ReverseDependencyGraph graph;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param modules The Maven modules of the workspace.
+	 */
+	public WorkspaceChangeClosure(final Collection<WorkspaceModule> modules) {
+		for (final WorkspaceModule module : modules) {
+			modulesByBasePath.put(module.getPomPath().getParent(), module);
+			modulesByKey.put(module.getKey(), module);
+		}
+
+		graph = ReverseDependencyGraph.of(modules);
+	}
+
+	/**
+	 * Resolves the Maven modules within the Maven workspace, which are affected by a set of changed files.
+	 *
+	 * @param changedPaths The absolute paths to the changed files. Files outside of all Maven modules are ignored.
+	 * @return The affected Maven modules of the workspace in build order.
+	 */
+	public Set<WorkspaceModule> resolve(final Collection<Path> changedPaths) {
+		final Set<String> changedKeys = new LinkedHashSet<>();
+		final Set<String> changedPomKeys = new LinkedHashSet<>();
+		for (final Path changedPath : changedPaths) {
+			final Path normalizedPath = WorkspaceModule.normalize(changedPath);
+
+			final WorkspaceModule module = findOwningModule(normalizedPath);
+			if (module == null) {
+				continue;
+			}
+
+			changedKeys.add(module.getKey());
+			if (normalizedPath.equals(module.getPomPath())) {
+				changedPomKeys.add(module.getKey());
+			}
+		}
+
+		final Set<WorkspaceModule> closure = new LinkedHashSet<>();
+		for (final String key : graph.resolveDownstream(changedKeys, changedPomKeys)) {
+			closure.add(modulesByKey.get(key));
+		}
+
+		return closure;
+	}
+
+	/**
+	 * Finds the Maven module with the innermost base directory containing a file.
+	 *
+	 * @param path The absolute and normalized path to the file.
+	 * @return The owning Maven module or null if the file does not belong to any Maven module.
+	 */
+	private WorkspaceModule findOwningModule(final Path path) {
+		for (Path basePath = path.getParent(); basePath != null; basePath = basePath.getParent()) {
+			final WorkspaceModule module = modulesByBasePath.get(basePath);
+			if (module != null) {
+				return module;
+			}
+		}
+
+		return null;
+	}
+
+}
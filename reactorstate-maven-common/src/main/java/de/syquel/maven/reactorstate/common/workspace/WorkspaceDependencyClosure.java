@@ -0,0 +1,91 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Determines the Maven modules within a Maven workspace, which are transitively referenced by a set of Maven modules.
+ *
+ * A Maven module is referenced by another one, if it is its parent or if it is declared as dependency or build plugin.
+ */
+public final class WorkspaceDependencyClosure {
+
+	/**
+	 * The Maven modules of the workspace by their absolute and normalized paths to their POMs.
+	 */
+	private final Map<Path, WorkspaceModule> modulesByPomPath = new HashMap<>();
+
+	/**
+	 * The Maven modules of the workspace by their version-agnostic keys.
+	 */
+	private final Map<String, WorkspaceModule> modulesByKey = new HashMap<>();
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param modules The Maven modules of the workspace.
+	 */
+	public WorkspaceDependencyClosure(final Collection<WorkspaceModule> modules) {
+		for (final WorkspaceModule module : modules) {
+			modulesByPomPath.put(module.getPomPath(), module);
+			modulesByKey.put(module.getKey(), module);
+		}
+	}
+
+	/**
+	 * Resolves the Maven modules within the Maven workspace, which are transitively referenced by a set of Maven modules including themselves.
+	 *
+	 * @param projects The Maven modules to start from.
+	 * @return The referenced Maven modules of the workspace.
+	 */
+	public Set<WorkspaceModule> resolve(final Collection<MavenProject> projects) {
+		final Deque<WorkspaceModule> pendingModules = new ArrayDeque<>();
+		for (final MavenProject project : projects) {
+			// The effective model of a known Maven module takes precedence over its persisted counterpart
+			pendingModules.add(WorkspaceModule.of(project));
+		}
+
+		final Set<Path> visitedPomPaths = new HashSet<>();
+		final Set<WorkspaceModule> closure = new HashSet<>();
+		while (!pendingModules.isEmpty()) {
+			final WorkspaceModule module = pendingModules.poll();
+			if (!visitedPomPaths.add(module.getPomPath())) {
+				continue;
+			}
+
+			final WorkspaceModule workspaceModule = modulesByPomPath.get(module.getPomPath());
+			closure.add((workspaceModule != null) ? workspaceModule : module);
+
+			if (module.getParentPomPath() != null) {
+				enqueue(pendingModules, modulesByPomPath.get(module.getParentPomPath()));
+			}
+
+			for (final String dependencyKey : module.getDependencyKeys()) {
+				enqueue(pendingModules, modulesByKey.get(dependencyKey));
+			}
+		}
+
+		return closure;
+	}
+
+	/**
+	 * Enqueues a Maven module for traversal if it belongs to the Maven workspace.
+	 *
+	 * @param pendingModules The Maven modules pending traversal.
+	 * @param module The Maven module to enqueue or null if the reference does not belong to the Maven workspace.
+	 */
+	private static void enqueue(final Deque<WorkspaceModule> pendingModules, final WorkspaceModule module) {
+		if (module != null) {
+			pendingModules.add(module);
+		}
+	}
+
+}
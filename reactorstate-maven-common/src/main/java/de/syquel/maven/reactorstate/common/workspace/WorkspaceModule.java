@@ -0,0 +1,267 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+import de.syquel.maven.reactorstate.common.util.MavenProjectUtils;
+
+/**
+ * Representation of a Maven module as node within the topology of a Maven workspace.
+ *
+ * In contrast to a {@link MavenProject} it only carries the information required to locate the Maven module and its saved state.
+ */
+public class WorkspaceModule {
+
+	/**
+	 * The absolute path to the POM of the Maven module.
+	 */
+	private final Path pomPath;
+
+	/**
+	 * The group ID of the Maven module.
+	 */
+	private final String groupId;
+
+	/**
+	 * The artifact ID of the Maven module.
+	 */
+	private final String artifactId;
+
+	/**
+	 * The version of the Maven module.
+	 */
+	private final String version;
+
+	/**
+	 * The packaging of the Maven module.
+	 */
+	private final String packaging;
+
+	/**
+	 * The absolute path to the POM of the parent Maven module or null if the parent does not belong to the Maven workspace.
+	 */
+	private final Path parentPomPath;
+
+	/**
+	 * The absolute paths to the POMs of the child Maven modules.
+	 */
+	private final List<Path> modulePomPaths;
+
+	/**
+	 * The absolute path to the build directory of the Maven module.
+	 */
+	private final Path buildPath;
+
+	/**
+	 * The keys of the dependencies and build plugins of the Maven module, which may refer to other Maven modules within the workspace.
+	 *
+	 * @see #toKey(String, String)
+	 */
+	private final List<String> dependencyKeys;
+
+	public WorkspaceModule(
+		final Path pomPath, final String groupId, final String artifactId, final String version, final String packaging,
+		final Path parentPomPath, final List<Path> modulePomPaths, final Path buildPath, final List<String> dependencyKeys
+	) {
+		this.pomPath = pomPath;
+		this.groupId = groupId;
+		this.artifactId = artifactId;
+		this.version = version;
+		this.packaging = packaging;
+		this.parentPomPath = parentPomPath;
+		this.modulePomPaths = Collections.unmodifiableList(new ArrayList<>(modulePomPaths));
+		this.buildPath = buildPath;
+		this.dependencyKeys = Collections.unmodifiableList(new ArrayList<>(dependencyKeys));
+	}
+
+	/**
+	 * Builds the workspace representation of a Maven module.
+	 *
+	 * @param project The Maven module to build the workspace representation for.
+	 * @return The workspace representation of the Maven module.
+	 */
+	public static WorkspaceModule of(final MavenProject project) {
+		final Path projectBasePath = project.getBasedir().toPath();
+
+		final List<Path> modulePomPaths = new ArrayList<>();
+		for (final String module : project.getModules()) {
+			modulePomPaths.add(resolveModulePomPath(projectBasePath, module));
+		}
+
+		final List<String> dependencyKeys = new ArrayList<>();
+		for (final Dependency dependency : project.getDependencies()) {
+			dependencyKeys.add(toKey(dependency.getGroupId(), dependency.getArtifactId()));
+		}
+		for (final Plugin plugin : project.getBuildPlugins()) {
+			dependencyKeys.add(toKey(plugin.getGroupId(), plugin.getArtifactId()));
+		}
+
+		final MavenProject parentProject = project.getParent();
+		final Path parentPomPath =
+			(parentProject != null && MavenProjectUtils.isWorkspaceProject(parentProject)) ? normalize(parentProject.getFile().toPath()) : null;
+
+		return new WorkspaceModule(
+			normalize(project.getFile().toPath()), project.getGroupId(), project.getArtifactId(), project.getVersion(), project.getPackaging(),
+			parentPomPath, modulePomPaths, normalize(MavenProjectUtils.resolveProjectBuildPath(project)), dependencyKeys
+		);
+	}
+
+	/**
+	 * Builds the version-agnostic key of a Maven module, which is used to match dependencies against Maven modules within the workspace.
+	 *
+	 * @param groupId The group ID of the Maven module.
+	 * @param artifactId The artifact ID of the Maven module.
+	 * @return The key of the Maven module.
+	 */
+	public static String toKey(final String groupId, final String artifactId) {
+		return groupId + ':' + artifactId;
+	}
+
+	/**
+	 * Resolves the path to the POM of a child Maven module.
+	 *
+	 * @param projectBasePath The base directory of the parent Maven module.
+	 * @param module The declared child Maven module, which is either a directory containing a {@code pom.xml} or a POM itself.
+	 * @return The absolute and normalized path to the POM of the child Maven module.
+	 */
+	public static Path resolveModulePomPath(final Path projectBasePath, final String module) {
+		final Path modulePath = projectBasePath.resolve(module);
+		if (Files.isRegularFile(modulePath)) {
+			return normalize(modulePath);
+		}
+
+		return normalize(modulePath.resolve("pom.xml"));
+	}
+
+	/**
+	 * Normalizes a filesystem path, so that it can be used for comparisons.
+	 *
+	 * @param path The filesystem path to normalize.
+	 * @return The absolute and normalized filesystem path.
+	 */
+	public static Path normalize(final Path path) {
+		return path.toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Builds the Maven modules of a Maven workspace, whereas known Maven modules take precedence over their lightweight counterparts.
+	 *
+	 * @param modules The Maven modules of the workspace.
+	 * @param knownProjects The already known Maven modules within the Maven workspace.
+	 * @return The Maven modules of the workspace.
+	 * @see #toProject()
+	 */
+	public static Set<MavenProject> toProjects(final Collection<WorkspaceModule> modules, final Collection<MavenProject> knownProjects) {
+		final Set<MavenProject> projects = new HashSet<>(knownProjects);
+
+		final Set<Path> knownPomPaths = new HashSet<>();
+		for (final MavenProject knownProject : knownProjects) {
+			knownPomPaths.add(normalize(knownProject.getFile().toPath()));
+		}
+
+		for (final WorkspaceModule module : modules) {
+			if (!knownPomPaths.contains(module.getPomPath())) {
+				projects.add(module.toProject());
+			}
+		}
+
+		return projects;
+	}
+
+	/**
+	 * Builds a lightweight Maven module, which is sufficient to locate the saved state of this Maven module.
+	 *
+	 * The resulting Maven module is not backed by an effective model, i.e. it does neither carry dependencies nor plugins.
+	 *
+	 * @return A lightweight Maven module.
+	 */
+	public MavenProject toProject() {
+		final Build build = new Build();
+		build.setDirectory(buildPath.toString());
+
+		final Model model = new Model();
+		model.setGroupId(groupId);
+		model.setArtifactId(artifactId);
+		model.setVersion(version);
+		model.setPackaging(packaging);
+		model.setBuild(build);
+
+		final MavenProject project = new MavenProject(model);
+		project.setFile(pomPath.toFile());
+
+		return project;
+	}
+
+	/**
+	 * @return The version-agnostic key of this Maven module.
+	 * @see #toKey(String, String)
+	 */
+	public String getKey() {
+		return toKey(groupId, artifactId);
+	}
+
+	public Path getPomPath() {
+		return pomPath;
+	}
+
+	public String getGroupId() {
+		return groupId;
+	}
+
+	public String getArtifactId() {
+		return artifactId;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public String getPackaging() {
+		return packaging;
+	}
+
+	public Path getParentPomPath() {
+		return parentPomPath;
+	}
+
+	public List<Path> getModulePomPaths() {
+		return modulePomPaths;
+	}
+
+	public Path getBuildPath() {
+		return buildPath;
+	}
+
+	public List<String> getDependencyKeys() {
+		return dependencyKeys;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+		final WorkspaceModule that = (WorkspaceModule) o;
+		return pomPath.equals(that.pomPath);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(pomPath);
+	}
+
+}
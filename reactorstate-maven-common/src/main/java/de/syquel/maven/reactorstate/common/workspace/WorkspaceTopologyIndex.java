@@ -0,0 +1,279 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+import de.syquel.maven.reactorstate.common.workspace.dto.WorkspaceModuleDto;
+import de.syquel.maven.reactorstate.common.workspace.dto.WorkspaceTopologyDto;
+
+/**
+ * The persisted topology of a Maven workspace, which is valid as long as none of the POMs of its Maven modules have changed.
+ *
+ * A POM is considered unchanged if its size and last modification time are unchanged. In case only the last modification time has changed, e.g. due to
+ * a checkout of a VCS, the content digest of the POM decides.
+ */
+public class WorkspaceTopologyIndex {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceTopologyIndex.class);
+
+	/**
+	 * The version of the persistence format, which is incremented on incompatible changes.
+	 */
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * The base directory of the top-most Maven module of the workspace, which all persisted paths are relative to.
+	 */
+	private final Path workspaceBasePath;
+
+	/**
+	 * The location of the persisted topology.
+	 */
+	private final Path indexPath;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param workspaceBasePath The base directory of the top-most Maven module of the workspace.
+	 * @param indexPath The location of the persisted topology.
+	 */
+	public WorkspaceTopologyIndex(final Path workspaceBasePath, final Path indexPath) {
+		this.workspaceBasePath = WorkspaceModule.normalize(workspaceBasePath);
+		this.indexPath = indexPath;
+	}
+
+	/**
+	 * Loads the persisted topology of the Maven workspace.
+	 *
+	 * In case POMs have only been touched without changing their content, the persisted topology is refreshed to avoid computing their digests again.
+	 *
+	 * @param executionKey The key of the inputs of the current Maven execution, which may influence the Maven modules of the workspace.
+	 * @return The Maven modules of the workspace or null if there is no valid persisted topology.
+	 */
+	public Collection<WorkspaceModule> load(final String executionKey) {
+		if (!Files.isReadable(indexPath)) {
+			return null;
+		}
+
+		final WorkspaceTopologyDto topologyDto;
+		try (final JsonStreamReader indexReader = new JsonStreamReader(Files.newBufferedReader(indexPath))) {
+			topologyDto = WorkspaceTopologyDto.read(indexReader);
+		} catch (final IOException e) {
+			LOGGER.warn("Cannot read workspace index {}. Ignoring.", indexPath, e);
+			return null;
+		}
+
+		if (topologyDto.getFormatVersion() != FORMAT_VERSION || !executionKey.equals(topologyDto.getExecutionKey())) {
+			LOGGER.debug("Workspace index {} is incompatible with the current Maven execution", indexPath);
+			return null;
+		}
+
+		final List<WorkspaceModule> modules = new ArrayList<>();
+		boolean touched = false;
+		for (final WorkspaceModuleDto moduleDto : topologyDto.getModules()) {
+			final Path pomPath = workspaceBasePath.resolve(moduleDto.getPomPath());
+
+			final PomChange pomChange;
+			try {
+				pomChange = detectChange(pomPath, moduleDto);
+			} catch (final IOException e) {
+				LOGGER.debug("Cannot inspect POM {} of workspace index {}", pomPath, indexPath, e);
+				return null;
+			}
+
+			if (pomChange == PomChange.MODIFIED) {
+				LOGGER.info("POM {} has changed since the workspace index has been persisted", pomPath);
+				return null;
+			}
+
+			touched |= (pomChange == PomChange.TOUCHED);
+			modules.add(convert(moduleDto));
+		}
+
+		if (!isComplete(modules)) {
+			LOGGER.debug("Workspace index {} is incomplete", indexPath);
+			return null;
+		}
+
+		if (touched) {
+			try {
+				save(executionKey, modules);
+			} catch (final IOException e) {
+				LOGGER.warn("Cannot refresh workspace index {}. Ignoring.", indexPath, e);
+			}
+		}
+
+		return modules;
+	}
+
+	/**
+	 * Persists the topology of the Maven workspace.
+	 *
+	 * @param executionKey The key of the inputs of the current Maven execution, which may influence the Maven modules of the workspace.
+	 * @param modules The Maven modules of the workspace.
+	 * @throws IOException if an error occurred while persisting the topology.
+	 */
+	public void save(final String executionKey, final Collection<WorkspaceModule> modules) throws IOException {
+		final List<WorkspaceModuleDto> moduleDtos = new ArrayList<>();
+		for (final WorkspaceModule module : modules) {
+			moduleDtos.add(convert(module));
+		}
+
+		final WorkspaceTopologyDto topologyDto = new WorkspaceTopologyDto(FORMAT_VERSION, executionKey, moduleDtos);
+
+		final ByteArrayOutputStream indexBuffer = new ByteArrayOutputStream();
+		try (final JsonStreamWriter indexWriter = new JsonStreamWriter(new OutputStreamWriter(indexBuffer, StandardCharsets.UTF_8), false)) {
+			topologyDto.write(indexWriter);
+		}
+
+		StateFileWriter.replaceAtomically(indexPath, indexBuffer.toByteArray(), false);
+	}
+
+	/**
+	 * Determines whether and how a POM has changed since the topology has been persisted.
+	 *
+	 * @param pomPath The path to the POM.
+	 * @param moduleDto The persisted representation of the Maven module of the POM.
+	 * @return The change of the POM.
+	 * @throws IOException if an error occurred while inspecting the POM.
+	 */
+	private static PomChange detectChange(final Path pomPath, final WorkspaceModuleDto moduleDto) throws IOException {
+		final BasicFileAttributes pomAttributes;
+		try {
+			pomAttributes = Files.readAttributes(pomPath, BasicFileAttributes.class);
+		} catch (final NoSuchFileException e) {
+			return PomChange.MODIFIED;
+		}
+
+		if (pomAttributes.size() != moduleDto.getPomSize()) {
+			return PomChange.MODIFIED;
+		}
+
+		if (pomAttributes.lastModifiedTime().toMillis() == moduleDto.getPomLastModified()) {
+			return PomChange.UNCHANGED;
+		}
+
+		return DigestUtils.sha256Hex(pomPath).equals(moduleDto.getPomHash()) ? PomChange.TOUCHED : PomChange.MODIFIED;
+	}
+
+	/**
+	 * Determines whether all parent and child Maven modules of the Maven workspace are contained within the topology.
+	 *
+	 * @param modules The Maven modules of the workspace.
+	 * @return Whether the topology is complete.
+	 */
+	private static boolean isComplete(final Collection<WorkspaceModule> modules) {
+		final Set<Path> pomPaths = new HashSet<>();
+		for (final WorkspaceModule module : modules) {
+			pomPaths.add(module.getPomPath());
+		}
+
+		for (final WorkspaceModule module : modules) {
+			if (module.getParentPomPath() != null && !pomPaths.contains(module.getParentPomPath())) {
+				return false;
+			}
+
+			if (!pomPaths.containsAll(module.getModulePomPaths())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Deserializes a persisted Maven module.
+	 *
+	 * @param moduleDto The serialized representation of the Maven module.
+	 * @return The deserialized representation of the Maven module.
+	 */
+	private WorkspaceModule convert(final WorkspaceModuleDto moduleDto) {
+		final List<Path> modulePomPaths = new ArrayList<>();
+		for (final String modulePomPath : moduleDto.getModulePomPaths()) {
+			modulePomPaths.add(workspaceBasePath.resolve(modulePomPath));
+		}
+
+		final Path parentPomPath = (moduleDto.getParentPomPath() != null) ? workspaceBasePath.resolve(moduleDto.getParentPomPath()) : null;
+
+		return new WorkspaceModule(
+			workspaceBasePath.resolve(moduleDto.getPomPath()), moduleDto.getGroupId(), moduleDto.getArtifactId(), moduleDto.getVersion(),
+			moduleDto.getPackaging(), parentPomPath, modulePomPaths, workspaceBasePath.resolve(moduleDto.getBuildPath()), moduleDto.getDependencyKeys()
+		);
+	}
+
+	/**
+	 * Serializes a Maven module.
+	 *
+	 * @param module The deserialized representation of the Maven module.
+	 * @return The serialized representation of the Maven module.
+	 * @throws IOException if an error occurred while inspecting the POM of the Maven module.
+	 */
+	private WorkspaceModuleDto convert(final WorkspaceModule module) throws IOException {
+		final Path pomPath = module.getPomPath();
+		final BasicFileAttributes pomAttributes = Files.readAttributes(pomPath, BasicFileAttributes.class);
+
+		final List<String> modulePomPaths = new ArrayList<>();
+		for (final Path modulePomPath : module.getModulePomPaths()) {
+			modulePomPaths.add(relativize(modulePomPath));
+		}
+
+		final String parentPomPath = (module.getParentPomPath() != null) ? relativize(module.getParentPomPath()) : null;
+
+		return new WorkspaceModuleDto(
+			relativize(pomPath), pomAttributes.size(), pomAttributes.lastModifiedTime().toMillis(), DigestUtils.sha256Hex(pomPath),
+			module.getGroupId(), module.getArtifactId(), module.getVersion(), module.getPackaging(),
+			parentPomPath, modulePomPaths, relativize(module.getBuildPath()), module.getDependencyKeys()
+		);
+	}
+
+	/**
+	 * Determines the path relative to the base directory of the workspace.
+	 *
+	 * @param path The absolute path.
+	 * @return The relative path.
+	 */
+	private String relativize(final Path path) {
+		return workspaceBasePath.relativize(path).toString();
+	}
+
+	/**
+	 * The possible changes of a POM since the topology has been persisted.
+	 */
+	private enum PomChange {
+
+		/**
+		 * The POM is unchanged.
+		 */
+		UNCHANGED,
+
+		/**
+		 * The last modification time of the POM has changed, but its content is unchanged.
+		 */
+		TOUCHED,
+
+		/**
+		 * The content of the POM has changed or the POM has been removed.
+		 */
+		MODIFIED
+
+	}
+
+}
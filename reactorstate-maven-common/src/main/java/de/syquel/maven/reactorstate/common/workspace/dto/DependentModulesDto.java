@@ -0,0 +1,174 @@
+package de.syquel.maven.reactorstate.common.workspace.dto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+
+/**
+ * The JSON-specific representation of a Maven module and the Maven modules depending on or inheriting from it within the persisted reverse dependency
+ * graph.
+ *
+ * All paths are relative to the base directory of the top-most Maven module of the workspace.
+ */
+public class DependentModulesDto {
+
+	/**
+	 * The version-agnostic key of the Maven module.
+	 */
+	private final String key;
+
+	/**
+	 * The path to the POM of the Maven module or null if the Maven module is not part of the graph yet.
+	 */
+	private final String pomPath;
+
+	/**
+	 * The version-agnostic keys of the Maven modules, which directly depend on the Maven module.
+	 */
+	private final List<String> dependentKeys;
+
+	/**
+	 * The version-agnostic keys of the child Maven modules of the Maven module.
+	 */
+	private final List<String> childKeys;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param key The version-agnostic key of the Maven module.
+	 * @param pomPath The path to the POM of the Maven module or null if the Maven module is not part of the graph yet.
+	 * @param dependentKeys The version-agnostic keys of the Maven modules, which directly depend on the Maven module.
+	 * @param childKeys The version-agnostic keys of the child Maven modules of the Maven module.
+	 */
+	public DependentModulesDto(final String key, final String pomPath, final List<String> dependentKeys, final List<String> childKeys) {
+		this.key = key;
+		this.pomPath = pomPath;
+		this.dependentKeys = dependentKeys;
+		this.childKeys = childKeys;
+	}
+
+	/**
+	 * @return The version-agnostic key of the Maven module.
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The path to the POM of the Maven module or null if the Maven module is not part of the graph yet.
+	 */
+	public String getPomPath() {
+		return pomPath;
+	}
+
+	/**
+	 * @return The version-agnostic keys of the Maven modules, which directly depend on the Maven module.
+	 */
+	public List<String> getDependentKeys() {
+		return dependentKeys;
+	}
+
+	/**
+	 * @return The version-agnostic keys of the child Maven modules of the Maven module.
+	 */
+	public List<String> getChildKeys() {
+		return childKeys;
+	}
+
+	/**
+	 * Writes this Maven module to a JSON stream.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	void write(final JsonStreamWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("key").value(key);
+		writer.name("pomPath").value(pomPath);
+		writer.name("dependentKeys");
+		writeStrings(writer, dependentKeys);
+		writer.name("childKeys");
+		writeStrings(writer, childKeys);
+		writer.endObject();
+	}
+
+	/**
+	 * Reads a Maven module from a JSON stream.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The Maven module.
+	 * @throws IOException if the JSON stream is malformed, the Maven module is incomplete or an error occurred while reading.
+	 */
+	static DependentModulesDto read(final JsonStreamReader reader) throws IOException {
+		String key = null;
+		String pomPath = null;
+		List<String> dependentKeys = new ArrayList<>();
+		List<String> childKeys = new ArrayList<>();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "key":
+					key = reader.nextString();
+					break;
+				case "pomPath":
+					pomPath = reader.nextString();
+					break;
+				case "dependentKeys":
+					dependentKeys = readStrings(reader);
+					break;
+				case "childKeys":
+					childKeys = readStrings(reader);
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		if (key == null) {
+			throw new IOException("Incomplete Maven module " + key + " within reverse dependency graph");
+		}
+
+		return new DependentModulesDto(key, pomPath, dependentKeys, childKeys);
+	}
+
+	/**
+	 * Writes a list of strings to a JSON stream.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param values The strings.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeStrings(final JsonStreamWriter writer, final List<String> values) throws IOException {
+		writer.beginArray();
+		for (final String value : values) {
+			writer.value(value);
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Reads a list of strings from a JSON stream.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The strings.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static List<String> readStrings(final JsonStreamReader reader) throws IOException {
+		final List<String> values = new ArrayList<>();
+
+		reader.beginArray();
+		while (reader.hasNext()) {
+			values.add(reader.nextString());
+		}
+		reader.endArray();
+
+		return values;
+	}
+
+}
@@ -0,0 +1,102 @@
+package de.syquel.maven.reactorstate.common.workspace.dto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+
+/**
+ * The JSON-specific representation of the persisted reverse dependency graph of a Maven workspace.
+ */
+public class ReverseDependencyGraphDto {
+
+	/**
+	 * The version of the persistence format.
+	 */
+	private final int formatVersion;
+
+	/**
+	 * The Maven modules of the workspace together with their dependents and children.
+	 */
+	private final Collection<DependentModulesDto> modules;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param formatVersion The version of the persistence format.
+	 * @param modules The Maven modules of the workspace together with their dependents and children.
+	 */
+	public ReverseDependencyGraphDto(final int formatVersion, final Collection<DependentModulesDto> modules) {
+		this.formatVersion = formatVersion;
+		this.modules = modules;
+	}
+
+	/**
+	 * @return The version of the persistence format.
+	 */
+	public int getFormatVersion() {
+		return formatVersion;
+	}
+
+	/**
+	 * @return The Maven modules of the workspace together with their dependents and children.
+	 */
+	public Collection<DependentModulesDto> getModules() {
+		return modules;
+	}
+
+	/**
+	 * Writes this reverse dependency graph to a JSON stream.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public void write(final JsonStreamWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("formatVersion").value(formatVersion);
+		writer.name("modules").beginArray();
+		for (final DependentModulesDto module : modules) {
+			module.write(writer);
+		}
+		writer.endArray();
+		writer.endObject();
+	}
+
+	/**
+	 * Reads a reverse dependency graph from a JSON stream.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The reverse dependency graph.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	public static ReverseDependencyGraphDto read(final JsonStreamReader reader) throws IOException {
+		int formatVersion = 0;
+		final List<DependentModulesDto> modules = new ArrayList<>();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "formatVersion":
+					formatVersion = reader.nextInt();
+					break;
+				case "modules":
+					reader.beginArray();
+					while (reader.hasNext()) {
+						modules.add(DependentModulesDto.read(reader));
+					}
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return new ReverseDependencyGraphDto(formatVersion, modules);
+	}
+
+}
@@ -0,0 +1,282 @@
+package de.syquel.maven.reactorstate.common.workspace.dto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+
+/**
+ * The JSON-specific representation of a Maven module within the persisted topology of a Maven workspace.
+ *
+ * All paths are relative to the base directory of the top-most Maven module of the workspace.
+ */
+public class WorkspaceModuleDto {
+
+	/**
+	 * The path to the POM of the Maven module.
+	 */
+	private final String pomPath;
+
+	/**
+	 * The size of the POM in bytes at the time the topology has been persisted.
+	 */
+	private final long pomSize;
+
+	/**
+	 * The last modification time of the POM in milliseconds since the epoch at the time the topology has been persisted.
+	 */
+	private final long pomLastModified;
+
+	/**
+	 * The SHA-256 digest of the POM at the time the topology has been persisted.
+	 */
+	private final String pomHash;
+
+	/**
+	 * The group ID of the Maven module.
+	 */
+	private final String groupId;
+
+	/**
+	 * The artifact ID of the Maven module.
+	 */
+	private final String artifactId;
+
+	/**
+	 * The version of the Maven module.
+	 */
+	private final String version;
+
+	/**
+	 * The packaging of the Maven module.
+	 */
+	private final String packaging;
+
+	/**
+	 * The path to the POM of the parent Maven module or null if the parent does not belong to the Maven workspace.
+	 */
+	private final String parentPomPath;
+
+	/**
+	 * The paths to the POMs of the child Maven modules.
+	 */
+	private final List<String> modulePomPaths;
+
+	/**
+	 * The path to the build directory of the Maven module.
+	 */
+	private final String buildPath;
+
+	/**
+	 * The keys of the dependencies and build plugins of the Maven module.
+	 */
+	private final List<String> dependencyKeys;
+
+	public WorkspaceModuleDto(
+		final String pomPath, final long pomSize, final long pomLastModified, final String pomHash,
+		final String groupId, final String artifactId, final String version, final String packaging,
+		final String parentPomPath, final List<String> modulePomPaths, final String buildPath, final List<String> dependencyKeys
+	) {
+		this.pomPath = pomPath;
+		this.pomSize = pomSize;
+		this.pomLastModified = pomLastModified;
+		this.pomHash = pomHash;
+		this.groupId = groupId;
+		this.artifactId = artifactId;
+		this.version = version;
+		this.packaging = packaging;
+		this.parentPomPath = parentPomPath;
+		this.modulePomPaths = modulePomPaths;
+		this.buildPath = buildPath;
+		this.dependencyKeys = dependencyKeys;
+	}
+
+	public String getPomPath() {
+		return pomPath;
+	}
+
+	public long getPomSize() {
+		return pomSize;
+	}
+
+	public long getPomLastModified() {
+		return pomLastModified;
+	}
+
+	public String getPomHash() {
+		return pomHash;
+	}
+
+	public String getGroupId() {
+		return groupId;
+	}
+
+	public String getArtifactId() {
+		return artifactId;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public String getPackaging() {
+		return packaging;
+	}
+
+	public String getParentPomPath() {
+		return parentPomPath;
+	}
+
+	public List<String> getModulePomPaths() {
+		return modulePomPaths;
+	}
+
+	public String getBuildPath() {
+		return buildPath;
+	}
+
+	public List<String> getDependencyKeys() {
+		return dependencyKeys;
+	}
+
+	/**
+	 * Writes this Maven module to a JSON stream.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	void write(final JsonStreamWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("pomPath").value(pomPath);
+		writer.name("pomSize").value(pomSize);
+		writer.name("pomLastModified").value(pomLastModified);
+		writer.name("pomHash").value(pomHash);
+		writer.name("groupId").value(groupId);
+		writer.name("artifactId").value(artifactId);
+		writer.name("version").value(version);
+		writer.name("packaging").value(packaging);
+		writer.name("parentPomPath").value(parentPomPath);
+		writer.name("modulePomPaths");
+		writeStrings(writer, modulePomPaths);
+		writer.name("buildPath").value(buildPath);
+		writer.name("dependencyKeys");
+		writeStrings(writer, dependencyKeys);
+		writer.endObject();
+	}
+
+	/**
+	 * Reads a Maven module from a JSON stream.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The Maven module.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	static WorkspaceModuleDto read(final JsonStreamReader reader) throws IOException {
+		String pomPath = null;
+		long pomSize = -1;
+		long pomLastModified = -1;
+		String pomHash = null;
+		String groupId = null;
+		String artifactId = null;
+		String version = null;
+		String packaging = null;
+		String parentPomPath = null;
+		List<String> modulePomPaths = new ArrayList<>();
+		String buildPath = null;
+		List<String> dependencyKeys = new ArrayList<>();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "pomPath":
+					pomPath = reader.nextString();
+					break;
+				case "pomSize":
+					pomSize = reader.nextLong();
+					break;
+				case "pomLastModified":
+					pomLastModified = reader.nextLong();
+					break;
+				case "pomHash":
+					pomHash = reader.nextString();
+					break;
+				case "groupId":
+					groupId = reader.nextString();
+					break;
+				case "artifactId":
+					artifactId = reader.nextString();
+					break;
+				case "version":
+					version = reader.nextString();
+					break;
+				case "packaging":
+					packaging = reader.nextString();
+					break;
+				case "parentPomPath":
+					parentPomPath = reader.nextString();
+					break;
+				case "modulePomPaths":
+					modulePomPaths = readStrings(reader);
+					break;
+				case "buildPath":
+					buildPath = reader.nextString();
+					break;
+				case "dependencyKeys":
+					dependencyKeys = readStrings(reader);
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		if (pomPath == null || buildPath == null) {
+			throw new IOException("Incomplete Maven module " + groupId + ":" + artifactId + " within workspace topology");
+		}
+
+		return new WorkspaceModuleDto(
+			pomPath, pomSize, pomLastModified, pomHash, groupId, artifactId, version, packaging, parentPomPath, modulePomPaths, buildPath, dependencyKeys
+		);
+	}
+
+	/**
+	 * Writes a list of strings to a JSON stream.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @param values The strings.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	private static void writeStrings(final JsonStreamWriter writer, final List<String> values) throws IOException {
+		writer.beginArray();
+		for (final String value : values) {
+			writer.value(value);
+		}
+		writer.endArray();
+	}
+
+	/**
+	 * Reads a list of strings from a JSON stream.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The strings, which are empty if the list is null.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	private static List<String> readStrings(final JsonStreamReader reader) throws IOException {
+		final List<String> values = new ArrayList<>();
+		if (reader.nextNullIfPresent()) {
+			return values;
+		}
+
+		reader.beginArray();
+		while (reader.hasNext()) {
+			values.add(reader.nextString());
+		}
+		reader.endArray();
+
+		return values;
+	}
+
+}
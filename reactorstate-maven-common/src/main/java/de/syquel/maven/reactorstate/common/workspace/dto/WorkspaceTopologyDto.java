@@ -0,0 +1,105 @@
+package de.syquel.maven.reactorstate.common.workspace.dto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+
+/**
+ * The JSON-specific representation of the persisted topology of a Maven workspace.
+ */
+public class WorkspaceTopologyDto {
+
+	/**
+	 * The version of the persistence format.
+	 */
+	private final int formatVersion;
+
+	/**
+	 * The key of the inputs of the Maven execution, which may influence the Maven modules of the workspace.
+	 */
+	private final String executionKey;
+
+	/**
+	 * The Maven modules of the workspace.
+	 */
+	private final Collection<WorkspaceModuleDto> modules;
+
+	public WorkspaceTopologyDto(final int formatVersion, final String executionKey, final Collection<WorkspaceModuleDto> modules) {
+		this.formatVersion = formatVersion;
+		this.executionKey = executionKey;
+		this.modules = modules;
+	}
+
+	public int getFormatVersion() {
+		return formatVersion;
+	}
+
+	public String getExecutionKey() {
+		return executionKey;
+	}
+
+	public Collection<WorkspaceModuleDto> getModules() {
+		return modules;
+	}
+
+	/**
+	 * Writes this topology to a JSON stream.
+	 *
+	 * @param writer The JSON stream to write to.
+	 * @throws IOException if an error occurred while writing.
+	 */
+	public void write(final JsonStreamWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("formatVersion").value(formatVersion);
+		writer.name("executionKey").value(executionKey);
+		writer.name("modules").beginArray();
+		for (final WorkspaceModuleDto module : modules) {
+			module.write(writer);
+		}
+		writer.endArray();
+		writer.endObject();
+	}
+
+	/**
+	 * Reads a topology from a JSON stream.
+	 *
+	 * @param reader The JSON stream to read from.
+	 * @return The topology.
+	 * @throws IOException if the JSON stream is malformed or an error occurred while reading.
+	 */
+	public static WorkspaceTopologyDto read(final JsonStreamReader reader) throws IOException {
+		int formatVersion = 0;
+		String executionKey = null;
+		final List<WorkspaceModuleDto> modules = new ArrayList<>();
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "formatVersion":
+					formatVersion = reader.nextInt();
+					break;
+				case "executionKey":
+					executionKey = reader.nextString();
+					break;
+				case "modules":
+					reader.beginArray();
+					while (reader.hasNext()) {
+						modules.add(WorkspaceModuleDto.read(reader));
+					}
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		return new WorkspaceTopologyDto(formatVersion, executionKey, modules);
+	}
+
+}
@@ -0,0 +1,148 @@
+package de.syquel.maven.reactorstate.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ProjectInputFingerprinterTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testPropagateChangedInputs() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+		final List<MavenProject> projects = Arrays.asList(topLevelProject, module1Project, module3Project, module2Project);
+
+		final Path module3SourcePath = module3Project.getBasedir().toPath().resolve("src/main/java/HelloWorld.java");
+		Files.createDirectories(module3SourcePath.getParent());
+		Files.write(module3SourcePath, "class HelloWorld {}".getBytes(StandardCharsets.UTF_8));
+
+		final SavedReactorStateManager reactorStateManager = createReactorStateManager(topLevelProject, projects);
+
+		// when
+		new ProjectInputFingerprinter(reactorStateManager, 2, null).fingerprint(projects);
+		final String[] initialFingerprints = getInputFingerprints(projects);
+
+		new ProjectInputFingerprinter(reactorStateManager, 2, null).fingerprint(projects);
+		final String[] repeatedFingerprints = getInputFingerprints(projects);
+
+		Files.write(module3SourcePath, "class HelloWorld { }".getBytes(StandardCharsets.UTF_8));
+		new ProjectInputFingerprinter(reactorStateManager, 2, null).fingerprint(projects);
+		final String[] changedFingerprints = getInputFingerprints(projects);
+
+		// then
+		MatcherAssert.assertThat("Top-level project is fingerprinted", initialFingerprints[0], notNullValue());
+		MatcherAssert.assertThat("Fingerprints of unchanged inputs are stable", repeatedFingerprints, is(initialFingerprints));
+
+		MatcherAssert.assertThat("Top-level project is unaffected", changedFingerprints[0], is(initialFingerprints[0]));
+		MatcherAssert.assertThat("Sub-module1 is unaffected", changedFingerprints[1], is(initialFingerprints[1]));
+		MatcherAssert.assertThat("Changed Sub-module3 is detected", changedFingerprints[2], not(initialFingerprints[2]));
+		MatcherAssert.assertThat("Downstream Sub-module2 is affected", changedFingerprints[3], not(initialFingerprints[3]));
+	}
+
+	@Test
+	public void testPropagateChangedParent() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+		final List<MavenProject> projects = Arrays.asList(topLevelProject, module1Project, module3Project, module2Project);
+
+		final SavedReactorStateManager reactorStateManager = createReactorStateManager(topLevelProject, projects);
+
+		// when
+		new ProjectInputFingerprinter(reactorStateManager, 2, null).fingerprint(projects);
+		final String[] initialFingerprints = getInputFingerprints(projects);
+
+		final Path module1ResourcePath = module1Project.getBasedir().toPath().resolve("src/main/resources/shared.properties");
+		Files.createDirectories(module1ResourcePath.getParent());
+		Files.write(module1ResourcePath, "greeting=hello".getBytes(StandardCharsets.UTF_8));
+		new ProjectInputFingerprinter(reactorStateManager, 2, null).fingerprint(projects);
+		final String[] changedFingerprints = getInputFingerprints(projects);
+
+		// then
+		MatcherAssert.assertThat("Top-level project is unaffected", changedFingerprints[0], is(initialFingerprints[0]));
+		MatcherAssert.assertThat("Changed Sub-module1 is detected", changedFingerprints[1], not(initialFingerprints[1]));
+		MatcherAssert.assertThat("Child Sub-module3 is affected", changedFingerprints[2], not(initialFingerprints[2]));
+	}
+
+	@Test
+	public void testDetectUpToDateState() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+		final List<MavenProject> projects = Arrays.asList(topLevelProject, module1Project, module3Project, module2Project);
+
+		new ProjectInputFingerprinter(createReactorStateManager(topLevelProject, projects), 2, null).fingerprint(projects);
+
+		final IReactorStateRepository repository = new JsonReactorStateRepository();
+		final MavenProjectState module2ProjectState = repository.read(module2Project);
+		module2ProjectState.setInputFingerprint(ProjectInputFingerprinter.getInputFingerprint(module2Project));
+		repository.save(module2ProjectState);
+
+		// when
+		final SavedReactorStateManager reactorStateManager = createReactorStateManager(topLevelProject, projects);
+		final boolean initiallyUpToDate = reactorStateManager.isUpToDate(module2Project);
+
+		final Path module3ResourcePath = module3Project.getBasedir().toPath().resolve("src/main/resources/application.properties");
+		Files.createDirectories(module3ResourcePath.getParent());
+		Files.write(module3ResourcePath, "greeting=hello".getBytes(StandardCharsets.UTF_8));
+		new ProjectInputFingerprinter(reactorStateManager, 2, null).fingerprint(projects);
+
+		// then
+		MatcherAssert.assertThat("Sub-module2 with matching input fingerprint is up-to-date", initiallyUpToDate, is(true));
+		MatcherAssert.assertThat("Sub-module1 without input fingerprint is not up-to-date", reactorStateManager.isUpToDate(module1Project), is(false));
+		MatcherAssert.assertThat("Sub-module2 with changed upstream is not up-to-date", reactorStateManager.isUpToDate(module2Project), is(false));
+	}
+
+	private SavedReactorStateManager createReactorStateManager(final MavenProject topLevelProject, final List<MavenProject> projects)
+		throws Exception
+	{
+		final MavenSession session = testMavenRuntime.newMavenSession(topLevelProject);
+		session.setProjects(projects);
+
+		return SavedReactorStateManager.create(session, testMavenRuntime.lookup(ProjectBuilder.class));
+	}
+
+	private static String[] getInputFingerprints(final List<MavenProject> projects) {
+		return projects.stream().map(ProjectInputFingerprinter::getInputFingerprint).toArray(String[]::new);
+	}
+
+}
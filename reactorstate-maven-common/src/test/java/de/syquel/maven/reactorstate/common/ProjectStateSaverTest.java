@@ -0,0 +1,136 @@
+package de.syquel.maven.reactorstate.common;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.hash.FileHashCache;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.index.ArtifactIndex;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import de.syquel.maven.reactorstate.common.workspace.ReverseDependencyGraphIndex;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ProjectStateSaverTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testSaveProjectsConcurrently() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+
+		final IReactorStateRepository repository = new JsonReactorStateRepository();
+		for (final MavenProject project : projects) {
+			repository.delete(project);
+		}
+
+		final ProjectStateSaver projectStateSaver = new ProjectStateSaver(
+			repository, ArtifactIndex.create(projects.get(0)), ReverseDependencyGraphIndex.create(projects.get(0)), 2,
+			FileHashCache.create(projects.get(0))
+		);
+
+		// when
+		final ExecutorService builderExecutor = Executors.newFixedThreadPool(projects.size());
+		try {
+			final List<Callable<Void>> builds = new ArrayList<>();
+			for (final MavenProject project : projects) {
+				builds.add(() -> {
+					projectStateSaver.save(project);
+					return null;
+				});
+			}
+
+			for (final Future<Void> build : builderExecutor.invokeAll(builds)) {
+				build.get();
+			}
+		} finally {
+			builderExecutor.shutdown();
+		}
+
+		projectStateSaver.close();
+
+		// then
+		for (final MavenProject project : projects) {
+			final MavenProjectState savedProjectState = repository.read(project);
+			MatcherAssert.assertThat("State of " + project.getArtifactId() + " is saved", savedProjectState, notNullValue());
+			MatcherAssert.assertThat(
+				"Main artifact of " + project.getArtifactId() + " is saved",
+				ArtifactIdUtils.toId(savedProjectState.getMainArtifactState().getArtifact()),
+				is(ArtifactIdUtils.toId(RuntimeReactorStateManager.buildProjectState(project).getMainArtifactState().getArtifact()))
+			);
+		}
+		MatcherAssert.assertThat(
+			"Artifact index is updated",
+			Files.isRegularFile(baseDir.toPath().resolve("target/reactorstate-artifacts.idx")),
+			is(true)
+		);
+	}
+
+	@Test
+	public void testReportFailuresOnClose() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+
+		final IReactorStateRepository failingRepository = new JsonReactorStateRepository() {
+			@Override
+			public boolean save(final MavenProjectState mavenProjectState) throws IOException {
+				throw new IOException("Cannot write " + mavenProjectState.getProject().getArtifactId());
+			}
+		};
+		final ProjectStateSaver projectStateSaver = new ProjectStateSaver(
+			failingRepository, ArtifactIndex.create(projects.get(0)), ReverseDependencyGraphIndex.create(projects.get(0)), 1, null
+		);
+
+		// when
+		for (final MavenProject project : projects) {
+			projectStateSaver.save(project);
+		}
+
+		IOException failure = null;
+		try {
+			projectStateSaver.close();
+		} catch (final IOException e) {
+			failure = e;
+		}
+
+		// then
+		MatcherAssert.assertThat("Failures are reported on close", failure, notNullValue());
+		MatcherAssert.assertThat("All failed Maven projects are counted", failure.getMessage(), containsString("out of " + projects.size()));
+	}
+
+	private List<MavenProject> readProjects(final File baseDir) throws Exception {
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		return Arrays.asList(topLevelProject, module1Project, module2Project, module3Project);
+	}
+
+}
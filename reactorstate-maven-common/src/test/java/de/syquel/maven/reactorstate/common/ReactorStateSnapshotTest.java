@@ -0,0 +1,90 @@
+package de.syquel.maven.reactorstate.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.io.File;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ReactorStateSnapshotTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testAcquireOncePerSession() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenSession session = testMavenRuntime.newMavenSession(module2Project);
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+
+		// when
+		final ReactorStateSnapshot snapshot = ReactorStateSnapshot.acquire(session, projectBuilder);
+		final ReactorStateSnapshot sharedSnapshot = ReactorStateSnapshot.acquire(session, projectBuilder);
+
+		// then
+		MatcherAssert.assertThat("Snapshot is shared within the Maven session", sharedSnapshot, sameInstance(snapshot));
+
+		final Artifact module3Artifact =
+			snapshot.findArtifact(new DefaultArtifact("de.syquel.maven.reactorstate", "reactorstate-maven-extension-stub-module3", "jar", "1.0-SNAPSHOT"));
+		MatcherAssert.assertThat("Sub-module3 artifact is indexed", module3Artifact, notNullValue(Artifact.class));
+		MatcherAssert.assertThat(
+			"Sub-module3 artifact file is resolved",
+			module3Artifact.getFile(),
+			is(new File(baseDir, "module1/module3/target/reactorstate-maven-extension-stub-module3-1.0-SNAPSHOT.jar"))
+		);
+
+		MatcherAssert.assertThat(
+			"Unknown artifact is not indexed",
+			snapshot.findArtifact(new DefaultArtifact("org.example", "unknown", "jar", "1.0")),
+			nullValue(Artifact.class)
+		);
+	}
+
+	@Test
+	public void testAddDeferredArtifactsOnce() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+		final MavenSession session = testMavenRuntime.newMavenSession(module3Project);
+		session.getUserProperties().setProperty(ReactorStateConfiguration.PROPERTY_DISCOVERY_SCOPE, "dependencies");
+
+		final ReactorStateSnapshot snapshot = ReactorStateSnapshot.acquire(session, testMavenRuntime.lookup(ProjectBuilder.class));
+
+		final Artifact module2Artifact =
+			new DefaultArtifact("de.syquel.maven.reactorstate", "reactorstate-maven-extension-stub-module2", "jar", "1.0-SNAPSHOT");
+		MatcherAssert.assertThat("Deferred Sub-module2 artifact is found", snapshot.findArtifact(module2Artifact), notNullValue(Artifact.class));
+		final int deferredArtifactCount = snapshot.getDeferredArtifactCount();
+
+		// when
+		for (int i = 0; i < 10; i++) {
+			snapshot.findArtifact(new DefaultArtifact(module2Artifact.getGroupId(), module2Artifact.getArtifactId(), "sources", "jar", "1.0-SNAPSHOT"));
+			snapshot.findArtifact(new DefaultArtifact(module2Artifact.getGroupId(), module2Artifact.getArtifactId(), "tests", "jar", "1.0-SNAPSHOT"));
+			snapshot.findArtifact(module2Artifact);
+		}
+
+		// then
+		MatcherAssert.assertThat("Deferred Sub-module2 artifacts are added", deferredArtifactCount > 0, is(true));
+		MatcherAssert.assertThat("Deferred Sub-module2 artifacts are added once", snapshot.getDeferredArtifactCount(), is(deferredArtifactCount));
+	}
+
+}
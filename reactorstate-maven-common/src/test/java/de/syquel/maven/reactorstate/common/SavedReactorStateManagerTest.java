@@ -5,8 +5,14 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.execution.MavenSession;
@@ -17,7 +23,11 @@ import org.hamcrest.MatcherAssert;
 import org.junit.Rule;
 import org.junit.Test;
 
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.ArtifactFingerprint;
 import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
 import io.takari.maven.testing.TestMavenRuntime;
 import io.takari.maven.testing.TestResources;
 
@@ -173,4 +183,126 @@ public class SavedReactorStateManagerTest {
 		);
 	}
 
+	@Test
+	public void testDeferUnreferencedState() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		final MavenSession session = testMavenRuntime.newMavenSession(module3Project);
+		session.getUserProperties().setProperty(ReactorStateConfiguration.PROPERTY_DISCOVERY_SCOPE, "dependencies");
+
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+
+		// when
+		final SavedReactorStateManager reactorStateManager = SavedReactorStateManager.create(session, projectBuilder);
+
+		MatcherAssert.assertThat(
+			"Top-level project state is present",
+			reactorStateManager.getProjectState(topLevelProject),
+			notNullValue(MavenProjectState.class)
+		);
+		MatcherAssert.assertThat(
+			"Sub-module1 project state is present",
+			reactorStateManager.getProjectState(module1Project),
+			notNullValue(MavenProjectState.class)
+		);
+		MatcherAssert.assertThat(
+			"Sub-module3 project state is present",
+			reactorStateManager.getProjectState(module3Project),
+			notNullValue(MavenProjectState.class)
+		);
+		MatcherAssert.assertThat(
+			"Unreferenced Sub-module2 project state is deferred",
+			reactorStateManager.getProjectState(module2Project),
+			nullValue(MavenProjectState.class)
+		);
+
+		final MavenProjectState module2ProjectState =
+			reactorStateManager.loadDeferredProjectState(module2Project.getGroupId(), module2Project.getArtifactId());
+
+		// then
+		MatcherAssert.assertThat("Deferred Sub-module2 project state is loaded", module2ProjectState, notNullValue(MavenProjectState.class));
+		MatcherAssert.assertThat(
+			"Deferred Sub-module2 project state is present",
+			reactorStateManager.getProjectState(module2Project),
+			is(module2ProjectState)
+		);
+		MatcherAssert.assertThat(
+			"Unknown Maven project is not loaded",
+			reactorStateManager.loadDeferredProjectState("org.example", "unknown"),
+			nullValue(MavenProjectState.class)
+		);
+	}
+
+	@Test
+	public void testRejectChangedArtifact() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+
+		final Path module2ArtifactPath =
+			module2Project.getBasedir().toPath().resolve("target/reactorstate-maven-extension-stub-module2-1.0-SNAPSHOT.jar");
+		Files.write(module2ArtifactPath, "original content".getBytes(StandardCharsets.UTF_8));
+
+		final IReactorStateRepository repository = new JsonReactorStateRepository();
+		final MavenProjectState module2ProjectState = repository.read(module2Project);
+		module2ProjectState.getMainArtifactState().setFingerprint(ArtifactFingerprint.create(module2ArtifactPath));
+		repository.save(module2ProjectState);
+
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+		final MavenProjectHelper projectHelper = testMavenRuntime.lookup(MavenProjectHelper.class);
+
+		// when
+		Files.setLastModifiedTime(module2ArtifactPath, FileTime.fromMillis(Files.getLastModifiedTime(module2ArtifactPath).toMillis() - 60_000));
+
+		final MavenSession touchedSession = testMavenRuntime.newMavenSession(module2Project);
+		SavedReactorStateManager.create(touchedSession, projectBuilder).restoreProjectStates(touchedSession, projectHelper);
+
+		Files.write(module2ArtifactPath, "changed content!".getBytes(StandardCharsets.UTF_8));
+
+		final MavenSession changedSession = testMavenRuntime.newMavenSession(module2Project);
+		final SavedReactorStateManager changedReactorStateManager = SavedReactorStateManager.create(changedSession, projectBuilder);
+
+		// then
+		MatcherAssert.assertThat(
+			"Touched but unchanged Sub-module2 artifact is restored",
+			module2Project.getArtifact().getFile(),
+			is(module2ArtifactPath.toFile())
+		);
+
+		module2Project.getArtifact().setFile(null);
+		final Set<MavenProject> staleProjects = changedReactorStateManager.restoreProjectStates(changedSession, projectHelper);
+		MatcherAssert.assertThat("Changed artifacts are rejected", staleProjects, is(Collections.singleton(module2Project)));
+		MatcherAssert.assertThat("Changed Sub-module2 artifact is not restored", module2Project.getArtifact().getFile(), nullValue(File.class));
+		MatcherAssert.assertThat("Sub-module2 must be rebuilt", changedReactorStateManager.isRestorable(module2Project), is(false));
+	}
+
+	@Test
+	public void testRejectMissingArtifactWithoutFingerprint() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+
+		final Path module2ArtifactPath =
+			module2Project.getBasedir().toPath().resolve("target/reactorstate-maven-extension-stub-module2-1.0-SNAPSHOT.jar");
+		Files.delete(module2ArtifactPath);
+
+		final MavenSession session = testMavenRuntime.newMavenSession(module2Project);
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+		final MavenProjectHelper projectHelper = testMavenRuntime.lookup(MavenProjectHelper.class);
+
+		// when
+		final SavedReactorStateManager reactorStateManager = SavedReactorStateManager.create(session, projectBuilder);
+		final Set<MavenProject> staleProjects = reactorStateManager.restoreProjectStates(session, projectHelper);
+
+		// then
+		MatcherAssert.assertThat("Missing artifact is rejected", staleProjects, is(Collections.singleton(module2Project)));
+		MatcherAssert.assertThat("Sub-module2 must be rebuilt", reactorStateManager.isRestorable(module2Project), is(false));
+	}
+
 }
@@ -0,0 +1,127 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+import io.takari.maven.testing.TestResources;
+
+public class FileHashCacheTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Test
+	public void testReuseHashOfUnchangedFile() throws Exception {
+		// given
+		final Path baseDir = resources.getBasedir("maven-project-stub").toPath();
+		final Path file = writeSettledFile(baseDir.resolve("input.txt"), "original");
+
+		final FileHashCache hashCache = new FileHashCache(baseDir.resolve("hashes.bin"));
+		final String originalHash = DigestUtils.toHex(new FileHashingService(HashAlgorithm.SHA256, 1, hashCache).hash(file));
+
+		// Replace the content without changing the size and the modification time
+		final FileTime lastModifiedTime = Files.getLastModifiedTime(file);
+		Files.write(file, "modified".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, lastModifiedTime);
+
+		// when
+		final String cachedHash = DigestUtils.toHex(new FileHashingService(HashAlgorithm.SHA256, 1, hashCache).hash(file));
+
+		// then
+		MatcherAssert.assertThat("Hash of unchanged file attributes is taken from the cache", cachedHash, is(originalHash));
+		MatcherAssert.assertThat("Hash is cached once", hashCache.size(), is(1));
+	}
+
+	@Test
+	public void testRehashModifiedFile() throws Exception {
+		// given
+		final Path baseDir = resources.getBasedir("maven-project-stub").toPath();
+		final Path file = writeSettledFile(baseDir.resolve("input.txt"), "original");
+
+		final FileHashCache hashCache = new FileHashCache(baseDir.resolve("hashes.bin"));
+		final FileHashingService hashingService = new FileHashingService(HashAlgorithm.SHA256, 1, hashCache);
+		final String originalHash = DigestUtils.toHex(hashingService.hash(file));
+
+		writeSettledFile(file, "modified content");
+
+		// when
+		final String modifiedHash = DigestUtils.toHex(hashingService.hash(file));
+
+		// then
+		MatcherAssert.assertThat("Modified file is hashed again", modifiedHash, is(not(originalHash)));
+		MatcherAssert.assertThat("Modified file is hashed again", modifiedHash, is(DigestUtils.sha256Hex(file)));
+	}
+
+	@Test
+	public void testSkipRecentlyModifiedFile() throws Exception {
+		// given
+		final Path baseDir = resources.getBasedir("maven-project-stub").toPath();
+		final Path file = Files.write(baseDir.resolve("input.txt"), "original".getBytes(StandardCharsets.UTF_8));
+
+		final FileHashCache hashCache = new FileHashCache(baseDir.resolve("hashes.bin"));
+
+		// when
+		new FileHashingService(HashAlgorithm.SHA256, 1, hashCache).hash(file);
+
+		// then
+		MatcherAssert.assertThat("Hash of file within the timestamp granularity is not cached", hashCache.size(), is(0));
+	}
+
+	@Test
+	public void testPersistAndEvictMissingFiles() throws Exception {
+		// given
+		final Path baseDir = resources.getBasedir("maven-project-stub").toPath();
+		final Path keptFile = writeSettledFile(baseDir.resolve("kept.txt"), "kept");
+		final Path deletedFile = writeSettledFile(baseDir.resolve("deleted.txt"), "deleted");
+		final Path cachePath = baseDir.resolve("target").resolve("hashes.bin");
+
+		final FileHashCache hashCache = new FileHashCache(cachePath);
+		final FileHashingService hashingService = new FileHashingService(HashAlgorithm.CRC32, 1, hashCache);
+		final byte[] keptHash = hashingService.hash(keptFile);
+		hashingService.hash(deletedFile);
+		hashCache.save();
+
+		Files.delete(deletedFile);
+
+		// when
+		final FileHashCache loadedHashCache = new FileHashCache(cachePath);
+		loadedHashCache.load();
+		final int loadedSize = loadedHashCache.size();
+		loadedHashCache.save();
+
+		final FileHashCache reloadedHashCache = new FileHashCache(cachePath);
+		reloadedHashCache.load();
+
+		// then
+		MatcherAssert.assertThat("All cached hashes are persisted", loadedSize, is(2));
+		MatcherAssert.assertThat("Cached hash of missing file is evicted", reloadedHashCache.size(), is(1));
+		MatcherAssert.assertThat(
+			"Cached hash of existing file is persisted",
+			DigestUtils.toHex(reloadedHashCache.get(HashAlgorithm.CRC32, keptFile, Files.readAttributes(keptFile, BasicFileAttributes.class))),
+			is(DigestUtils.toHex(keptHash))
+		);
+	}
+
+	/**
+	 * Writes a file, whose modification time lies beyond the granularity of file system timestamps.
+	 */
+	private static Path writeSettledFile(final Path file, final String content) throws Exception {
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, FileTime.from(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS));
+
+		return file;
+	}
+
+}
@@ -0,0 +1,146 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * A benchmark of the throughput of hashing artifact files for all combinations of hash algorithms and read strategies.
+ *
+ * The benchmark hashes a synthetic set of large archives and small artifacts, which are cached by the operating system after the warmup, and compares
+ * reading the files through a heap buffer on a single thread with the {@link FileHashingService} on a single thread and on all processors. It is not
+ * run as part of the build, but via its main method on the test classpath, e.g.
+ * {@code java -cp target/classes:target/test-classes de.syquel.maven.reactorstate.common.hash.FileHashingBenchmark 64}.
+ */
+public final class FileHashingBenchmark {
+
+	private static final int DEFAULT_LARGE_FILE_SIZE_MIB = 32;
+
+	private static final int LARGE_FILE_COUNT = 8;
+
+	private static final int SMALL_FILE_COUNT = 256;
+
+	private static final int SMALL_FILE_SIZE = 32 * 1024;
+
+	private static final int WARMUP_ITERATIONS = 3;
+
+	private static final int MEASUREMENT_ITERATIONS = 10;
+
+	private FileHashingBenchmark() {}
+
+	public static void main(final String[] args) throws IOException {
+		final int largeFileSizeMib = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_LARGE_FILE_SIZE_MIB;
+		final int processors = Runtime.getRuntime().availableProcessors();
+
+		final Path workspacePath = Files.createTempDirectory("reactorstate-benchmark");
+		try {
+			final List<Path> files = createFiles(workspacePath, largeFileSizeMib);
+			long totalSize = 0;
+			for (final Path file : files) {
+				totalSize += Files.size(file);
+			}
+
+			System.out.printf(Locale.ROOT, "%-10s %-12s %14s%n", "algorithm", "strategy", "[MiB/s]");
+			for (final HashAlgorithm algorithm : HashAlgorithm.values()) {
+				if (!algorithm.isSupported()) {
+					System.out.printf(Locale.ROOT, "%-10s %-12s %14s%n", algorithm, "-", "unsupported");
+					continue;
+				}
+
+				final double streamSeconds = measure(() -> hashStreamed(algorithm, files));
+				System.out.printf(Locale.ROOT, "%-10s %-12s %14.1f%n", algorithm, "stream", toMibPerSecond(totalSize, streamSeconds));
+
+				final FileHashingService serialService = new FileHashingService(algorithm, 1);
+				final double serialSeconds = measure(() -> serialService.hashAll(files));
+				System.out.printf(Locale.ROOT, "%-10s %-12s %14.1f%n", algorithm, "mapped x1", toMibPerSecond(totalSize, serialSeconds));
+
+				final FileHashingService parallelService = new FileHashingService(algorithm, processors);
+				final double parallelSeconds = measure(() -> parallelService.hashAll(files));
+				System.out.printf(Locale.ROOT, "%-10s %-12s %14.1f%n", algorithm, "mapped x" + processors, toMibPerSecond(totalSize, parallelSeconds));
+			}
+		} finally {
+			deleteRecursively(workspacePath);
+		}
+	}
+
+	private static double measure(final HashingRun run) throws IOException {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			run.hashAll();
+		}
+
+		final long startNanos = System.nanoTime();
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			run.hashAll();
+		}
+
+		return (System.nanoTime() - startNanos) / 1e9 / MEASUREMENT_ITERATIONS;
+	}
+
+	private static double toMibPerSecond(final long size, final double seconds) {
+		return size / (1024.0 * 1024.0) / seconds;
+	}
+
+	private static void hashStreamed(final HashAlgorithm algorithm, final List<Path> files) throws IOException {
+		final byte[] buffer = new byte[8192];
+		for (final Path file : files) {
+			final IHasher hasher = algorithm.createHasher();
+			try (final InputStream inputStream = Files.newInputStream(file)) {
+				int readBytes;
+				while ((readBytes = inputStream.read(buffer)) != -1) {
+					hasher.update(ByteBuffer.wrap(buffer, 0, readBytes));
+				}
+			}
+
+			hasher.digest();
+		}
+	}
+
+	private static List<Path> createFiles(final Path workspacePath, final int largeFileSizeMib) throws IOException {
+		final Random random = new Random(42);
+		final List<Path> files = new ArrayList<>();
+
+		final byte[] largeContent = new byte[largeFileSizeMib * 1024 * 1024];
+		for (int i = 0; i < LARGE_FILE_COUNT; i++) {
+			random.nextBytes(largeContent);
+			files.add(Files.write(workspacePath.resolve("distribution-" + i + ".zip"), largeContent));
+		}
+
+		final byte[] smallContent = new byte[SMALL_FILE_SIZE];
+		for (int i = 0; i < SMALL_FILE_COUNT; i++) {
+			random.nextBytes(smallContent);
+			files.add(Files.write(workspacePath.resolve("module-" + i + ".jar"), smallContent));
+		}
+
+		return files;
+	}
+
+	private static void deleteRecursively(final Path path) throws IOException {
+		try (final Stream<Path> paths = Files.walk(path)) {
+			final List<Path> sortedPaths = new ArrayList<>();
+			paths.forEach(sortedPaths::add);
+			Collections.reverse(sortedPaths);
+			for (final Path sortedPath : sortedPaths) {
+				Files.delete(sortedPath);
+			}
+		}
+	}
+
+	/**
+	 * A single run of hashing all files.
+	 */
+	@FunctionalInterface
+	private interface HashingRun {
+
+		void hashAll() throws IOException;
+
+	}
+
+}
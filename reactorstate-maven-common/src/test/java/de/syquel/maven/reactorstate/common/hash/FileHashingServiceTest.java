@@ -0,0 +1,135 @@
+package de.syquel.maven.reactorstate.common.hash;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.hamcrest.MatcherAssert;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+import io.takari.maven.testing.TestResources;
+
+public class FileHashingServiceTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Test
+	public void testHashCheckValues() throws Exception {
+		// given
+		final Path file = resources.getBasedir("maven-project-stub").toPath().resolve("check.txt");
+		Files.write(file, "123456789".getBytes(StandardCharsets.US_ASCII));
+
+		final Map<HashAlgorithm, String> expectedHashes = new EnumMap<>(HashAlgorithm.class);
+		expectedHashes.put(HashAlgorithm.CRC32, "cbf43926");
+		expectedHashes.put(HashAlgorithm.CRC32C, "e3069283");
+		expectedHashes.put(HashAlgorithm.XXHASH64, "8cb841db40e6ae83");
+		expectedHashes.put(HashAlgorithm.SHA256, "15e2b0d3c33891ebb0f1ef609ec419420c20e320ce94c65fbc8c3312448eb225");
+
+		for (final Map.Entry<HashAlgorithm, String> expectedHash : expectedHashes.entrySet()) {
+			final HashAlgorithm algorithm = expectedHash.getKey();
+			if (!algorithm.isSupported()) {
+				continue;
+			}
+
+			// when
+			final byte[] hash = new FileHashingService(algorithm, 1).hash(file);
+
+			// then
+			MatcherAssert.assertThat("Check value of " + algorithm + " is calculated", DigestUtils.toHex(hash), is(expectedHash.getValue()));
+		}
+	}
+
+	@Test
+	public void testHashMappedAndBufferedFilesConcurrently() throws Exception {
+		// given
+		final Path baseDir = resources.getBasedir("maven-project-stub").toPath();
+
+		final Random random = new Random(42);
+		final byte[] largeContent = new byte[(int) (3 * FileHashingService.MAPPED_READ_THRESHOLD) + 7];
+		random.nextBytes(largeContent);
+		final byte[] smallContent = Arrays.copyOf(largeContent, 1000);
+
+		final Path largeFile = Files.write(baseDir.resolve("large.bin"), largeContent);
+		final Path smallFile = Files.write(baseDir.resolve("small.bin"), smallContent);
+
+		for (final HashAlgorithm algorithm : HashAlgorithm.values()) {
+			if (!algorithm.isSupported()) {
+				continue;
+			}
+
+			// when
+			final Map<Path, byte[]> hashes = new FileHashingService(algorithm, 4).hashAll(Arrays.asList(smallFile, largeFile, smallFile));
+
+			// then
+			MatcherAssert.assertThat("Every file is hashed once by " + algorithm, hashes.size(), is(2));
+			MatcherAssert.assertThat(
+				"Mapped file is hashed by " + algorithm, DigestUtils.toHex(hashes.get(largeFile)), is(hashInChunks(algorithm, largeContent, random))
+			);
+			MatcherAssert.assertThat(
+				"Buffered file is hashed by " + algorithm, DigestUtils.toHex(hashes.get(smallFile)), is(hashInChunks(algorithm, smallContent, random))
+			);
+		}
+	}
+
+	@Test
+	public void testReportFailedFiles() throws Exception {
+		// given
+		final Path baseDir = resources.getBasedir("maven-project-stub").toPath();
+		final Path existingFile = Files.write(baseDir.resolve("existing.bin"), new byte[] { 1, 2, 3 });
+		final Path missingFile = baseDir.resolve("missing.bin");
+
+		// when
+		try {
+			new FileHashingService(HashAlgorithm.XXHASH64, 2).hashAll(Arrays.asList(existingFile, missingFile));
+			Assert.fail("Failed files are reported");
+		} catch (final IOException e) {
+			// then
+			MatcherAssert.assertThat("Failure summary is reported", e.getMessage(), containsString("1 out of 2"));
+			MatcherAssert.assertThat("Failures are collected", e.getSuppressed().length, is(1));
+		}
+
+		MatcherAssert.assertThat("No hashing thread outlives the operation", countLiveThreads("reactorstate-hash-"), is(0L));
+	}
+
+	private static String hashInChunks(final HashAlgorithm algorithm, final byte[] content, final Random random) {
+		final IHasher hasher = algorithm.createHasher();
+
+		int position = 0;
+		while (position < content.length) {
+			// Irregular chunks cross the stripe boundaries of block-based algorithms
+			final int length = Math.min(random.nextInt(100), content.length - position);
+			hasher.update(ByteBuffer.wrap(content, position, length));
+			position += length;
+		}
+
+		return DigestUtils.toHex(hasher.digest());
+	}
+
+	private static long countLiveThreads(final String namePrefix) throws InterruptedException {
+		for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+			// A terminated executor may still be ending its last worker threads, while a leaked worker thread never ends
+			if (thread.getName().startsWith(namePrefix)) {
+				thread.join(TimeUnit.SECONDS.toMillis(10));
+			}
+		}
+
+		return Thread.getAllStackTraces().keySet().stream()
+			.filter(thread -> thread.isAlive() && thread.getName().startsWith(namePrefix))
+			.count();
+	}
+
+}
@@ -0,0 +1,116 @@
+package de.syquel.maven.reactorstate.common.persistence;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.maven.project.MavenProject;
+import org.hamcrest.MatcherAssert;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ParallelReactorStateRepositoryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testReadAndSaveAll() throws Exception {
+		// given
+		final List<MavenProject> projects = readProjects();
+		final ParallelReactorStateRepository repository = new ParallelReactorStateRepository(new JsonReactorStateRepository(), 2);
+
+		// when
+		final Collection<MavenProjectState> projectStates = repository.readAll(projects);
+		repository.saveAll(projectStates);
+		final Collection<MavenProjectState> rereadProjectStates = repository.readAll(projects);
+
+		// then
+		MatcherAssert.assertThat("All states are read", toProjectIds(projectStates), is(toProjectIds(projects)));
+		MatcherAssert.assertThat("All states are saved", toProjectIds(rereadProjectStates), is(toProjectIds(projects)));
+		MatcherAssert.assertThat("No I/O thread outlives the operations", countLiveThreads("reactorstate-io-"), is(0L));
+	}
+
+	@Test
+	public void testCollectFailures() throws Exception {
+		// given
+		final List<MavenProject> projects = readProjects();
+		final JsonReactorStateRepository delegate = new JsonReactorStateRepository();
+		final Collection<MavenProjectState> projectStates = delegate.readAll(projects);
+
+		final ParallelReactorStateRepository repository = new ParallelReactorStateRepository(new JsonReactorStateRepository() {
+
+			@Override
+			public boolean save(final MavenProjectState mavenProjectState) throws IOException {
+				if (mavenProjectState.getProject().getArtifactId().contains("-module")) {
+					throw new IOException("Disk full");
+				}
+
+				return super.save(mavenProjectState);
+			}
+
+		}, 2);
+
+		// when
+		try {
+			repository.saveAll(projectStates);
+			Assert.fail("Failed saves are reported");
+		} catch (final IOException e) {
+			// then
+			MatcherAssert.assertThat("Failure summary is reported", e.getMessage(), containsString("3 out of 4"));
+			MatcherAssert.assertThat("Failures are collected", e.getSuppressed().length, is(3));
+			for (final Throwable failure : e.getSuppressed()) {
+				MatcherAssert.assertThat("Failing Maven project is reported", failure.getMessage(), containsString("-module"));
+			}
+		}
+	}
+
+	private List<MavenProject> readProjects() throws Exception {
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		return Arrays.asList(topLevelProject, module1Project, module2Project, module3Project);
+	}
+
+	private static Set<String> toProjectIds(final Collection<?> projectsOrStates) {
+		return projectsOrStates.stream()
+			.map(element -> (element instanceof MavenProjectState) ? ((MavenProjectState) element).getProject() : (MavenProject) element)
+			.map(MavenProject::getId)
+			.collect(Collectors.toSet());
+	}
+
+	private static long countLiveThreads(final String namePrefix) throws InterruptedException {
+		for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+			// A terminated executor may still be ending its last worker threads, while a leaked worker thread never ends
+			if (thread.getName().startsWith(namePrefix)) {
+				thread.join(TimeUnit.SECONDS.toMillis(10));
+			}
+		}
+
+		return Thread.getAllStackTraces().keySet().stream()
+			.filter(thread -> thread.isAlive() && thread.getName().startsWith(namePrefix))
+			.count();
+	}
+
+}
@@ -0,0 +1,233 @@
+package de.syquel.maven.reactorstate.common.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Snapshot;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.binary.BinaryReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+
+/**
+ * A benchmark of the size and the read time of the persisted state for all combinations of formats and compressions.
+ *
+ * The benchmark persists the state of a synthetic workspace with snapshot repository metadata and measures the total size of the persisted files and
+ * the average time to read the states of all Maven modules. It is not run as part of the build, but via its main method on the test classpath, e.g.
+ * {@code java -cp target/classes:target/test-classes:<dependencies> de.syquel.maven.reactorstate.common.persistence.StateCompressionBenchmark 500}.
+ */
+public final class StateCompressionBenchmark {
+
+	private static final int DEFAULT_MODULE_COUNT = 200;
+
+	private static final int WARMUP_ITERATIONS = 5;
+
+	private static final int MEASUREMENT_ITERATIONS = 20;
+
+	private StateCompressionBenchmark() {}
+
+	public static void main(final String[] args) throws IOException {
+		final int moduleCount = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_MODULE_COUNT;
+
+		final Path workspacePath = Files.createTempDirectory("reactorstate-benchmark");
+		try {
+			final List<MavenProjectState> projectStates = createProjectStates(workspacePath, moduleCount);
+			final List<MavenProject> projects = new ArrayList<>(projectStates.size());
+			for (final MavenProjectState projectState : projectStates) {
+				projects.add(projectState.getProject());
+			}
+
+			System.out.printf(Locale.ROOT, "%-8s %-8s %12s %14s%n", "format", "compress", "size [KiB]", "read [ms/op]");
+			for (final ReactorStateConfiguration.RepositoryFormat format : ReactorStateConfiguration.RepositoryFormat.values()) {
+				for (final ReactorStateConfiguration.RepositoryCompression compression : ReactorStateConfiguration.RepositoryCompression.values()) {
+					final IReactorStateRepository repository = createRepository(format, compression);
+					repository.saveAll(projectStates);
+
+					final long size = measureSize(workspacePath);
+					final double readMillis = measureReadTime(repository, projects);
+					System.out.printf(Locale.ROOT, "%-8s %-8s %12.1f %14.3f%n", format, compression, size / 1024.0, readMillis);
+
+					for (final MavenProject project : projects) {
+						repository.delete(project);
+					}
+				}
+			}
+		} finally {
+			deleteRecursively(workspacePath);
+		}
+	}
+
+	private static IReactorStateRepository createRepository(
+		final ReactorStateConfiguration.RepositoryFormat format, final ReactorStateConfiguration.RepositoryCompression compression
+	) {
+		final StateFileWriter stateFileWriter = new StateFileWriter(ReactorStateConfiguration.RepositoryDurability.FAST, compression);
+		switch (format) {
+			case BINARY:
+				return new BinaryReactorStateRepository(stateFileWriter);
+			case JSON:
+			default:
+				return new JsonReactorStateRepository(false, stateFileWriter);
+		}
+	}
+
+	private static long measureSize(final Path workspacePath) throws IOException {
+		try (final Stream<Path> paths = Files.walk(workspacePath)) {
+			return paths
+				.filter(path -> path.getFileName().toString().startsWith("reactorstate-maven."))
+				.mapToLong(path -> path.toFile().length())
+				.sum();
+		}
+	}
+
+	private static double measureReadTime(final IReactorStateRepository repository, final List<MavenProject> projects) throws IOException {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			readAll(repository, projects);
+		}
+
+		final long startNanos = System.nanoTime();
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			readAll(repository, projects);
+		}
+
+		return (System.nanoTime() - startNanos) / 1e6 / MEASUREMENT_ITERATIONS;
+	}
+
+	private static void readAll(final IReactorStateRepository repository, final List<MavenProject> projects) throws IOException {
+		for (final MavenProject project : projects) {
+			if (repository.read(project) == null) {
+				throw new IllegalStateException("Missing state of " + project.getId());
+			}
+		}
+	}
+
+	private static List<MavenProjectState> createProjectStates(final Path workspacePath, final int moduleCount) throws IOException {
+		final List<MavenProjectState> projectStates = new ArrayList<>(moduleCount);
+		for (int i = 0; i < moduleCount; i++) {
+			projectStates.add(createProjectState(workspacePath, "benchmark-module-" + i));
+		}
+
+		return projectStates;
+	}
+
+	private static MavenProjectState createProjectState(final Path workspacePath, final String artifactId) throws IOException {
+		final String groupId = "de.syquel.maven.reactorstate.benchmark";
+		final String version = "1.0.0-SNAPSHOT";
+		final Path modulePath = Files.createDirectories(workspacePath.resolve(artifactId));
+
+		final MavenProject project = new MavenProject();
+		project.setGroupId(groupId);
+		project.setArtifactId(artifactId);
+		project.setVersion(version);
+		project.setPackaging("jar");
+		project.setFile(modulePath.resolve("pom.xml").toFile());
+		project.setBuild(new Build());
+		project.getBuild().setDirectory("target");
+
+		final Artifact pom = createArtifact(groupId, artifactId, "", "pom", version, new File(project.getFile().getPath()), "pom", "none", "false");
+		final MavenArtifactState mainArtifactState = createArtifactState(
+			createArtifact(groupId, artifactId, "", "jar", version, targetFile(modulePath, artifactId, version, ""), "jar", "java", "true")
+		);
+
+		final Set<MavenArtifactState> attachedArtifactStates = new HashSet<>();
+		for (final String classifier : Arrays.asList("sources", "javadoc", "tests")) {
+			attachedArtifactStates.add(createArtifactState(
+				createArtifact(
+					groupId, artifactId, classifier, "jar", version, targetFile(modulePath, artifactId, version, "-" + classifier),
+					classifier.equals("tests") ? "test-jar" : "java-source", "java", "false"
+				)
+			));
+		}
+
+		return new MavenProjectState(project, pom, mainArtifactState, attachedArtifactStates);
+	}
+
+	private static File targetFile(final Path modulePath, final String artifactId, final String version, final String suffix) {
+		return modulePath.resolve("target").resolve(artifactId + "-" + version + suffix + ".jar").toFile();
+	}
+
+	private static Artifact createArtifact(
+		final String groupId, final String artifactId, final String classifier, final String extension, final String version, final File file,
+		final String type, final String language, final String constitutesBuildPath
+	) {
+		final Map<String, String> properties = new HashMap<>();
+		properties.put("type", type);
+		properties.put("language", language);
+		properties.put("constitutesBuildPath", constitutesBuildPath);
+		properties.put("includesDependencies", "false");
+
+		return new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties, file);
+	}
+
+	private static MavenArtifactState createArtifactState(final Artifact artifact) {
+		final MavenArtifactState artifactState = new MavenArtifactState(artifact);
+		artifactState.setArtifactRepositoryMetadata(createMetadata(artifact, false));
+		artifactState.setSnapshotRepositoryMetadata(createMetadata(artifact, true));
+
+		return artifactState;
+	}
+
+	private static Metadata createMetadata(final Artifact artifact, final boolean snapshot) {
+		final Versioning versioning = new Versioning();
+		versioning.setLastUpdated("20201017120000");
+
+		final Metadata metadata = new Metadata();
+		metadata.setModelEncoding("UTF-8");
+		metadata.setModelVersion("1.1.0");
+		metadata.setGroupId(artifact.getGroupId());
+		metadata.setArtifactId(artifact.getArtifactId());
+		metadata.setVersioning(versioning);
+
+		if (!snapshot) {
+			versioning.setVersions(Collections.singletonList(artifact.getBaseVersion()));
+			return metadata;
+		}
+
+		final Snapshot snapshotInfo = new Snapshot();
+		snapshotInfo.setLocalCopy(true);
+		versioning.setSnapshot(snapshotInfo);
+
+		for (final String extension : Arrays.asList("pom", "jar")) {
+			final SnapshotVersion snapshotVersion = new SnapshotVersion();
+			snapshotVersion.setExtension(extension);
+			snapshotVersion.setVersion(artifact.getBaseVersion());
+			snapshotVersion.setUpdated("20201017120000");
+			versioning.addSnapshotVersion(snapshotVersion);
+		}
+
+		metadata.setVersion(artifact.getBaseVersion());
+		return metadata;
+	}
+
+	private static void deleteRecursively(final Path path) throws IOException {
+		try (final Stream<Path> paths = Files.walk(path)) {
+			final List<Path> sortedPaths = new ArrayList<>();
+			paths.forEach(sortedPaths::add);
+			Collections.reverse(sortedPaths);
+			for (final Path sortedPath : sortedPaths) {
+				Files.delete(sortedPath);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import de.syquel.maven.reactorstate.common.util.DigestUtils;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class BinaryReactorStateRepositoryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testSaveAndReadBinaryStates() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+		final List<MavenProject> projects = Arrays.asList(topLevelProject, module1Project, module2Project, module3Project);
+
+		final IReactorStateRepository jsonRepository = new JsonReactorStateRepository();
+		final IReactorStateRepository binaryRepository = new BinaryReactorStateRepository();
+
+		for (final MavenProject project : projects) {
+			// when
+			final MavenProjectState expectedProjectState = jsonRepository.read(project);
+			expectedProjectState.setInputFingerprint(DigestUtils.sha256Hex(project.getId().getBytes(StandardCharsets.UTF_8)));
+			binaryRepository.save(expectedProjectState);
+			final MavenProjectState actualProjectState = binaryRepository.read(project);
+
+			// then
+			assertArtifactEquals(project, expectedProjectState.getPom(), actualProjectState.getPom());
+			assertArtifactStateEquals(project, expectedProjectState.getMainArtifactState(), actualProjectState.getMainArtifactState());
+			MatcherAssert.assertThat(
+				"Input fingerprint of " + project.getArtifactId() + " is restored",
+				actualProjectState.getInputFingerprint(),
+				is(expectedProjectState.getInputFingerprint())
+			);
+
+			final Map<String, MavenArtifactState> actualAttachedArtifactStates =
+				actualProjectState.getAttachedArtifactStates().stream()
+					.collect(Collectors.toMap(artifactState -> ArtifactIdUtils.toId(artifactState.getArtifact()), artifactState -> artifactState));
+			MatcherAssert.assertThat(
+				"Attached artifacts of " + project.getArtifactId() + " are restored",
+				actualAttachedArtifactStates.size(),
+				is(expectedProjectState.getAttachedArtifactStates().size())
+			);
+			for (final MavenArtifactState expectedArtifactState : expectedProjectState.getAttachedArtifactStates()) {
+				final MavenArtifactState actualArtifactState = actualAttachedArtifactStates.get(ArtifactIdUtils.toId(expectedArtifactState.getArtifact()));
+				assertArtifactStateEquals(project, expectedArtifactState, actualArtifactState);
+			}
+		}
+
+		binaryRepository.delete(module2Project);
+		MatcherAssert.assertThat("Deleted state is absent", binaryRepository.read(module2Project), nullValue(MavenProjectState.class));
+	}
+
+	private static void assertArtifactStateEquals(
+		final MavenProject project, final MavenArtifactState expectedArtifactState, final MavenArtifactState actualArtifactState
+	) throws IOException {
+		assertArtifactEquals(project, expectedArtifactState.getArtifact(), actualArtifactState.getArtifact());
+		MatcherAssert.assertThat(
+			"Artifact repository metadata of " + project.getArtifactId() + " is restored",
+			toXml(actualArtifactState.getArtifactRepositoryMetadata()),
+			is(toXml(expectedArtifactState.getArtifactRepositoryMetadata()))
+		);
+		MatcherAssert.assertThat(
+			"Group repository metadata of " + project.getArtifactId() + " is restored",
+			toXml(actualArtifactState.getGroupRepositoryMetadata()),
+			is(toXml(expectedArtifactState.getGroupRepositoryMetadata()))
+		);
+		MatcherAssert.assertThat(
+			"Snapshot repository metadata of " + project.getArtifactId() + " is restored",
+			toXml(actualArtifactState.getSnapshotRepositoryMetadata()),
+			is(toXml(expectedArtifactState.getSnapshotRepositoryMetadata()))
+		);
+	}
+
+	private static String toXml(final Metadata metadata) throws IOException {
+		if (metadata == null) {
+			return null;
+		}
+
+		final StringWriter metadataWriter = new StringWriter();
+		new MetadataXpp3Writer().write(metadataWriter, metadata);
+		return metadataWriter.toString();
+	}
+
+	private static void assertArtifactEquals(final MavenProject project, final Artifact expectedArtifact, final Artifact actualArtifact) {
+		MatcherAssert.assertThat(
+			"Coordinates of " + project.getArtifactId() + " are restored", ArtifactIdUtils.toId(actualArtifact), is(ArtifactIdUtils.toId(expectedArtifact))
+		);
+		MatcherAssert.assertThat("File of " + project.getArtifactId() + " is restored", actualArtifact.getFile(), is(expectedArtifact.getFile()));
+		MatcherAssert.assertThat(
+			"Properties of " + project.getArtifactId() + " are restored", actualArtifact.getProperties(), is(expectedArtifact.getProperties())
+		);
+	}
+
+}
@@ -0,0 +1,257 @@
+package de.syquel.maven.reactorstate.common.persistence.binary;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceModule;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class JournalReactorStateRepositoryTest {
+
+	private static final long NO_COMPACTION = Long.MAX_VALUE;
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testSaveAndReadJournaledStates() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+		final List<MavenProjectState> projectStates = readProjectStates(projects);
+		final Path journalPath = baseDir.toPath().resolve("target/reactorstate-maven.journal");
+
+		// when
+		final int writtenCount = createRepository(journalPath, NO_COMPACTION).saveAll(projectStates);
+		final int rewrittenCount = createRepository(journalPath, NO_COMPACTION).saveAll(projectStates);
+		createRepository(journalPath, NO_COMPACTION).delete(projects.get(2));
+
+		// then
+		MatcherAssert.assertThat("All states are appended", writtenCount, is(projectStates.size()));
+		MatcherAssert.assertThat("Unchanged states are not appended", rewrittenCount, is(0));
+
+		final IReactorStateRepository repository = createRepository(journalPath, NO_COMPACTION);
+		MatcherAssert.assertThat("Deleted state is absent", repository.read(projects.get(2)), nullValue(MavenProjectState.class));
+		MatcherAssert.assertThat("Remaining states are restored", repository.readAll(projects).size(), is(projectStates.size() - 1));
+		assertMainArtifactEquals(projectStates.get(1), repository.read(projects.get(1)));
+	}
+
+	@Test
+	public void testCompactJournal() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+		final List<MavenProjectState> projectStates = readProjectStates(projects);
+		final Path journalPath = baseDir.toPath().resolve("target/reactorstate-maven.journal");
+
+		final IReactorStateRepository writingRepository = createRepository(journalPath, NO_COMPACTION);
+		writingRepository.saveAll(projectStates);
+		final long compactedSize = Files.size(journalPath);
+
+		final MavenProjectState projectState = projectStates.get(1);
+		final MavenProjectState changedProjectState = new MavenProjectState(
+			projectState.getProject(), projectState.getPom(), projectState.getMainArtifactState(), Collections.emptySet()
+		);
+		writingRepository.save(changedProjectState);
+		writingRepository.save(projectState);
+
+		// when
+		final IReactorStateRepository compactingRepository = createRepository(journalPath, 1);
+		final Collection<MavenProjectState> actualProjectStates = compactingRepository.readAll(projects);
+		compactingRepository.flush();
+
+		// then
+		MatcherAssert.assertThat("States are restored before compaction", actualProjectStates.size(), is(projectStates.size()));
+		MatcherAssert.assertThat("Obsolete records are removed", Files.size(journalPath), is(compactedSize));
+
+		final IReactorStateRepository repository = createRepository(journalPath, NO_COMPACTION);
+		assertMainArtifactEquals(projectState, compactingRepository.read(projectState.getProject()));
+		assertMainArtifactEquals(projectState, repository.read(projectState.getProject()));
+		MatcherAssert.assertThat(
+			"Latest attached artifacts are restored",
+			repository.read(projectState.getProject()).getAttachedArtifactStates().size(),
+			is(projectState.getAttachedArtifactStates().size())
+		);
+	}
+
+	@Test
+	public void testSaveDuringCompaction() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+		final List<MavenProjectState> projectStates = readProjectStates(projects);
+		final Path journalPath = baseDir.toPath().resolve("target/reactorstate-maven.journal");
+
+		final IReactorStateRepository writingRepository = createRepository(journalPath, NO_COMPACTION);
+		writingRepository.saveAll(projectStates);
+		writingRepository.saveAll(Arrays.asList(withoutAttachedArtifacts(projectStates.get(0)), withoutAttachedArtifacts(projectStates.get(1))));
+
+		final MavenProjectState projectState = projectStates.get(1);
+
+		// when
+		final IReactorStateRepository compactingRepository = createRepository(journalPath, 1);
+		compactingRepository.read(projectState.getProject());
+		compactingRepository.save(projectState);
+		compactingRepository.delete(projects.get(0));
+		compactingRepository.flush();
+
+		// then
+		final IReactorStateRepository repository = createRepository(journalPath, NO_COMPACTION);
+		for (final IReactorStateRepository readingRepository : Arrays.asList(compactingRepository, repository)) {
+			MatcherAssert.assertThat("Deleted state is absent", readingRepository.read(projects.get(0)), nullValue(MavenProjectState.class));
+			MatcherAssert.assertThat("Remaining states are restored", readingRepository.readAll(projects).size(), is(projectStates.size() - 1));
+			MatcherAssert.assertThat(
+				"Latest attached artifacts are restored",
+				readingRepository.read(projectState.getProject()).getAttachedArtifactStates().size(),
+				is(projectState.getAttachedArtifactStates().size())
+			);
+		}
+	}
+
+	@Test
+	public void testDiscardTornRecord() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+		final List<MavenProjectState> projectStates = readProjectStates(projects);
+		final Path journalPath = baseDir.toPath().resolve("target/reactorstate-maven.journal");
+
+		createRepository(journalPath, NO_COMPACTION).saveAll(projectStates.subList(0, 2));
+		final long validSize = Files.size(journalPath);
+		Files.write(journalPath, new byte[] { 0, 0, 1, 0, 42, 42 }, StandardOpenOption.APPEND);
+
+		// when
+		final IReactorStateRepository repository = createRepository(journalPath, NO_COMPACTION);
+		final Collection<MavenProjectState> actualProjectStates = repository.readAll(projects);
+		repository.saveAll(projectStates.subList(2, 4));
+
+		// then
+		MatcherAssert.assertThat("States before the torn record are restored", actualProjectStates.size(), is(2));
+		MatcherAssert.assertThat("Torn record is overwritten", Files.size(journalPath) > validSize, is(true));
+		for (final MavenProjectState projectState : projectStates) {
+			final MavenProjectState actualProjectState = createRepository(journalPath, NO_COMPACTION).read(projectState.getProject());
+			MatcherAssert.assertThat("State of " + projectState.getProject().getArtifactId() + " is restored", actualProjectState, notNullValue());
+			assertMainArtifactEquals(projectState, actualProjectState);
+		}
+	}
+
+	private static MavenProjectState withoutAttachedArtifacts(final MavenProjectState projectState) {
+		return new MavenProjectState(projectState.getProject(), projectState.getPom(), projectState.getMainArtifactState(), Collections.emptySet());
+	}
+
+	private static JournalReactorStateRepository createRepository(final Path journalPath, final long compactionThreshold) {
+		return new JournalReactorStateRepository(journalPath, ReactorStateConfiguration.RepositoryDurability.FAST, compactionThreshold);
+	}
+
+	@Test
+	public void testDiscardUncommittedBatch() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+		final List<MavenProjectState> projectStates = readProjectStates(projects);
+		final Path journalPath = baseDir.toPath().resolve("target/reactorstate-maven.journal");
+
+		createRepository(journalPath, NO_COMPACTION).saveAll(projectStates.subList(0, 2));
+		createRepository(journalPath, NO_COMPACTION).saveAll(projectStates.subList(2, 4));
+
+		// Cut off the commit record of the second batch, which consists of the framing and the empty key
+		try (final FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+			journalChannel.truncate(journalChannel.size() - 2 * Integer.BYTES - Short.BYTES);
+		}
+
+		// when
+		final Collection<MavenProjectState> actualProjectStates = createRepository(journalPath, NO_COMPACTION).readAll(projects);
+
+		// then
+		MatcherAssert.assertThat("Only the committed batch is restored", actualProjectStates.size(), is(2));
+		for (final MavenProjectState projectState : projectStates.subList(2, 4)) {
+			MatcherAssert.assertThat(
+				"State of " + projectState.getProject().getArtifactId() + " is discarded",
+				createRepository(journalPath, NO_COMPACTION).read(projectState.getProject()), nullValue(MavenProjectState.class)
+			);
+		}
+	}
+
+	@Test
+	public void testScanProjectKeys() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final List<MavenProject> projects = readProjects(baseDir);
+		final Path journalPath = baseDir.toPath().resolve("target/reactorstate-maven.journal");
+		createRepository(journalPath, NO_COMPACTION).saveAll(readProjectStates(projects));
+
+		final MavenProject topLevelProject = projects.get(0);
+		final String modulePrefix = WorkspaceModule.toKey(topLevelProject.getGroupId(), topLevelProject.getArtifactId() + "-module");
+
+		// when
+		final SortedSet<String> moduleKeys = createRepository(journalPath, NO_COMPACTION).scanProjectKeys(modulePrefix);
+		final SortedSet<String> groupKeys = createRepository(journalPath, NO_COMPACTION).scanProjectKeys(topLevelProject.getGroupId() + ':');
+
+		// then
+		MatcherAssert.assertThat("Keys of the Maven modules are scanned", moduleKeys.size(), is(projects.size() - 1));
+		MatcherAssert.assertThat("Keys of the group are scanned", groupKeys.size(), is(projects.size()));
+		MatcherAssert.assertThat(
+			"Keys are scanned in order", moduleKeys.first(), is(WorkspaceModule.toKey(projects.get(1).getGroupId(), projects.get(1).getArtifactId()))
+		);
+	}
+
+	private List<MavenProject> readProjects(final File baseDir) throws Exception {
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		return Arrays.asList(topLevelProject, module1Project, module2Project, module3Project);
+	}
+
+	private static List<MavenProjectState> readProjectStates(final List<MavenProject> projects) throws Exception {
+		final IReactorStateRepository jsonRepository = new JsonReactorStateRepository();
+		final List<MavenProjectState> projectStates = new ArrayList<>();
+		for (final MavenProject project : projects) {
+			projectStates.add(jsonRepository.read(project));
+		}
+
+		return projectStates;
+	}
+
+	private static void assertMainArtifactEquals(final MavenProjectState expectedProjectState, final MavenProjectState actualProjectState) {
+		MatcherAssert.assertThat(
+			"Main artifact of " + expectedProjectState.getProject().getArtifactId() + " is restored",
+			ArtifactIdUtils.toId(actualProjectState.getMainArtifactState().getArtifact()),
+			is(ArtifactIdUtils.toId(expectedProjectState.getMainArtifactState().getArtifact()))
+		);
+		MatcherAssert.assertThat(
+			"Main artifact file of " + expectedProjectState.getProject().getArtifactId() + " is restored",
+			actualProjectState.getMainArtifactState().getArtifact().getFile(),
+			is(expectedProjectState.getMainArtifactState().getArtifact().getFile())
+		);
+	}
+
+}
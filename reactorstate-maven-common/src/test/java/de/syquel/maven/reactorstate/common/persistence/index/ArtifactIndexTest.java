@@ -0,0 +1,132 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.json.JsonReactorStateRepository;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ArtifactIndexTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testUpdateAndFindArtifacts() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		final JsonReactorStateRepository repository = new JsonReactorStateRepository();
+		final List<MavenProjectState> projectStates = new ArrayList<>();
+		for (final MavenProject project : Arrays.asList(topLevelProject, module1Project, module2Project, module3Project)) {
+			projectStates.add(repository.read(project));
+		}
+
+		final Path indexPath = baseDir.toPath().resolve("target/reactorstate-artifacts.idx");
+		final ArtifactIndex artifactIndex = new ArtifactIndex(baseDir.toPath(), indexPath);
+
+		// when
+		artifactIndex.update(projectStates);
+		artifactIndex.update(Collections.singleton(projectStates.get(2)));
+		final MappedArtifactIndex mappedArtifactIndex = artifactIndex.open();
+
+		// then
+		MatcherAssert.assertThat("Artifact index exists", mappedArtifactIndex, notNullValue(MappedArtifactIndex.class));
+
+		for (final MavenProjectState projectState : projectStates) {
+			assertIndexed(mappedArtifactIndex, projectState.getPom());
+			assertIndexed(mappedArtifactIndex, projectState.getMainArtifactState().getArtifact());
+			for (final MavenArtifactState attachedArtifactState : projectState.getAttachedArtifactStates()) {
+				assertIndexed(mappedArtifactIndex, attachedArtifactState.getArtifact());
+			}
+		}
+
+		final Artifact unknownArtifact = new DefaultArtifact("de.syquel.maven.reactorstate:unknown:jar:1.0-SNAPSHOT");
+		MatcherAssert.assertThat("Unknown artifact is absent", mappedArtifactIndex.find(unknownArtifact), nullValue(Artifact.class));
+	}
+
+	@Test
+	public void testDropRemovedModulesAndSkipUnchangedIndex() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+
+		final JsonReactorStateRepository repository = new JsonReactorStateRepository();
+		final MavenProjectState topLevelProjectState = repository.read(topLevelProject);
+		final MavenProjectState module1ProjectState = repository.read(module1Project);
+		final MavenProjectState module2ProjectState = repository.read(module2Project);
+
+		final Path indexPath = baseDir.toPath().resolve("target/reactorstate-artifacts.idx");
+		final ArtifactIndex artifactIndex = new ArtifactIndex(baseDir.toPath(), indexPath);
+		artifactIndex.update(Arrays.asList(topLevelProjectState, module1ProjectState, module2ProjectState));
+
+		// when
+		final boolean unchangedIndexWritten = artifactIndex.update(Collections.singleton(module1ProjectState));
+
+		Files.delete(module2Project.getFile().toPath());
+		final boolean prunedIndexWritten = artifactIndex.update(Collections.singleton(module1ProjectState));
+		final MappedArtifactIndex mappedArtifactIndex = artifactIndex.open();
+
+		// then
+		MatcherAssert.assertThat("Unchanged artifact index is not rewritten", unchangedIndexWritten, is(false));
+		MatcherAssert.assertThat("Artifact index without removed module is rewritten", prunedIndexWritten, is(true));
+
+		assertIndexed(mappedArtifactIndex, topLevelProjectState.getPom());
+		assertIndexed(mappedArtifactIndex, module1ProjectState.getPom());
+		MatcherAssert.assertThat(
+			"POM of removed module is absent",
+			mappedArtifactIndex.find(module2ProjectState.getPom().setVersion("0").setFile(null)),
+			nullValue(Artifact.class)
+		);
+		MatcherAssert.assertThat(
+			"Main artifact of removed module is absent",
+			mappedArtifactIndex.find(module2ProjectState.getMainArtifactState().getArtifact().setVersion("0").setFile(null)),
+			nullValue(Artifact.class)
+		);
+	}
+
+	private static void assertIndexed(final MappedArtifactIndex mappedArtifactIndex, final Artifact expectedArtifact) {
+		final Artifact query = expectedArtifact.setVersion("0").setFile(null);
+		final Artifact actualArtifact = mappedArtifactIndex.find(query);
+
+		MatcherAssert.assertThat("Artifact " + expectedArtifact + " is indexed", actualArtifact, notNullValue(Artifact.class));
+		MatcherAssert.assertThat("Artifact version is correct", ArtifactIdUtils.toId(actualArtifact), is(ArtifactIdUtils.toId(expectedArtifact)));
+		MatcherAssert.assertThat(
+			"Artifact file is correct",
+			(actualArtifact.getFile() != null) ? actualArtifact.getFile().getAbsoluteFile() : null,
+			is((expectedArtifact.getFile() != null) ? expectedArtifact.getFile().getAbsoluteFile() : null)
+		);
+	}
+
+}
@@ -0,0 +1,106 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+/**
+ * A benchmark of the throughput of looking up Maven artifacts of the workspace and of third-party dependencies.
+ *
+ * The benchmark compares a hash map keyed by the concatenated version-agnostic IDs with the {@link ArtifactLookupTable}, once for lookups of
+ * workspace artifacts and once for lookups of absent third-party artifacts, which dominate the lookups during dependency resolution. It is not run
+ * as part of the build, but via its main method on the test classpath, e.g.
+ * {@code java -cp target/classes:target/test-classes:<dependencies> de.syquel.maven.reactorstate.common.persistence.index.ArtifactLookupBenchmark}.
+ */
+public final class ArtifactLookupBenchmark {
+
+	private static final int DEFAULT_MODULE_COUNT = 1000;
+
+	private static final int THIRD_PARTY_ARTIFACT_COUNT = 10000;
+
+	private static final int WARMUP_ITERATIONS = 20;
+
+	private static final int MEASUREMENT_ITERATIONS = 100;
+
+	private ArtifactLookupBenchmark() {}
+
+	public static void main(final String[] args) {
+		final int moduleCount = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_MODULE_COUNT;
+
+		final List<Artifact> workspaceArtifacts = createWorkspaceArtifacts(moduleCount);
+		final List<Artifact> workspaceLookups = new ArrayList<>(workspaceArtifacts.size());
+		for (final Artifact artifact : workspaceArtifacts) {
+			workspaceLookups.add(new DefaultArtifact(
+				artifact.getGroupId(), artifact.getArtifactId(), artifact.getClassifier(), artifact.getExtension(), "1.0.0-SNAPSHOT"
+			));
+		}
+		final List<Artifact> thirdPartyLookups = createThirdPartyArtifacts();
+
+		final Map<String, Artifact> artifactMap = new HashMap<>();
+		for (final Artifact artifact : workspaceArtifacts) {
+			artifactMap.put(ArtifactIdUtils.toVersionlessId(artifact), artifact);
+		}
+		final ArtifactLookupTable lookupTable = ArtifactLookupTable.of(workspaceArtifacts);
+
+		final Function<Artifact, Artifact> mapLookup = artifact -> artifactMap.get(ArtifactIdUtils.toVersionlessId(artifact));
+		final Function<Artifact, Artifact> tableLookup = lookupTable::find;
+
+		System.out.printf(Locale.ROOT, "%-8s %-12s %16s%n", "index", "lookups", "[lookups/s]");
+		System.out.printf(Locale.ROOT, "%-8s %-12s %16.0f%n", "map", "workspace", measure(mapLookup, workspaceLookups, true));
+		System.out.printf(Locale.ROOT, "%-8s %-12s %16.0f%n", "table", "workspace", measure(tableLookup, workspaceLookups, true));
+		System.out.printf(Locale.ROOT, "%-8s %-12s %16.0f%n", "map", "third-party", measure(mapLookup, thirdPartyLookups, false));
+		System.out.printf(Locale.ROOT, "%-8s %-12s %16.0f%n", "table", "third-party", measure(tableLookup, thirdPartyLookups, false));
+	}
+
+	private static double measure(final Function<Artifact, Artifact> lookup, final List<Artifact> artifacts, final boolean expectFound) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			lookupAll(lookup, artifacts, expectFound);
+		}
+
+		final long startNanos = System.nanoTime();
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			lookupAll(lookup, artifacts, expectFound);
+		}
+
+		return (double) artifacts.size() * MEASUREMENT_ITERATIONS / ((System.nanoTime() - startNanos) / 1e9);
+	}
+
+	private static void lookupAll(final Function<Artifact, Artifact> lookup, final List<Artifact> artifacts, final boolean expectFound) {
+		for (final Artifact artifact : artifacts) {
+			if ((lookup.apply(artifact) != null) != expectFound) {
+				throw new IllegalStateException("Unexpected lookup result for " + artifact);
+			}
+		}
+	}
+
+	private static List<Artifact> createWorkspaceArtifacts(final int moduleCount) {
+		final List<Artifact> artifacts = new ArrayList<>(moduleCount * 4);
+		for (int i = 0; i < moduleCount; i++) {
+			final String artifactId = "benchmark-module-" + i;
+			artifacts.add(new DefaultArtifact("de.syquel.maven.reactorstate.benchmark", artifactId, "pom", "1.0.0-SNAPSHOT"));
+			for (final String classifier : Arrays.asList("", "sources", "tests")) {
+				artifacts.add(new DefaultArtifact("de.syquel.maven.reactorstate.benchmark", artifactId, classifier, "jar", "1.0.0-SNAPSHOT"));
+			}
+		}
+
+		return artifacts;
+	}
+
+	private static List<Artifact> createThirdPartyArtifacts() {
+		final List<Artifact> artifacts = new ArrayList<>(THIRD_PARTY_ARTIFACT_COUNT);
+		for (int i = 0; i < THIRD_PARTY_ARTIFACT_COUNT; i++) {
+			artifacts.add(new DefaultArtifact("org.example.thirdparty.group" + (i % 100), "library-" + i, "jar", "2.3." + i));
+		}
+
+		return artifacts;
+	}
+
+}
@@ -0,0 +1,99 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.util.ArtifactKeyUtils;
+
+public class ArtifactLookupTableTest {
+
+	@Test
+	public void testStructuredHashEqualsHashOfVersionlessId() {
+		// given
+		final List<Artifact> artifacts = Arrays.asList(
+			new DefaultArtifact("de.syquel.maven.reactorstate", "module1", "jar", "1.0.0-SNAPSHOT"),
+			new DefaultArtifact("de.syquel.maven.reactorstate", "module1", "tests", "jar", "1.0.0-SNAPSHOT"),
+			new DefaultArtifact("de.syquel.maven.reactorstate", "mödule€", "pom", "1.0.0-SNAPSHOT"),
+			new DefaultArtifact("de.syquel.maven.reactorstate", "module\uD83D\uDE80", "r\u00E9sum\u00E9", "jar", "1.0.0-SNAPSHOT"),
+			new DefaultArtifact("de.syquel.maven.reactorstate", "module\uD800", "\uDC00tests", "jar", "1.0.0-SNAPSHOT")
+		);
+
+		for (final Artifact artifact : artifacts) {
+			// when
+			final long structuredHash = ArtifactKeyUtils.hash(artifact);
+
+			// then
+			MatcherAssert.assertThat(
+				"Structured hash of " + artifact + " equals hash of its version-agnostic ID",
+				structuredHash,
+				is(ArtifactKeyUtils.hash(ArtifactIdUtils.toVersionlessId(artifact).getBytes(StandardCharsets.UTF_8)))
+			);
+		}
+	}
+
+	@Test
+	public void testFindArtifacts() {
+		// given
+		final Artifact mainArtifact = new DefaultArtifact("de.syquel.maven.reactorstate", "module1", "jar", "1.0.0-SNAPSHOT");
+		final Artifact testArtifact = new DefaultArtifact("de.syquel.maven.reactorstate", "module1", "tests", "jar", "1.0.0-SNAPSHOT");
+		final Artifact replacedArtifact = new DefaultArtifact("de.syquel.maven.reactorstate", "module2", "jar", "1.0.0-SNAPSHOT");
+		final Artifact replacingArtifact = new DefaultArtifact("de.syquel.maven.reactorstate", "module2", "jar", "1.1.0-SNAPSHOT");
+
+		final List<Artifact> manyArtifacts = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			manyArtifacts.add(new DefaultArtifact("de.syquel.maven.reactorstate", "generated" + i, "jar", "1.0.0-SNAPSHOT"));
+		}
+
+		// when
+		final ArtifactLookupTable lookupTable = ArtifactLookupTable.of(Arrays.asList(mainArtifact, testArtifact, replacedArtifact))
+			.with(Collections.singleton(replacingArtifact))
+			.with(manyArtifacts);
+
+		// then
+		MatcherAssert.assertThat("Empty table has no artifacts", ArtifactLookupTable.empty().find(mainArtifact), is(nullValue()));
+		MatcherAssert.assertThat("Replaced artifact is counted once", lookupTable.size(), is(1003));
+		MatcherAssert.assertThat(
+			"Main artifact is found regardless of its version",
+			lookupTable.find(new DefaultArtifact("de.syquel.maven.reactorstate:module1:jar:9.9.9")),
+			is(sameInstance(mainArtifact))
+		);
+		MatcherAssert.assertThat(
+			"Classified artifact is found",
+			lookupTable.find(new DefaultArtifact("de.syquel.maven.reactorstate:module1:jar:tests:9.9.9")),
+			is(sameInstance(testArtifact))
+		);
+		MatcherAssert.assertThat(
+			"Later artifact replaces earlier one",
+			lookupTable.find(new DefaultArtifact("de.syquel.maven.reactorstate:module2:jar:9.9.9")),
+			is(sameInstance(replacingArtifact))
+		);
+		for (final Artifact artifact : manyArtifacts) {
+			MatcherAssert.assertThat("Generated artifact is found", lookupTable.find(artifact), is(sameInstance(artifact)));
+		}
+
+		MatcherAssert.assertThat(
+			"Artifact with other extension is not found",
+			lookupTable.find(new DefaultArtifact("de.syquel.maven.reactorstate:module1:pom:9.9.9")),
+			is(nullValue())
+		);
+		MatcherAssert.assertThat(
+			"Third-party artifact is not found",
+			lookupTable.find(new DefaultArtifact("org.apache.commons:commons-lang3:jar:3.11")),
+			is(nullValue())
+		);
+	}
+
+}
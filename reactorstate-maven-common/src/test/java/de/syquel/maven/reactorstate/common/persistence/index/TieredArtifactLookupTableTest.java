@@ -0,0 +1,56 @@
+package de.syquel.maven.reactorstate.common.persistence.index;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+
+public class TieredArtifactLookupTableTest {
+
+	@Test
+	public void testFindArtifactsAddedOneByOne() {
+		// given
+		final Artifact replacedArtifact = new DefaultArtifact("de.syquel.maven.reactorstate", "module1", "jar", "1.0.0-SNAPSHOT");
+		final Artifact replacingArtifact = new DefaultArtifact("de.syquel.maven.reactorstate", "module1", "jar", "1.1.0-SNAPSHOT");
+
+		final List<Artifact> manyArtifacts = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			manyArtifacts.add(new DefaultArtifact("de.syquel.maven.reactorstate", "generated" + i, "jar", "1.0.0-SNAPSHOT"));
+		}
+
+		// when
+		TieredArtifactLookupTable lookupTable = TieredArtifactLookupTable.empty().with(Collections.singleton(replacedArtifact));
+		for (final Artifact artifact : manyArtifacts) {
+			lookupTable = lookupTable.with(Arrays.asList(artifact, new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "pom", "1.0.0")));
+		}
+		lookupTable = lookupTable.with(Collections.singleton(replacingArtifact)).with(Collections.emptyList());
+
+		// then
+		MatcherAssert.assertThat("Empty table has no artifacts", TieredArtifactLookupTable.empty().find(replacedArtifact), is(nullValue()));
+		MatcherAssert.assertThat("Tiers are merged", lookupTable.getTierCount() <= 12, is(true));
+		MatcherAssert.assertThat(
+			"Later artifact replaces earlier one",
+			lookupTable.find(new DefaultArtifact("de.syquel.maven.reactorstate:module1:jar:9.9.9")),
+			is(sameInstance(replacingArtifact))
+		);
+		for (final Artifact artifact : manyArtifacts) {
+			MatcherAssert.assertThat("Generated artifact is found", lookupTable.find(artifact), is(sameInstance(artifact)));
+		}
+
+		MatcherAssert.assertThat(
+			"Third-party artifact is not found",
+			lookupTable.find(new DefaultArtifact("org.apache.commons:commons-lang3:jar:3.11")),
+			is(nullValue())
+		);
+	}
+
+}
@@ -0,0 +1,86 @@
+package de.syquel.maven.reactorstate.common.persistence.json;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class AggregatedJsonReactorStateRepositoryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testSaveAndReadAggregatedStates() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+		final List<MavenProject> projects = Arrays.asList(topLevelProject, module1Project, module2Project, module3Project);
+
+		final IReactorStateRepository moduleRepository = new JsonReactorStateRepository();
+		final List<MavenProjectState> projectStates = new ArrayList<>();
+		for (final MavenProject project : projects) {
+			projectStates.add(moduleRepository.read(project));
+		}
+
+		final Path statePath = baseDir.toPath().resolve("target/reactorstate-maven-aggregated.json");
+
+		// when
+		new AggregatedJsonReactorStateRepository(baseDir.toPath(), statePath).saveAll(projectStates);
+		new AggregatedJsonReactorStateRepository(baseDir.toPath(), statePath).delete(module1Project);
+
+		// then
+		MatcherAssert.assertThat("Aggregated state file exists", Files.isRegularFile(statePath), is(true));
+
+		final IReactorStateRepository aggregatedRepository = new AggregatedJsonReactorStateRepository(baseDir.toPath(), statePath);
+		MatcherAssert.assertThat("Deleted state is absent", aggregatedRepository.read(module1Project), nullValue(MavenProjectState.class));
+
+		for (final MavenProjectState expectedProjectState : projectStates) {
+			final MavenProject project = expectedProjectState.getProject();
+			if (project == module1Project) {
+				continue;
+			}
+
+			final MavenProjectState actualProjectState = aggregatedRepository.read(project);
+			MatcherAssert.assertThat(
+				"Main artifact of " + project.getArtifactId() + " is restored",
+				ArtifactIdUtils.toId(actualProjectState.getMainArtifactState().getArtifact()),
+				is(ArtifactIdUtils.toId(expectedProjectState.getMainArtifactState().getArtifact()))
+			);
+			MatcherAssert.assertThat(
+				"Main artifact file of " + project.getArtifactId() + " is restored",
+				actualProjectState.getMainArtifactState().getArtifact().getFile(),
+				is(expectedProjectState.getMainArtifactState().getArtifact().getFile())
+			);
+			MatcherAssert.assertThat(
+				"Attached artifacts of " + project.getArtifactId() + " are restored",
+				actualProjectState.getAttachedArtifactStates().size(),
+				is(expectedProjectState.getAttachedArtifactStates().size())
+			);
+		}
+	}
+
+}
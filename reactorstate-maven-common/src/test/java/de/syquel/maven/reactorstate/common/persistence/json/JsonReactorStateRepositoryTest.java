@@ -0,0 +1,317 @@
+package de.syquel.maven.reactorstate.common.persistence.json;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Plugin;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.StateFileWriter;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamReader;
+import de.syquel.maven.reactorstate.common.persistence.json.stream.JsonStreamWriter;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class JsonReactorStateRepositoryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testRewritePersistedStates() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		for (final boolean prettyPrint : new boolean[] { false, true }) {
+			final JsonReactorStateRepository repository = new JsonReactorStateRepository(prettyPrint);
+
+			for (final MavenProject project : Arrays.asList(topLevelProject, module1Project, module2Project, module3Project)) {
+				// when
+				final MavenProjectState expectedProjectState = repository.read(project);
+				repository.save(expectedProjectState);
+				final MavenProjectState actualProjectState = repository.read(project);
+
+				// then
+				assertArtifactEquals(expectedProjectState.getPom(), actualProjectState.getPom());
+				assertArtifactStateEquals(expectedProjectState.getMainArtifactState(), actualProjectState.getMainArtifactState());
+
+				final Map<String, MavenArtifactState> actualAttachedArtifactStates =
+					actualProjectState.getAttachedArtifactStates().stream()
+						.collect(Collectors.toMap(artifactState -> ArtifactIdUtils.toId(artifactState.getArtifact()), artifactState -> artifactState));
+				MatcherAssert.assertThat(
+					"Attached artifacts are restored", actualAttachedArtifactStates.size(), is(expectedProjectState.getAttachedArtifactStates().size())
+				);
+				for (final MavenArtifactState expectedArtifactState : expectedProjectState.getAttachedArtifactStates()) {
+					assertArtifactStateEquals(expectedArtifactState, actualAttachedArtifactStates.get(ArtifactIdUtils.toId(expectedArtifactState.getArtifact())));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSkipUnchangedStates() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final Path statePath = module1Project.getBasedir().toPath().resolve("target/reactorstate-maven.json");
+
+		final JsonReactorStateRepository repository = new JsonReactorStateRepository();
+		final MavenProjectState projectState = repository.read(module1Project);
+		repository.save(projectState);
+		final FileTime lastModifiedTime = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(statePath, lastModifiedTime);
+
+		// when
+		final boolean written = repository.save(repository.read(module1Project));
+
+		// then
+		MatcherAssert.assertThat("Unchanged state is not written", written, is(false));
+		MatcherAssert.assertThat("Unchanged state file is not touched", Files.getLastModifiedTime(statePath), is(lastModifiedTime));
+	}
+
+	@Test
+	public void testSaveWithDurability() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final Path statePath = module2Project.getBasedir().toPath().resolve("target/reactorstate-maven.json");
+		final MavenProjectState projectState = new JsonReactorStateRepository().read(module2Project);
+
+		for (final ReactorStateConfiguration.RepositoryDurability durability : ReactorStateConfiguration.RepositoryDurability.values()) {
+			final JsonReactorStateRepository repository =
+				new JsonReactorStateRepository(false, new StateFileWriter(durability, ReactorStateConfiguration.RepositoryCompression.NONE));
+			Files.delete(statePath);
+
+			// when
+			final int writtenCount = repository.saveAll(Collections.singleton(projectState));
+
+			// then
+			MatcherAssert.assertThat("State is written with durability " + durability, writtenCount, is(1));
+			MatcherAssert.assertThat("State is readable with durability " + durability, repository.read(module2Project), notNullValue());
+			try (final Stream<Path> buildPaths = Files.list(statePath.getParent())) {
+				MatcherAssert.assertThat(
+					"No temporary files are left behind with durability " + durability,
+					buildPaths.filter(path -> path.getFileName().toString().endsWith(".tmp")).count(), is(0L)
+				);
+			}
+		}
+	}
+
+	@Test
+	public void testCompressStates() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1/module3"));
+		final Path statePath = module3Project.getBasedir().toPath().resolve("target/reactorstate-maven.json");
+
+		final JsonReactorStateRepository uncompressedRepository = new JsonReactorStateRepository();
+		final MavenProjectState expectedProjectState = uncompressedRepository.read(module3Project);
+		uncompressedRepository.save(expectedProjectState);
+		final long uncompressedSize = Files.size(statePath);
+
+		final JsonReactorStateRepository compressedRepository = new JsonReactorStateRepository(
+			false,
+			new StateFileWriter(ReactorStateConfiguration.RepositoryDurability.FAST, ReactorStateConfiguration.RepositoryCompression.DEFLATE)
+		);
+
+		// when
+		final boolean written = compressedRepository.save(expectedProjectState);
+		final MavenProjectState actualProjectState = uncompressedRepository.read(module3Project);
+
+		// then
+		MatcherAssert.assertThat("Compressed state is written", written, is(true));
+		MatcherAssert.assertThat("Compressed state is smaller", Files.size(statePath) < uncompressedSize, is(true));
+		MatcherAssert.assertThat("Unchanged compressed state is skipped", compressedRepository.save(expectedProjectState), is(false));
+		assertArtifactEquals(expectedProjectState.getPom(), actualProjectState.getPom());
+		assertArtifactStateEquals(expectedProjectState.getMainArtifactState(), actualProjectState.getMainArtifactState());
+	}
+
+	@Test
+	public void testShareRepositoryMetadata() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final Path statePath = module1Project.getBasedir().toPath().resolve("target/reactorstate-maven.json");
+
+		final Plugin plugin = new Plugin();
+		plugin.setArtifactId("shared-maven-plugin");
+		plugin.setName("Shared Maven Plugin");
+		plugin.setPrefix("shared");
+
+		final JsonReactorStateRepository repository = new JsonReactorStateRepository();
+		for (final MavenProject project : Arrays.asList(module1Project, module2Project)) {
+			final MavenProjectState projectState = repository.read(project);
+
+			final Metadata groupRepositoryMetadata = new Metadata();
+			groupRepositoryMetadata.setGroupId(project.getGroupId());
+			groupRepositoryMetadata.addPlugin(plugin.clone());
+			for (final MavenArtifactState artifactState : getArtifactStates(projectState)) {
+				artifactState.setGroupRepositoryMetadata(groupRepositoryMetadata.clone());
+			}
+
+			repository.save(projectState);
+		}
+
+		// when
+		final JsonReactorStateRepository readingRepository = new JsonReactorStateRepository();
+		final List<MavenArtifactState> artifactStates = new ArrayList<>();
+		artifactStates.addAll(getArtifactStates(readingRepository.read(module1Project)));
+		artifactStates.addAll(getArtifactStates(readingRepository.read(module2Project)));
+
+		// then
+		final String stateJson = new String(Files.readAllBytes(statePath), StandardCharsets.UTF_8);
+		MatcherAssert.assertThat(
+			"Group repository metadata is stored once", stateJson.split("shared-maven-plugin", -1).length - 1, is(1)
+		);
+		for (final MavenArtifactState artifactState : artifactStates) {
+			MatcherAssert.assertThat(
+				"Group repository metadata of " + ArtifactIdUtils.toId(artifactState.getArtifact()) + " is shared",
+				artifactState.getGroupRepositoryMetadata(), sameInstance(artifactStates.get(0).getGroupRepositoryMetadata())
+			);
+		}
+		MatcherAssert.assertThat(
+			"Group repository metadata is restored", artifactStates.get(0).getGroupRepositoryMetadata().getPlugins().get(0).getPrefix(), is("shared")
+		);
+	}
+
+	@Test
+	public void testDeferRepositoryMetadata() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+
+		final JsonReactorStateRepository repository = new JsonReactorStateRepository();
+		final MavenProjectState projectState = repository.read(module2Project);
+
+		// Exceed the read buffer, so the deferred repository metadata spans several buffers
+		final Metadata groupRepositoryMetadata = new Metadata();
+		groupRepositoryMetadata.setGroupId(module2Project.getGroupId());
+		for (int i = 0; i < 500; i++) {
+			final Plugin plugin = new Plugin();
+			plugin.setArtifactId("deferred-" + i + "-maven-plugin");
+			plugin.setName("Deferred Maven Plugin " + i);
+			plugin.setPrefix("deferred-" + i);
+			groupRepositoryMetadata.addPlugin(plugin);
+		}
+		projectState.getMainArtifactState().setGroupRepositoryMetadata(groupRepositoryMetadata);
+		repository.save(projectState);
+
+		// when
+		final MavenArtifactState actualArtifactState = new JsonReactorStateRepository().read(module2Project).getMainArtifactState();
+
+		// then
+		MatcherAssert.assertThat("Repository metadata is deferred", actualArtifactState.isRepositoryMetadataLoaded(), is(false));
+		assertArtifactEquals(projectState.getMainArtifactState().getArtifact(), actualArtifactState.getArtifact());
+		MatcherAssert.assertThat("Repository metadata is still deferred", actualArtifactState.isRepositoryMetadataLoaded(), is(false));
+		assertArtifactStateEquals(projectState.getMainArtifactState(), actualArtifactState);
+		MatcherAssert.assertThat("Repository metadata is loaded on access", actualArtifactState.isRepositoryMetadataLoaded(), is(true));
+	}
+
+	@Test
+	public void testEscapeStrings() throws Exception {
+		// given
+		final String value = "quote \" backslash \\ newline \n tab \t control \u0001 unicode ä€";
+
+		// when
+		final StringWriter json = new StringWriter();
+		try (final JsonStreamWriter writer = new JsonStreamWriter(json, false)) {
+			writer.beginObject().name("value").value(value).name("skipped").beginArray().value(1).nullValue().endArray().endObject();
+		}
+
+		final String actualValue;
+		try (final JsonStreamReader reader = new JsonStreamReader(new StringReader(json.toString()))) {
+			reader.beginObject();
+			MatcherAssert.assertThat("Property name is read", reader.nextName(), is("value"));
+			actualValue = reader.nextString();
+			reader.hasNext();
+			reader.nextName();
+			reader.skipValue();
+			reader.endObject();
+		}
+
+		// then
+		MatcherAssert.assertThat("Escaped string is restored", actualValue, is(value));
+	}
+
+	private static List<MavenArtifactState> getArtifactStates(final MavenProjectState projectState) {
+		final List<MavenArtifactState> artifactStates = new ArrayList<>();
+		artifactStates.add(projectState.getMainArtifactState());
+		artifactStates.addAll(projectState.getAttachedArtifactStates());
+
+		return artifactStates;
+	}
+
+	private static void assertArtifactStateEquals(final MavenArtifactState expectedArtifactState, final MavenArtifactState actualArtifactState)
+		throws IOException
+	{
+		assertArtifactEquals(expectedArtifactState.getArtifact(), actualArtifactState.getArtifact());
+		MatcherAssert.assertThat(
+			"Artifact repository metadata is restored",
+			toXml(actualArtifactState.getArtifactRepositoryMetadata()),
+			is(toXml(expectedArtifactState.getArtifactRepositoryMetadata()))
+		);
+		MatcherAssert.assertThat(
+			"Group repository metadata is restored",
+			toXml(actualArtifactState.getGroupRepositoryMetadata()),
+			is(toXml(expectedArtifactState.getGroupRepositoryMetadata()))
+		);
+		MatcherAssert.assertThat(
+			"Snapshot repository metadata is restored",
+			toXml(actualArtifactState.getSnapshotRepositoryMetadata()),
+			is(toXml(expectedArtifactState.getSnapshotRepositoryMetadata()))
+		);
+	}
+
+	private static void assertArtifactEquals(final Artifact expectedArtifact, final Artifact actualArtifact) {
+		MatcherAssert.assertThat("Coordinates are restored", ArtifactIdUtils.toId(actualArtifact), is(ArtifactIdUtils.toId(expectedArtifact)));
+		MatcherAssert.assertThat("File is restored", actualArtifact.getFile(), is(expectedArtifact.getFile()));
+		MatcherAssert.assertThat("Properties are restored", actualArtifact.getProperties(), is(expectedArtifact.getProperties()));
+	}
+
+	private static String toXml(final Metadata metadata) throws IOException {
+		if (metadata == null) {
+			return null;
+		}
+
+		final StringWriter metadataWriter = new StringWriter();
+		new MetadataXpp3Writer().write(metadataWriter, metadata);
+		return metadataWriter.toString();
+	}
+
+}
@@ -0,0 +1,125 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class IndexedWorkspaceDiscoveryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testDiscoverFromIndex() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenSession session = testMavenRuntime.newMavenSession(module2Project);
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+
+		final IWorkspaceDiscovery parallelDiscovery = new ParallelWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest(), 2);
+		final Set<WorkspaceModule> discoveredModules =
+			new IndexedWorkspaceDiscovery(parallelDiscovery, session.getProjectBuildingRequest()).discover(module2Project, session.getProjects());
+
+		// when
+		final IWorkspaceDiscovery failingDiscovery = (project, knownProjects) -> {
+			throw new AssertionError("Workspace index has not been used");
+		};
+		final Set<WorkspaceModule> indexedModules =
+			new IndexedWorkspaceDiscovery(failingDiscovery, session.getProjectBuildingRequest()).discover(module2Project, session.getProjects());
+
+		// then
+		MatcherAssert.assertThat("Exactly four Maven projects are discovered", discoveredModules.size(), is(4));
+		MatcherAssert.assertThat("Indexed Maven projects equal discovered Maven projects", indexedModules, is(discoveredModules));
+
+		for (final WorkspaceModule indexedModule : indexedModules) {
+			MatcherAssert.assertThat(
+				"Build directory of indexed Maven project " + indexedModule.getArtifactId() + " is resolved",
+				indexedModule.getBuildPath(),
+				is(indexedModule.getPomPath().getParent().resolve("target"))
+			);
+		}
+	}
+
+	@Test
+	public void testDiscoverAfterPomChange() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenSession session = testMavenRuntime.newMavenSession(module2Project);
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+
+		final AtomicInteger discoveryCount = new AtomicInteger();
+		final IWorkspaceDiscovery parallelDiscovery = new ParallelWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest(), 2);
+		final IWorkspaceDiscovery countingDiscovery = (project, knownProjects) -> {
+			discoveryCount.incrementAndGet();
+			return parallelDiscovery.discover(project, knownProjects);
+		};
+		final IWorkspaceDiscovery indexedDiscovery = new IndexedWorkspaceDiscovery(countingDiscovery, session.getProjectBuildingRequest());
+
+		indexedDiscovery.discover(module2Project, session.getProjects());
+
+		// when
+		final Path module3PomPath = baseDir.toPath().resolve("module1/module3/pom.xml");
+		Files.write(module3PomPath, "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		indexedDiscovery.discover(module2Project, session.getProjects());
+
+		// then
+		MatcherAssert.assertThat("Changed POM invalidates workspace index", discoveryCount.get(), is(2));
+	}
+
+	@Test
+	public void testDiscoverAfterUserPropertyChange() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenSession session = testMavenRuntime.newMavenSession(module2Project);
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+
+		final AtomicInteger discoveryCount = new AtomicInteger();
+		final IWorkspaceDiscovery parallelDiscovery = new ParallelWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest(), 2);
+		final IWorkspaceDiscovery countingDiscovery = (project, knownProjects) -> {
+			discoveryCount.incrementAndGet();
+			return parallelDiscovery.discover(project, knownProjects);
+		};
+
+		new IndexedWorkspaceDiscovery(countingDiscovery, session.getProjectBuildingRequest()).discover(module2Project, session.getProjects());
+		new IndexedWorkspaceDiscovery(countingDiscovery, session.getProjectBuildingRequest()).discover(module2Project, session.getProjects());
+
+		// when
+		final Properties changedUserProperties = new Properties();
+		changedUserProperties.putAll(session.getProjectBuildingRequest().getUserProperties());
+		changedUserProperties.setProperty("revision", "2.0.0");
+
+		final ProjectBuildingRequest changedBuildingRequest = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
+		changedBuildingRequest.setUserProperties(changedUserProperties);
+		new IndexedWorkspaceDiscovery(countingDiscovery, changedBuildingRequest).discover(module2Project, session.getProjects());
+
+		// then
+		MatcherAssert.assertThat("Changed user property invalidates workspace index", discoveryCount.get(), is(2));
+	}
+
+}
@@ -0,0 +1,69 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ParallelWorkspaceDiscoveryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testDiscoverEqualsSequentialDiscovery() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+		final MavenSession session = testMavenRuntime.newMavenSession(module3Project);
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+
+		final Set<WorkspaceModule> sequentialModules =
+			new ParallelWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest(), 1).discover(module3Project, session.getProjects());
+
+		// when
+		final Set<WorkspaceModule> parallelModules =
+			new ParallelWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest(), 4).discover(module3Project, session.getProjects());
+
+		// then
+		MatcherAssert.assertThat(
+			"Sequential discovery finds the parent and nested Maven projects",
+			toArtifactIds(sequentialModules),
+			is(new TreeSet<>(Arrays.asList(
+				"reactorstate-maven-extension-stub", "reactorstate-maven-extension-stub-module1", "reactorstate-maven-extension-stub-module2",
+				"reactorstate-maven-extension-stub-module3"
+			)))
+		);
+		MatcherAssert.assertThat("Parallel discovery equals sequential discovery", parallelModules, is(sequentialModules));
+		MatcherAssert.assertThat(
+			"Parallel discovery finds the same Maven projects", toArtifactIds(parallelModules), is(toArtifactIds(sequentialModules))
+		);
+	}
+
+	private static Set<String> toArtifactIds(final Collection<WorkspaceModule> modules) {
+		final Set<String> artifactIds = new TreeSet<>();
+		for (final WorkspaceModule module : modules) {
+			artifactIds.add(module.getArtifactId());
+		}
+
+		return artifactIds;
+	}
+
+}
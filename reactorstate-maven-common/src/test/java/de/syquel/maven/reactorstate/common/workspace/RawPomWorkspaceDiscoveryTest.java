@@ -0,0 +1,66 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class RawPomWorkspaceDiscoveryTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testDiscoverEqualsEffectiveModels() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenSession session = testMavenRuntime.newMavenSession(module2Project);
+		final ProjectBuilder projectBuilder = testMavenRuntime.lookup(ProjectBuilder.class);
+
+		final Set<WorkspaceModule> builtModules =
+			new ParallelWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest(), 2).discover(module2Project, session.getProjects());
+
+		// when
+		final Set<WorkspaceModule> scannedModules =
+			new RawPomWorkspaceDiscovery(projectBuilder, session.getProjectBuildingRequest()).discover(module2Project, session.getProjects());
+
+		// then
+		MatcherAssert.assertThat("Scanned Maven projects equal built Maven projects", scannedModules, is(builtModules));
+
+		final Map<Path, WorkspaceModule> builtModulesByPomPath = new HashMap<>();
+		for (final WorkspaceModule builtModule : builtModules) {
+			builtModulesByPomPath.put(builtModule.getPomPath(), builtModule);
+		}
+
+		for (final WorkspaceModule scannedModule : scannedModules) {
+			final WorkspaceModule builtModule = builtModulesByPomPath.get(scannedModule.getPomPath());
+			final String description = "Scanned Maven project " + scannedModule.getArtifactId();
+
+			MatcherAssert.assertThat(description + " has the same group ID", scannedModule.getGroupId(), is(builtModule.getGroupId()));
+			MatcherAssert.assertThat(description + " has the same artifact ID", scannedModule.getArtifactId(), is(builtModule.getArtifactId()));
+			MatcherAssert.assertThat(description + " has the same version", scannedModule.getVersion(), is(builtModule.getVersion()));
+			MatcherAssert.assertThat(description + " has the same packaging", scannedModule.getPackaging(), is(builtModule.getPackaging()));
+			MatcherAssert.assertThat(description + " has the same parent", scannedModule.getParentPomPath(), is(builtModule.getParentPomPath()));
+			MatcherAssert.assertThat(description + " has the same modules", scannedModule.getModulePomPaths(), is(builtModule.getModulePomPaths()));
+			MatcherAssert.assertThat(description + " has the same build directory", scannedModule.getBuildPath(), is(builtModule.getBuildPath()));
+		}
+	}
+
+}
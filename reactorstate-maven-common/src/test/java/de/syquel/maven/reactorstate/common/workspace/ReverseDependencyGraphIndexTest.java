@@ -0,0 +1,138 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.project.MavenProject;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ReverseDependencyGraphIndexTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testResolveDownstreamModulesInBuildOrder() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		final ReverseDependencyGraphIndex graphIndex = ReverseDependencyGraphIndex.create(topLevelProject);
+		graphIndex.update(Arrays.asList(topLevelProject, module1Project, module2Project, module3Project));
+
+		// when
+		final ReverseDependencyGraph graph = graphIndex.load();
+
+		// then
+		MatcherAssert.assertThat(
+			"Dependent Maven projects are downstream",
+			resolveArtifactIds(graph, module3Project),
+			is(Arrays.asList("reactorstate-maven-extension-stub-module3", "reactorstate-maven-extension-stub-module2"))
+		);
+		MatcherAssert.assertThat(
+			"Child Maven projects are downstream",
+			resolveArtifactIds(graph, module1Project),
+			is(Arrays.asList(
+				"reactorstate-maven-extension-stub-module1", "reactorstate-maven-extension-stub-module3", "reactorstate-maven-extension-stub-module2"
+			))
+		);
+		MatcherAssert.assertThat(
+			"All Maven projects are downstream of the top-level Maven project in build order",
+			resolveArtifactIds(graph, topLevelProject),
+			is(Arrays.asList(
+				"reactorstate-maven-extension-stub", "reactorstate-maven-extension-stub-module1", "reactorstate-maven-extension-stub-module3",
+				"reactorstate-maven-extension-stub-module2"
+			))
+		);
+		MatcherAssert.assertThat(
+			"Maven projects outside of the graph are ignored",
+			graph.resolveDownstream(Collections.singleton("org.example:unknown")), is(Collections.<String>emptyList())
+		);
+	}
+
+	@Test
+	public void testKeepDependentsOnPartialUpdate() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		final ReverseDependencyGraphIndex graphIndex = ReverseDependencyGraphIndex.create(topLevelProject);
+		graphIndex.update(Arrays.asList(topLevelProject, module1Project, module2Project, module3Project));
+
+		// when
+		graphIndex.update(Collections.singletonList(module3Project));
+		final ReverseDependencyGraph graph = graphIndex.load();
+
+		// then
+		MatcherAssert.assertThat("All Maven projects are kept", graph.getModuleKeys().size(), is(4));
+		MatcherAssert.assertThat(
+			"Dependents declared by Maven projects outside of the Maven execution are kept",
+			resolveArtifactIds(graph, module3Project),
+			is(Arrays.asList("reactorstate-maven-extension-stub-module3", "reactorstate-maven-extension-stub-module2"))
+		);
+	}
+
+	@Test
+	public void testKeepDependentsOfUnsavedModules() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		final ReverseDependencyGraphIndex graphIndex = ReverseDependencyGraphIndex.create(topLevelProject);
+
+		// when
+		graphIndex.update(Collections.singletonList(module2Project));
+		graphIndex.update(Collections.singletonList(module3Project));
+		final ReverseDependencyGraph graph = graphIndex.load();
+
+		// then
+		MatcherAssert.assertThat("Only saved Maven projects are part of the graph", graph.getModuleKeys().size(), is(2));
+		MatcherAssert.assertThat(
+			"Dependents saved before their dependency are kept",
+			resolveArtifactIds(graph, module3Project),
+			is(Arrays.asList("reactorstate-maven-extension-stub-module3", "reactorstate-maven-extension-stub-module2"))
+		);
+		MatcherAssert.assertThat(
+			"Children of Maven projects outside of the graph are kept",
+			new ArrayList<>(graph.getChildKeys(WorkspaceModule.toKey(topLevelProject.getGroupId(), topLevelProject.getArtifactId()))),
+			is(Collections.singletonList(WorkspaceModule.toKey(module2Project.getGroupId(), module2Project.getArtifactId())))
+		);
+	}
+
+	private static List<String> resolveArtifactIds(final ReverseDependencyGraph graph, final MavenProject project) {
+		final String key = WorkspaceModule.toKey(project.getGroupId(), project.getArtifactId());
+
+		final List<String> artifactIds = new ArrayList<>();
+		for (final String downstreamKey : graph.resolveDownstream(Collections.singleton(key))) {
+			artifactIds.add(downstreamKey.substring(downstreamKey.indexOf(':') + 1));
+		}
+
+		return artifactIds;
+	}
+
+}
@@ -0,0 +1,95 @@
+package de.syquel.maven.reactorstate.common.workspace;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.project.MavenProject;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class WorkspaceChangeClosureTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testResolveAffectedModules() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenProject module2Project = testMavenRuntime.readMavenProject(new File(baseDir, "module2"));
+		final MavenProject module3Project = testMavenRuntime.readMavenProject(new File(module1Project.getBasedir(), "module3"));
+
+		final List<WorkspaceModule> modules = Arrays.asList(
+			WorkspaceModule.of(topLevelProject), WorkspaceModule.of(module1Project), WorkspaceModule.of(module2Project), WorkspaceModule.of(module3Project)
+		);
+		final WorkspaceChangeClosure changeClosure = new WorkspaceChangeClosure(modules);
+
+		final Path basePath = baseDir.toPath();
+
+		// when
+		final Set<String> sourceChangeModules = resolveArtifactIds(changeClosure, basePath.resolve("module1/module3/src/main/java/HelloWorld.java"));
+		final Set<String> module1PomChangeModules = resolveArtifactIds(changeClosure, basePath.resolve("module1/pom.xml"));
+		final Set<String> topLevelPomChangeModules = resolveArtifactIds(changeClosure, basePath.resolve("pom.xml"));
+		final Set<String> topLevelFileChangeModules = resolveArtifactIds(changeClosure, basePath.resolve("README.md"));
+		final Set<String> outsideChangeModules = resolveArtifactIds(changeClosure, basePath.getParent().resolve("README.md"));
+
+		// then
+		MatcherAssert.assertThat(
+			"Changed source affects its Maven project and downstream Maven projects",
+			sourceChangeModules, is(toSet("reactorstate-maven-extension-stub-module2", "reactorstate-maven-extension-stub-module3"))
+		);
+		MatcherAssert.assertThat(
+			"Changed parent POM affects child Maven projects and their downstream Maven projects",
+			module1PomChangeModules,
+			is(toSet(
+				"reactorstate-maven-extension-stub-module1", "reactorstate-maven-extension-stub-module2", "reactorstate-maven-extension-stub-module3"
+			))
+		);
+		MatcherAssert.assertThat(
+			"Changed top-level POM affects all Maven projects",
+			topLevelPomChangeModules,
+			is(toSet(
+				"reactorstate-maven-extension-stub", "reactorstate-maven-extension-stub-module1", "reactorstate-maven-extension-stub-module2",
+				"reactorstate-maven-extension-stub-module3"
+			))
+		);
+		MatcherAssert.assertThat(
+			"Changed top-level file affects the top-level Maven project only", topLevelFileChangeModules, is(toSet("reactorstate-maven-extension-stub"))
+		);
+		MatcherAssert.assertThat("Changed file outside of the workspace is ignored", outsideChangeModules, is(toSet()));
+	}
+
+	private static Set<String> resolveArtifactIds(final WorkspaceChangeClosure changeClosure, final Path changedPath) {
+		final Collection<WorkspaceModule> affectedModules = changeClosure.resolve(Collections.singleton(changedPath));
+
+		final Set<String> artifactIds = new TreeSet<>();
+		for (final WorkspaceModule affectedModule : affectedModules) {
+			artifactIds.add(affectedModule.getArtifactId());
+		}
+
+		return artifactIds;
+	}
+
+	private static Set<String> toSet(final String... artifactIds) {
+		return new TreeSet<>(Arrays.asList(artifactIds));
+	}
+
+}
@@ -0,0 +1,124 @@
+package de.syquel.maven.reactorstate.extension;
+
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+
+import de.syquel.maven.reactorstate.common.ProjectStateSaver;
+
+/**
+ * An execution listener, which saves the state of every Maven module as soon as it has been built successfully.
+ *
+ * Maven only supports a single execution listener per Maven execution, so all events are forwarded to the previously registered listener. Maven
+ * modules are built concurrently by multithreaded builds, so the state is saved by the thread-safe {@link ProjectStateSaver}.
+ */
+public class ProjectStateSaveListener implements ExecutionListener {
+
+	/**
+	 * The previously registered listener, which receives all events.
+	 */
+	private final ExecutionListener delegate;
+
+	/**
+	 * The saver of the states of the Maven modules.
+	 */
+	private final ProjectStateSaver projectStateSaver;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param delegate The previously registered listener or null if there is none.
+	 * @param projectStateSaver The saver of the states of the Maven modules.
+	 */
+	public ProjectStateSaveListener(final ExecutionListener delegate, final ProjectStateSaver projectStateSaver) {
+		this.delegate = (delegate != null) ? delegate : new AbstractExecutionListener();
+		this.projectStateSaver = projectStateSaver;
+	}
+
+	@Override
+	public void projectDiscoveryStarted(final ExecutionEvent event) {
+		delegate.projectDiscoveryStarted(event);
+	}
+
+	@Override
+	public void sessionStarted(final ExecutionEvent event) {
+		delegate.sessionStarted(event);
+	}
+
+	@Override
+	public void sessionEnded(final ExecutionEvent event) {
+		delegate.sessionEnded(event);
+	}
+
+	@Override
+	public void projectSkipped(final ExecutionEvent event) {
+		delegate.projectSkipped(event);
+	}
+
+	@Override
+	public void projectStarted(final ExecutionEvent event) {
+		delegate.projectStarted(event);
+	}
+
+	@Override
+	public void projectSucceeded(final ExecutionEvent event) {
+		delegate.projectSucceeded(event);
+		projectStateSaver.save(event.getProject());
+	}
+
+	@Override
+	public void projectFailed(final ExecutionEvent event) {
+		delegate.projectFailed(event);
+	}
+
+	@Override
+	public void forkStarted(final ExecutionEvent event) {
+		delegate.forkStarted(event);
+	}
+
+	@Override
+	public void forkSucceeded(final ExecutionEvent event) {
+		delegate.forkSucceeded(event);
+	}
+
+	@Override
+	public void forkFailed(final ExecutionEvent event) {
+		delegate.forkFailed(event);
+	}
+
+	@Override
+	public void mojoSkipped(final ExecutionEvent event) {
+		delegate.mojoSkipped(event);
+	}
+
+	@Override
+	public void mojoStarted(final ExecutionEvent event) {
+		delegate.mojoStarted(event);
+	}
+
+	@Override
+	public void mojoSucceeded(final ExecutionEvent event) {
+		delegate.mojoSucceeded(event);
+	}
+
+	@Override
+	public void mojoFailed(final ExecutionEvent event) {
+		delegate.mojoFailed(event);
+	}
+
+	@Override
+	public void forkedProjectStarted(final ExecutionEvent event) {
+		delegate.forkedProjectStarted(event);
+	}
+
+	@Override
+	public void forkedProjectSucceeded(final ExecutionEvent event) {
+		delegate.forkedProjectSucceeded(event);
+	}
+
+	@Override
+	public void forkedProjectFailed(final ExecutionEvent event) {
+		delegate.forkedProjectFailed(event);
+	}
+
+}
@@ -1,6 +1,12 @@
 package de.syquel.maven.reactorstate.extension;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -9,14 +15,20 @@ import javax.inject.Singleton;
 import org.apache.maven.AbstractMavenLifecycleParticipant;
 import org.apache.maven.MavenExecutionException;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
-import org.apache.maven.project.ProjectBuilder;
-import org.apache.maven.project.ProjectBuildingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.syquel.maven.reactorstate.common.ProjectInputFingerprinter;
+import de.syquel.maven.reactorstate.common.ProjectStateSaver;
 import de.syquel.maven.reactorstate.common.RuntimeReactorStateManager;
 import de.syquel.maven.reactorstate.common.SavedReactorStateManager;
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.hash.FileHashCache;
+import de.syquel.maven.reactorstate.common.util.GitUtils;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceChangeClosure;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceModule;
 
 /**
  * A Maven Core Extension which saves the state of Maven executions afterwards and restores it beforehand.
@@ -38,40 +50,78 @@ public class ReactorStateSaveExtension extends AbstractMavenLifecycleParticipant
 	private final MavenProjectHelper projectHelper;
 
 	/**
-	 * The builder for Maven projects from POMs.
+	 * The provider of the saved state of the current Maven execution.
 	 */
-	private final ProjectBuilder projectBuilder;
+	private final ReactorStateSnapshotProvider snapshotProvider;
+
+	/**
+	 * The saver of the states of the Maven modules as soon as they have been built or null if they are saved after the Maven execution.
+	 */
+	private ProjectStateSaver projectStateSaver;
 
 	/**
 	 * Constructs a new instance.
 	 *
 	 * @param projectHelper The helper for Maven-related operations on the current state.
-	 * @param projectBuilder The builder for Maven projects from POMs.
+	 * @param snapshotProvider The provider of the saved state of the current Maven execution.
 	 */
 	@Inject
-	public ReactorStateSaveExtension(final MavenProjectHelper projectHelper, final ProjectBuilder projectBuilder) {
+	public ReactorStateSaveExtension(final MavenProjectHelper projectHelper, final ReactorStateSnapshotProvider snapshotProvider) {
 		this.projectHelper = projectHelper;
-		this.projectBuilder = projectBuilder;
+		this.snapshotProvider = snapshotProvider;
 	}
 
 	/**
 	 * Restores the saved state of the Maven projects and its Maven modules within the current Maven execution.
 	 *
+	 * If up-to-date Maven modules are skipped, the inputs of all Maven modules are fingerprinted and the Maven modules with up-to-date saved state are
+	 * removed from the Maven execution after their saved state has been restored. Likewise, if the Maven modules to build are determined by the
+	 * changes since a Git revision, the Maven modules, which are neither changed nor depend on a changed one, are removed from the Maven execution.
+	 *
 	 * @param session The current Maven execution.
 	 * @throws MavenExecutionException if an error occurred while restoring the saved state.
 	 */
 	@Override
 	public void afterProjectsRead(final MavenSession session) throws MavenExecutionException {
-		try {
-			final SavedReactorStateManager projectStateManager = SavedReactorStateManager.create(session, projectBuilder);
-			if (projectStateManager.getProjectStates().isEmpty()) {
-				// Skip restoring of reactor state if there is no state yet
-				return;
+		final ReactorStateConfiguration configuration = ReactorStateConfiguration.create(session);
+		final FileHashCache hashCache = configuration.isHashCacheEnabled() ? FileHashCache.create(session.getTopLevelProject()) : null;
+		if (configuration.getSaveMode() == ReactorStateConfiguration.SaveMode.PROJECT) {
+			projectStateSaver = ProjectStateSaver.create(session, hashCache);
+			session.getRequest().setExecutionListener(new ProjectStateSaveListener(session.getRequest().getExecutionListener(), projectStateSaver));
+		}
+
+		final SavedReactorStateManager projectStateManager = loadProjectStateManager(session, configuration);
+		if (configuration.isSkipUpToDate()) {
+			try {
+				new ProjectInputFingerprinter(projectStateManager, configuration.getHashParallelism(), hashCache).fingerprint(session.getProjects());
+			} catch (final IOException e) {
+				throw new MavenExecutionException("Cannot fingerprint inputs of Maven projects", e);
 			}
 
-			projectStateManager.restoreProjectStates(session, projectHelper);
-		} catch (final ProjectBuildingException | IOException e) {
-			throw new MavenExecutionException("Cannot restore saved Maven project state", e);
+			if (hashCache != null) {
+				hashCache.save();
+			}
+		}
+
+		if (projectStateManager.getProjectStates().isEmpty()) {
+			// Skip restoring of reactor state if there is no state yet
+			return;
+		}
+
+		final Set<MavenProject> staleProjects = projectStateManager.restoreProjectStates(session, projectHelper);
+		if (!staleProjects.isEmpty()) {
+			LOGGER.info("Rebuilding {} out of {} Maven projects without restorable state", staleProjects.size(), session.getProjects().size());
+		}
+
+		final String changedSince = configuration.getChangedSince();
+		if (changedSince != null) {
+			final Set<Path> changedPomPaths = detectChangedPomPaths(session, projectStateManager, changedSince);
+			final Predicate<MavenProject> unchanged = project -> !changedPomPaths.contains(WorkspaceModule.normalize(project.getFile().toPath()));
+			skipProjects(session, unchanged.and(projectStateManager::isRestorable), "unchanged");
+		}
+
+		if (configuration.isSkipUpToDate()) {
+			skipProjects(session, projectStateManager::isUpToDate, "up-to-date");
 		}
 	}
 
@@ -81,11 +131,26 @@ public class ReactorStateSaveExtension extends AbstractMavenLifecycleParticipant
 	 * This is a Maven lifecycle hook, which is executed directly after the Maven session has read the project definitions of the Maven modules,
 	 * but before it has started building the project.
 	 *
+	 * If the Maven modules are saved as soon as they have been built, this only awaits their pending saves.
+	 *
 	 * @param session The current Maven execution.
 	 * @throws MavenExecutionException if an error occurred while saving the current state.
 	 */
 	@Override
 	public void afterSessionEnd(final MavenSession session) throws MavenExecutionException {
+		if (projectStateSaver != null) {
+			LOGGER.info("Awaiting saved state of Maven session");
+			try {
+				projectStateSaver.close();
+			} catch (final IOException e) {
+				throw new MavenExecutionException("Cannot save reactor state", e);
+			} finally {
+				projectStateSaver = null;
+			}
+
+			return;
+		}
+
 		LOGGER.info("Saving state of Maven session");
 		final RuntimeReactorStateManager projectStateManager = RuntimeReactorStateManager.create(session);
 
@@ -96,4 +161,83 @@ public class ReactorStateSaveExtension extends AbstractMavenLifecycleParticipant
 		}
 	}
 
+	/**
+	 * Loads the saved state, which is required to restore and skip the Maven modules of the current Maven execution.
+	 *
+	 * Only skipping Maven modules requires the saved state of the whole workspace. Otherwise, only the saved state of the Maven modules of the Maven
+	 * execution is read, so the workspace is not discovered.
+	 *
+	 * @param session The current Maven execution.
+	 * @param configuration The configuration of the Maven execution.
+	 * @return The manager of the saved state of the Maven modules.
+	 * @throws MavenExecutionException if an error occurred while reading the saved state.
+	 */
+	private SavedReactorStateManager loadProjectStateManager(final MavenSession session, final ReactorStateConfiguration configuration)
+		throws MavenExecutionException
+	{
+		if (configuration.isSkipUpToDate() || configuration.getChangedSince() != null) {
+			return snapshotProvider.get(session).getProjectStateManager();
+		}
+
+		try {
+			return SavedReactorStateManager.createForProjects(session);
+		} catch (final IOException e) {
+			throw new MavenExecutionException("Cannot restore saved Maven project state", e);
+		}
+	}
+
+	/**
+	 * Detects the Maven modules of the workspace, which have changed since a Git revision or depend on a changed Maven module.
+	 *
+	 * @param session The current Maven execution.
+	 * @param projectStateManager The manager of the saved state of the Maven modules, which knows all Maven modules of the workspace.
+	 * @param changedSince The Git revision to compare against.
+	 * @return The absolute and normalized paths to the POMs of the affected Maven modules.
+	 * @throws MavenExecutionException if the Git repository cannot be read.
+	 */
+	private static Set<Path> detectChangedPomPaths(
+		final MavenSession session, final SavedReactorStateManager projectStateManager, final String changedSince
+	) throws MavenExecutionException {
+		final Set<Path> changedPaths;
+		try {
+			changedPaths = GitUtils.readChangedPaths(session.getTopLevelProject().getBasedir().toPath(), changedSince);
+		} catch (final IOException e) {
+			throw new MavenExecutionException("Cannot detect changes since Git revision " + changedSince, e);
+		}
+
+		final Set<WorkspaceModule> changedModules = new WorkspaceChangeClosure(projectStateManager.getWorkspaceModules()).resolve(changedPaths);
+		LOGGER.info("Detected {} changed files affecting {} Maven projects since {}", changedPaths.size(), changedModules.size(), changedSince);
+
+		return changedModules.stream().map(WorkspaceModule::getPomPath).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Removes the Maven modules, which do not need to be built, from the current Maven execution.
+	 *
+	 * The top-level Maven module is always built, since Maven derives the top-level project of the Maven execution from its remaining Maven modules.
+	 * Downstream Maven modules resolve the removed Maven modules from their restored state.
+	 *
+	 * @param session The current Maven execution.
+	 * @param skippable The predicate, whether a Maven module with restored state does not need to be built.
+	 * @param reason The reason for skipping the Maven modules as adjective.
+	 */
+	private static void skipProjects(final MavenSession session, final Predicate<MavenProject> skippable, final String reason) {
+		final MavenProject topLevelProject = session.getTopLevelProject();
+
+		final List<MavenProject> projects = session.getProjects();
+		final List<MavenProject> remainingProjects = new ArrayList<>(projects.size());
+		for (final MavenProject project : projects) {
+			if (project != topLevelProject && skippable.test(project)) {
+				LOGGER.info("Skipping {} Maven project {}", reason, project.getId());
+			} else {
+				remainingProjects.add(project);
+			}
+		}
+
+		if (remainingProjects.size() < projects.size()) {
+			LOGGER.info("Skipped {} {} out of {} Maven projects", projects.size() - remainingProjects.size(), reason, projects.size());
+			session.setProjects(remainingProjects);
+		}
+	}
+
 }
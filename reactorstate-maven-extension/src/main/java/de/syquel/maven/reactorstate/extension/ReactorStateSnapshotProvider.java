@@ -0,0 +1,56 @@
+package de.syquel.maven.reactorstate.extension;
+
+import java.io.IOException;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+
+import de.syquel.maven.reactorstate.common.ReactorStateSnapshot;
+
+/**
+ * Provides the snapshot of the saved state of the current Maven execution to the components of this Maven Core Extension.
+ *
+ * The snapshot is created once per Maven execution on first access, so that the discovery of the workspace and the reading of the saved state
+ * is not repeated by every component.
+ */
+@Named
+@Singleton
+public class ReactorStateSnapshotProvider {
+
+	/**
+	 * The builder for Maven projects from POMs.
+	 */
+	private final ProjectBuilder projectBuilder;
+
+	/**
+	 * Constructs a new instance.
+	 *
+	 * @param projectBuilder The builder for Maven projects from POMs.
+	 */
+	@Inject
+	public ReactorStateSnapshotProvider(final ProjectBuilder projectBuilder) {
+		this.projectBuilder = projectBuilder;
+	}
+
+	/**
+	 * Returns the snapshot of the saved state of a Maven execution.
+	 *
+	 * @param session The Maven execution.
+	 * @return The snapshot of the saved state.
+	 * @throws MavenExecutionException if an error occurred while reading the saved state.
+	 */
+	public ReactorStateSnapshot get(final MavenSession session) throws MavenExecutionException {
+		try {
+			return ReactorStateSnapshot.acquire(session, projectBuilder);
+		} catch (final ProjectBuildingException | IOException e) {
+			throw new MavenExecutionException("Cannot acquire saved reactor state", e);
+		}
+	}
+
+}
@@ -1,11 +1,8 @@
 package de.syquel.maven.reactorstate.extension.workspacereader;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -14,19 +11,19 @@ import javax.inject.Singleton;
 import org.apache.maven.AbstractMavenLifecycleParticipant;
 import org.apache.maven.MavenExecutionException;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.project.ProjectBuilder;
-import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.MavenProject;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.repository.WorkspaceReader;
 import org.eclipse.aether.repository.WorkspaceRepository;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import de.syquel.maven.reactorstate.common.AbstractReactorStateManager;
-import de.syquel.maven.reactorstate.common.SavedReactorStateManager;
-import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
-import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.ReactorStateSnapshot;
+import de.syquel.maven.reactorstate.common.persistence.index.ArtifactIndex;
+import de.syquel.maven.reactorstate.common.persistence.index.MappedArtifactIndex;
+import de.syquel.maven.reactorstate.extension.ReactorStateSnapshotProvider;
 
 /**
  * A Maven {@link WorkspaceReader}, which contributes Maven artifacts from the current Maven workspace
@@ -34,6 +31,11 @@ import de.syquel.maven.reactorstate.common.data.MavenProjectState;
  *
  * This workspace reader is able to restore the state of  Maven modules, which are not being built in the current Maven execution,
  * but belong to the same Maven workspace, to enable standalone builds of submodules.
+ *
+ * Maven artifacts are looked up in the memory-mapped artifact index of the workspace first. An artifact index, which contains the POMs of all Maven
+ * modules of the Maven execution, is current, so a Maven artifact, which is absent from it, does not belong to the workspace. The saved state of the
+ * workspace is only consulted, if the artifact index is absent or stale, i.e. if it lacks a Maven module of the Maven execution or the file of an
+ * indexed Maven artifact no longer exists.
  */
 @Named(ReactorStateWorkspaceReader.WORKSPACE_READER_IDE_QUALIFIER)
 @Singleton
@@ -47,9 +49,14 @@ public class ReactorStateWorkspaceReader extends AbstractMavenLifecycleParticipa
 	private static final Logger LOGGER = LoggerFactory.getLogger(ReactorStateWorkspaceReader.class);
 
 	/**
-	 * The builder for Maven projects from POMs.
+	 * The extension of POMs.
+	 */
+	private static final String POM_EXTENSION = "pom";
+
+	/**
+	 * The provider of the saved state of the current Maven execution.
 	 */
-	private final ProjectBuilder projectBuilder;
+	private final ReactorStateSnapshotProvider snapshotProvider;
 
 	/**
 	 * The underlying workspace repository information.
@@ -57,18 +64,33 @@ public class ReactorStateWorkspaceReader extends AbstractMavenLifecycleParticipa
 	private final WorkspaceRepository repository = new WorkspaceRepository();
 
 	/**
-	 * The saved states of Maven artifacts within the current Maven workspace.
+	 * The memory-mapped index of the saved Maven artifacts within the current Maven workspace or null if there is none.
 	 */
-	private final Map<String, Artifact> artifactLookupMap = new HashMap<>();
+	private volatile MappedArtifactIndex artifactIndex;
+
+	/**
+	 * Whether the artifact index is current, so Maven artifacts, which are absent from it, are not looked up in the saved state.
+	 */
+	private volatile boolean artifactIndexCurrent;
+
+	/**
+	 * The current Maven execution, which the saved state is acquired for on demand.
+	 */
+	private volatile MavenSession session;
+
+	/**
+	 * The saved state of the Maven artifacts within the current Maven workspace.
+	 */
+	private volatile ReactorStateSnapshot snapshot;
 
 	/**
 	 * Constructs a new state-based workspace reader.
 	 *
-	 * @param projectBuilder The builder for Maven projects from POMs.
+	 * @param snapshotProvider The provider of the saved state of the current Maven execution.
 	 */
 	@Inject
-	public ReactorStateWorkspaceReader(final ProjectBuilder projectBuilder) {
-		this.projectBuilder = projectBuilder;
+	public ReactorStateWorkspaceReader(final ReactorStateSnapshotProvider snapshotProvider) {
+		this.snapshotProvider = snapshotProvider;
 	}
 
 	/**
@@ -82,20 +104,15 @@ public class ReactorStateWorkspaceReader extends AbstractMavenLifecycleParticipa
 	 */
 	@Override
 	public void afterProjectsRead(final MavenSession session) throws MavenExecutionException {
-		final AbstractReactorStateManager projectStateManager;
-		try {
-			projectStateManager = SavedReactorStateManager.create(session, projectBuilder);
-		} catch (final ProjectBuildingException | IOException e) {
-			throw new MavenExecutionException("Cannot acquire saved reactor state", e);
-		}
-
-		for (final MavenProjectState projectState : projectStateManager.getProjectStates()) {
-			add(projectState.getPom());
-			add(projectState.getMainArtifactState().getArtifact());
-
-			for (final MavenArtifactState attachedArtifactState : projectState.getAttachedArtifactStates()) {
-				add(attachedArtifactState.getArtifact());
-			}
+		this.snapshot = null;
+		this.session = session;
+		this.artifactIndex = ArtifactIndex.create(session.getTopLevelProject()).open();
+		this.artifactIndexCurrent = artifactIndex != null && containsProjects(artifactIndex, session.getProjects());
+
+		if (artifactIndex == null) {
+			snapshot = snapshotProvider.get(session);
+		} else {
+			LOGGER.debug("Using {} artifact index with {} saved Maven artifacts", artifactIndexCurrent ? "current" : "stale", artifactIndex.size());
 		}
 	}
 
@@ -117,7 +134,7 @@ public class ReactorStateWorkspaceReader extends AbstractMavenLifecycleParticipa
 	 */
 	@Override
 	public File findArtifact(final Artifact artifact) {
-		final Artifact lookedupArtifact = artifactLookupMap.get(ArtifactIdUtils.toVersionlessId(artifact));
+		final Artifact lookedupArtifact = lookup(artifact);
 		if (ArtifactIdUtils.equalsBaseId(artifact, lookedupArtifact)) {
 			return lookedupArtifact.getFile();
 		}
@@ -133,7 +150,7 @@ public class ReactorStateWorkspaceReader extends AbstractMavenLifecycleParticipa
 	 */
 	@Override
 	public List<String> findVersions(final Artifact artifact) {
-		final Artifact lookedupArtifact = artifactLookupMap.get(ArtifactIdUtils.toVersionlessId(artifact));
+		final Artifact lookedupArtifact = lookup(artifact);
 		if (ArtifactIdUtils.equalsBaseId(artifact, lookedupArtifact)) {
 			return Collections.singletonList(lookedupArtifact.getVersion());
 		}
@@ -142,12 +159,72 @@ public class ReactorStateWorkspaceReader extends AbstractMavenLifecycleParticipa
 	}
 
 	/**
-	 * Adds an Maven artifact to the list of available states.
+	 * Looks up the saved state of a Maven artifact.
 	 *
-	 * @param artifact The Maven artifact to add.
+	 * @param artifact The Maven artifact to look up.
+	 * @return The saved state of the Maven artifact or null if there is none.
 	 */
-	private void add(final Artifact artifact) {
-		artifactLookupMap.put(ArtifactIdUtils.toVersionlessId(artifact), artifact);
+	private Artifact lookup(final Artifact artifact) {
+		final MappedArtifactIndex currentArtifactIndex = artifactIndex;
+		if (currentArtifactIndex != null) {
+			final Artifact indexedArtifact = currentArtifactIndex.find(artifact);
+			if (indexedArtifact == null) {
+				if (artifactIndexCurrent) {
+					return null;
+				}
+			} else if (indexedArtifact.getFile() != null && indexedArtifact.getFile().exists()) {
+				return indexedArtifact;
+			} else {
+				// The indexed Maven artifact has been deleted since, so the artifact index is no longer trusted
+				artifactIndexCurrent = false;
+			}
+		}
+
+		final ReactorStateSnapshot currentSnapshot = acquireSnapshot();
+		return (currentSnapshot != null) ? currentSnapshot.findArtifact(artifact) : null;
+	}
+
+	/**
+	 * Determines whether an artifact index contains the POMs of Maven modules.
+	 *
+	 * @param artifactIndex The artifact index.
+	 * @param projects The Maven modules.
+	 * @return Whether the artifact index contains the POMs of all Maven modules.
+	 */
+	private static boolean containsProjects(final MappedArtifactIndex artifactIndex, final List<MavenProject> projects) {
+		for (final MavenProject project : projects) {
+			if (artifactIndex.find(new DefaultArtifact(project.getGroupId(), project.getArtifactId(), POM_EXTENSION, project.getVersion())) == null) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Acquires the saved state of the current Maven execution on demand.
+	 *
+	 * @return The saved state or null if there is no current Maven execution or its saved state cannot be read.
+	 */
+	private ReactorStateSnapshot acquireSnapshot() {
+		final ReactorStateSnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null) {
+			return currentSnapshot;
+		}
+
+		final MavenSession currentSession = session;
+		if (currentSession == null) {
+			return null;
+		}
+
+		try {
+			snapshot = snapshotProvider.get(currentSession);
+		} catch (final MavenExecutionException e) {
+			LOGGER.warn("Cannot acquire saved reactor state. Ignoring.", e);
+			session = null;
+		}
+
+		return snapshot;
 	}
 
 }
@@ -1,7 +1,14 @@
 package de.syquel.maven.reactorstate.extension;
 
+import static org.hamcrest.CoreMatchers.is;
+
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+import org.hamcrest.MatcherAssert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -70,4 +77,48 @@ public class ReactorStateSaveExtensionIT {
 		moduleVerifyResult.assertErrorFreeLog();
 	}
 
+	@Test
+	public void testProjectSaveModeBuild() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		TestUtils.installExtension(baseDir.toPath());
+
+		final MavenExecution mavenExecution = mavenRuntime.forProject(baseDir).withCliOptions("-T", "2", "-Dreactorstate.save.mode=project");
+
+		// when
+		LOGGER.info("Execute multithreaded Maven stage 'verify'");
+		final MavenExecutionResult verifyResult = mavenExecution.execute("verify");
+
+		// then
+		verifyResult.assertErrorFreeLog();
+		MatcherAssert.assertThat(
+			"State of module2 is saved", Files.isRegularFile(baseDir.toPath().resolve("module2/target/reactorstate-maven.json")), is(true)
+		);
+	}
+
+	@Test
+	public void testSkipUpToDateBuild() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		TestUtils.installExtension(baseDir.toPath());
+
+		final MavenExecution mavenExecution = mavenRuntime.forProject(baseDir).withCliOptions("-Dreactorstate.skip.uptodate=true");
+
+		LOGGER.info("Execute initial Maven stage 'verify'");
+		final MavenExecutionResult initialVerifyResult = mavenExecution.execute("verify");
+		initialVerifyResult.assertErrorFreeLog();
+
+		final Path module2SourcePath = baseDir.toPath().resolve("module2/src/main/java/de/syquel/maven/reactorstate/extension/stub/module2/Main.java");
+		Files.write(module2SourcePath, "// changed".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		// when
+		LOGGER.info("Execute incremental Maven stage 'verify'");
+		final MavenExecutionResult verifyResult = mavenExecution.execute("verify");
+
+		// then
+		verifyResult.assertErrorFreeLog();
+		verifyResult.assertLogText("Skipping up-to-date Maven project de.syquel.maven.reactorstate:reactorstate-maven-extension-stub-module1");
+		verifyResult.assertNoLogText("Skipping up-to-date Maven project de.syquel.maven.reactorstate:reactorstate-maven-extension-stub-module2");
+	}
+
 }
@@ -0,0 +1,110 @@
+package de.syquel.maven.reactorstate.extension.workspacereader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.MavenExecutionException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.hamcrest.MatcherAssert;
+import org.junit.Rule;
+import org.junit.Test;
+
+import de.syquel.maven.reactorstate.common.ReactorStateSnapshot;
+import de.syquel.maven.reactorstate.common.data.MavenArtifactState;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.index.ArtifactIndex;
+import de.syquel.maven.reactorstate.extension.ReactorStateSnapshotProvider;
+import io.takari.maven.testing.TestMavenRuntime;
+import io.takari.maven.testing.TestResources;
+
+public class ReactorStateWorkspaceReaderTest {
+
+	@Rule
+	public final TestResources resources = new TestResources();
+
+	@Rule
+	public final TestMavenRuntime testMavenRuntime = new TestMavenRuntime();
+
+	@Test
+	public void testLookupExternalArtifactWithoutSavedState() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenSession session = testMavenRuntime.newMavenSession(topLevelProject);
+		ArtifactIndex.create(topLevelProject).update(Collections.singleton(toProjectState(topLevelProject)));
+
+		final CountingSnapshotProvider snapshotProvider = new CountingSnapshotProvider(testMavenRuntime.lookup(ProjectBuilder.class));
+		final ReactorStateWorkspaceReader workspaceReader = new ReactorStateWorkspaceReader(snapshotProvider);
+		workspaceReader.afterProjectsRead(session);
+
+		// when
+		final File externalFile = workspaceReader.findArtifact(new DefaultArtifact("org.apache.commons:commons-lang3:jar:3.11"));
+		final File pomFile = workspaceReader.findArtifact(toPom(topLevelProject).setFile(null));
+
+		// then
+		MatcherAssert.assertThat("External artifact is not found", externalFile, is(nullValue()));
+		MatcherAssert.assertThat("Indexed POM is found", pomFile.getAbsoluteFile(), is(topLevelProject.getFile().getAbsoluteFile()));
+		MatcherAssert.assertThat("Saved state is not read", snapshotProvider.getAcquireCount(), is(0));
+	}
+
+	@Test
+	public void testLookupSavedStateForStaleIndex() throws Exception {
+		// given
+		final File baseDir = resources.getBasedir("maven-project-stub");
+		final MavenProject topLevelProject = testMavenRuntime.readMavenProject(baseDir);
+		final MavenProject module1Project = testMavenRuntime.readMavenProject(new File(baseDir, "module1"));
+		final MavenSession session = testMavenRuntime.newMavenSession(topLevelProject);
+		session.setProjects(Arrays.asList(topLevelProject, module1Project));
+		ArtifactIndex.create(topLevelProject).update(Collections.singleton(toProjectState(topLevelProject)));
+
+		final CountingSnapshotProvider snapshotProvider = new CountingSnapshotProvider(testMavenRuntime.lookup(ProjectBuilder.class));
+		final ReactorStateWorkspaceReader workspaceReader = new ReactorStateWorkspaceReader(snapshotProvider);
+		workspaceReader.afterProjectsRead(session);
+
+		// when
+		final File externalFile = workspaceReader.findArtifact(new DefaultArtifact("org.apache.commons:commons-lang3:jar:3.11"));
+
+		// then
+		MatcherAssert.assertThat("External artifact is not found", externalFile, is(nullValue()));
+		MatcherAssert.assertThat("Saved state is read for index without module1", snapshotProvider.getAcquireCount(), is(1));
+	}
+
+	private static MavenProjectState toProjectState(final MavenProject project) {
+		// The main artifact of a Maven project with POM packaging is its POM
+		final Artifact pom = toPom(project);
+		return new MavenProjectState(project, pom, new MavenArtifactState(pom), Collections.emptySet());
+	}
+
+	private static Artifact toPom(final MavenProject project) {
+		return new DefaultArtifact(project.getGroupId(), project.getArtifactId(), "pom", project.getVersion()).setFile(project.getFile());
+	}
+
+	private static final class CountingSnapshotProvider extends ReactorStateSnapshotProvider {
+
+		private int acquireCount;
+
+		private CountingSnapshotProvider(final ProjectBuilder projectBuilder) {
+			super(projectBuilder);
+		}
+
+		@Override
+		public ReactorStateSnapshot get(final MavenSession session) throws MavenExecutionException {
+			acquireCount++;
+			throw new MavenExecutionException("Saved state is not available", session.getTopLevelProject().getFile());
+		}
+
+		private int getAcquireCount() {
+			return acquireCount;
+		}
+
+	}
+
+}
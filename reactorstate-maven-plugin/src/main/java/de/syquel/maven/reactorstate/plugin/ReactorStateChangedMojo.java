@@ -0,0 +1,113 @@
+package de.syquel.maven.reactorstate.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.inject.Inject;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+
+import de.syquel.maven.reactorstate.common.ReactorStateSnapshot;
+import de.syquel.maven.reactorstate.common.util.GitUtils;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceChangeClosure;
+import de.syquel.maven.reactorstate.common.workspace.WorkspaceModule;
+
+/**
+ * Detects the Maven modules of the workspace, which have changed since a Git revision or depend on a changed Maven module.
+ *
+ * The detected Maven modules are listed as project selectors, which are suitable for the {@code --projects} option of subsequent Maven executions,
+ * whereas the remaining Maven modules are satisfied from their saved state.
+ */
+@Mojo(name = "changed", requiresDirectInvocation = true, threadSafe = true, inheritByDefault = false, aggregator = true)
+public class ReactorStateChangedMojo extends AbstractMojo {
+
+	/**
+	 * The current Maven execution context.
+	 */
+	private final MavenSession session;
+
+	/**
+	 * The builder for Maven projects from POMs.
+	 */
+	private final ProjectBuilder projectBuilder;
+
+	/**
+	 * The Git revision to compare against, e.g. the target branch of a merge request.
+	 */
+	@Parameter(property = "reactorstate.changed.since", required = true)
+	private String since;
+
+	/**
+	 * The file to write the comma-separated project selectors of the detected Maven modules to.
+	 */
+	@Parameter(property = "reactorstate.changed.output")
+	private File outputFile;
+
+	/**
+	 * Constructs a new instance based on the current Maven execution context.
+	 *
+	 * @param session The current Maven execution context.
+	 * @param projectBuilder The builder for Maven projects from POMs.
+	 */
+	@Inject
+	public ReactorStateChangedMojo(final MavenSession session, final ProjectBuilder projectBuilder) {
+		this.session = session;
+		this.projectBuilder = projectBuilder;
+	}
+
+	/**
+	 * Detects the Maven modules of the workspace, which have changed since a Git revision or depend on a changed Maven module.
+	 *
+	 * @throws MojoExecutionException if an error occurred while reading the Git repository or the Maven workspace.
+	 * @throws MojoFailureException never.
+	 */
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (!session.getCurrentProject().isExecutionRoot()) {
+			return;
+		}
+
+		final Set<WorkspaceModule> changedModules;
+		try {
+			final Set<WorkspaceModule> modules = ReactorStateSnapshot.acquire(session, projectBuilder).getProjectStateManager().getWorkspaceModules();
+			final Set<Path> changedPaths = GitUtils.readChangedPaths(session.getTopLevelProject().getBasedir().toPath(), since);
+
+			changedModules = new WorkspaceChangeClosure(modules).resolve(changedPaths);
+		} catch (final ProjectBuildingException | IOException e) {
+			throw new MojoExecutionException("Cannot detect changed Maven projects since " + since, e);
+		}
+
+		final SortedSet<String> projectSelectors = new TreeSet<>();
+		for (final WorkspaceModule changedModule : changedModules) {
+			projectSelectors.add(changedModule.getKey());
+		}
+
+		getLog().info("Detected " + projectSelectors.size() + " changed Maven projects since " + since);
+		for (final String projectSelector : projectSelectors) {
+			getLog().info("  " + projectSelector);
+		}
+
+		if (outputFile != null) {
+			try {
+				Files.createDirectories(outputFile.toPath().toAbsolutePath().getParent());
+				Files.write(outputFile.toPath(), String.join(",", projectSelectors).getBytes(StandardCharsets.UTF_8));
+			} catch (final IOException e) {
+				throw new MojoExecutionException("Cannot write changed Maven projects to " + outputFile, e);
+			}
+		}
+	}
+
+}
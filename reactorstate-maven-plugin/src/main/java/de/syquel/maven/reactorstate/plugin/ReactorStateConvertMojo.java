@@ -0,0 +1,131 @@
+package de.syquel.maven.reactorstate.plugin;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+import javax.inject.Inject;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import de.syquel.maven.reactorstate.common.config.ReactorStateConfiguration;
+import de.syquel.maven.reactorstate.common.data.MavenProjectState;
+import de.syquel.maven.reactorstate.common.persistence.IReactorStateRepository;
+import de.syquel.maven.reactorstate.common.persistence.ReactorStateRepositoryFactory;
+
+/**
+ * Converts the saved state of the Maven modules of the current Maven execution between persistence formats.
+ */
+@Mojo(name = "convert", requiresDirectInvocation = true, threadSafe = true, inheritByDefault = false, aggregator = true)
+public class ReactorStateConvertMojo extends AbstractMojo {
+
+	/**
+	 * The current Maven execution context.
+	 */
+	private final MavenSession session;
+
+	/**
+	 * The format of the saved state to convert from.
+	 */
+	@Parameter(property = "reactorstate.convert.from", defaultValue = "json", required = true)
+	private String from;
+
+	/**
+	 * The format of the saved state to convert to.
+	 */
+	@Parameter(property = "reactorstate.convert.to", defaultValue = "binary", required = true)
+	private String to;
+
+	/**
+	 * Whether the saved state in the source format is deleted after conversion.
+	 */
+	@Parameter(property = "reactorstate.convert.deleteSource", defaultValue = "false")
+	private boolean deleteSource;
+
+	/**
+	 * Constructs a new instance based on the current Maven execution context.
+	 *
+	 * @param session The current Maven execution context.
+	 */
+	@Inject
+	public ReactorStateConvertMojo(final MavenSession session) {
+		this.session = session;
+	}
+
+	/**
+	 * Converts the saved state of the Maven modules of the current Maven execution between persistence formats.
+	 *
+	 * @throws MojoExecutionException if an error occurred while converting the saved state.
+	 * @throws MojoFailureException if the source or target format is unknown or both are equal.
+	 */
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (!session.getCurrentProject().isExecutionRoot()) {
+			return;
+		}
+
+		final ReactorStateConfiguration.RepositoryFormat sourceFormat = parseFormat(from);
+		final ReactorStateConfiguration.RepositoryFormat targetFormat = parseFormat(to);
+		if (sourceFormat == targetFormat) {
+			throw new MojoFailureException("Cannot convert saved Maven project state from " + sourceFormat + " to itself");
+		}
+
+		final ReactorStateConfiguration configuration = ReactorStateConfiguration.create(session);
+		final IReactorStateRepository sourceRepository;
+		final IReactorStateRepository targetRepository;
+		try {
+			sourceRepository = ReactorStateRepositoryFactory.create(session, configuration, sourceFormat);
+			targetRepository = ReactorStateRepositoryFactory.create(session, configuration, targetFormat);
+		} catch (final IllegalArgumentException e) {
+			throw new MojoFailureException(e.getMessage(), e);
+		}
+
+		int convertedCount = 0;
+		try {
+			for (final MavenProject project : session.getProjects()) {
+				final MavenProjectState projectState = sourceRepository.read(project);
+				if (projectState == null) {
+					getLog().debug("No saved state found for Maven project " + project.getId());
+					continue;
+				}
+
+				targetRepository.save(projectState);
+				if (deleteSource) {
+					sourceRepository.delete(project);
+				}
+
+				convertedCount++;
+			}
+
+			targetRepository.flush();
+		} catch (final IOException e) {
+			throw new MojoExecutionException("Cannot convert saved Maven project state", e);
+		}
+
+		getLog().info("Converted saved state of " + convertedCount + " Maven projects from " + sourceFormat + " to " + targetFormat);
+	}
+
+	/**
+	 * Parses the case-insensitive name of a persistence format.
+	 *
+	 * @param format The name of the persistence format.
+	 * @return The persistence format.
+	 * @throws MojoFailureException if the persistence format is unknown.
+	 */
+	private static ReactorStateConfiguration.RepositoryFormat parseFormat(final String format) throws MojoFailureException {
+		try {
+			return ReactorStateConfiguration.RepositoryFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+		} catch (final IllegalArgumentException e) {
+			throw new MojoFailureException(
+				"Unknown persistence format '" + format + "', expected one of " + Arrays.toString(ReactorStateConfiguration.RepositoryFormat.values()), e
+			);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+package de.syquel.maven.reactorstate.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import de.syquel.maven.reactorstate.common.workspace.ReverseDependencyGraph;
+import de.syquel.maven.reactorstate.common.workspace.ReverseDependencyGraphIndex;
+
+/**
+ * Determines the Maven modules of the workspace, which transitively depend on a set of Maven modules, from the reverse dependency graph, which has
+ * been saved alongside the reactor state.
+ *
+ * The Maven modules are listed in build order as project selectors, which are suitable for the {@code --projects} option of subsequent Maven
+ * executions. Since only the saved graph is read, this goal can be executed non-recursively, e.g. {@code mvn -N reactorstate:downstream}, so that
+ * Maven does not build the models of the Maven modules either.
+ */
+@Mojo(name = "downstream", requiresDirectInvocation = true, threadSafe = true, inheritByDefault = false, aggregator = true)
+public class ReactorStateDownstreamMojo extends AbstractMojo {
+
+	/**
+	 * The current Maven execution context.
+	 */
+	private final MavenSession session;
+
+	/**
+	 * The comma-separated project selectors of the changed Maven modules, either {@code groupId:artifactId} or {@code :artifactId}.
+	 */
+	@Parameter(property = "reactorstate.downstream.projects", required = true)
+	private List<String> projectSelectors;
+
+	/**
+	 * The file to write the comma-separated project selectors of the downstream Maven modules in build order to.
+	 */
+	@Parameter(property = "reactorstate.downstream.output")
+	private File outputFile;
+
+	/**
+	 * Constructs a new instance based on the current Maven execution context.
+	 *
+	 * @param session The current Maven execution context.
+	 */
+	@Inject
+	public ReactorStateDownstreamMojo(final MavenSession session) {
+		this.session = session;
+	}
+
+	/**
+	 * Determines the Maven modules of the workspace, which transitively depend on a set of Maven modules.
+	 *
+	 * @throws MojoExecutionException if there is no saved reverse dependency graph or the result cannot be written.
+	 * @throws MojoFailureException if a project selector does not match any Maven module of the saved reverse dependency graph.
+	 */
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (!session.getCurrentProject().isExecutionRoot()) {
+			return;
+		}
+
+		final ReverseDependencyGraph graph = ReverseDependencyGraphIndex.create(session.getTopLevelProject()).load();
+		if (graph == null) {
+			throw new MojoExecutionException("No reverse dependency graph has been saved for the Maven workspace yet");
+		}
+
+		final Set<String> changedKeys = new LinkedHashSet<>();
+		for (final String projectSelector : projectSelectors) {
+			final List<String> selectedKeys = selectModules(graph, projectSelector.trim());
+			if (selectedKeys.isEmpty()) {
+				throw new MojoFailureException("Cannot find Maven project " + projectSelector + " within the saved reverse dependency graph");
+			}
+
+			changedKeys.addAll(selectedKeys);
+		}
+
+		final List<String> downstreamKeys = graph.resolveDownstream(changedKeys);
+
+		getLog().info("Detected " + downstreamKeys.size() + " downstream Maven projects of " + changedKeys.size() + " Maven projects");
+		for (final String downstreamKey : downstreamKeys) {
+			getLog().info("  " + downstreamKey);
+		}
+
+		if (outputFile != null) {
+			try {
+				Files.createDirectories(outputFile.toPath().toAbsolutePath().getParent());
+				Files.write(outputFile.toPath(), String.join(",", downstreamKeys).getBytes(StandardCharsets.UTF_8));
+			} catch (final IOException e) {
+				throw new MojoExecutionException("Cannot write downstream Maven projects to " + outputFile, e);
+			}
+		}
+	}
+
+	/**
+	 * Selects the Maven modules of the reverse dependency graph, which match a project selector.
+	 *
+	 * @param graph The reverse dependency graph of the Maven workspace.
+	 * @param projectSelector The project selector, either {@code groupId:artifactId} or {@code :artifactId}.
+	 * @return The version-agnostic keys of the matching Maven modules.
+	 */
+	private static List<String> selectModules(final ReverseDependencyGraph graph, final String projectSelector) {
+		final List<String> selectedKeys = new ArrayList<>();
+		for (final String key : graph.getModuleKeys()) {
+			if (projectSelector.startsWith(":") ? key.endsWith(projectSelector) : key.equals(projectSelector)) {
+				selectedKeys.add(key);
+			}
+		}
+
+		return selectedKeys;
+	}
+
+}
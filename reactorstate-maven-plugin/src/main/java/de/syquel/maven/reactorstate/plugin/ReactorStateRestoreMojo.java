@@ -1,6 +1,8 @@
 package de.syquel.maven.reactorstate.plugin;
 
 import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -9,10 +11,12 @@ import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
 
+import de.syquel.maven.reactorstate.common.ReactorStateSnapshot;
 import de.syquel.maven.reactorstate.common.SavedReactorStateManager;
 
 /**
@@ -53,7 +57,11 @@ public class ReactorStateRestoreMojo extends AbstractMojo {
 	/**
 	 * Restores the state of a previous Maven execution into the current one.
 	 *
-	 * @throws MojoExecutionException if an error occurred while restoring the saved state of a previous Maven execution.
+	 * Unlike restoring the state by the Maven Core Extension, which rebuilds the affected Maven modules, the restoration fails if any Maven module has
+	 * no saved state or any saved Maven artifact has changed since its state was saved, since this goal does not build any Maven module.
+	 *
+	 * @throws MojoExecutionException if an error occurred while restoring the saved state of a previous Maven execution, a Maven module has no saved
+	 * state or a saved Maven artifact has changed since.
 	 * @throws MojoFailureException never.
 	 */
 	@Override
@@ -62,12 +70,20 @@ public class ReactorStateRestoreMojo extends AbstractMojo {
 			return;
 		}
 
+		final Set<MavenProject> staleProjects;
 		try {
-			final SavedReactorStateManager projectStateManager = SavedReactorStateManager.create(session, projectBuilder);
-			projectStateManager.restoreProjectStates(session, projectHelper);
+			final SavedReactorStateManager projectStateManager = ReactorStateSnapshot.acquire(session, projectBuilder).getProjectStateManager();
+			staleProjects = projectStateManager.restoreProjectStates(session, projectHelper);
 		} catch (final ProjectBuildingException | IOException e) {
 			throw new MojoExecutionException("Cannot restore saved Maven project state", e);
 		}
+
+		if (!staleProjects.isEmpty()) {
+			throw new MojoExecutionException(
+				"Maven projects " + staleProjects.stream().map(MavenProject::getId).sorted().collect(Collectors.joining(", "))
+					+ " have no saved state or their artifact files have changed since their state was saved: Rebuild required."
+			);
+		}
 	}
 
 }